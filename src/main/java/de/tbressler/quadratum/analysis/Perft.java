@@ -0,0 +1,363 @@
+package de.tbressler.quadratum.analysis;
+
+import de.tbressler.quadratum.core.GameCore;
+import de.tbressler.quadratum.core.Position;
+import de.tbressler.quadratum.logic.GameOverVerifier;
+import de.tbressler.quadratum.logic.GameOverVerifier.GameOverState;
+import de.tbressler.quadratum.logic.MoveAnalysis;
+import de.tbressler.quadratum.logic.MoveAnalyzer;
+import de.tbressler.quadratum.logic.SquareCollector;
+import de.tbressler.quadratum.model.GameBoard;
+import de.tbressler.quadratum.model.Player;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import static de.tbressler.quadratum.core.GameCore.PLAYER1;
+import static de.tbressler.quadratum.core.GameCore.PLAYER2;
+import static de.tbressler.quadratum.logic.GameOverVerifier.EarlyTermination.DISABLED;
+import static de.tbressler.quadratum.logic.GameOverVerifier.GameOverState.NOT_OVER;
+import static java.util.Arrays.copyOf;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Enumerates all move sequences from a position to a given depth (perft). The enumeration counts
+ * the positions at the target depth, the squares formed by the moves and the game over positions
+ * under the rules of a {@link GameOverVerifier} without early termination. Game over positions
+ * are not expanded.
+ * <p>
+ * The enumeration can run on different board representations, which must produce the same
+ * result. This is used to check optimized implementations against the reference
+ * {@link SquareCollector} and to measure the nodes per second of every representation. The
+ * subtrees of the first plies are enumerated in parallel by a fork/join pool.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public class Perft {
+
+    /** The board representations. */
+    public enum Representation {
+        /** A {@link GameCore} with incremental counters and make/unmake. */
+        GAME_CORE,
+        /** A {@link GameBoard} with a {@link MoveAnalyzer}, like the game logic. */
+        MOVE_ANALYZER,
+        /** A {@link GameBoard} with a {@link SquareCollector} and a {@link GameOverVerifier}. */
+        SQUARE_COLLECTOR
+    }
+
+    /** The default number of plies, whose subtrees are enumerated in parallel. */
+    public static final int DEFAULT_SPLIT_DEPTH = 2;
+
+
+    /* The minimum score for a player to win the game. */
+    private final int minScore;
+
+    /* The minimum difference between the player scores to win the game. */
+    private final int minDifference;
+
+    /* The number of plies, whose subtrees are enumerated in parallel. */
+    private int splitDepth = DEFAULT_SPLIT_DEPTH;
+
+    /* The fork/join pool. */
+    private ForkJoinPool forkJoinPool = ForkJoinPool.commonPool();
+
+
+    /**
+     * Creates a perft enumeration with the given winning conditions.
+     *
+     * @param minScore The minimum score to win, must be > 0 (suggested 150).
+     * @param minDifference The minimum difference between score, must be > 0 (suggested 15).
+     */
+    public Perft(int minScore, int minDifference) {
+        if (minScore < 1) throw new AssertionError("minScore must be > 0!");
+        if (minDifference < 1) throw new AssertionError("minDifference must be > 0!");
+        this.minScore = minScore;
+        this.minDifference = minDifference;
+    }
+
+
+    /**
+     * Sets the number of plies, whose subtrees are enumerated in parallel. 0 enumerates the whole
+     * tree in one task. The default is {@link #DEFAULT_SPLIT_DEPTH}.
+     *
+     * @param splitDepth The number of plies, must not be negative.
+     */
+    public void setSplitDepth(int splitDepth) {
+        if (splitDepth < 0)
+            throw new AssertionError("splitDepth must not be negative!");
+        this.splitDepth = splitDepth;
+    }
+
+    /**
+     * Sets the fork/join pool. The common pool is used by default.
+     *
+     * @param forkJoinPool The fork/join pool, must not be null.
+     */
+    public void setForkJoinPool(ForkJoinPool forkJoinPool) {
+        this.forkJoinPool = requireNonNull(forkJoinPool);
+    }
+
+
+    /**
+     * Enumerates all move sequences from the position to the depth with a game core.
+     *
+     * @param position The start position, must not be null.
+     * @param depth The depth in plies, must not be negative.
+     * @return The result, never null.
+     */
+    public PerftResult run(Position position, int depth) {
+        return run(position, depth, Representation.GAME_CORE);
+    }
+
+    /**
+     * Enumerates all move sequences from the position to the depth with the given board
+     * representation.
+     *
+     * @param position The start position, must not be null.
+     * @param depth The depth in plies, must not be negative.
+     * @param representation The board representation, must not be null.
+     * @return The result, never null.
+     */
+    public PerftResult run(Position position, int depth, Representation representation) {
+        requireNonNull(position);
+        requireNonNull(representation);
+        if (depth < 0)
+            throw new AssertionError("depth must not be negative!");
+
+        return forkJoinPool.invoke(new SubtreeTask(position, representation, new int[0], depth));
+    }
+
+
+    /* Enumerates the subtrees of a position with the given moves from the start position. */
+    @SuppressWarnings("serial")
+    private class SubtreeTask extends RecursiveTask<PerftResult> {
+
+        private final Position position;
+        private final Representation representation;
+        private final int[] prefix;
+        private final int depth;
+
+        SubtreeTask(Position position, Representation representation, int[] prefix, int depth) {
+            this.position = position;
+            this.representation = representation;
+            this.prefix = prefix;
+            this.depth = depth;
+        }
+
+        @Override
+        protected PerftResult compute() {
+            Walker walker = createWalker(position, representation);
+            for (int move : prefix)
+                walker.makeMove(move);
+
+            PerftResult result = new PerftResult();
+            if (walker.getState() != NOT_OVER)
+                return result;
+
+            // Enumerate small or deep subtrees in this task:
+            if ((prefix.length >= splitDepth) || (depth <= 1)) {
+                enumerate(walker, depth, new int[depth][walker.getFieldCount()], result);
+                return result;
+            }
+
+            List<SubtreeTask> tasks = new ArrayList<>();
+            int[] fields = new int[walker.getFieldCount()];
+            int count = walker.getEmptyFields(fields);
+            for (int i = 0; i < count; i++) {
+                int[] moves = copyOf(prefix, prefix.length + 1);
+                moves[prefix.length] = fields[i];
+                tasks.add(new SubtreeTask(position, representation, moves, depth - 1));
+            }
+            for (SubtreeTask task : invokeAll(tasks)) {
+                PerftResult subtree = task.join();
+                result.add(subtree);
+            }
+            countMoves(walker, fields, count, result);
+            return result;
+        }
+
+    }
+
+    /* Counts the squares and game over states of the moves, whose subtrees were split off. */
+    private static void countMoves(Walker walker, int[] fields, int count, PerftResult result) {
+        for (int i = 0; i < count; i++) {
+            result.addSquares(walker.makeMove(fields[i]));
+            GameOverState state = walker.getState();
+            if (state != NOT_OVER)
+                result.addGameOver(state);
+            walker.unmakeMove(fields[i]);
+        }
+    }
+
+    /* Enumerates all move sequences to the depth. The position must not be over. */
+    private static void enumerate(Walker walker, int depth, int[][] fields, PerftResult result) {
+        if (depth == 0) {
+            result.addNode();
+            return;
+        }
+
+        int[] moves = fields[depth - 1];
+        int count = walker.getEmptyFields(moves);
+        for (int i = 0; i < count; i++) {
+            result.addSquares(walker.makeMove(moves[i]));
+            GameOverState state = walker.getState();
+            if (state == NOT_OVER) {
+                enumerate(walker, depth - 1, fields, result);
+            } else {
+                result.addGameOver(state);
+                if (depth == 1)
+                    result.addNode();
+            }
+            walker.unmakeMove(moves[i]);
+        }
+    }
+
+
+    /* Creates the walker for the board representation. */
+    private Walker createWalker(Position position, Representation representation) {
+        switch (representation) {
+            case GAME_CORE:
+                return new GameCoreWalker(position, minScore, minDifference);
+            case MOVE_ANALYZER:
+            case SQUARE_COLLECTOR:
+                return new GameBoardWalker(position, minScore, minDifference,
+                        representation == Representation.MOVE_ANALYZER);
+            default:
+                throw new IllegalStateException("Unknown representation!");
+        }
+    }
+
+
+    /* Makes and takes back moves on a board representation. */
+    private interface Walker {
+
+        /* Returns the number of fields. */
+        int getFieldCount();
+
+        /* Writes the empty fields to the array and returns their number. */
+        int getEmptyFields(int[] fields);
+
+        /* Places a piece of the active player and returns the number of new squares. */
+        int makeMove(int index);
+
+        /* Removes the piece of the last move. */
+        void unmakeMove(int index);
+
+        /* Returns the game over state after the last move. */
+        GameOverState getState();
+
+    }
+
+    /* A walker on a game core. */
+    private static class GameCoreWalker implements Walker {
+
+        private final GameCore core;
+
+        GameCoreWalker(Position position, int minScore, int minDifference) {
+            core = new GameCore(position.getSize(), minScore, minDifference);
+            core.setPosition(position);
+        }
+
+        @Override
+        public int getFieldCount() {
+            return core.getFieldCount();
+        }
+
+        @Override
+        public int getEmptyFields(int[] fields) {
+            return core.getEmptyFields(fields);
+        }
+
+        @Override
+        public int makeMove(int index) {
+            int squares = core.getSquareCount(PLAYER1) + core.getSquareCount(PLAYER2);
+            core.makeMoveUnchecked(index);
+            return core.getSquareCount(PLAYER1) + core.getSquareCount(PLAYER2) - squares;
+        }
+
+        @Override
+        public void unmakeMove(int index) {
+            core.unmakeMoveUnchecked(index);
+        }
+
+        @Override
+        public GameOverState getState() {
+            return core.getState();
+        }
+
+    }
+
+    /* A walker on a game board with a move analyzer or a square collector. */
+    private static class GameBoardWalker implements Walker {
+
+        private final GameBoard gameBoard;
+        private final Player[] players = {new Player("player1"), new Player("player2")};
+        private final SquareCollector squareCollector;
+        private final GameOverVerifier gameOverVerifier;
+        private final MoveAnalyzer moveAnalyzer;
+        private final int[] activePlayers;
+        private int moveCount = 0;
+        private GameOverState state;
+
+        GameBoardWalker(Position position, int minScore, int minDifference, boolean useMoveAnalyzer) {
+            int size = position.getSize();
+            gameBoard = new GameBoard(players[PLAYER1], players[PLAYER2], size);
+            gameBoard.restore(position.getPieces(PLAYER1), position.getPieces(PLAYER2));
+            squareCollector = new SquareCollector(size);
+            squareCollector.restore(gameBoard);
+            gameOverVerifier = new GameOverVerifier(minScore, minDifference, DISABLED, size);
+            moveAnalyzer = useMoveAnalyzer ? new MoveAnalyzer(squareCollector, gameOverVerifier) : null;
+            activePlayers = new int[size * size + 1];
+            activePlayers[0] = position.getActivePlayer();
+            state = gameOverVerifier.isGameOver(gameBoard, squareCollector);
+        }
+
+        @Override
+        public int getFieldCount() {
+            return gameBoard.getSize() * gameBoard.getSize();
+        }
+
+        @Override
+        public int getEmptyFields(int[] fields) {
+            int count = 0;
+            for (int i = 0; i < getFieldCount(); i++)
+                if (gameBoard.isFieldEmpty(i))
+                    fields[count++] = i;
+            return count;
+        }
+
+        @Override
+        public int makeMove(int index) {
+            int activePlayer = activePlayers[moveCount];
+            Player player = players[activePlayer];
+            gameBoard.placePiece(index, player);
+            activePlayers[++moveCount] = activePlayer ^ 1;
+
+            if (moveAnalyzer != null) {
+                MoveAnalysis analysis = moveAnalyzer.analyze(gameBoard, player);
+                state = analysis.getState();
+                return analysis.getNewSquareCount();
+            }
+            int squares = squareCollector.detect(gameBoard, player).size();
+            state = gameOverVerifier.isGameOver(gameBoard, squareCollector);
+            return squares;
+        }
+
+        @Override
+        public void unmakeMove(int index) {
+            squareCollector.rollback();
+            gameBoard.removePiece(index);
+            moveCount--;
+        }
+
+        @Override
+        public GameOverState getState() {
+            return state;
+        }
+
+    }
+
+}
@@ -0,0 +1,128 @@
+package de.tbressler.quadratum.analysis;
+
+import de.tbressler.quadratum.logic.GameOverVerifier.GameOverState;
+
+import java.util.Arrays;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static de.tbressler.quadratum.logic.GameOverVerifier.GameOverState.*;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * The result of a {@link Perft} enumeration: the number of positions at the target depth, the
+ * number of squares, which were formed by all enumerated moves, and the number of game over
+ * positions, which were reached on the way. Two results are equal, if all counters are equal, so
+ * results of different board representations can be compared directly.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public final class PerftResult {
+
+    /* The number of positions at the target depth. */
+    private long nodes;
+
+    /* The number of squares, which were formed by the enumerated moves. */
+    private long squares;
+
+    /* The number of game over positions, indexed by the ordinal of the game over state. */
+    private final long[] gameOvers = new long[GameOverState.values().length];
+
+
+    /**
+     * Creates an empty result.
+     */
+    PerftResult() {
+    }
+
+
+    /* Counts a position at the target depth. */
+    void addNode() {
+        nodes++;
+    }
+
+    /* Counts the squares, which were formed by a move. */
+    void addSquares(int count) {
+        squares += count;
+    }
+
+    /* Counts a game over position. */
+    void addGameOver(GameOverState state) {
+        gameOvers[state.ordinal()]++;
+    }
+
+    /* Adds all counters of the other result. */
+    void add(PerftResult other) {
+        nodes += other.nodes;
+        squares += other.squares;
+        for (int i = 0; i < gameOvers.length; i++)
+            gameOvers[i] += other.gameOvers[i];
+    }
+
+
+    /**
+     * Returns the number of positions at the target depth. Game over positions before the target
+     * depth are not expanded and are not counted.
+     *
+     * @return The number of leaf nodes.
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Returns the number of squares, which were formed by all enumerated moves.
+     *
+     * @return The number of squares.
+     */
+    public long getSquares() {
+        return squares;
+    }
+
+    /**
+     * Returns the number of game over positions with the given state, which were reached by the
+     * enumerated moves.
+     *
+     * @param state The game over state, must not be null.
+     * @return The number of positions, always 0 for NOT_OVER.
+     */
+    public long getGameOvers(GameOverState state) {
+        return gameOvers[requireNonNull(state).ordinal()];
+    }
+
+    /**
+     * Returns the number of all game over positions, which were reached by the enumerated moves.
+     *
+     * @return The number of terminal positions.
+     */
+    public long getTerminals() {
+        return gameOvers[PLAYER1_WON.ordinal()] + gameOvers[PLAYER2_WON.ordinal()] +
+                gameOvers[GAME_DRAW.ordinal()];
+    }
+
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        PerftResult that = (PerftResult) o;
+        return (nodes == that.nodes) && (squares == that.squares) && Arrays.equals(gameOvers, that.gameOvers);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * Long.hashCode(nodes) + Long.hashCode(squares)) + Arrays.hashCode(gameOvers);
+    }
+
+    @Override
+    public String toString() {
+        return toStringHelper(this)
+                .add("nodes", nodes)
+                .add("squares", squares)
+                .add("player1Won", gameOvers[PLAYER1_WON.ordinal()])
+                .add("player2Won", gameOvers[PLAYER2_WON.ordinal()])
+                .add("draws", gameOvers[GAME_DRAW.ordinal()])
+                .toString();
+    }
+
+}
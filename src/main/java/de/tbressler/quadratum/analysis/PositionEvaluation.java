@@ -0,0 +1,193 @@
+package de.tbressler.quadratum.analysis;
+
+import de.tbressler.quadratum.core.Position;
+import de.tbressler.quadratum.logic.GameOverVerifier.GameOverState;
+
+import java.util.Arrays;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static de.tbressler.quadratum.core.GameCore.PLAYER1;
+import static de.tbressler.quadratum.core.GameCore.PLAYER2;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * The immutable result of the evaluation of a position.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public final class PositionEvaluation {
+
+    /* The evaluated position. */
+    private final Position position;
+
+    /* The best move for the active player or -1. */
+    private final int bestMove;
+
+    /* The value of the best move. */
+    private final int bestMoveValue;
+
+    /* The heat maps, indexed by player and field index. */
+    private final int[][] heatMaps;
+
+    /* The values of the moves of the active player, -1 for occupied fields. */
+    private final int[] moveValues;
+
+    /* The scores of the players. */
+    private final int[] scores;
+
+    /* The game over state. */
+    private final GameOverState state;
+
+
+    /**
+     * Creates the evaluation. The arrays are not copied.
+     *
+     * @param position The position, must not be null.
+     * @param bestMove The best move or -1.
+     * @param bestMoveValue The value of the best move.
+     * @param heatMaps The heat maps of both players, must not be null.
+     * @param moveValues The values of the moves of the active player, must not be null.
+     * @param scores The scores of both players, must not be null.
+     * @param state The game over state, must not be null.
+     */
+    PositionEvaluation(Position position, int bestMove, int bestMoveValue, int[][] heatMaps,
+                       int[] moveValues, int[] scores, GameOverState state) {
+        this.position = requireNonNull(position);
+        this.bestMove = bestMove;
+        this.bestMoveValue = bestMoveValue;
+        this.heatMaps = requireNonNull(heatMaps);
+        this.moveValues = requireNonNull(moveValues);
+        this.scores = requireNonNull(scores);
+        this.state = requireNonNull(state);
+    }
+
+
+    /**
+     * Returns the evaluated position.
+     *
+     * @return The position, never null.
+     */
+    public Position getPosition() {
+        return position;
+    }
+
+    /**
+     * Returns the best move for the active player. This is the move of a bot without
+     * randomization. Returns -1 if the game board is full.
+     *
+     * @return The field index or -1.
+     */
+    public int getBestMove() {
+        return bestMove;
+    }
+
+    /**
+     * Returns the heat map value of the best move.
+     *
+     * @return The value of the best move or -1 if there is no move.
+     */
+    public int getBestMoveValue() {
+        return bestMoveValue;
+    }
+
+    /**
+     * Returns the value of a move of the active player. The value is the maximum of the heat map
+     * value of the active player and the threat by the opponent on the field. The best move is the
+     * first move with the highest value.
+     *
+     * @param index The field index, between 0..size*size-1.
+     * @return The value of the move or -1 if the field is occupied.
+     */
+    public int getMoveValue(int index) {
+        return moveValues[index];
+    }
+
+    /**
+     * Returns the best moves of the active player. The first move is the best move, which can be a
+     * forced move. The other moves are ordered by descending value and moves with the same value
+     * by field index.
+     *
+     * @param count The maximum number of moves, must not be negative.
+     * @return The field indices of the moves, never null.
+     */
+    public int[] getBestMoves(int count) {
+        if (count < 0)
+            throw new AssertionError("count must not be negative!");
+
+        int[] moves = new int[Math.min(count, moveValues.length)];
+        boolean[] selected = new boolean[moveValues.length];
+        int n = 0;
+        if ((bestMove >= 0) && (moves.length > 0)) {
+            selected[bestMove] = true;
+            moves[n++] = bestMove;
+        }
+        for (; n < moves.length; n++) {
+            int best = -1;
+            for (int i = 0; i < moveValues.length; i++) {
+                if (!selected[i] && (moveValues[i] >= 0) && ((best < 0) || (moveValues[i] > moveValues[best])))
+                    best = i;
+            }
+            if (best < 0)
+                break;
+            selected[best] = true;
+            moves[n] = best;
+        }
+        return (n == moves.length) ? moves : Arrays.copyOf(moves, n);
+    }
+
+    /**
+     * Returns the heat map value of the field for the player. The value is the sum (long term
+     * strategy) or the maximum (short term strategy) of the possible scores of the squares, which
+     * contain the field and are not blocked by the opponent. The value of occupied fields is 0.
+     *
+     * @param player PLAYER1 or PLAYER2.
+     * @param index The field index, between 0..size*size-1.
+     * @return The heat map value.
+     */
+    public int getHeatMapValue(int player, int index) {
+        return heatMaps[player][index];
+    }
+
+    /**
+     * Returns a copy of the heat map of the player.
+     *
+     * @param player PLAYER1 or PLAYER2.
+     * @return The heat map, indexed by field index, never null.
+     */
+    public int[] getHeatMap(int player) {
+        return heatMaps[player].clone();
+    }
+
+    /**
+     * Returns the score of the player in the position.
+     *
+     * @param player PLAYER1 or PLAYER2.
+     * @return The score of the player.
+     */
+    public int getScore(int player) {
+        return scores[player];
+    }
+
+    /**
+     * Returns the game over state of the position.
+     *
+     * @return The game over state, never null.
+     */
+    public GameOverState getState() {
+        return state;
+    }
+
+
+    @Override
+    public String toString() {
+        return toStringHelper(this)
+                .add("bestMove", bestMove)
+                .add("bestMoveValue", bestMoveValue)
+                .add("scorePlayer1", scores[PLAYER1])
+                .add("scorePlayer2", scores[PLAYER2])
+                .add("state", state)
+                .toString();
+    }
+
+}
@@ -0,0 +1,278 @@
+package de.tbressler.quadratum.analysis;
+
+import de.tbressler.quadratum.core.GameCore;
+import de.tbressler.quadratum.core.Position;
+import de.tbressler.quadratum.logic.players.BotPlayerLogic.Strategy;
+import de.tbressler.quadratum.utils.SquareTable;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.Stream;
+
+import static de.tbressler.quadratum.core.GameCore.PLAYER1;
+import static de.tbressler.quadratum.core.GameCore.PLAYER2;
+import static de.tbressler.quadratum.logic.players.BotPlayerLogic.Strategy.LONG_TERM;
+import static java.util.Arrays.fill;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Evaluates positions, e.g. for the analysis of finished games. For every position the best move
+ * of the active player, the heat maps of both players, the scores and the game over state are
+ * computed. The best move is the same move a bot with the same strategy, with forced moves and
+ * without randomization would play.
+ * <p>
+ * Batches are split into chunks of consecutive positions, which are evaluated in parallel by a
+ * fork/join pool. Every chunk reuses one game core and one set of heat maps, so that the working
+ * set of a worker stays small.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public class PositionEvaluator {
+
+    /** The default number of positions per chunk. */
+    public static final int DEFAULT_CHUNK_SIZE = 256;
+
+
+    /* The strategy for the heat maps. */
+    private final Strategy strategy;
+
+    /* The minimum score for a player to win the game. */
+    private final int minScore;
+
+    /* The minimum difference between the player scores to win the game. */
+    private final int minDifference;
+
+    /* The number of positions per chunk. */
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+
+    /* The fork/join pool for batches. */
+    private ForkJoinPool forkJoinPool = ForkJoinPool.commonPool();
+
+
+    /**
+     * Creates a position evaluator with the default winning conditions (150 points and 15
+     * points difference).
+     *
+     * @param strategy The strategy for the heat maps, must not be null.
+     */
+    public PositionEvaluator(Strategy strategy) {
+        this(strategy, 150, 15);
+    }
+
+    /**
+     * Creates a position evaluator.
+     *
+     * @param strategy The strategy for the heat maps, must not be null.
+     * @param minScore The minimum score for a player to win the game.
+     * @param minDifference The minimum difference between the player scores to win the game.
+     */
+    public PositionEvaluator(Strategy strategy, int minScore, int minDifference) {
+        this.strategy = requireNonNull(strategy);
+        this.minScore = minScore;
+        this.minDifference = minDifference;
+    }
+
+
+    /**
+     * Sets the number of positions per chunk.
+     *
+     * @param chunkSize The number of positions, must be positive.
+     */
+    public void setChunkSize(int chunkSize) {
+        if (chunkSize <= 0)
+            throw new AssertionError("chunkSize must be positive!");
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Sets the fork/join pool for batches. The common pool is used by default.
+     *
+     * @param forkJoinPool The fork/join pool, must not be null.
+     */
+    public void setForkJoinPool(ForkJoinPool forkJoinPool) {
+        this.forkJoinPool = requireNonNull(forkJoinPool);
+    }
+
+
+    /**
+     * Evaluates a single position in the calling thread.
+     *
+     * @param position The position, must not be null.
+     * @return The evaluation, never null.
+     */
+    public PositionEvaluation evaluate(Position position) {
+        return evaluate(requireNonNull(position), new Workspace(position.getSize()));
+    }
+
+    /**
+     * Evaluates all positions in parallel.
+     *
+     * @param positions The positions, must not be null and must not contain null.
+     * @return The evaluations in the order of the positions, never null.
+     */
+    public PositionEvaluation[] evaluateAll(Position[] positions) {
+        for (Position position : requireNonNull(positions))
+            requireNonNull(position);
+
+        PositionEvaluation[] evaluations = new PositionEvaluation[positions.length];
+        int chunks = (positions.length + chunkSize - 1) / chunkSize;
+        if (chunks > 0)
+            forkJoinPool.invoke(new ChunkTask(positions, evaluations, 0, chunks));
+        return evaluations;
+    }
+
+    /**
+     * Evaluates all positions of the stream in parallel.
+     *
+     * @param positions The positions, must not be null and must not contain null.
+     * @return The evaluations in the order of the positions, never null.
+     */
+    public PositionEvaluation[] evaluateAll(Stream<Position> positions) {
+        return evaluateAll(requireNonNull(positions).toArray(Position[]::new));
+    }
+
+    /* Evaluates the positions of a chunk. */
+    private void evaluateChunk(Position[] positions, PositionEvaluation[] evaluations, int chunk) {
+        int end = Math.min(positions.length, (chunk + 1) * chunkSize);
+        Workspace workspace = null;
+        for (int i = chunk * chunkSize; i < end; i++) {
+            if ((workspace == null) || (workspace.size != positions[i].getSize()))
+                workspace = new Workspace(positions[i].getSize());
+            evaluations[i] = evaluate(positions[i], workspace);
+        }
+    }
+
+    /* Evaluates the position with the given workspace. */
+    private PositionEvaluation evaluate(Position position, Workspace workspace) {
+        GameCore core = workspace.core;
+        core.setPosition(position);
+
+        SquareTable squareTable = core.getSquareTable();
+        int fieldCount = squareTable.getFieldCount();
+        int squareCount = squareTable.getSquareCount();
+        int[] squarePieces = squareTable.getPieces();
+
+        int activePlayer = position.getActivePlayer();
+        int[][] heatMaps = {new int[fieldCount], new int[fieldCount]};
+        int[] threatMap = workspace.threatMap;
+        fill(threatMap, 0);
+
+        int scoreForSquare;
+        int piecesOfPlayer1;
+        int piecesOfPlayer2;
+        int piecesOfActive;
+        int piecesOfOpponent;
+
+        // Create heat maps for both players and the threats of the opponent:
+        for (int s = 0, p = 0; s < squareCount; s++, p += 4) {
+
+            piecesOfPlayer1 = core.getPiecesInSquare(PLAYER1, s);
+            piecesOfPlayer2 = core.getPiecesInSquare(PLAYER2, s);
+            scoreForSquare = squareTable.getScore(s);
+
+            if (piecesOfPlayer2 == 0)
+                updateHeatMap(heatMaps[PLAYER1], squarePieces, p, scoreForSquare * (piecesOfPlayer1 + 1));
+            if (piecesOfPlayer1 == 0)
+                updateHeatMap(heatMaps[PLAYER2], squarePieces, p, scoreForSquare * (piecesOfPlayer2 + 1));
+
+            piecesOfActive = (activePlayer == PLAYER1) ? piecesOfPlayer1 : piecesOfPlayer2;
+            piecesOfOpponent = (activePlayer == PLAYER1) ? piecesOfPlayer2 : piecesOfPlayer1;
+            if ((piecesOfOpponent > 0) && (piecesOfActive == 0))
+                updateHeatMap(threatMap, squarePieces, p, scoreForSquare * (piecesOfOpponent + 1));
+        }
+
+        int[] activeHeatMap = heatMaps[activePlayer];
+        int[] moveValues = new int[fieldCount];
+        int value;
+        int maxValue = -1;
+        int bestMove = -1;
+
+        // Find the best move like the bot and clear the values of occupied fields:
+        for (int i = 0; i < fieldCount; i++) {
+
+            if (!core.isFieldEmptyUnchecked(i)) {
+                heatMaps[PLAYER1][i] = 0;
+                heatMaps[PLAYER2][i] = 0;
+                moveValues[i] = -1;
+                continue;
+            }
+
+            value = (activeHeatMap[i] >= threatMap[i]) ? activeHeatMap[i] : threatMap[i];
+            moveValues[i] = value;
+            if (value > maxValue) {
+                maxValue = value;
+                bestMove = i;
+            }
+        }
+
+        // Take or block the biggest threat like the bot:
+        int forcedMove = core.getForcedMove(activePlayer);
+        if (forcedMove >= 0) {
+            bestMove = forcedMove;
+            maxValue = moveValues[forcedMove];
+        }
+
+        int[] scores = {core.getScore(PLAYER1), core.getScore(PLAYER2)};
+        return new PositionEvaluation(position, bestMove, maxValue, heatMaps, moveValues, scores,
+                core.getState());
+    }
+
+    /* Updates the heat map at the pieces of the square with the score. */
+    private void updateHeatMap(int[] heatMap, int[] squarePieces, int p, int score) {
+        for (int m = 0; m < 4; m++) {
+            int index = squarePieces[p + m];
+            if (strategy == LONG_TERM)
+                heatMap[index] += score;
+            else if (score > heatMap[index])
+                heatMap[index] = score;
+        }
+    }
+
+
+    /* The reusable buffers of a worker for positions with the same size. */
+    private class Workspace {
+
+        private final int size;
+        private final GameCore core;
+        private final int[] threatMap;
+
+        Workspace(int size) {
+            this.size = size;
+            this.core = new GameCore(size, minScore, minDifference);
+            this.threatMap = new int[size * size];
+        }
+
+    }
+
+
+    /* Evaluates a range of chunks and splits it, if it contains more than one chunk. */
+    @SuppressWarnings("serial")
+    private class ChunkTask extends RecursiveAction {
+
+        private final Position[] positions;
+        private final PositionEvaluation[] evaluations;
+        private final int fromChunk;
+        private final int toChunk;
+
+        ChunkTask(Position[] positions, PositionEvaluation[] evaluations, int fromChunk, int toChunk) {
+            this.positions = positions;
+            this.evaluations = evaluations;
+            this.fromChunk = fromChunk;
+            this.toChunk = toChunk;
+        }
+
+        @Override
+        protected void compute() {
+            if (toChunk - fromChunk == 1) {
+                evaluateChunk(positions, evaluations, fromChunk);
+                return;
+            }
+            int middle = (fromChunk + toChunk) >>> 1;
+            invokeAll(new ChunkTask(positions, evaluations, fromChunk, middle),
+                    new ChunkTask(positions, evaluations, middle, toChunk));
+        }
+
+    }
+
+}
@@ -0,0 +1,741 @@
+package de.tbressler.quadratum.core;
+
+import de.tbressler.quadratum.logic.GameOverVerifier.GameOverState;
+import de.tbressler.quadratum.model.IReadOnlyGameBoard;
+import de.tbressler.quadratum.model.Player;
+import de.tbressler.quadratum.utils.SquareTable;
+
+import static de.tbressler.quadratum.logic.GameOverVerifier.GameOverState.GAME_DRAW;
+import static de.tbressler.quadratum.logic.GameOverVerifier.GameOverState.NOT_OVER;
+import static de.tbressler.quadratum.logic.GameOverVerifier.GameOverState.PLAYER1_WON;
+import static de.tbressler.quadratum.logic.GameOverVerifier.GameOverState.PLAYER2_WON;
+import static de.tbressler.quadratum.utils.GameBoardUtils.assertSize;
+import static java.lang.System.arraycopy;
+import static java.util.Arrays.fill;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A compact game state for trusted code like simulations, bots and replays. The pieces are stored
+ * in bitboards and the squares, scores and the game over state are updated incrementally with
+ * every move, so that a move only touches the squares of the changed field.
+ * <p>
+ * Moves can be taken back in any order with {@link #unmakeMove(int)}, because the counters don't
+ * depend on the order of the moves.
+ * <p>
+ * The core also tracks the threats of both players: squares with three pieces of a player and
+ * no piece of the opponent. The completing fields of the threats are kept in bitboards and the
+ * sum of the scores, which a field completes, is kept per field. Bots can take or block the biggest
+ * threat with {@link #getForcedMove(int)} and searches can try the threats first with
+ * {@link #getOrderedMoves(int[])}.
+ * <p>
+ * The core has no listeners and the {@code ...Unchecked} methods don't check their arguments.
+ * Callers must validate the input once at the boundary, e.g. with {@link #of(IReadOnlyGameBoard,
+ * Player, int, int)}, {@link #makeMove(int)} or {@link #replay(int[])}. The game rules are the same
+ * as in the game logic with a game over verifier without early termination.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public final class GameCore {
+
+    /** No player, used for empty fields. */
+    public static final int NO_PLAYER = -1;
+
+    /** Player 1. */
+    public static final int PLAYER1 = 0;
+
+    /** Player 2. */
+    public static final int PLAYER2 = 1;
+
+
+    /* The table of all possible squares on the game board. */
+    private final SquareTable squareTable;
+
+    /* The IDs of the squares that contain the field, indexed by field index. */
+    private final int[][] squaresOfField;
+
+    /* The scores of all squares. */
+    private final int[] squareScores;
+
+    /* The field indices of all squares, four per square. */
+    private final int[] squarePieces;
+
+    /* The minimum score for a player to win the game. */
+    private final int minScore;
+
+    /* The minimum difference between the player scores to win the game. */
+    private final int minDifference;
+
+    /* The bitboards with the pieces, indexed by player. */
+    private final long[][] pieces;
+
+    /* The number of pieces of a player per square, indexed by player and square ID. */
+    private final byte[][] piecesPerSquare;
+
+    /* The score of the players. */
+    private final int[] scores = new int[2];
+
+    /* The number of completed squares of the players. */
+    private final int[] squares = new int[2];
+
+    /* The number of open squares that only contain pieces of the player, indexed by player. */
+    private final int[] openSquares = new int[2];
+
+    /* The number of squares without any piece. */
+    private int emptySquares;
+
+    /* The bitboards with the fields, which complete a square of the player, indexed by player. */
+    private final long[][] threats;
+
+    /* The sum of the scores of the squares, which are completed by the field, indexed by player and field. */
+    private final int[][] threatValues;
+
+    /* The active player. */
+    private int activePlayer = PLAYER1;
+
+    /* The number of pieces on the game board. */
+    private int moveCount = 0;
+
+
+    /**
+     * Creates an empty game core for a game board with the given size.
+     *
+     * @param size The size of the game board, between 4..16.
+     * @param minScore The minimum score for a player to win the game.
+     * @param minDifference The minimum difference between the player scores to win the game.
+     */
+    public GameCore(int size, int minScore, int minDifference) {
+        assertSize(size);
+
+        this.squareTable = SquareTable.of(size);
+        this.minScore = minScore;
+        this.minDifference = minDifference;
+
+        int fieldCount = squareTable.getFieldCount();
+        this.squaresOfField = new int[fieldCount][];
+        for (int i = 0; i < fieldCount; i++)
+            squaresOfField[i] = squareTable.getSquaresOfField(i);
+        this.squareScores = squareTable.getScores();
+        this.squarePieces = squareTable.getPieces();
+
+        int words = (fieldCount + 63) / 64;
+        this.pieces = new long[][]{new long[words], new long[words]};
+        this.threats = new long[][]{new long[words], new long[words]};
+        this.threatValues = new int[][]{new int[fieldCount], new int[fieldCount]};
+
+        int squareCount = squareTable.getSquareCount();
+        this.piecesPerSquare = new byte[][]{new byte[squareCount], new byte[squareCount]};
+        this.emptySquares = squareCount;
+    }
+
+    /**
+     * Creates a game core with the pieces of the given game board. This is the boundary between
+     * the validated and the trusted API, the game board is only read once.
+     *
+     * @param gameBoard The game board, must not be null.
+     * @param activePlayer The active player, must be player 1 or 2 of the game board.
+     * @param minScore The minimum score for a player to win the game.
+     * @param minDifference The minimum difference between the player scores to win the game.
+     * @return The game core, never null.
+     */
+    public static GameCore of(IReadOnlyGameBoard gameBoard, Player activePlayer, int minScore, int minDifference) {
+        requireNonNull(gameBoard);
+        requireNonNull(activePlayer);
+
+        Player player1 = gameBoard.getPlayer1();
+        if (!activePlayer.equals(player1) && !activePlayer.equals(gameBoard.getPlayer2()))
+            throw new AssertionError("Player is unknown at the game board!");
+
+        GameCore core = new GameCore(gameBoard.getSize(), minScore, minDifference);
+        for (int i = 0; i < core.getFieldCount(); i++) {
+            Player piece = gameBoard.getPiece(i);
+            if (piece != null)
+                core.placeUnchecked(i, piece.equals(player1) ? PLAYER1 : PLAYER2);
+        }
+        core.activePlayer = activePlayer.equals(player1) ? PLAYER1 : PLAYER2;
+        return core;
+    }
+
+    /**
+     * Returns a copy of this game core.
+     *
+     * @return The copy, never null.
+     */
+    public GameCore copy() {
+        GameCore copy = new GameCore(getSize(), minScore, minDifference);
+        copy.copyFrom(this);
+        return copy;
+    }
+
+    /**
+     * Overwrites the state of this game core with the state of the given game core. Both cores
+     * must have the same size and rules. This method doesn't allocate memory and can be used to
+     * reset a simulation.
+     *
+     * @param other The other game core, must not be null.
+     */
+    public void copyFrom(GameCore other) {
+        if ((other.squareTable != squareTable) || (other.minScore != minScore) ||
+                (other.minDifference != minDifference))
+            throw new AssertionError("Size or rules of the game cores doesn't match!");
+
+        for (int p = 0; p < 2; p++) {
+            arraycopy(other.pieces[p], 0, pieces[p], 0, pieces[p].length);
+            arraycopy(other.piecesPerSquare[p], 0, piecesPerSquare[p], 0, piecesPerSquare[p].length);
+            arraycopy(other.threats[p], 0, threats[p], 0, threats[p].length);
+            arraycopy(other.threatValues[p], 0, threatValues[p], 0, threatValues[p].length);
+            scores[p] = other.scores[p];
+            squares[p] = other.squares[p];
+            openSquares[p] = other.openSquares[p];
+        }
+        emptySquares = other.emptySquares;
+        activePlayer = other.activePlayer;
+        moveCount = other.moveCount;
+    }
+
+
+    /**
+     * Removes all pieces from the game board and makes player 1 the active player.
+     */
+    public void clear() {
+        for (int p = 0; p < 2; p++) {
+            fill(pieces[p], 0L);
+            fill(piecesPerSquare[p], (byte) 0);
+            fill(threats[p], 0L);
+            fill(threatValues[p], 0);
+            scores[p] = 0;
+            squares[p] = 0;
+            openSquares[p] = 0;
+        }
+        emptySquares = squareTable.getSquareCount();
+        activePlayer = PLAYER1;
+        moveCount = 0;
+    }
+
+    /**
+     * Overwrites the state of this game core with the given position.
+     *
+     * @param position The position, must not be null and must have the same size.
+     */
+    public void setPosition(Position position) {
+        if (position.getSize() != getSize())
+            throw new AssertionError("Size of position and game core doesn't match!");
+
+        clear();
+        for (int player = PLAYER1; player <= PLAYER2; player++) {
+            long[] bitboard = position.pieces(player);
+            for (int w = 0; w < bitboard.length; w++) {
+                long bits = bitboard[w];
+                while (bits != 0) {
+                    placeUnchecked((w << 6) + Long.numberOfTrailingZeros(bits), player);
+                    bits &= bits - 1;
+                }
+            }
+        }
+        activePlayer = position.getActivePlayer();
+    }
+
+    /**
+     * Returns the current position of this game core.
+     *
+     * @return The position, never null.
+     */
+    public Position toPosition() {
+        return new Position(getSize(), new long[][]{pieces[PLAYER1].clone(), pieces[PLAYER2].clone()}, activePlayer);
+    }
+
+
+    /**
+     * Places a piece of the active player on the game board and switches the active player. The
+     * move is validated before it is applied.
+     *
+     * @param index The field index, between 0..size*size-1. The field must be empty.
+     * @return The score of the new squares of the active player.
+     */
+    public int makeMove(int index) {
+        if (getState() != NOT_OVER)
+            throw new AssertionError("Game is over!");
+        if ((index < 0) || (index >= getFieldCount()))
+            throw new AssertionError("Index must be between 0 and " + (getFieldCount() - 1) + "!");
+        if (!isFieldEmptyUnchecked(index))
+            throw new AssertionError("The given field index is not empty!");
+        return makeMoveUnchecked(index);
+    }
+
+    /**
+     * Places a piece of the active player on the game board and switches the active player. The
+     * move is not validated, the field must be empty and the index must be in range.
+     *
+     * @param index The field index, between 0..size*size-1.
+     * @return The score of the new squares of the active player.
+     */
+    public int makeMoveUnchecked(int index) {
+        int gain = placeUnchecked(index, activePlayer);
+        activePlayer ^= 1;
+        return gain;
+    }
+
+    /**
+     * Removes the piece from the game board and makes its player the active player. The squares,
+     * scores and the game over state are restored, so that make and unmake can be used in a search
+     * without copying the game core. The field is validated before the piece is removed.
+     *
+     * @param index The field index, between 0..size*size-1. The field must not be empty.
+     * @return The score of the squares, which were removed with the piece.
+     */
+    public int unmakeMove(int index) {
+        if ((index < 0) || (index >= getFieldCount()))
+            throw new AssertionError("Index must be between 0 and " + (getFieldCount() - 1) + "!");
+        if (isFieldEmptyUnchecked(index))
+            throw new AssertionError("The given field index is empty!");
+        return unmakeMoveUnchecked(index);
+    }
+
+    /**
+     * Removes the piece from the game board and makes its player the active player. The field is
+     * not validated, it must contain a piece and the index must be in range.
+     *
+     * @param index The field index, between 0..size*size-1.
+     * @return The score of the squares, which were removed with the piece.
+     */
+    public int unmakeMoveUnchecked(int index) {
+        int player = getPieceUnchecked(index);
+        pieces[player][index >>> 6] &= ~(1L << index);
+        moveCount--;
+
+        byte[] own = piecesPerSquare[player];
+        byte[] other = piecesPerSquare[player ^ 1];
+        int loss = 0;
+
+        for (int square : squaresOfField[index]) {
+            int ownPieces = --own[square];
+            if (other[square] != 0) {
+                // The square is open for the opponent again:
+                if (ownPieces == 0) {
+                    openSquares[player ^ 1]++;
+                    if (other[square] == 3)
+                        addThreat(player ^ 1, index, squareScores[square]);
+                }
+            } else if (ownPieces == 0) {
+                emptySquares++;
+                openSquares[player]--;
+            } else if (ownPieces == 2) {
+                removeThreat(player, findEmptyField(square, index), squareScores[square]);
+            } else if (ownPieces == 3) {
+                openSquares[player]++;
+                squares[player]--;
+                loss += squareScores[square];
+                addThreat(player, index, squareScores[square]);
+            }
+        }
+
+        scores[player] -= loss;
+        activePlayer = player;
+        return loss;
+    }
+
+    /**
+     * Places a piece of the player without switching the active player, e.g. to synchronize the
+     * game core with a game board. The field is not validated, it must be empty and the index must
+     * be in range.
+     *
+     * @param index The field index, between 0..size*size-1.
+     * @param player PLAYER1 or PLAYER2.
+     * @return The score of the new squares of the player.
+     */
+    public int placePieceUnchecked(int index, int player) {
+        return placeUnchecked(index, player);
+    }
+
+    /**
+     * Validates all moves and applies them afterwards without further checks. The moves are
+     * applied alternately, beginning with the active player. The game over state isn't checked
+     * between the moves.
+     *
+     * @param moves The field indices, must not be null. All fields must be empty and distinct.
+     */
+    public void replay(int[] moves) {
+        int fieldCount = getFieldCount();
+        boolean[] used = new boolean[fieldCount];
+        for (int index : requireNonNull(moves)) {
+            if ((index < 0) || (index >= fieldCount))
+                throw new AssertionError("Index must be between 0 and " + (fieldCount - 1) + "!");
+            if (used[index] || !isFieldEmptyUnchecked(index))
+                throw new AssertionError("The given field index is not empty!");
+            used[index] = true;
+        }
+        for (int index : moves)
+            makeMoveUnchecked(index);
+    }
+
+    /* Places the piece of the player and updates squares, scores and open squares. */
+    private int placeUnchecked(int index, int player) {
+        pieces[player][index >>> 6] |= 1L << index;
+        moveCount++;
+
+        byte[] own = piecesPerSquare[player];
+        byte[] other = piecesPerSquare[player ^ 1];
+        int gain = 0;
+
+        for (int square : squaresOfField[index]) {
+            int ownPieces = own[square]++;
+            if (other[square] != 0) {
+                // The square was open for the opponent and is blocked now:
+                if (ownPieces == 0) {
+                    openSquares[player ^ 1]--;
+                    if (other[square] == 3)
+                        removeThreat(player ^ 1, index, squareScores[square]);
+                }
+            } else if (ownPieces == 0) {
+                emptySquares--;
+                openSquares[player]++;
+            } else if (ownPieces == 2) {
+                addThreat(player, findEmptyField(square, index), squareScores[square]);
+            } else if (ownPieces == 3) {
+                openSquares[player]--;
+                squares[player]++;
+                gain += squareScores[square];
+                removeThreat(player, index, squareScores[square]);
+            }
+        }
+
+        scores[player] += gain;
+        return gain;
+    }
+
+    /* Returns the empty field of the square, which is not the given field. */
+    private int findEmptyField(int square, int exceptIndex) {
+        for (int p = 4 * square, end = p + 4; p < end; p++) {
+            int index = squarePieces[p];
+            if ((index != exceptIndex) && isFieldEmptyUnchecked(index))
+                return index;
+        }
+        throw new IllegalStateException("Square has no empty field!");
+    }
+
+    /* Adds the score of a threat of the player at the field. */
+    private void addThreat(int player, int index, int score) {
+        if (threatValues[player][index] == 0)
+            threats[player][index >>> 6] |= 1L << index;
+        threatValues[player][index] += score;
+    }
+
+    /* Removes the score of a threat of the player at the field. */
+    private void removeThreat(int player, int index, int score) {
+        threatValues[player][index] -= score;
+        if (threatValues[player][index] == 0)
+            threats[player][index >>> 6] &= ~(1L << index);
+    }
+
+
+    /**
+     * Returns the game over state of the current position. The state is computed from counters
+     * and doesn't iterate over the game board.
+     *
+     * @return The game over state, never null.
+     */
+    public GameOverState getState() {
+        int scorePlayer1 = scores[PLAYER1];
+        int scorePlayer2 = scores[PLAYER2];
+
+        // Check if one player has won the game:
+        if ((scorePlayer1 >= minScore) || (scorePlayer2 >= minScore)) {
+            int dif = scorePlayer1 - scorePlayer2;
+            if (dif >= minDifference)
+                return PLAYER1_WON;
+            else if (dif <= -minDifference)
+                return PLAYER2_WON;
+        }
+
+        // Check if more squares are possible:
+        boolean player1CanDoMoreSquares = openSquares[PLAYER1] > 0;
+        boolean player2CanDoMoreSquares = openSquares[PLAYER2] > 0;
+
+        if ((emptySquares > 0) || (player1CanDoMoreSquares && player2CanDoMoreSquares))
+            return NOT_OVER;
+        if (player1CanDoMoreSquares)
+            return (scorePlayer1 > scorePlayer2) ? PLAYER1_WON : NOT_OVER;
+        if (player2CanDoMoreSquares)
+            return (scorePlayer2 > scorePlayer1) ? PLAYER2_WON : NOT_OVER;
+
+        if (scorePlayer1 > scorePlayer2)
+            return PLAYER1_WON;
+        else if (scorePlayer2 > scorePlayer1)
+            return PLAYER2_WON;
+        return GAME_DRAW;
+    }
+
+
+    /**
+     * Returns the size of the game board.
+     *
+     * @return The size of the game board.
+     */
+    public int getSize() {
+        return squareTable.getSize();
+    }
+
+    /**
+     * Returns the number of fields of the game board (size * size).
+     *
+     * @return The number of fields.
+     */
+    public int getFieldCount() {
+        return squareTable.getFieldCount();
+    }
+
+    /**
+     * Returns the table of all possible squares of the game board.
+     *
+     * @return The square table, never null.
+     */
+    public SquareTable getSquareTable() {
+        return squareTable;
+    }
+
+    /**
+     * Returns the active player.
+     *
+     * @return PLAYER1 or PLAYER2.
+     */
+    public int getActivePlayer() {
+        return activePlayer;
+    }
+
+    /**
+     * Returns the number of pieces on the game board.
+     *
+     * @return The number of pieces.
+     */
+    public int getMoveCount() {
+        return moveCount;
+    }
+
+    /**
+     * Returns the number of empty fields.
+     *
+     * @return The number of empty fields.
+     */
+    public int getEmptyFieldCount() {
+        return getFieldCount() - moveCount;
+    }
+
+    /**
+     * Writes the indices of all empty fields in ascending order to the given array.
+     *
+     * @param fields The target array, must have at least getEmptyFieldCount() elements.
+     * @return The number of empty fields.
+     */
+    public int getEmptyFields(int[] fields) {
+        int count = 0;
+        int fieldCount = getFieldCount();
+        for (int w = 0; w < pieces[PLAYER1].length; w++) {
+            long empty = ~(pieces[PLAYER1][w] | pieces[PLAYER2][w]);
+            while (empty != 0) {
+                int index = (w << 6) + Long.numberOfTrailingZeros(empty);
+                if (index >= fieldCount)
+                    return count;
+                fields[count++] = index;
+                empty &= empty - 1;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the score of the player.
+     *
+     * @param player PLAYER1 or PLAYER2.
+     * @return The score of the player.
+     */
+    public int getScore(int player) {
+        return scores[player];
+    }
+
+    /**
+     * Returns the number of completed squares of the player.
+     *
+     * @param player PLAYER1 or PLAYER2.
+     * @return The number of squares.
+     */
+    public int getSquareCount(int player) {
+        return squares[player];
+    }
+
+    /**
+     * Returns the number of pieces of the player in the given square.
+     *
+     * @param player PLAYER1 or PLAYER2.
+     * @param square The square ID of the square table.
+     * @return The number of pieces, between 0..4.
+     */
+    public int getPiecesInSquare(int player, int square) {
+        return piecesPerSquare[player][square];
+    }
+
+    /**
+     * Returns the bitboard of the fields, which complete at least one square of the player. A
+     * square is a threat, if it contains three pieces of the player and no piece of the opponent.
+     *
+     * @param player PLAYER1 or PLAYER2.
+     * @param word The index of the 64-bit word, between 0..(size*size-1)/64. Bit i of word w is
+     *             the field 64*w+i.
+     * @return The bitboard of the completing fields.
+     */
+    public long getThreatMask(int player, int word) {
+        return threats[player][word];
+    }
+
+    /**
+     * Returns the sum of the scores of the squares, which the player completes with a piece on
+     * the field. The index is not validated.
+     *
+     * @param player PLAYER1 or PLAYER2.
+     * @param index The field index, between 0..size*size-1.
+     * @return The value of the threat or 0, if the field completes no square of the player.
+     */
+    public int getThreatValue(int player, int index) {
+        return threatValues[player][index];
+    }
+
+    /**
+     * Returns true if the player can complete a square with the next piece.
+     *
+     * @param player PLAYER1 or PLAYER2.
+     * @return True if the player has at least one threat.
+     */
+    public boolean hasThreats(int player) {
+        for (long word : threats[player])
+            if (word != 0)
+                return true;
+        return false;
+    }
+
+    /**
+     * Returns the field with the biggest threat of the player. Only the completing fields are
+     * visited, not the whole game board.
+     *
+     * @param player PLAYER1 or PLAYER2.
+     * @return The first field with the highest threat value or -1, if the player has no threats.
+     */
+    public int getBiggestThreat(int player) {
+        long[] mask = threats[player];
+        int[] values = threatValues[player];
+        int best = -1;
+        for (int w = 0; w < mask.length; w++) {
+            long bits = mask[w];
+            while (bits != 0) {
+                int index = (w << 6) + Long.numberOfTrailingZeros(bits);
+                if ((best < 0) || (values[index] > values[best]))
+                    best = index;
+                bits &= bits - 1;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Returns the forced move of the player: the biggest threat of the player or the biggest threat
+     * of the opponent, which must be blocked. The own threat is taken, if it is at least as big as
+     * the threat of the opponent.
+     *
+     * @param player PLAYER1 or PLAYER2.
+     * @return The field index or -1, if no player has a threat.
+     */
+    public int getForcedMove(int player) {
+        int own = getBiggestThreat(player);
+        int opponent = getBiggestThreat(player ^ 1);
+        if (opponent < 0)
+            return own;
+        if ((own >= 0) && (threatValues[player][own] >= threatValues[player ^ 1][opponent]))
+            return own;
+        return opponent;
+    }
+
+    /**
+     * Writes the indices of all empty fields to the given array, ordered for a search: first the
+     * threats of the active player, then the threats of the opponent, each by descending threat
+     * value, and then the other empty fields in ascending order.
+     *
+     * @param moves The target array, must have at least getEmptyFieldCount() elements.
+     * @return The number of empty fields.
+     */
+    public int getOrderedMoves(int[] moves) {
+        int count = addThreats(moves, 0, activePlayer, false);
+        count = addThreats(moves, count, activePlayer ^ 1, true);
+
+        int fieldCount = getFieldCount();
+        for (int w = 0; w < pieces[PLAYER1].length; w++) {
+            long free = ~(pieces[PLAYER1][w] | pieces[PLAYER2][w] | threats[PLAYER1][w] | threats[PLAYER2][w]);
+            while (free != 0) {
+                int index = (w << 6) + Long.numberOfTrailingZeros(free);
+                if (index >= fieldCount)
+                    return count;
+                moves[count++] = index;
+                free &= free - 1;
+            }
+        }
+        return count;
+    }
+
+    /* Adds the threats of the player by descending value. Fields, which are also threats of the
+       other player, are skipped if skipShared is true. */
+    private int addThreats(int[] moves, int count, int player, boolean skipShared) {
+        int start = count;
+        int[] values = threatValues[player];
+        for (int w = 0; w < threats[player].length; w++) {
+            long bits = threats[player][w];
+            if (skipShared)
+                bits &= ~threats[player ^ 1][w];
+            while (bits != 0) {
+                int index = (w << 6) + Long.numberOfTrailingZeros(bits);
+                int i = count++;
+                // Insertion sort by descending value:
+                while ((i > start) && (values[moves[i - 1]] < values[index])) {
+                    moves[i] = moves[i - 1];
+                    i--;
+                }
+                moves[i] = index;
+                bits &= bits - 1;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns true if the field is empty. The index is not validated.
+     *
+     * @param index The field index, between 0..size*size-1.
+     * @return True if the field is empty, otherwise false.
+     */
+    public boolean isFieldEmptyUnchecked(int index) {
+        return (((pieces[PLAYER1][index >>> 6] | pieces[PLAYER2][index >>> 6]) >>> index) & 1L) == 0;
+    }
+
+    /**
+     * Returns the player of the piece on the field. The index is not validated.
+     *
+     * @param index The field index, between 0..size*size-1.
+     * @return PLAYER1, PLAYER2 or NO_PLAYER if the field is empty.
+     */
+    public int getPieceUnchecked(int index) {
+        long bit = 1L << index;
+        if ((pieces[PLAYER1][index >>> 6] & bit) != 0)
+            return PLAYER1;
+        if ((pieces[PLAYER2][index >>> 6] & bit) != 0)
+            return PLAYER2;
+        return NO_PLAYER;
+    }
+
+
+    @Override
+    public String toString() {
+        return "GameCore{" +
+                "size=" + getSize() +
+                ", activePlayer=" + activePlayer +
+                ", moveCount=" + moveCount +
+                ", scores=[" + scores[PLAYER1] + ", " + scores[PLAYER2] + "]" +
+                '}';
+    }
+
+}
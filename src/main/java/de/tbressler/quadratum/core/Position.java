@@ -0,0 +1,214 @@
+package de.tbressler.quadratum.core;
+
+import de.tbressler.quadratum.model.IReadOnlyGameBoard;
+import de.tbressler.quadratum.model.Player;
+
+import java.util.Arrays;
+
+import static de.tbressler.quadratum.core.GameCore.NO_PLAYER;
+import static de.tbressler.quadratum.core.GameCore.PLAYER1;
+import static de.tbressler.quadratum.core.GameCore.PLAYER2;
+import static de.tbressler.quadratum.utils.GameBoardUtils.assertSize;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * An immutable and compact position of a game. The position contains the pieces of both players
+ * as bitboards (one bit per field and 64 fields per word) and the active player.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public final class Position {
+
+    /* The size of the game board. */
+    private final int size;
+
+    /* The bitboards with the pieces, indexed by player. */
+    private final long[][] pieces;
+
+    /* The active player. */
+    private final int activePlayer;
+
+
+    /**
+     * Creates a position.
+     *
+     * @param size The size of the game board, between 4..16.
+     * @param player1Pieces The bitboard of player 1, must not be null and must have
+     *                      (size*size+63)/64 words.
+     * @param player2Pieces The bitboard of player 2, must not be null and must have
+     *                      (size*size+63)/64 words.
+     * @param activePlayer The active player, PLAYER1 or PLAYER2.
+     */
+    public Position(int size, long[] player1Pieces, long[] player2Pieces, int activePlayer) {
+        this(size, new long[][]{player1Pieces.clone(), player2Pieces.clone()}, activePlayer);
+        validate();
+    }
+
+    /* Creates a position without copying and validating the bitboards. */
+    Position(int size, long[][] pieces, int activePlayer) {
+        this.size = size;
+        this.pieces = pieces;
+        this.activePlayer = activePlayer;
+    }
+
+    /* Validates the position. */
+    private void validate() {
+        assertSize(size);
+        if ((activePlayer != PLAYER1) && (activePlayer != PLAYER2))
+            throw new AssertionError("activePlayer must be PLAYER1 or PLAYER2!");
+
+        int fieldCount = size * size;
+        int words = (fieldCount + 63) / 64;
+        if ((pieces[PLAYER1].length != words) || (pieces[PLAYER2].length != words))
+            throw new AssertionError("The bitboards must have " + words + " words!");
+
+        for (int w = 0; w < words; w++) {
+            if ((pieces[PLAYER1][w] & pieces[PLAYER2][w]) != 0)
+                throw new AssertionError("A field is occupied by both players!");
+            int fieldsInWord = Math.min(64, fieldCount - 64 * w);
+            long outside = (fieldsInWord == 64) ? 0L : (-1L << fieldsInWord);
+            if (((pieces[PLAYER1][w] | pieces[PLAYER2][w]) & outside) != 0)
+                throw new AssertionError("A piece is outside of the game board!");
+        }
+    }
+
+
+    /**
+     * Creates a position from the pieces of a game board.
+     *
+     * @param gameBoard The game board, must not be null.
+     * @param activePlayer The active player, must be player 1 or 2 of the game board.
+     * @return The position, never null.
+     */
+    public static Position of(IReadOnlyGameBoard gameBoard, Player activePlayer) {
+        return GameCore.of(gameBoard, activePlayer, Integer.MAX_VALUE, 0).toPosition();
+    }
+
+    /**
+     * Returns all positions of a game, beginning with the empty game board. The position at index
+     * {@code i} is the position before move {@code i}, the last position is the final position of
+     * the game.
+     *
+     * @param size The size of the game board, between 4..16.
+     * @param firstPlayer The player of the first move, PLAYER1 or PLAYER2.
+     * @param moves The moves of the game, must not be null. The moves alternate between the
+     *              players and must be distinct.
+     * @return The positions, never null.
+     */
+    public static Position[] ofGame(int size, int firstPlayer, int[] moves) {
+        if ((firstPlayer != PLAYER1) && (firstPlayer != PLAYER2))
+            throw new AssertionError("firstPlayer must be PLAYER1 or PLAYER2!");
+
+        GameCore core = new GameCore(size, Integer.MAX_VALUE, 0);
+        if (firstPlayer == PLAYER2)
+            core.setPosition(new Position(size, new long[2][(size * size + 63) / 64], PLAYER2));
+
+        // Validate all moves once:
+        core.copy().replay(moves);
+
+        Position[] positions = new Position[moves.length + 1];
+        for (int i = 0; i < moves.length; i++) {
+            positions[i] = core.toPosition();
+            core.makeMoveUnchecked(moves[i]);
+        }
+        positions[moves.length] = core.toPosition();
+        return positions;
+    }
+
+
+    /**
+     * Returns the size of the game board.
+     *
+     * @return The size of the game board.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the active player.
+     *
+     * @return PLAYER1 or PLAYER2.
+     */
+    public int getActivePlayer() {
+        return activePlayer;
+    }
+
+    /**
+     * Returns the player of the piece on the field.
+     *
+     * @param index The field index, between 0..size*size-1.
+     * @return PLAYER1, PLAYER2 or NO_PLAYER if the field is empty.
+     */
+    public int getPiece(int index) {
+        if ((index < 0) || (index >= size * size))
+            throw new AssertionError("Index must be between 0 and " + (size * size - 1) + "!");
+        long bit = 1L << index;
+        if ((pieces[PLAYER1][index >>> 6] & bit) != 0)
+            return PLAYER1;
+        if ((pieces[PLAYER2][index >>> 6] & bit) != 0)
+            return PLAYER2;
+        return NO_PLAYER;
+    }
+
+    /**
+     * Returns the number of pieces on the game board.
+     *
+     * @return The number of pieces.
+     */
+    public int getPieceCount() {
+        int count = 0;
+        for (int w = 0; w < pieces[PLAYER1].length; w++)
+            count += Long.bitCount(pieces[PLAYER1][w]) + Long.bitCount(pieces[PLAYER2][w]);
+        return count;
+    }
+
+    /**
+     * Returns a copy of the bitboard of the player.
+     *
+     * @param player PLAYER1 or PLAYER2.
+     * @return The bitboard, never null.
+     */
+    public long[] getPieces(int player) {
+        return pieces[player].clone();
+    }
+
+    /* Returns the bitboard of the player without copying it. */
+    long[] pieces(int player) {
+        return pieces[player];
+    }
+
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Position position = (Position) o;
+        return (size == position.size) &&
+                (activePlayer == position.activePlayer) &&
+                Arrays.equals(pieces[PLAYER1], position.pieces[PLAYER1]) &&
+                Arrays.equals(pieces[PLAYER2], position.pieces[PLAYER2]);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = 31 * size + activePlayer;
+        result = 31 * result + Arrays.hashCode(pieces[PLAYER1]);
+        return 31 * result + Arrays.hashCode(pieces[PLAYER2]);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("Position{size=").append(size)
+                .append(", activePlayer=").append(activePlayer).append(", fields=");
+        for (int i = 0; i < size * size; i++) {
+            if ((i > 0) && (i % size == 0))
+                builder.append('/');
+            int piece = getPiece(i);
+            builder.append((piece == PLAYER1) ? '1' : (piece == PLAYER2) ? '2' : '.');
+        }
+        return builder.append('}').toString();
+    }
+
+}
@@ -0,0 +1,135 @@
+package de.tbressler.quadratum.evaluation;
+
+import de.tbressler.quadratum.core.GameCore;
+import de.tbressler.quadratum.utils.SquareTable;
+
+import static de.tbressler.quadratum.utils.GameBoardUtils.assertSize;
+import static java.util.Arrays.fill;
+
+/**
+ * Extracts the features of positions for a {@link PositionModel}. The features describe the
+ * position after a move from the view of the player, who made the move:
+ * <ul>
+ *     <li>a constant bias,</li>
+ *     <li>the score difference,</li>
+ *     <li>the scores of the open squares with 1, 2 or 3 pieces of the player,</li>
+ *     <li>the scores of the open squares with 1, 2 or 3 pieces of the opponent,</li>
+ *     <li>the scores of the empty squares and</li>
+ *     <li>the number of pieces on the game board.</li>
+ * </ul>
+ * The features of all moves of a position are extracted in one pass: the square counters of the
+ * game core are read once and every move only updates the squares of its field. The features are
+ * written to a flat buffer with {@link #FEATURE_COUNT} floats per move.
+ * <p>
+ * The extractor doesn't allocate memory, but it is not thread-safe.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public final class FeatureExtractor {
+
+    /** The number of features per position. */
+    public static final int FEATURE_COUNT = 10;
+
+
+    /* The indices of the features. */
+    private static final int BIAS = 0;
+    private static final int SCORE_DIFFERENCE = 1;
+    private static final int OWN_SQUARES = 2;
+    private static final int OPPONENT_SQUARES = 5;
+    private static final int EMPTY_SQUARES = 8;
+    private static final int PIECES = 9;
+
+    /* The scale of the scores. */
+    private static final float SCORE_SCALE = 0.01f;
+
+
+    /* The table of all possible squares on the game board. */
+    private final SquareTable squareTable;
+
+    /* The scale of the square scores, so that the sum of all squares is 1. */
+    private final float squareScale;
+
+    /* The features of the position before the move. */
+    private final float[] base = new float[FEATURE_COUNT];
+
+
+    /**
+     * Creates an extractor for game boards with the given size.
+     *
+     * @param size The size of the game board, between 4..16.
+     */
+    public FeatureExtractor(int size) {
+        assertSize(size);
+        this.squareTable = SquareTable.of(size);
+        long totalScore = 0;
+        for (int score : squareTable.getScores())
+            totalScore += score;
+        this.squareScale = 1.0f / totalScore;
+    }
+
+
+    /**
+     * Returns the size of the game board.
+     *
+     * @return The size.
+     */
+    public int getSize() {
+        return squareTable.getSize();
+    }
+
+    /**
+     * Writes the features of the positions after the moves of the active player to the buffer.
+     * The features of move i start at index {@code i * FEATURE_COUNT}.
+     *
+     * @param core The game core, must have the same size. The core is not modified.
+     * @param moves The moves, which must be empty fields.
+     * @param count The number of moves.
+     * @param features The buffer, must have at least {@code count * FEATURE_COUNT} elements.
+     */
+    public void extract(GameCore core, int[] moves, int count, float[] features) {
+        if (core.getSquareTable() != squareTable)
+            throw new AssertionError("Size of game core and extractor doesn't match!");
+
+        int player = core.getActivePlayer();
+        int opponent = player ^ 1;
+        int[] scores = squareTable.getScores();
+
+        // Features of the current position:
+        fill(base, 0);
+        base[BIAS] = 1;
+        for (int s = 0; s < scores.length; s++)
+            update(base, 0, core.getPiecesInSquare(player, s), core.getPiecesInSquare(opponent, s), scores[s]);
+        base[PIECES] = (core.getMoveCount() + 1) / (float) squareTable.getFieldCount();
+
+        // Features after the moves:
+        for (int i = 0, offset = 0; i < count; i++, offset += FEATURE_COUNT) {
+            System.arraycopy(base, 0, features, offset, FEATURE_COUNT);
+            for (int s : squareTable.getSquaresOfField(moves[i])) {
+                int ownPieces = core.getPiecesInSquare(player, s);
+                int opponentPieces = core.getPiecesInSquare(opponent, s);
+                update(features, offset, ownPieces, opponentPieces, -scores[s]);
+                update(features, offset, ownPieces + 1, opponentPieces, scores[s]);
+            }
+        }
+    }
+
+    /* Adds the score of the square to its feature. Negative scores remove the square. Completed
+       squares are counted in the score difference, blocked squares are ignored. */
+    private void update(float[] features, int offset, int ownPieces, int opponentPieces, int score) {
+        if (opponentPieces == 0) {
+            if (ownPieces == 0)
+                features[offset + EMPTY_SQUARES] += score * squareScale;
+            else if (ownPieces < 4)
+                features[offset + OWN_SQUARES + ownPieces - 1] += score * squareScale;
+            else
+                features[offset + SCORE_DIFFERENCE] += score * SCORE_SCALE;
+        } else if (ownPieces == 0) {
+            if (opponentPieces < 4)
+                features[offset + OPPONENT_SQUARES + opponentPieces - 1] += score * squareScale;
+            else
+                features[offset + SCORE_DIFFERENCE] -= score * SCORE_SCALE;
+        }
+    }
+
+}
@@ -0,0 +1,119 @@
+package de.tbressler.quadratum.evaluation;
+
+import java.util.Arrays;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static de.tbressler.quadratum.core.GameCore.NO_PLAYER;
+import static de.tbressler.quadratum.core.GameCore.PLAYER1;
+import static de.tbressler.quadratum.core.GameCore.PLAYER2;
+import static de.tbressler.quadratum.utils.GameBoardUtils.assertSize;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * The record of a finished game, e.g. of a self-play game, for the training of position models.
+ * Player 1 makes the first move. The record is immutable.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public final class GameRecord {
+
+    /* The size of the game board. */
+    private final int size;
+
+    /* The moves. */
+    private final int[] moves;
+
+    /* The winner. */
+    private final int winner;
+
+
+    /**
+     * Creates a game record.
+     *
+     * @param size The size of the game board, between 4..16.
+     * @param moves The field indices of the moves, must not be null.
+     * @param winner The winner: PLAYER1, PLAYER2 or NO_PLAYER for a draw.
+     */
+    public GameRecord(int size, int[] moves, int winner) {
+        assertSize(size);
+        if ((winner != PLAYER1) && (winner != PLAYER2) && (winner != NO_PLAYER))
+            throw new AssertionError("Invalid winner!");
+        this.size = size;
+        this.moves = requireNonNull(moves).clone();
+        this.winner = winner;
+    }
+
+
+    /**
+     * Returns the size of the game board.
+     *
+     * @return The size.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the moves.
+     *
+     * @return A copy of the field indices of the moves, never null.
+     */
+    public int[] getMoves() {
+        return moves.clone();
+    }
+
+    /**
+     * Returns the number of moves.
+     *
+     * @return The number of moves.
+     */
+    public int getMoveCount() {
+        return moves.length;
+    }
+
+    /**
+     * Returns the winner.
+     *
+     * @return PLAYER1, PLAYER2 or NO_PLAYER for a draw.
+     */
+    public int getWinner() {
+        return winner;
+    }
+
+    /**
+     * Returns the outcome of the game for the player.
+     *
+     * @param player PLAYER1 or PLAYER2.
+     * @return 1 for a win, 0 for a draw and -1 for a loss.
+     */
+    public int getOutcome(int player) {
+        if (winner == NO_PLAYER)
+            return 0;
+        return (winner == player) ? 1 : -1;
+    }
+
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        GameRecord that = (GameRecord) o;
+        return (size == that.size) && (winner == that.winner) && Arrays.equals(moves, that.moves);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * size + winner) + Arrays.hashCode(moves);
+    }
+
+    @Override
+    public String toString() {
+        return toStringHelper(this)
+                .add("size", size)
+                .add("moves", moves.length)
+                .add("winner", winner)
+                .toString();
+    }
+
+}
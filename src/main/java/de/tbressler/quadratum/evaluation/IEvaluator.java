@@ -0,0 +1,37 @@
+package de.tbressler.quadratum.evaluation;
+
+/**
+ * Interface for the evaluation of squares by bots. For every square, which a bot can still get or
+ * block, the evaluator computes a value. The bot adds the values of the squares to the heat maps of
+ * their fields and places its piece on the field with the highest value.
+ * <p>
+ * Implementations must be thread-safe, because an evaluator can be shared between bots in parallel
+ * games.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public interface IEvaluator {
+
+    /**
+     * Returns the value of a square, which is not blocked by the opponent, for the heat map of the
+     * player.
+     *
+     * @param squareScore The score of the square.
+     * @param playerPieces The number of pieces of the player in the square, between 0..3.
+     * @return The value, must not be negative.
+     */
+    int evaluatePlayerSquare(int squareScore, int playerPieces);
+
+    /**
+     * Returns the value of a square, which contains pieces of the opponent but no pieces of the
+     * player, for the heat map of the opponent. The value is the chance of the player to block the
+     * square of the opponent.
+     *
+     * @param squareScore The score of the square.
+     * @param opponentPieces The number of pieces of the opponent in the square, between 1..3.
+     * @return The value, must not be negative.
+     */
+    int evaluateOpponentSquare(int squareScore, int opponentPieces);
+
+}
@@ -0,0 +1,246 @@
+package de.tbressler.quadratum.evaluation;
+
+import de.tbressler.quadratum.core.GameCore;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static de.tbressler.quadratum.evaluation.FeatureExtractor.FEATURE_COUNT;
+import static de.tbressler.quadratum.evaluation.PositionModel.dot;
+import static de.tbressler.quadratum.utils.GameBoardUtils.assertSize;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Trains position models offline with game records, e.g. from {@link SelfPlay}. Every move of a
+ * game is a sample with the features of the position after the move and the outcome of the game
+ * for the player, who made the move. The model is fitted to the samples by stochastic gradient
+ * descent with the squared error.
+ * <p>
+ * The training is reproducible with the same seed.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public class ModelTrainer {
+
+    /** The default number of epochs. */
+    public static final int DEFAULT_EPOCHS = 20;
+
+    /** The default learning rate. */
+    public static final float DEFAULT_LEARNING_RATE = 0.01f;
+
+
+    /* The size of the game board. */
+    private final int size;
+
+    /* The number of hidden units or 0 for a linear model. */
+    private final int hiddenSize;
+
+    /* The number of epochs. */
+    private int epochs = DEFAULT_EPOCHS;
+
+    /* The learning rate. */
+    private float learningRate = DEFAULT_LEARNING_RATE;
+
+    /* The seed for the initialization and the order of the samples. */
+    private long seed = 0;
+
+
+    /**
+     * Creates a trainer.
+     *
+     * @param size The size of the game board, between 4..16.
+     * @param hiddenSize The number of hidden units or 0 for a linear model, must not be negative.
+     */
+    public ModelTrainer(int size, int hiddenSize) {
+        assertSize(size);
+        if (hiddenSize < 0)
+            throw new AssertionError("hiddenSize must not be negative!");
+        this.size = size;
+        this.hiddenSize = hiddenSize;
+    }
+
+
+    /**
+     * Sets the number of epochs. The default is {@link #DEFAULT_EPOCHS}.
+     *
+     * @param epochs The number of epochs, must be positive.
+     */
+    public void setEpochs(int epochs) {
+        if (epochs <= 0)
+            throw new AssertionError("epochs must be positive!");
+        this.epochs = epochs;
+    }
+
+    /**
+     * Sets the learning rate. The default is {@link #DEFAULT_LEARNING_RATE}.
+     *
+     * @param learningRate The learning rate, must be positive.
+     */
+    public void setLearningRate(float learningRate) {
+        if (!(learningRate > 0))
+            throw new AssertionError("learningRate must be positive!");
+        this.learningRate = learningRate;
+    }
+
+    /**
+     * Sets the seed for the initialization of the model and the order of the samples.
+     *
+     * @param seed The seed.
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+
+    /**
+     * Trains a model with the game records.
+     *
+     * @param records The game records, must not be null and must not be empty.
+     * @return The trained model, never null.
+     */
+    public PositionModel train(List<GameRecord> records) {
+        Samples samples = extractSamples(records);
+        if (samples.count == 0)
+            throw new AssertionError("The records don't contain moves!");
+
+        SplittableRandom random = new SplittableRandom(seed);
+        float[] parameters = initialParameters(random);
+        float[] hidden = new float[hiddenSize];
+        int[] order = new int[samples.count];
+        for (int i = 0; i < order.length; i++)
+            order[i] = i;
+
+        for (int epoch = 0; epoch < epochs; epoch++) {
+            shuffle(order, random);
+            for (int sample : order)
+                step(parameters, samples.features, sample * FEATURE_COUNT, samples.targets[sample], hidden);
+        }
+
+        return new PositionModel(hiddenSize, parameters);
+    }
+
+    /**
+     * Returns the mean squared error of the model for the game records.
+     *
+     * @param model The model, must not be null.
+     * @param records The game records, must not be null.
+     * @return The mean squared error or 0 if the records don't contain moves.
+     */
+    public double getError(PositionModel model, List<GameRecord> records) {
+        if (requireNonNull(model).getHiddenSize() != hiddenSize)
+            throw new AssertionError("The model has another number of hidden units!");
+        Samples samples = extractSamples(records);
+        float[] outputs = new float[samples.count];
+        model.predict(samples.features, samples.count, outputs, new float[hiddenSize]);
+
+        double error = 0;
+        for (int i = 0; i < samples.count; i++)
+            error += (outputs[i] - samples.targets[i]) * (outputs[i] - samples.targets[i]);
+        return (samples.count == 0) ? 0 : error / samples.count;
+    }
+
+
+    /* Extracts the features and targets of all moves of the records. */
+    private Samples extractSamples(List<GameRecord> records) {
+        int count = 0;
+        for (GameRecord record : requireNonNull(records)) {
+            if (record.getSize() != size)
+                throw new AssertionError("Size of record and trainer doesn't match!");
+            count += record.getMoveCount();
+        }
+
+        Samples samples = new Samples(count);
+        FeatureExtractor extractor = new FeatureExtractor(size);
+        GameCore core = new GameCore(size, Integer.MAX_VALUE, 0);
+        int[] move = new int[1];
+        float[] row = new float[FEATURE_COUNT];
+
+        int sample = 0;
+        for (GameRecord record : records) {
+            core.clear();
+            for (int index : record.getMoves()) {
+                move[0] = index;
+                extractor.extract(core, move, 1, row);
+                System.arraycopy(row, 0, samples.features, sample * FEATURE_COUNT, FEATURE_COUNT);
+                samples.targets[sample++] = record.getOutcome(core.getActivePlayer());
+                core.makeMoveUnchecked(index);
+            }
+        }
+        return samples;
+    }
+
+    /* Returns the initial parameters. The weights of the hidden units are random, so that the
+       units learn different features. */
+    private float[] initialParameters(SplittableRandom random) {
+        float[] parameters = new float[PositionModel.getParameterCount(hiddenSize)];
+        if (hiddenSize == 0)
+            return parameters;
+        float scale = (float) Math.sqrt(2.0 / FEATURE_COUNT);
+        for (int i = 0; i < hiddenSize * FEATURE_COUNT; i++)
+            parameters[i] = (float) ((random.nextDouble() * 2 - 1) * scale);
+        for (int h = 0; h < hiddenSize; h++)
+            parameters[hiddenSize * FEATURE_COUNT + h] = (float) ((random.nextDouble() * 2 - 1) / hiddenSize);
+        return parameters;
+    }
+
+    /* Makes a gradient descent step for the squared error of the sample. */
+    private void step(float[] parameters, float[] features, int offset, float target, float[] hidden) {
+        if (hiddenSize == 0) {
+            float error = dot(parameters, 0, features, offset) - target;
+            for (int f = 0; f < FEATURE_COUNT; f++)
+                parameters[f] -= learningRate * error * features[offset + f];
+            return;
+        }
+
+        int outputWeights = hiddenSize * FEATURE_COUNT;
+        int outputBias = outputWeights + hiddenSize;
+
+        // Forward pass:
+        float output = parameters[outputBias];
+        for (int h = 0; h < hiddenSize; h++) {
+            float activation = dot(parameters, h * FEATURE_COUNT, features, offset);
+            hidden[h] = (activation > 0) ? activation : 0;
+            output += parameters[outputWeights + h] * hidden[h];
+        }
+
+        // Backward pass:
+        float error = output - target;
+        for (int h = 0; h < hiddenSize; h++) {
+            if (hidden[h] > 0) {
+                float gradient = error * parameters[outputWeights + h];
+                for (int f = 0; f < FEATURE_COUNT; f++)
+                    parameters[h * FEATURE_COUNT + f] -= learningRate * gradient * features[offset + f];
+            }
+            parameters[outputWeights + h] -= learningRate * error * hidden[h];
+        }
+        parameters[outputBias] -= learningRate * error;
+    }
+
+    /* Shuffles the array (Fisher-Yates). */
+    private static void shuffle(int[] array, SplittableRandom random) {
+        for (int i = array.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int value = array[i];
+            array[i] = array[j];
+            array[j] = value;
+        }
+    }
+
+
+    /* The features and targets of the samples. */
+    private static class Samples {
+
+        private final int count;
+        private final float[] features;
+        private final float[] targets;
+
+        Samples(int count) {
+            this.count = count;
+            this.features = new float[count * FEATURE_COUNT];
+            this.targets = new float[count];
+        }
+
+    }
+
+}
@@ -0,0 +1,218 @@
+package de.tbressler.quadratum.evaluation;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static de.tbressler.quadratum.evaluation.FeatureExtractor.FEATURE_COUNT;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A small model, which predicts the outcome of positions from their features (see
+ * {@link FeatureExtractor}). The prediction is between -1 (loss) and 1 (win) for the player, who
+ * made the last move, but it isn't limited to this range. Without hidden units the model is linear, otherwise it is a multilayer
+ * perceptron with one hidden layer of rectified linear units.
+ * <p>
+ * The parameters are stored in one flat array: the weights of the hidden units (one row of
+ * {@link FeatureExtractor#FEATURE_COUNT} weights per unit), the output weights of the hidden units
+ * and the output bias. A linear model only has the weights of the features. The bias feature
+ * serves as bias of the hidden units.
+ * <p>
+ * The inference works on batches of positions in flat buffers and doesn't allocate memory. The
+ * model is immutable and thread-safe, the buffers must not be shared between threads.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public final class PositionModel {
+
+    /* The magic number of model files ("QPM1"). */
+    private static final int MAGIC = 0x51504d31;
+
+
+    /* The number of hidden units or 0 for a linear model. */
+    private final int hiddenSize;
+
+    /* The parameters. */
+    private final float[] parameters;
+
+
+    /**
+     * Creates a model.
+     *
+     * @param hiddenSize The number of hidden units or 0 for a linear model, must not be negative.
+     * @param parameters The parameters, must not be null and must contain
+     *                   {@link #getParameterCount(int)} values.
+     */
+    public PositionModel(int hiddenSize, float[] parameters) {
+        if (hiddenSize < 0)
+            throw new AssertionError("hiddenSize must not be negative!");
+        if (requireNonNull(parameters).length != getParameterCount(hiddenSize))
+            throw new AssertionError("Invalid number of parameters!");
+        for (float parameter : parameters)
+            if (!Float.isFinite(parameter))
+                throw new AssertionError("Parameters must be finite!");
+        this.hiddenSize = hiddenSize;
+        this.parameters = parameters.clone();
+    }
+
+    /**
+     * Returns the number of parameters of a model.
+     *
+     * @param hiddenSize The number of hidden units or 0 for a linear model.
+     * @return The number of parameters.
+     */
+    public static int getParameterCount(int hiddenSize) {
+        if (hiddenSize == 0)
+            return FEATURE_COUNT;
+        return hiddenSize * FEATURE_COUNT + hiddenSize + 1;
+    }
+
+
+    /**
+     * Loads a model, which was saved with {@link #save(Path)}.
+     *
+     * @param path The path of the model file, must not be null.
+     * @return The model, never null.
+     * @throws IOException If the file can't be read or is not a valid model file.
+     */
+    public static PositionModel load(Path path) throws IOException {
+        try (InputStream in = Files.newInputStream(requireNonNull(path));
+             DataInputStream data = new DataInputStream(in)) {
+            if (data.readInt() != MAGIC)
+                throw new IOException("Not a model file!");
+            if (data.readInt() != FEATURE_COUNT)
+                throw new IOException("The model has other features!");
+            int hiddenSize = data.readInt();
+            if ((hiddenSize < 0) || (hiddenSize > 1 << 16))
+                throw new IOException("Invalid number of hidden units!");
+
+            float[] parameters = new float[getParameterCount(hiddenSize)];
+            for (int i = 0; i < parameters.length; i++)
+                parameters[i] = data.readFloat();
+            return new PositionModel(hiddenSize, parameters);
+        }
+    }
+
+    /**
+     * Saves the model to a model file.
+     *
+     * @param path The path of the model file, must not be null.
+     * @throws IOException If the file can't be written.
+     */
+    public void save(Path path) throws IOException {
+        try (OutputStream out = Files.newOutputStream(requireNonNull(path));
+             DataOutputStream data = new DataOutputStream(out)) {
+            data.writeInt(MAGIC);
+            data.writeInt(FEATURE_COUNT);
+            data.writeInt(hiddenSize);
+            for (float parameter : parameters)
+                data.writeFloat(parameter);
+        }
+    }
+
+
+    /**
+     * Returns the number of hidden units.
+     *
+     * @return The number of hidden units or 0 for a linear model.
+     */
+    public int getHiddenSize() {
+        return hiddenSize;
+    }
+
+    /**
+     * Returns the parameters.
+     *
+     * @return A copy of the parameters, never null.
+     */
+    public float[] getParameters() {
+        return parameters.clone();
+    }
+
+
+    /**
+     * Predicts the outcomes of a batch of positions.
+     *
+     * @param features The features of the positions with {@link FeatureExtractor#FEATURE_COUNT}
+     *                 values per position.
+     * @param count The number of positions.
+     * @param outputs The buffer for the predictions, must have at least count elements.
+     * @param hidden The buffer for the hidden units, must have at least {@link #getHiddenSize()}
+     *               elements.
+     */
+    public void predict(float[] features, int count, float[] outputs, float[] hidden) {
+        if (hiddenSize == 0)
+            predictLinear(features, count, outputs);
+        else
+            predictHidden(features, count, outputs, hidden);
+    }
+
+    /* Predicts the outcomes with the linear model. */
+    private void predictLinear(float[] features, int count, float[] outputs) {
+        for (int i = 0, offset = 0; i < count; i++, offset += FEATURE_COUNT)
+            outputs[i] = dot(parameters, 0, features, offset);
+    }
+
+    /* Predicts the outcomes with the hidden layer. */
+    private void predictHidden(float[] features, int count, float[] outputs, float[] hidden) {
+        int outputWeights = hiddenSize * FEATURE_COUNT;
+        float outputBias = parameters[outputWeights + hiddenSize];
+
+        for (int i = 0, offset = 0; i < count; i++, offset += FEATURE_COUNT) {
+            for (int h = 0; h < hiddenSize; h++) {
+                float activation = dot(parameters, h * FEATURE_COUNT, features, offset);
+                hidden[h] = (activation > 0) ? activation : 0;
+            }
+            float output = outputBias;
+            for (int h = 0; h < hiddenSize; h++)
+                output += parameters[outputWeights + h] * hidden[h];
+            outputs[i] = output;
+        }
+    }
+
+    /**
+     * Returns the dot product of the weights and the features of a position.
+     *
+     * @param weights The weights.
+     * @param weightOffset The offset of the first weight.
+     * @param features The features.
+     * @param offset The offset of the position in the features.
+     * @return The dot product.
+     */
+    static float dot(float[] weights, int weightOffset, float[] features, int offset) {
+        float sum = 0;
+        for (int f = 0; f < FEATURE_COUNT; f++)
+            sum += weights[weightOffset + f] * features[offset + f];
+        return sum;
+    }
+
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        PositionModel that = (PositionModel) o;
+        return (hiddenSize == that.hiddenSize) && Arrays.equals(parameters, that.parameters);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * hiddenSize + Arrays.hashCode(parameters);
+    }
+
+    @Override
+    public String toString() {
+        return toStringHelper(this)
+                .add("hiddenSize", hiddenSize)
+                .add("parameters", parameters.length)
+                .toString();
+    }
+
+}
@@ -0,0 +1,146 @@
+package de.tbressler.quadratum.evaluation;
+
+import de.tbressler.quadratum.analysis.PositionEvaluator;
+import de.tbressler.quadratum.core.GameCore;
+import de.tbressler.quadratum.logic.GameOverVerifier.GameOverState;
+import de.tbressler.quadratum.logic.players.BotPlayerLogic.Strategy;
+import de.tbressler.quadratum.utils.SeedSequence;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static de.tbressler.quadratum.core.GameCore.NO_PLAYER;
+import static de.tbressler.quadratum.core.GameCore.PLAYER1;
+import static de.tbressler.quadratum.core.GameCore.PLAYER2;
+import static de.tbressler.quadratum.logic.GameOverVerifier.GameOverState.NOT_OVER;
+import static de.tbressler.quadratum.logic.GameOverVerifier.GameOverState.PLAYER1_WON;
+import static de.tbressler.quadratum.logic.GameOverVerifier.GameOverState.PLAYER2_WON;
+import static de.tbressler.quadratum.utils.GameBoardUtils.DEFAULT_SIZE;
+import static de.tbressler.quadratum.utils.GameBoardUtils.assertSize;
+import static java.util.Arrays.copyOf;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Generates game records by self-play of bots for the training of position models. Every game
+ * starts with a number of random moves, so that the games are different, and is continued by bots
+ * without randomization. The games are played in parallel and are reproducible with the same seed.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public class SelfPlay {
+
+    /** The default number of random moves at the beginning of a game. */
+    public static final int DEFAULT_RANDOM_MOVES = 6;
+
+
+    /* The size of the game board. */
+    private final int size;
+
+    /* The minimum score for a player to win the game. */
+    private final int minScore;
+
+    /* The minimum difference between the player scores to win the game. */
+    private final int minDifference;
+
+    /* The evaluator, which makes the moves of the bots. */
+    private final PositionEvaluator evaluator;
+
+    /* The number of random moves at the beginning of a game. */
+    private int randomMoves = DEFAULT_RANDOM_MOVES;
+
+    /* The seeds of the games. */
+    private SeedSequence seeds = new SeedSequence(new SplittableRandom().nextLong());
+
+
+    /**
+     * Creates the self-play for game boards with 8x8 fields and the default winning conditions
+     * (150 points and 15 points difference).
+     *
+     * @param strategy The strategy of the bots, must not be null.
+     */
+    public SelfPlay(Strategy strategy) {
+        this(strategy, DEFAULT_SIZE, 150, 15);
+    }
+
+    /**
+     * Creates the self-play.
+     *
+     * @param strategy The strategy of the bots, must not be null.
+     * @param size The size of the game board, between 4..16.
+     * @param minScore The minimum score for a player to win the game.
+     * @param minDifference The minimum difference between the player scores to win the game.
+     */
+    public SelfPlay(Strategy strategy, int size, int minScore, int minDifference) {
+        assertSize(size);
+        this.evaluator = new PositionEvaluator(requireNonNull(strategy), minScore, minDifference);
+        this.size = size;
+        this.minScore = minScore;
+        this.minDifference = minDifference;
+    }
+
+
+    /**
+     * Sets the number of random moves at the beginning of a game. The default is
+     * {@link #DEFAULT_RANDOM_MOVES}.
+     *
+     * @param randomMoves The number of random moves, must not be negative.
+     */
+    public void setRandomMoves(int randomMoves) {
+        if (randomMoves < 0)
+            throw new AssertionError("randomMoves must not be negative!");
+        this.randomMoves = randomMoves;
+    }
+
+    /**
+     * Sets the master seed for the random moves. A random seed is used by default.
+     *
+     * @param masterSeed The master seed.
+     */
+    public void setSeed(long masterSeed) {
+        this.seeds = new SeedSequence(masterSeed);
+    }
+
+
+    /**
+     * Plays the games in parallel.
+     *
+     * @param games The number of games, must not be negative.
+     * @return The records of the games in the order of their seeds, never null.
+     */
+    public List<GameRecord> play(int games) {
+        if (games < 0)
+            throw new AssertionError("games must not be negative!");
+        return LongStream.range(0, games).parallel()
+                .mapToObj(this::playGame)
+                .collect(Collectors.toList());
+    }
+
+    /* Plays the game with the given index. */
+    private GameRecord playGame(long index) {
+        SplittableRandom random = seeds.getRandom(index);
+        GameCore core = new GameCore(size, minScore, minDifference);
+        int[] fields = new int[core.getFieldCount()];
+        int[] moves = new int[core.getFieldCount()];
+        int moveCount = 0;
+
+        GameOverState state;
+        while ((state = core.getState()) == NOT_OVER) {
+            int move;
+            if (moveCount < randomMoves) {
+                int emptyFields = core.getEmptyFields(fields);
+                move = fields[random.nextInt(emptyFields)];
+            } else {
+                move = evaluator.evaluate(core.toPosition()).getBestMove();
+            }
+            core.makeMoveUnchecked(move);
+            moves[moveCount++] = move;
+        }
+
+        int winner = (state == PLAYER1_WON) ? PLAYER1 : (state == PLAYER2_WON) ? PLAYER2 : NO_PLAYER;
+        return new GameRecord(size, copyOf(moves, moveCount), winner);
+    }
+
+}
@@ -0,0 +1,160 @@
+package de.tbressler.quadratum.evaluation;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Properties;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * An evaluator, which weights the features of a square. The value of a square of the player is
+ * {@code squareScore * (SQUARE + PIECES * playerPieces)} and the value of a square of the opponent is
+ * {@code squareScore * (BLOCKING + THREAT * opponentPieces)}, rounded to the next integer. With the
+ * default weights (all 1.0) the evaluator is the classic evaluation of the bots.
+ * <p>
+ * The weights can be saved to and loaded from a weights file, e.g. after they were optimized by a
+ * tuner. The evaluator is immutable and thread-safe.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public final class WeightedEvaluator implements IEvaluator {
+
+    /** The features of a square. */
+    public enum Feature {
+        /** The value of a square of the player per square score. */
+        SQUARE,
+        /** The additional value per piece of the player in the square. */
+        PIECES,
+        /** The value of blocking a square of the opponent per square score. */
+        BLOCKING,
+        /** The additional value per piece of the opponent in the square. */
+        THREAT
+    }
+
+    /** The evaluator with the default weights. */
+    public static final WeightedEvaluator DEFAULT = new WeightedEvaluator(1.0, 1.0, 1.0, 1.0);
+
+
+    /* The weights, indexed by the ordinal of the feature. */
+    private final double[] weights;
+
+
+    /**
+     * Creates an evaluator with the given weights.
+     *
+     * @param weights The weights in the order of the features, must not be null or negative and
+     *                must contain a weight for every feature.
+     */
+    public WeightedEvaluator(double... weights) {
+        if (requireNonNull(weights).length != Feature.values().length)
+            throw new AssertionError("Invalid number of weights!");
+        for (double weight : weights)
+            if (!(weight >= 0) || Double.isInfinite(weight))
+                throw new AssertionError("Weights must be finite and must not be negative!");
+        this.weights = weights.clone();
+    }
+
+
+    /**
+     * Loads the evaluator from a weights file. The file is a properties file with the names of the
+     * features as keys, e.g. {@code THREAT=1.25}. Missing features have the default weight 1.0.
+     *
+     * @param path The path of the weights file, must not be null.
+     * @return The evaluator, never null.
+     * @throws IOException If the file can't be read.
+     */
+    public static WeightedEvaluator load(Path path) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(requireNonNull(path), UTF_8)) {
+            properties.load(reader);
+        }
+
+        double[] weights = new double[Feature.values().length];
+        for (Feature feature : Feature.values()) {
+            String value = properties.getProperty(feature.name(), "1.0").trim();
+            try {
+                weights[feature.ordinal()] = Double.parseDouble(value);
+            } catch (NumberFormatException e) {
+                throw new IOException("Invalid weight for " + feature + ": " + value, e);
+            }
+        }
+        return new WeightedEvaluator(weights);
+    }
+
+    /**
+     * Saves the weights to a weights file, which can be loaded with {@link #load(Path)}.
+     *
+     * @param path The path of the weights file, must not be null.
+     * @throws IOException If the file can't be written.
+     */
+    public void save(Path path) throws IOException {
+        Properties properties = new Properties();
+        for (Feature feature : Feature.values())
+            properties.setProperty(feature.name(), Double.toString(getWeight(feature)));
+        try (Writer writer = Files.newBufferedWriter(requireNonNull(path), UTF_8)) {
+            properties.store(writer, "Quadratum evaluator weights");
+        }
+    }
+
+
+    /**
+     * Returns the weight of the feature.
+     *
+     * @param feature The feature, must not be null.
+     * @return The weight.
+     */
+    public double getWeight(Feature feature) {
+        return weights[requireNonNull(feature).ordinal()];
+    }
+
+    /**
+     * Returns the weights in the order of the features.
+     *
+     * @return A copy of the weights, never null.
+     */
+    public double[] getWeights() {
+        return weights.clone();
+    }
+
+
+    @Override
+    public int evaluatePlayerSquare(int squareScore, int playerPieces) {
+        return (int) Math.round(squareScore *
+                (weights[Feature.SQUARE.ordinal()] + weights[Feature.PIECES.ordinal()] * playerPieces));
+    }
+
+    @Override
+    public int evaluateOpponentSquare(int squareScore, int opponentPieces) {
+        return (int) Math.round(squareScore *
+                (weights[Feature.BLOCKING.ordinal()] + weights[Feature.THREAT.ordinal()] * opponentPieces));
+    }
+
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        WeightedEvaluator that = (WeightedEvaluator) o;
+        return Arrays.equals(weights, that.weights);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(weights);
+    }
+
+    @Override
+    public String toString() {
+        return toStringHelper(this)
+                .add("weights", Arrays.toString(weights))
+                .toString();
+    }
+
+}
@@ -0,0 +1,50 @@
+package de.tbressler.quadratum.events;
+
+import de.tbressler.quadratum.model.Player;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Event, which is published when the active player has changed.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public final class ActivePlayerChangedEvent extends GameEvent {
+
+    /* The new active player. */
+    private final Player activePlayer;
+
+
+    /**
+     * Creates the event.
+     *
+     * @param sequenceNumber The sequence number of the event.
+     * @param gameId The ID of the game.
+     * @param moveNumber The number of moves of the game, when the event occurred.
+     * @param activePlayer The new active player, must not be null.
+     */
+    public ActivePlayerChangedEvent(long sequenceNumber, long gameId, int moveNumber, Player activePlayer) {
+        super(sequenceNumber, gameId, moveNumber);
+        this.activePlayer = requireNonNull(activePlayer);
+    }
+
+
+    /**
+     * Returns the new active player.
+     *
+     * @return The player, never null.
+     */
+    public Player getActivePlayer() {
+        return activePlayer;
+    }
+
+
+    @Override
+    public String toString() {
+        return toStringHelper()
+                .add("activePlayer", activePlayer)
+                .toString();
+    }
+
+}
@@ -0,0 +1,22 @@
+package de.tbressler.quadratum.events;
+
+/**
+ * Event, which is published when the game board was cleared.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public final class GameBoardClearedEvent extends GameEvent {
+
+    /**
+     * Creates the event.
+     *
+     * @param sequenceNumber The sequence number of the event.
+     * @param gameId The ID of the game.
+     * @param moveNumber The number of moves of the game, when the event occurred.
+     */
+    public GameBoardClearedEvent(long sequenceNumber, long gameId, int moveNumber) {
+        super(sequenceNumber, gameId, moveNumber);
+    }
+
+}
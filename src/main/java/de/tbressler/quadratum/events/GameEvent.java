@@ -0,0 +1,87 @@
+package de.tbressler.quadratum.events;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.MoreObjects.ToStringHelper;
+
+/**
+ * The base class of the immutable events of a game. Every event has a sequence number, which is
+ * unique and contiguous for all events of a publisher, so that subscribers can detect gaps, e.g.
+ * if events were dropped. The move number is the number of moves of the game, when the event
+ * occurred.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public abstract class GameEvent {
+
+    /* The sequence number of the event. */
+    private final long sequenceNumber;
+
+    /* The ID of the game. */
+    private final long gameId;
+
+    /* The number of moves of the game. */
+    private final int moveNumber;
+
+
+    /**
+     * Creates the event.
+     *
+     * @param sequenceNumber The sequence number of the event.
+     * @param gameId The ID of the game.
+     * @param moveNumber The number of moves of the game, when the event occurred.
+     */
+    protected GameEvent(long sequenceNumber, long gameId, int moveNumber) {
+        this.sequenceNumber = sequenceNumber;
+        this.gameId = gameId;
+        this.moveNumber = moveNumber;
+    }
+
+
+    /**
+     * Returns the sequence number of the event. The first event of a publisher has the sequence
+     * number 1.
+     *
+     * @return The sequence number.
+     */
+    public long getSequenceNumber() {
+        return sequenceNumber;
+    }
+
+    /**
+     * Returns the ID of the game.
+     *
+     * @return The ID of the game or 0 if the game was not started.
+     */
+    public long getGameId() {
+        return gameId;
+    }
+
+    /**
+     * Returns the number of moves of the game, when the event occurred.
+     *
+     * @return The number of moves.
+     */
+    public int getMoveNumber() {
+        return moveNumber;
+    }
+
+
+    /**
+     * Returns a helper for the string representation, which contains the common fields.
+     *
+     * @return The helper, never null.
+     */
+    protected ToStringHelper toStringHelper() {
+        return MoreObjects.toStringHelper(this)
+                .add("sequenceNumber", sequenceNumber)
+                .add("gameId", gameId)
+                .add("moveNumber", moveNumber);
+    }
+
+    @Override
+    public String toString() {
+        return toStringHelper().toString();
+    }
+
+}
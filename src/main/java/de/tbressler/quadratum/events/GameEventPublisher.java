@@ -0,0 +1,248 @@
+package de.tbressler.quadratum.events;
+
+import de.tbressler.quadratum.logic.GameLogic;
+import de.tbressler.quadratum.logic.GameSnapshot;
+import de.tbressler.quadratum.logic.IGameLogicListener;
+import de.tbressler.quadratum.model.GameBoard;
+import de.tbressler.quadratum.model.IGameBoardListener;
+import de.tbressler.quadratum.model.Player;
+import de.tbressler.quadratum.model.Square;
+
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Publishes the events of a game logic and its game board as reactive stream. Every subscriber
+ * has its own buffer and receives the events according to its demand, so that slow subscribers
+ * don't slow down fast subscribers. If the buffer of a subscriber is full, the game logic is
+ * blocked or the event is dropped for the subscriber, depending on the overflow policy. Dropped
+ * events can be detected by the gaps in the sequence numbers.
+ * <p>
+ * The publisher is an alternative to the listeners for subscribers with a high volume of events,
+ * e.g. persistence, spectators and analytics.
+ * <p>
+ * The counters and {@link #close()} can be called by the subscribers, also while the game logic is
+ * blocked by a full buffer. With the BLOCK policy the subscribers must not call the game logic,
+ * because the blocked game logic holds its move lock.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public class GameEventPublisher implements Flow.Publisher<GameEvent>, AutoCloseable {
+
+    /** The policy, if the buffer of a subscriber is full. */
+    public enum OverflowPolicy {
+        /** The game logic is blocked until the subscriber requests more events. */
+        BLOCK,
+        /** The event is dropped for the subscriber. */
+        DROP
+    }
+
+
+    /* The game logic. */
+    private final GameLogic gameLogic;
+
+    /* The game board of the game logic. */
+    private final GameBoard gameBoard;
+
+    /* The publisher, which manages the subscribers. */
+    private final SubmissionPublisher<GameEvent> publisher;
+
+    /* The overflow policy. */
+    private final OverflowPolicy overflowPolicy;
+
+    /* The sequence number of the last event. */
+    private final AtomicLong sequenceNumber = new AtomicLong();
+
+    /* The number of moves of the game. */
+    private int moveNumber;
+
+    /* The number of events, which were dropped for a subscriber. */
+    private final AtomicLong droppedEvents = new AtomicLong();
+
+    /* Publishes the events of the game logic. */
+    private final IGameLogicListener gameLogicListener = new IGameLogicListener() {
+        @Override
+        public void onGameOver(Player winner) {
+            publish((s, g, m) -> new GameOverEvent(s, g, m, winner));
+        }
+
+        @Override
+        public void onNewSquaresFound(Player player, Set<Square> squares) {
+            publish((s, g, m) -> new SquaresFoundEvent(s, g, m, player, squares));
+        }
+
+        @Override
+        public void onMoveUndone(int index, Player player, Set<Square> removedSquares) {
+            publish((s, g, m) -> new MoveUndoneEvent(s, g, m, index, player, removedSquares));
+        }
+
+        @Override
+        public void onActivePlayerChanged(Player activePlayer) {
+            publish((s, g, m) -> new ActivePlayerChangedEvent(s, g, m, activePlayer));
+        }
+
+        @Override
+        public void onGameStarted(Player activePlayer) {
+            publish((s, g, m) -> new GameStartedEvent(s, g, m, activePlayer));
+        }
+
+        @Override
+        public void onGameRestored(Player activePlayer) {
+            GameSnapshot snapshot = gameLogic.snapshot();
+            publish((s, g, m) -> new GameRestoredEvent(s, g, m, activePlayer, snapshot));
+        }
+    };
+
+    /* Publishes the events of the game board. */
+    private final IGameBoardListener gameBoardListener = new IGameBoardListener() {
+        @Override
+        public void onPiecePlaced(int index, Player player) {
+            synchronized (GameEventPublisher.this) {
+                moveNumber++;
+                publish((s, g, m) -> new PiecePlacedEvent(s, g, m, index, player));
+            }
+        }
+
+        @Override
+        public void onPieceRemoved(int index, Player player) {
+            synchronized (GameEventPublisher.this) {
+                moveNumber--;
+                publish((s, g, m) -> new PieceRemovedEvent(s, g, m, index, player));
+            }
+        }
+
+        @Override
+        public void onGameBoardCleared() {
+            synchronized (GameEventPublisher.this) {
+                moveNumber = 0;
+                publish(GameBoardClearedEvent::new);
+            }
+        }
+
+        @Override
+        public void onGameBoardRestored() {
+            synchronized (GameEventPublisher.this) {
+                moveNumber = gameBoard.getPieceCount();
+            }
+        }
+    };
+
+
+    /**
+     * Creates a publisher for the game logic, which delivers the events on the common fork/join
+     * pool and blocks the game logic, if the buffer of a subscriber is full.
+     *
+     * @param gameLogic The game logic, must not be null.
+     */
+    public GameEventPublisher(GameLogic gameLogic) {
+        this(gameLogic, ForkJoinPool.commonPool(), Flow.defaultBufferSize(), OverflowPolicy.BLOCK);
+    }
+
+    /**
+     * Creates a publisher for the game logic.
+     *
+     * @param gameLogic The game logic, must not be null.
+     * @param executor The executor, which delivers the events to the subscribers, must not be null.
+     * @param bufferCapacity The maximum number of buffered events per subscriber, must be positive.
+     *                       The capacity is rounded up to the next power of two.
+     * @param overflowPolicy The policy, if the buffer of a subscriber is full, must not be null.
+     */
+    public GameEventPublisher(GameLogic gameLogic, Executor executor, int bufferCapacity,
+                              OverflowPolicy overflowPolicy) {
+        if (bufferCapacity <= 0)
+            throw new AssertionError("bufferCapacity must be positive!");
+        this.gameLogic = requireNonNull(gameLogic);
+        this.gameBoard = gameLogic.getGameBoard();
+        this.publisher = new SubmissionPublisher<>(requireNonNull(executor), bufferCapacity);
+        this.overflowPolicy = requireNonNull(overflowPolicy);
+        this.moveNumber = gameBoard.getPieceCount();
+
+        gameLogic.addGameLogicListener(gameLogicListener);
+        gameBoard.addGameBoardListener(gameBoardListener);
+    }
+
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super GameEvent> subscriber) {
+        publisher.subscribe(requireNonNull(subscriber));
+    }
+
+    /* Creates the event with the next sequence number and publishes it. The events are published
+       with the monitor, so that the sequence numbers are in order. */
+    private synchronized void publish(EventFactory eventFactory) {
+        if (publisher.isClosed())
+            return;
+
+        GameEvent event = eventFactory.create(sequenceNumber.incrementAndGet(), gameLogic.getGameId(), moveNumber);
+
+        try {
+            if (overflowPolicy == OverflowPolicy.BLOCK) {
+                publisher.submit(event);
+            } else {
+                publisher.offer(event, (subscriber, droppedEvent) -> {
+                    droppedEvents.incrementAndGet();
+                    return false;
+                });
+            }
+        } catch (IllegalStateException e) {
+            // The publisher was closed concurrently, e.g. by a subscriber:
+            if (!publisher.isClosed())
+                throw e;
+        }
+    }
+
+    /**
+     * Removes the listeners from the game logic and the game board and completes the streams of
+     * all subscribers, after the buffered events were delivered.
+     */
+    @Override
+    public void close() {
+        gameLogic.removeGameLogicListener(gameLogicListener);
+        gameBoard.removeGameBoardListener(gameBoardListener);
+        publisher.close();
+    }
+
+
+    /**
+     * Returns the sequence number of the last published event.
+     *
+     * @return The sequence number or 0 if no event was published.
+     */
+    public long getLastSequenceNumber() {
+        return sequenceNumber.get();
+    }
+
+    /**
+     * Returns the number of events, which were dropped for a subscriber. An event, which was
+     * dropped for two subscribers, is counted twice.
+     *
+     * @return The number of dropped events.
+     */
+    public long getDroppedCount() {
+        return droppedEvents.get();
+    }
+
+    /**
+     * Returns the number of subscribers.
+     *
+     * @return The number of subscribers.
+     */
+    public int getSubscriberCount() {
+        return publisher.getNumberOfSubscribers();
+    }
+
+
+    /* Factory for the events. */
+    @FunctionalInterface
+    private interface EventFactory {
+        GameEvent create(long sequenceNumber, long gameId, int moveNumber);
+    }
+
+}
@@ -0,0 +1,48 @@
+package de.tbressler.quadratum.events;
+
+import de.tbressler.quadratum.model.Player;
+
+/**
+ * Event, which is published when a game is over.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public final class GameOverEvent extends GameEvent {
+
+    /* The winner or null, if the game ended in a draw. */
+    private final Player winner;
+
+
+    /**
+     * Creates the event.
+     *
+     * @param sequenceNumber The sequence number of the event.
+     * @param gameId The ID of the game.
+     * @param moveNumber The number of moves of the game, when the event occurred.
+     * @param winner The winner or null, if the game ended in a draw.
+     */
+    public GameOverEvent(long sequenceNumber, long gameId, int moveNumber, Player winner) {
+        super(sequenceNumber, gameId, moveNumber);
+        this.winner = winner;
+    }
+
+
+    /**
+     * Returns the winner or null, if the game ended in a draw.
+     *
+     * @return The player or null.
+     */
+    public Player getWinner() {
+        return winner;
+    }
+
+
+    @Override
+    public String toString() {
+        return toStringHelper()
+                .add("winner", winner)
+                .toString();
+    }
+
+}
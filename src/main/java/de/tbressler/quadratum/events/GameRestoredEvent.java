@@ -0,0 +1,68 @@
+package de.tbressler.quadratum.events;
+
+import de.tbressler.quadratum.logic.GameSnapshot;
+import de.tbressler.quadratum.model.Player;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Event, which is published when the state of a game was restored from a snapshot. The event
+ * replaces the events of the restored pieces and squares.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public final class GameRestoredEvent extends GameEvent {
+
+    /* The active player or null. */
+    private final Player activePlayer;
+
+    /* The restored snapshot. */
+    private final GameSnapshot snapshot;
+
+
+    /**
+     * Creates the event.
+     *
+     * @param sequenceNumber The sequence number of the event.
+     * @param gameId The ID of the game.
+     * @param moveNumber The number of moves of the game, when the event occurred.
+     * @param activePlayer The active player or null, if the game was not started.
+     * @param snapshot The restored snapshot, must not be null.
+     */
+    public GameRestoredEvent(long sequenceNumber, long gameId, int moveNumber, Player activePlayer,
+                             GameSnapshot snapshot) {
+        super(sequenceNumber, gameId, moveNumber);
+        this.activePlayer = activePlayer;
+        this.snapshot = requireNonNull(snapshot);
+    }
+
+
+    /**
+     * Returns the active player.
+     *
+     * @return The player or null, if the game was not started.
+     */
+    public Player getActivePlayer() {
+        return activePlayer;
+    }
+
+    /**
+     * Returns the restored snapshot.
+     *
+     * @return The snapshot, never null.
+     */
+    public GameSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+
+    @Override
+    public String toString() {
+        return toStringHelper()
+                .add("activePlayer", activePlayer)
+                .add("snapshot", snapshot)
+                .toString();
+    }
+
+}
@@ -0,0 +1,50 @@
+package de.tbressler.quadratum.events;
+
+import de.tbressler.quadratum.model.Player;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Event, which is published when a game was started.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public final class GameStartedEvent extends GameEvent {
+
+    /* The player, who makes the first move. */
+    private final Player activePlayer;
+
+
+    /**
+     * Creates the event.
+     *
+     * @param sequenceNumber The sequence number of the event.
+     * @param gameId The ID of the game.
+     * @param moveNumber The number of moves of the game, when the event occurred.
+     * @param activePlayer The player, who makes the first move, must not be null.
+     */
+    public GameStartedEvent(long sequenceNumber, long gameId, int moveNumber, Player activePlayer) {
+        super(sequenceNumber, gameId, moveNumber);
+        this.activePlayer = requireNonNull(activePlayer);
+    }
+
+
+    /**
+     * Returns the player, who makes the first move.
+     *
+     * @return The player, never null.
+     */
+    public Player getActivePlayer() {
+        return activePlayer;
+    }
+
+
+    @Override
+    public String toString() {
+        return toStringHelper()
+                .add("activePlayer", activePlayer)
+                .toString();
+    }
+
+}
@@ -0,0 +1,85 @@
+package de.tbressler.quadratum.events;
+
+import com.google.common.collect.ImmutableSet;
+import de.tbressler.quadratum.model.Player;
+import de.tbressler.quadratum.model.Square;
+
+import java.util.Set;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Event, which is published when a move was undone.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public final class MoveUndoneEvent extends GameEvent {
+
+    /* The field index of the removed piece. */
+    private final int index;
+
+    /* The player of the removed piece. */
+    private final Player player;
+
+    /* The squares, which were removed by the undo. */
+    private final Set<Square> removedSquares;
+
+
+    /**
+     * Creates the event.
+     *
+     * @param sequenceNumber The sequence number of the event.
+     * @param gameId The ID of the game.
+     * @param moveNumber The number of moves of the game, when the event occurred.
+     * @param index The field index of the removed piece.
+     * @param player The player of the removed piece, must not be null.
+     * @param removedSquares The squares, which were removed by the undo, must not be null.
+     */
+    public MoveUndoneEvent(long sequenceNumber, long gameId, int moveNumber, int index, Player player,
+                           Set<Square> removedSquares) {
+        super(sequenceNumber, gameId, moveNumber);
+        this.index = index;
+        this.player = requireNonNull(player);
+        this.removedSquares = ImmutableSet.copyOf(requireNonNull(removedSquares));
+    }
+
+
+    /**
+     * Returns the field index of the removed piece.
+     *
+     * @return The field index.
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Returns the player of the removed piece.
+     *
+     * @return The player, never null.
+     */
+    public Player getPlayer() {
+        return player;
+    }
+
+    /**
+     * Returns the squares, which were removed by the undo.
+     *
+     * @return The squares (immutable), never null.
+     */
+    public Set<Square> getRemovedSquares() {
+        return removedSquares;
+    }
+
+
+    @Override
+    public String toString() {
+        return toStringHelper()
+                .add("index", index)
+                .add("player", player)
+                .add("removedSquares", removedSquares)
+                .toString();
+    }
+
+}
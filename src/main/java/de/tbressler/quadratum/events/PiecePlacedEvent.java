@@ -0,0 +1,65 @@
+package de.tbressler.quadratum.events;
+
+import de.tbressler.quadratum.model.Player;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Event, which is published when a piece was placed on the game board.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public final class PiecePlacedEvent extends GameEvent {
+
+    /* The field index of the piece. */
+    private final int index;
+
+    /* The player of the piece. */
+    private final Player player;
+
+
+    /**
+     * Creates the event.
+     *
+     * @param sequenceNumber The sequence number of the event.
+     * @param gameId The ID of the game.
+     * @param moveNumber The number of moves of the game, when the event occurred.
+     * @param index The field index of the piece.
+     * @param player The player of the piece, must not be null.
+     */
+    public PiecePlacedEvent(long sequenceNumber, long gameId, int moveNumber, int index, Player player) {
+        super(sequenceNumber, gameId, moveNumber);
+        this.index = index;
+        this.player = requireNonNull(player);
+    }
+
+
+    /**
+     * Returns the field index of the piece.
+     *
+     * @return The field index.
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Returns the player of the piece.
+     *
+     * @return The player, never null.
+     */
+    public Player getPlayer() {
+        return player;
+    }
+
+
+    @Override
+    public String toString() {
+        return toStringHelper()
+                .add("index", index)
+                .add("player", player)
+                .toString();
+    }
+
+}
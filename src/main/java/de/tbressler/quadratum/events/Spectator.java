@@ -0,0 +1,129 @@
+package de.tbressler.quadratum.events;
+
+import java.util.Collection;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A spectator of a {@link SpectatorHub}. The frames of the game are buffered in a bounded queue and
+ * can be consumed by any thread. The first frame is always a snapshot.
+ * <p>
+ * If the queue of a spectator is full, the buffered frames are replaced with a snapshot of the
+ * current state (resynchronization), so that a slow spectator never blocks the game. Frames with a
+ * sequence number lower or equal to the sequence number of a snapshot can be ignored.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public final class Spectator implements AutoCloseable {
+
+    /* The hub. */
+    private final SpectatorHub hub;
+
+    /* The buffered frames. */
+    private final BlockingQueue<SpectatorFrame> queue;
+
+    /* The number of resynchronizations. */
+    private final AtomicInteger resyncCount = new AtomicInteger();
+
+    /* True if the spectator left the hub. */
+    private volatile boolean closed = false;
+
+
+    /* Creates a spectator with a queue of the given capacity. */
+    Spectator(SpectatorHub hub, int queueCapacity) {
+        this.hub = hub;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+
+    /* Enqueues the frame, returns false if the queue is full. Called by the hub. */
+    boolean offer(SpectatorFrame frame) {
+        return queue.offer(frame);
+    }
+
+    /* Replaces the buffered frames with the snapshot. Called by the hub. */
+    void resync(SpectatorFrame snapshot) {
+        queue.clear();
+        queue.offer(snapshot);
+        resyncCount.incrementAndGet();
+    }
+
+
+    /**
+     * Returns the next frame or null, if no frame is buffered.
+     *
+     * @return The frame or null.
+     */
+    public SpectatorFrame poll() {
+        return queue.poll();
+    }
+
+    /**
+     * Returns the next frame and waits up to the timeout, if no frame is buffered.
+     *
+     * @param timeout The timeout.
+     * @param unit The unit of the timeout, must not be null.
+     * @return The frame or null, if the timeout has expired.
+     * @throws InterruptedException If the thread was interrupted while waiting.
+     */
+    public SpectatorFrame poll(long timeout, TimeUnit unit) throws InterruptedException {
+        return queue.poll(timeout, requireNonNull(unit));
+    }
+
+    /**
+     * Moves all buffered frames to the collection.
+     *
+     * @param frames The collection, must not be null.
+     * @return The number of moved frames.
+     */
+    public int drainTo(Collection<? super SpectatorFrame> frames) {
+        return queue.drainTo(requireNonNull(frames));
+    }
+
+    /**
+     * Returns the number of buffered frames.
+     *
+     * @return The number of frames.
+     */
+    public int getBufferedCount() {
+        return queue.size();
+    }
+
+    /**
+     * Returns how often the buffered frames were replaced with a snapshot, because the queue was
+     * full.
+     *
+     * @return The number of resynchronizations.
+     */
+    public int getResyncCount() {
+        return resyncCount.get();
+    }
+
+    /**
+     * Returns true, if the spectator left the hub or the hub was closed.
+     *
+     * @return True if closed, otherwise false.
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /* Marks the spectator as closed. Called by the hub. */
+    void markClosed() {
+        closed = true;
+    }
+
+    /**
+     * Leaves the hub. The buffered frames can still be consumed.
+     */
+    @Override
+    public void close() {
+        hub.leave(this);
+    }
+
+}
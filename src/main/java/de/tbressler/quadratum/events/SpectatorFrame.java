@@ -0,0 +1,131 @@
+package de.tbressler.quadratum.events;
+
+import java.nio.ByteBuffer;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * An immutable, encoded event of a game, which is shared by all spectators of a
+ * {@link SpectatorHub}. Every frame starts with the type (1 byte) and the sequence number (8 bytes),
+ * followed by the payload of the type:
+ * <ul>
+ *     <li>SNAPSHOT: the binary form of a {@link de.tbressler.quadratum.logic.GameSnapshot}.</li>
+ *     <li>GAME_STARTED, ACTIVE_PLAYER_CHANGED: the player (1 byte).</li>
+ *     <li>PIECE_PLACED, PIECE_REMOVED: the field index (1 byte, unsigned) and the player (1 byte).</li>
+ *     <li>SQUARES_FOUND, SQUARES_REMOVED: the player (1 byte), the number of squares (1 byte) and
+ *     the IDs of the squares in the square table (2 bytes each).</li>
+ *     <li>GAME_OVER: the winner (1 byte).</li>
+ * </ul>
+ * Players are encoded as 0 for player one, 1 for player two and -1 for no player.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public final class SpectatorFrame {
+
+    /** The type of a frame. */
+    public enum Type {
+        /** The complete state of the game. */
+        SNAPSHOT,
+        /** A game was started on an empty game board. */
+        GAME_STARTED,
+        /** The active player changed. */
+        ACTIVE_PLAYER_CHANGED,
+        /** A piece was placed. */
+        PIECE_PLACED,
+        /** A piece was removed, e.g. because a move was undone. */
+        PIECE_REMOVED,
+        /** New squares were found. */
+        SQUARES_FOUND,
+        /** Squares were removed, because a move was undone. */
+        SQUARES_REMOVED,
+        /** The game is over. */
+        GAME_OVER
+    }
+
+    /** The number of bytes of the header (type and sequence number). */
+    public static final int HEADER_SIZE = 9;
+
+
+    /* The types by ordinal. */
+    private static final Type[] TYPES = Type.values();
+
+    /* The encoded frame. */
+    private final byte[] bytes;
+
+
+    /* Creates a frame with the encoded bytes, which must not be modified afterwards. */
+    SpectatorFrame(byte[] bytes) {
+        this.bytes = bytes;
+    }
+
+    /**
+     * Creates a frame from its encoded form, e.g. on the receiving side of a connection.
+     *
+     * @param bytes The encoded frame, must not be null and must contain at least the header.
+     * @return The frame, never null.
+     */
+    public static SpectatorFrame of(byte[] bytes) {
+        if (requireNonNull(bytes).length < HEADER_SIZE)
+            throw new AssertionError("The frame must contain at least " + HEADER_SIZE + " bytes!");
+        if ((bytes[0] < 0) || (bytes[0] >= TYPES.length))
+            throw new AssertionError("Unknown frame type: " + bytes[0] + "!");
+        return new SpectatorFrame(bytes.clone());
+    }
+
+
+    /**
+     * Returns the type of the frame.
+     *
+     * @return The type, never null.
+     */
+    public Type getType() {
+        return TYPES[bytes[0]];
+    }
+
+    /**
+     * Returns the sequence number of the frame. A snapshot has the sequence number of the last
+     * frame, which is contained in the snapshot.
+     *
+     * @return The sequence number.
+     */
+    public long getSequenceNumber() {
+        return ByteBuffer.wrap(bytes).getLong(1);
+    }
+
+    /**
+     * Returns the number of bytes of the encoded frame.
+     *
+     * @return The number of bytes.
+     */
+    public int getLength() {
+        return bytes.length;
+    }
+
+    /**
+     * Returns a read-only view of the encoded frame. The view is positioned at the start of the
+     * frame, e.g. to write the frame to a channel without copying it.
+     *
+     * @return The read-only buffer, never null.
+     */
+    public ByteBuffer asByteBuffer() {
+        return ByteBuffer.wrap(bytes).asReadOnlyBuffer();
+    }
+
+    /**
+     * Returns a read-only view of the payload of the frame.
+     *
+     * @return The read-only buffer, never null.
+     */
+    public ByteBuffer getPayload() {
+        return ByteBuffer.wrap(bytes, HEADER_SIZE, bytes.length - HEADER_SIZE).slice().asReadOnlyBuffer();
+    }
+
+
+    @Override
+    public String toString() {
+        return "SpectatorFrame{type=" + getType() + ", sequenceNumber=" + getSequenceNumber() +
+                ", length=" + bytes.length + '}';
+    }
+
+}
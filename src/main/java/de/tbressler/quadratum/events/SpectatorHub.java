@@ -0,0 +1,295 @@
+package de.tbressler.quadratum.events;
+
+import de.tbressler.quadratum.events.SpectatorFrame.Type;
+import de.tbressler.quadratum.logic.GameLogic;
+import de.tbressler.quadratum.logic.IGameLogicListener;
+import de.tbressler.quadratum.model.GameBoard;
+import de.tbressler.quadratum.model.IGameBoardListener;
+import de.tbressler.quadratum.model.Player;
+import de.tbressler.quadratum.model.Square;
+import de.tbressler.quadratum.utils.SquareTable;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static de.tbressler.quadratum.events.SpectatorFrame.HEADER_SIZE;
+import static de.tbressler.quadratum.events.SpectatorFrame.Type.ACTIVE_PLAYER_CHANGED;
+import static de.tbressler.quadratum.events.SpectatorFrame.Type.GAME_OVER;
+import static de.tbressler.quadratum.events.SpectatorFrame.Type.GAME_STARTED;
+import static de.tbressler.quadratum.events.SpectatorFrame.Type.PIECE_PLACED;
+import static de.tbressler.quadratum.events.SpectatorFrame.Type.PIECE_REMOVED;
+import static de.tbressler.quadratum.events.SpectatorFrame.Type.SNAPSHOT;
+import static de.tbressler.quadratum.events.SpectatorFrame.Type.SQUARES_FOUND;
+import static de.tbressler.quadratum.events.SpectatorFrame.Type.SQUARES_REMOVED;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Distributes the events of a game to many spectators. Every event is encoded once into an
+ * immutable {@link SpectatorFrame}, which is shared by all spectators. Every spectator has its own
+ * bounded queue, so that slow spectators don't block the game or other spectators.
+ * <p>
+ * The hub keeps a key frame (a snapshot of the game) and the frames since the key frame. A
+ * spectator, who joins the hub, receives the key frame and the frames since then. The key frame is
+ * renewed every {@code keyFrameInterval} frames.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public class SpectatorHub implements AutoCloseable {
+
+    /** The default capacity of the queue of a spectator. */
+    public static final int DEFAULT_QUEUE_CAPACITY = 256;
+
+    /** The default number of frames between two key frames. */
+    public static final int DEFAULT_KEY_FRAME_INTERVAL = 64;
+
+
+    /* The game logic. */
+    private final GameLogic gameLogic;
+
+    /* The game board of the game logic. */
+    private final GameBoard gameBoard;
+
+    /* The square table for the IDs of the squares. */
+    private final SquareTable squareTable;
+
+    /* The capacity of the queue of a spectator. */
+    private final int queueCapacity;
+
+    /* The number of frames between two key frames. */
+    private final int keyFrameInterval;
+
+    /* The spectators. */
+    private final List<Spectator> spectators = new ArrayList<>();
+
+    /* The frames since the key frame. */
+    private final List<SpectatorFrame> backlog = new ArrayList<>();
+
+    /* The sequence number of the last frame. */
+    private long sequenceNumber = 0;
+
+    /* The last key frame. */
+    private SpectatorFrame keyFrame;
+
+    /* The snapshot of the current state or null, if it was not created since the last frame. */
+    private SpectatorFrame currentSnapshot = null;
+
+    /* True if the hub was closed. */
+    private boolean closed = false;
+
+    /* Encodes the events of the game logic. */
+    private final IGameLogicListener gameLogicListener = new IGameLogicListener() {
+        @Override
+        public void onGameOver(Player winner) {
+            broadcast(GAME_OVER, 1, buffer -> buffer.put(encode(winner)));
+        }
+
+        @Override
+        public void onNewSquaresFound(Player player, Set<Square> squares) {
+            broadcastSquares(SQUARES_FOUND, player, squares);
+        }
+
+        @Override
+        public void onMoveUndone(int index, Player player, Set<Square> removedSquares) {
+            if (!removedSquares.isEmpty())
+                broadcastSquares(SQUARES_REMOVED, player, removedSquares);
+        }
+
+        @Override
+        public void onActivePlayerChanged(Player activePlayer) {
+            broadcast(ACTIVE_PLAYER_CHANGED, 1, buffer -> buffer.put(encode(activePlayer)));
+        }
+
+        @Override
+        public void onGameStarted(Player activePlayer) {
+            broadcast(GAME_STARTED, 1, buffer -> buffer.put(encode(activePlayer)));
+        }
+
+        @Override
+        public void onGameRestored(Player activePlayer) {
+            broadcastSnapshot();
+        }
+    };
+
+    /* Encodes the events of the game board. */
+    private final IGameBoardListener gameBoardListener = new IGameBoardListener() {
+        @Override
+        public void onPiecePlaced(int index, Player player) {
+            broadcast(PIECE_PLACED, 2, buffer -> buffer.put((byte) index).put(encode(player)));
+        }
+
+        @Override
+        public void onPieceRemoved(int index, Player player) {
+            broadcast(PIECE_REMOVED, 2, buffer -> buffer.put((byte) index).put(encode(player)));
+        }
+
+        @Override
+        public void onGameBoardCleared() {
+            broadcastSnapshot();
+        }
+    };
+
+
+    /**
+     * Creates a spectator hub for the game logic with the default queue capacity and key frame
+     * interval.
+     *
+     * @param gameLogic The game logic, must not be null.
+     */
+    public SpectatorHub(GameLogic gameLogic) {
+        this(gameLogic, DEFAULT_QUEUE_CAPACITY, DEFAULT_KEY_FRAME_INTERVAL);
+    }
+
+    /**
+     * Creates a spectator hub for the game logic. The hub must be created on the thread of the game
+     * logic.
+     *
+     * @param gameLogic The game logic, must not be null.
+     * @param queueCapacity The capacity of the queue of a spectator, must be greater than the key
+     *                      frame interval.
+     * @param keyFrameInterval The number of frames between two key frames, must be positive.
+     */
+    public SpectatorHub(GameLogic gameLogic, int queueCapacity, int keyFrameInterval) {
+        if (keyFrameInterval <= 0)
+            throw new AssertionError("keyFrameInterval must be positive!");
+        if (queueCapacity <= keyFrameInterval)
+            throw new AssertionError("queueCapacity must be greater than keyFrameInterval!");
+        this.gameLogic = requireNonNull(gameLogic);
+        this.gameBoard = gameLogic.getGameBoard();
+        this.squareTable = SquareTable.of(gameBoard.getSize());
+        this.queueCapacity = queueCapacity;
+        this.keyFrameInterval = keyFrameInterval;
+        this.keyFrame = encodeSnapshot();
+
+        gameLogic.addGameLogicListener(gameLogicListener);
+        gameBoard.addGameBoardListener(gameBoardListener);
+    }
+
+
+    /**
+     * Adds a spectator to the hub. The spectator receives the last key frame, the frames since the
+     * key frame and all following frames.
+     *
+     * @return The spectator, never null.
+     */
+    public synchronized Spectator join() {
+        if (closed)
+            throw new AssertionError("The hub is closed!");
+        Spectator spectator = new Spectator(this, queueCapacity);
+        spectator.offer(keyFrame);
+        for (SpectatorFrame frame : backlog)
+            spectator.offer(frame);
+        spectators.add(spectator);
+        return spectator;
+    }
+
+    /* Removes the spectator from the hub. */
+    synchronized void leave(Spectator spectator) {
+        spectators.remove(spectator);
+        spectator.markClosed();
+    }
+
+    /**
+     * Removes the listeners from the game logic and the game board and closes all spectators.
+     */
+    @Override
+    public synchronized void close() {
+        gameLogic.removeGameLogicListener(gameLogicListener);
+        gameBoard.removeGameBoardListener(gameBoardListener);
+        for (Spectator spectator : spectators)
+            spectator.markClosed();
+        spectators.clear();
+        closed = true;
+    }
+
+
+    /* Encodes the frame with the next sequence number and delivers it to all spectators. A
+       spectator with a full queue is resynchronized. */
+    private synchronized void broadcast(Type type, int payloadLength, Consumer<ByteBuffer> payload) {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + payloadLength)
+                .put((byte) type.ordinal())
+                .putLong(++sequenceNumber);
+        payload.accept(buffer);
+        SpectatorFrame frame = new SpectatorFrame(buffer.array());
+        currentSnapshot = null;
+
+        for (Spectator spectator : spectators)
+            if (!spectator.offer(frame))
+                spectator.resync(getCurrentSnapshot());
+
+        backlog.add(frame);
+        if (backlog.size() >= keyFrameInterval) {
+            keyFrame = getCurrentSnapshot();
+            backlog.clear();
+        }
+    }
+
+    /* Delivers the squares with their IDs in the square table to all spectators. */
+    private void broadcastSquares(Type type, Player player, Set<Square> squares) {
+        if (squares.size() > 255)
+            throw new AssertionError("Too many squares for one frame!");
+        broadcast(type, 2 + 2 * squares.size(), buffer -> {
+            buffer.put(encode(player)).put((byte) squares.size());
+            for (Square square : squares)
+                buffer.putShort((short) squareTable.findSquare(square.getSortedPieces()));
+        });
+    }
+
+    /* Delivers a snapshot as new key frame to all spectators, e.g. if the game board was cleared. */
+    private synchronized void broadcastSnapshot() {
+        sequenceNumber++;
+        SpectatorFrame frame = encodeSnapshot();
+        for (Spectator spectator : spectators)
+            if (!spectator.offer(frame))
+                spectator.resync(frame);
+
+        keyFrame = frame;
+        currentSnapshot = frame;
+        backlog.clear();
+    }
+
+    /* Returns the snapshot of the current state. */
+    private SpectatorFrame getCurrentSnapshot() {
+        if (currentSnapshot == null)
+            currentSnapshot = encodeSnapshot();
+        return currentSnapshot;
+    }
+
+    /* Encodes the snapshot of the game with the current sequence number. */
+    private SpectatorFrame encodeSnapshot() {
+        byte[] snapshot = gameLogic.snapshot().toBytes();
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + snapshot.length);
+        buffer.put((byte) SNAPSHOT.ordinal()).putLong(sequenceNumber).put(snapshot);
+        return new SpectatorFrame(buffer.array());
+    }
+
+    /* Encodes the player as 0 (player one), 1 (player two) or -1 (no player). */
+    private byte encode(Player player) {
+        if (player == null)
+            return -1;
+        return (byte) (player.equals(gameBoard.getPlayer1()) ? 0 : 1);
+    }
+
+
+    /**
+     * Returns the number of spectators.
+     *
+     * @return The number of spectators.
+     */
+    public synchronized int getSpectatorCount() {
+        return spectators.size();
+    }
+
+    /**
+     * Returns the sequence number of the last frame.
+     *
+     * @return The sequence number or 0, if no frame was created.
+     */
+    public synchronized long getLastSequenceNumber() {
+        return sequenceNumber;
+    }
+
+}
@@ -0,0 +1,69 @@
+package de.tbressler.quadratum.events;
+
+import com.google.common.collect.ImmutableSet;
+import de.tbressler.quadratum.model.Player;
+import de.tbressler.quadratum.model.Square;
+
+import java.util.Set;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Event, which is published when a player scored new squares.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public final class SquaresFoundEvent extends GameEvent {
+
+    /* The player, who scored the squares. */
+    private final Player player;
+
+    /* The new squares. */
+    private final Set<Square> squares;
+
+
+    /**
+     * Creates the event.
+     *
+     * @param sequenceNumber The sequence number of the event.
+     * @param gameId The ID of the game.
+     * @param moveNumber The number of moves of the game, when the event occurred.
+     * @param player The player, who scored the squares, must not be null.
+     * @param squares The new squares, must not be null.
+     */
+    public SquaresFoundEvent(long sequenceNumber, long gameId, int moveNumber, Player player, Set<Square> squares) {
+        super(sequenceNumber, gameId, moveNumber);
+        this.player = requireNonNull(player);
+        this.squares = ImmutableSet.copyOf(requireNonNull(squares));
+    }
+
+
+    /**
+     * Returns the player, who scored the squares.
+     *
+     * @return The player, never null.
+     */
+    public Player getPlayer() {
+        return player;
+    }
+
+    /**
+     * Returns the new squares.
+     *
+     * @return The squares (immutable), never null.
+     */
+    public Set<Square> getSquares() {
+        return squares;
+    }
+
+
+    @Override
+    public String toString() {
+        return toStringHelper()
+                .add("player", player)
+                .add("squares", squares)
+                .toString();
+    }
+
+}
@@ -0,0 +1,181 @@
+package de.tbressler.quadratum.logic;
+
+import de.tbressler.quadratum.model.Player;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * The clock of a game with a time budget and an increment per player (Fischer clock). The clock of
+ * the active player runs from the move request until the move is made. After each move the
+ * increment is added to the remaining time of the player. The time is measured with the monotonic
+ * {@link System#nanoTime()}.
+ * <p>
+ * The clock is thread-safe.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public class GameClock {
+
+    /* The default budget of a player in nanoseconds. */
+    private final long budgetNanos;
+
+    /* The default increment of a player in nanoseconds. */
+    private final long incrementNanos;
+
+    /* The budgets and increments of single players in nanoseconds. */
+    private final Map<Player, long[]> playerBudgets = new HashMap<>();
+
+    /* The remaining time of the players in nanoseconds. */
+    private final Map<Player, Long> remainingNanos = new HashMap<>();
+
+    /* The source of the time. */
+    private LongSupplier nanoTime = System::nanoTime;
+
+    /* The player, whose clock is running, or null. */
+    private Player runningPlayer = null;
+
+    /* The start time of the running clock. */
+    private long startNanos;
+
+
+    /**
+     * Creates a game clock with the same budget and increment for both players.
+     *
+     * @param budget The time budget of a player for the whole game, must not be null or negative.
+     * @param increment The time, which is added after every move, must not be null or negative.
+     */
+    public GameClock(Duration budget, Duration increment) {
+        this.budgetNanos = toNanos(budget, "budget");
+        this.incrementNanos = toNanos(increment, "increment");
+    }
+
+    /* Converts the duration to nanoseconds. */
+    private static long toNanos(Duration duration, String name) {
+        if (requireNonNull(duration).isNegative())
+            throw new AssertionError(name + " must not be negative!");
+        return duration.toNanos();
+    }
+
+
+    /**
+     * Sets the time source. This method should only be used for testing purposes.
+     *
+     * @param nanoTime The time source in nanoseconds, must not be null.
+     */
+    synchronized void setNanoTime(LongSupplier nanoTime) {
+        this.nanoTime = requireNonNull(nanoTime);
+    }
+
+    /**
+     * Sets a different budget and increment for the player, e.g. as handicap. The budget is used
+     * after the next reset of the clock.
+     *
+     * @param player The player, must not be null.
+     * @param budget The time budget of the player, must not be null or negative.
+     * @param increment The time, which is added after every move, must not be null or negative.
+     */
+    public synchronized void setBudget(Player player, Duration budget, Duration increment) {
+        playerBudgets.put(requireNonNull(player),
+                new long[]{toNanos(budget, "budget"), toNanos(increment, "increment")});
+    }
+
+    /**
+     * Resets the remaining time of all players to their budgets and stops the clock.
+     */
+    public synchronized void reset() {
+        remainingNanos.clear();
+        runningPlayer = null;
+    }
+
+
+    /**
+     * Starts the clock of the player. A running clock of another player is stopped without
+     * increment.
+     *
+     * @param player The player, must not be null.
+     * @return The deadline of the player in {@link System#nanoTime()} units.
+     */
+    public synchronized long startMove(Player player) {
+        requireNonNull(player);
+        abortMove();
+        runningPlayer = player;
+        startNanos = nanoTime.getAsLong();
+        return startNanos + Math.max(0, remaining(player));
+    }
+
+    /**
+     * Stops the running clock and adds the increment to the remaining time of the player. Does
+     * nothing if no clock is running.
+     *
+     * @return The time of the move in nanoseconds or 0 if no clock was running.
+     */
+    public synchronized long stopMove() {
+        if (runningPlayer == null)
+            return 0;
+        Player player = runningPlayer;
+        long elapsed = abortMove();
+        remainingNanos.put(player, remaining(player) + increment(player));
+        return elapsed;
+    }
+
+    /**
+     * Stops the running clock without increment, e.g. if the move was undone. Does nothing if no
+     * clock is running.
+     *
+     * @return The elapsed time in nanoseconds or 0 if no clock was running.
+     */
+    public synchronized long abortMove() {
+        if (runningPlayer == null)
+            return 0;
+        long elapsed = nanoTime.getAsLong() - startNanos;
+        remainingNanos.put(runningPlayer, remaining(runningPlayer) - elapsed);
+        runningPlayer = null;
+        return elapsed;
+    }
+
+
+    /**
+     * Returns the remaining time of the player including the running move. The time is negative if
+     * the player exceeded the budget.
+     *
+     * @param player The player, must not be null.
+     * @return The remaining time in nanoseconds.
+     */
+    public synchronized long getRemainingNanos(Player player) {
+        long remaining = remaining(requireNonNull(player));
+        if (player.equals(runningPlayer))
+            remaining -= nanoTime.getAsLong() - startNanos;
+        return remaining;
+    }
+
+    /**
+     * Returns the player, whose clock is running.
+     *
+     * @return The player or null, if no clock is running.
+     */
+    public synchronized Player getRunningPlayer() {
+        return runningPlayer;
+    }
+
+    /* Returns the remaining time of the player without the running move. */
+    private long remaining(Player player) {
+        Long remaining = remainingNanos.get(player);
+        if (remaining != null)
+            return remaining;
+        long[] budget = playerBudgets.get(player);
+        return (budget != null) ? budget[0] : budgetNanos;
+    }
+
+    /* Returns the increment of the player. */
+    private long increment(Player player) {
+        long[] budget = playerBudgets.get(player);
+        return (budget != null) ? budget[1] : incrementNanos;
+    }
+
+}
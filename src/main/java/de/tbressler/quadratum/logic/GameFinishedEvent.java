@@ -0,0 +1,38 @@
+package de.tbressler.quadratum.logic;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event, which is emitted by the game logic when a game is over.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+@Name("de.tbressler.quadratum.GameFinished")
+@Label("Game Finished")
+@Category("Quadratum")
+@Description("A game is over.")
+@StackTrace(false)
+class GameFinishedEvent extends jdk.jfr.Event {
+
+    @Label("Game ID")
+    long gameId;
+
+    @Label("Winner")
+    @Description("The name of the winner or null if the game is a draw.")
+    String winner;
+
+    @Label("Moves")
+    int moves;
+
+    @Label("Score Player 1")
+    int scorePlayer1;
+
+    @Label("Score Player 2")
+    int scorePlayer2;
+
+}
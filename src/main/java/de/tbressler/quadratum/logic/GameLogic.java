@@ -1,38 +1,91 @@
 package de.tbressler.quadratum.logic;
 
+import com.google.common.collect.Range;
+import de.tbressler.quadratum.analysis.PositionEvaluator;
+import de.tbressler.quadratum.core.Position;
+import de.tbressler.quadratum.logic.GameOverVerifier.GameOverState;
+import de.tbressler.quadratum.logic.players.AsyncPlayerLogicAdapter;
+import de.tbressler.quadratum.metrics.IMetricsRecorder;
+import de.tbressler.quadratum.metrics.NoOpMetricsRecorder;
 import de.tbressler.quadratum.model.GameBoard;
 import de.tbressler.quadratum.model.Player;
 import de.tbressler.quadratum.model.Square;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 
 import static com.google.common.collect.Range.closed;
+import static de.tbressler.quadratum.core.GameCore.PLAYER1;
+import static de.tbressler.quadratum.core.GameCore.PLAYER2;
+import static de.tbressler.quadratum.logic.GameOverVerifier.GameOverState.NOT_OVER;
+import static de.tbressler.quadratum.logic.GameOverVerifier.EarlyTermination.DISABLED;
+import static de.tbressler.quadratum.logic.players.BotPlayerLogic.Strategy.LONG_TERM;
+import static de.tbressler.quadratum.metrics.IMetricsRecorder.Counter.GAMES_FINISHED;
+import static de.tbressler.quadratum.metrics.IMetricsRecorder.Counter.MOVES;
+import static de.tbressler.quadratum.metrics.IMetricsRecorder.Counter.MOVE_TIMEOUTS;
+import static de.tbressler.quadratum.metrics.IMetricsRecorder.Latency.LISTENER_DISPATCH;
 import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
 /**
  * The game logic.
+ * <p>
+ * If a game clock is set, every move request has a deadline. If the active player misses the
+ * deadline, the move request is cancelled and the game logic makes a fallback move for the player.
+ * The deadline scheduler only claims the expired request without waiting for the move lock. The
+ * fallback move and the following move request are made on the fallback executor, so a slow game
+ * doesn't delay the deadlines of other games.
+ * <p>
+ * The move lock is released before a move is requested, so a player logic computes its move
+ * without holding the lock.
  *
  * @author Tobias Bressler
  * @version 1.0
  */
 public class GameLogic {
 
+    /** The fallback move, if a player misses the deadline. */
+    public enum FallbackMove {
+        /** The first empty field. */
+        FIRST_EMPTY_FIELD,
+        /** A random empty field. */
+        RANDOM_EMPTY_FIELD,
+        /** The move of a bot with the long term strategy and without randomization. */
+        BEST_MOVE
+    }
+
+    /* Generator for the game IDs. */
+    private static final AtomicLong GAME_IDS = new AtomicLong();
+
     /*The game board. */
     private final GameBoard gameBoard;
 
+    /* The number of fields of the game board. */
+    private final int fieldCount;
+
+    /* The range of valid field indices. */
+    private final Range<Integer> indexRange;
+
     /* The player logic of player1. */
-    private final IPlayerLogic playerLogic1;
+    private IPlayerLogic playerLogic1;
 
     /* The player logic of player2. */
-    private final IPlayerLogic playerLogic2;
+    private IPlayerLogic playerLogic2;
 
     /* Player of player logic 1. */
-    private final Player player1;
+    private Player player1;
 
     /* Player of player logic 2. */
-    private final Player player2;
+    private Player player2;
 
     /* The active player logic. */
     private IPlayerLogic activePlayerLogic;
@@ -40,41 +93,57 @@ public class GameLogic {
     /* Is true if the game was started, otherwise false. */
     private boolean isStarted = false;
 
+    /* The ID of the current game, which is unique within the JVM. */
+    private long gameId = 0;
+
+    /* The number of moves of the current game. */
+    private int moveCount = 0;
+
     /* The listeners. */
     private List<IGameLogicListener> listeners = new ArrayList<>();
 
     /* The squares. */
-    private SquareCollector squareCollector = new SquareCollector();
+    private SquareCollector squareCollector;
 
     /* The game over verifier. */
-    private GameOverVerifier gameOverVerifier = new GameOverVerifier(150, 15);
+    private GameOverVerifier gameOverVerifier;
 
+    /* Analyzes the game board after each move. */
+    private MoveAnalyzer moveAnalyzer;
 
-    /* Callback for the player logic. */
-    private ILogicCallback playerLogicCallback = new ILogicCallback() {
-        @Override
-        public boolean makeMove(int index, Player player) {
-            if (!isStarted)
-                throw new AssertionError("Game is not started!");
-            if (!player.equals(activePlayerLogic.getPlayer()))
-                throw new AssertionError("The player is not active!");
-            if (!closed(0, 63).contains(index))
-                throw new AssertionError("Index must be between 0 and 63!");
+    /* The metrics recorder. */
+    private IMetricsRecorder metricsRecorder = NoOpMetricsRecorder.INSTANCE;
 
-            if (!gameBoard.isFieldEmpty(index))
-                return false;
+    /* Is called after the listeners were notified that the game is over, can be null. */
+    private Consumer<GameLogic> gameOverHandler;
 
-            gameBoard.placePiece(index, player);
+    /* The game clock or null, if the moves have no deadline. */
+    private GameClock gameClock = null;
 
-            checkGameBoardForSquares(player);
-            if (checkIfGameIsOver())
-                return true;
+    /* The fallback move. */
+    private FallbackMove fallbackMove = FallbackMove.BEST_MOVE;
 
-            switchActivePlayer();
+    /* The scheduler for the deadlines or null, if the shared scheduler should be used. */
+    private ScheduledExecutorService deadlineScheduler = null;
 
-            return true;
-        }
-    };
+    /* The executor for the fallback moves or null, if the shared executor should be used. */
+    private Executor fallbackExecutor = null;
+
+    /* Lock for the moves, because deadlines expire on the thread of the scheduler. */
+    private final ReentrantLock moveLock = new ReentrantLock();
+
+    /* The ID of the current move request. It is changed with move lock, except by the deadline,
+       which claims the expired request. */
+    private final AtomicLong moveRequestId = new AtomicLong();
+
+    /* The move request, which is sent after the move lock is released, or null. */
+    private MoveRequest pendingMoveRequest = null;
+
+    /* The scheduled deadline of the current move request or null. */
+    private ScheduledFuture<?> deadlineTimeout = null;
+
+    /* Random number generator for fallback moves. */
+    private final Random fallbackRandom = new Random();
 
 
     /**
@@ -85,6 +154,34 @@ public class GameLogic {
      * @param playerLogic2 The logic for player 2, must not be null.
      */
     public GameLogic(GameBoard gameBoard, IPlayerLogic playerLogic1, IPlayerLogic playerLogic2) {
+        this(gameBoard, playerLogic1, playerLogic2,
+                new GameOverVerifier(150, 15, DISABLED, gameBoard.getSize()));
+    }
+
+    /**
+     * Creates the game logic with asynchronous player logics. The game logic doesn't block while
+     * the moves are computed. The moves are made on the threads, which complete the moves.
+     *
+     * @param gameBoard The game board, must not be null.
+     * @param playerLogic1 The asynchronous logic for player 1, must not be null.
+     * @param playerLogic2 The asynchronous logic for player 2, must not be null.
+     */
+    public GameLogic(GameBoard gameBoard, IAsyncPlayerLogic playerLogic1, IAsyncPlayerLogic playerLogic2) {
+        this(gameBoard, new AsyncPlayerLogicAdapter(playerLogic1), new AsyncPlayerLogicAdapter(playerLogic2));
+    }
+
+    /**
+     * Creates the game logic with a custom game over verifier, e.g. with early termination
+     * enabled.
+     *
+     * @param gameBoard The game board, must not be null.
+     * @param playerLogic1 The logic for player 1, must not be null.
+     * @param playerLogic2 The logic for player 2, must not be null.
+     * @param gameOverVerifier The game over verifier, must not be null and must have the same
+     *                         size as the game board.
+     */
+    public GameLogic(GameBoard gameBoard, IPlayerLogic playerLogic1, IPlayerLogic playerLogic2,
+                     GameOverVerifier gameOverVerifier) {
         this.gameBoard = requireNonNull(gameBoard);
         this.playerLogic1 = requireNonNull(playerLogic1);
         this.playerLogic2 = requireNonNull(playerLogic2);
@@ -93,6 +190,64 @@ public class GameLogic {
         this.player2 = requireNonNull(playerLogic2.getPlayer());
 
         checkPlayers(gameBoard, player1, player2);
+
+        this.gameOverVerifier = requireNonNull(gameOverVerifier);
+        if (gameOverVerifier.getSize() != gameBoard.getSize())
+            throw new AssertionError("Size of game over verifier and game board doesn't match!");
+
+        this.fieldCount = gameBoard.getSize() * gameBoard.getSize();
+        this.indexRange = closed(0, fieldCount - 1);
+        this.squareCollector = new SquareCollector(gameBoard.getSize());
+        this.moveAnalyzer = new MoveAnalyzer(squareCollector, gameOverVerifier);
+    }
+
+    /**
+     * Binds the game logic and the game board to new player logics. The game board and the squares
+     * are cleared and the game must be started again. The listeners are kept. This allows to
+     * reuse the game logic for a new match, e.g. in a game pool.
+     * <p>
+     * The pending move request of the old player logics is cancelled. If a move is running, the
+     * game is rebound after the move, so a game which was released by the game over handler can be
+     * leased again while the last move is not yet completed.
+     *
+     * @param playerLogic1 The logic for player 1, must not be null.
+     * @param playerLogic2 The logic for player 2, must not be null.
+     */
+    public void rebindPlayers(IPlayerLogic playerLogic1, IPlayerLogic playerLogic2) {
+        Player newPlayer1 = requireNonNull(requireNonNull(playerLogic1).getPlayer());
+        Player newPlayer2 = requireNonNull(requireNonNull(playerLogic2).getPlayer());
+        if (newPlayer1.equals(newPlayer2))
+            throw new AssertionError("playerLogic1 and playerLogic2 uses the same player!");
+
+        // The request is cancelled without move lock, because player logics call the game logic
+        // with their own lock:
+        IPlayerLogic previousPlayerLogic = activePlayerLogic;
+        if (previousPlayerLogic != null)
+            previousPlayerLogic.cancelMoveRequest();
+
+        try {
+            moveLock.lock();
+
+            this.playerLogic1 = playerLogic1;
+            this.playerLogic2 = playerLogic2;
+            this.player1 = newPlayer1;
+            this.player2 = newPlayer2;
+
+            gameBoard.rebindPlayers(newPlayer1, newPlayer2);
+            squareCollector.reset();
+
+            cancelDeadline();
+            if (gameClock != null)
+                gameClock.reset();
+
+            activePlayerLogic = null;
+            isStarted = false;
+            gameId = 0;
+            moveCount = 0;
+
+        } finally {
+            moveLock.unlock();
+        }
     }
 
     /* Checks if players of player logic and game board are corrent. */
@@ -111,6 +266,7 @@ public class GameLogic {
      */
     void setSquareCollector(SquareCollector squareCollector) {
         this.squareCollector = requireNonNull(squareCollector);
+        this.moveAnalyzer = new MoveAnalyzer(squareCollector, gameOverVerifier);
     }
 
     /**
@@ -120,26 +276,178 @@ public class GameLogic {
      */
     void setGameOverVerifier(GameOverVerifier gameOverVerifier) {
         this.gameOverVerifier = requireNonNull(gameOverVerifier);
+        this.moveAnalyzer = new MoveAnalyzer(squareCollector, gameOverVerifier);
+    }
+
+    /**
+     * Set the move analyzer. This method should only be used for testing purposes.
+     *
+     * @param moveAnalyzer The move analyzer, must not be null.
+     */
+    void setMoveAnalyzer(MoveAnalyzer moveAnalyzer) {
+        this.moveAnalyzer = requireNonNull(moveAnalyzer);
+    }
+
+    /**
+     * Sets a handler, which is called after all listeners were notified that the game is over.
+     * This is used by the game pool to return the game.
+     *
+     * @param gameOverHandler The handler or null.
+     */
+    void setGameOverHandler(Consumer<GameLogic> gameOverHandler) {
+        this.gameOverHandler = gameOverHandler;
+    }
+
+    /**
+     * Sets the metrics recorder. The recorder is also used by the square collector, the game over
+     * verifier and the move analyzer of this game logic.
+     *
+     * @param metricsRecorder The metrics recorder, must not be null.
+     */
+    public void setMetricsRecorder(IMetricsRecorder metricsRecorder) {
+        this.metricsRecorder = requireNonNull(metricsRecorder);
+        squareCollector.setMetricsRecorder(metricsRecorder);
+        gameOverVerifier.setMetricsRecorder(metricsRecorder);
+        moveAnalyzer.setMetricsRecorder(metricsRecorder);
+    }
+
+    /**
+     * Sets the game clock. If a game clock is set, the players must make their moves before the
+     * deadline. The clock is reset when the game is started.
+     *
+     * @param gameClock The game clock or null, if the moves should have no deadline.
+     */
+    public void setGameClock(GameClock gameClock) {
+        this.gameClock = gameClock;
     }
 
-    /* Checks the game board for new squares. */
-    private void checkGameBoardForSquares(Player player) {
-        Set<Square> foundSquares = squareCollector.detect(gameBoard, player);
-        if (foundSquares.isEmpty())
+    /**
+     * Returns the game clock.
+     *
+     * @return The game clock or null.
+     */
+    public GameClock getGameClock() {
+        return gameClock;
+    }
+
+    /**
+     * Sets the fallback move, which is made if a player misses the deadline. The default is
+     * {@link FallbackMove#BEST_MOVE}.
+     *
+     * @param fallbackMove The fallback move, must not be null.
+     */
+    public void setFallbackMove(FallbackMove fallbackMove) {
+        this.fallbackMove = requireNonNull(fallbackMove);
+    }
+
+    /**
+     * Sets the scheduler for the deadlines. By default a scheduler with a single daemon thread is
+     * shared by all game logics.
+     *
+     * @param deadlineScheduler The scheduler, must not be null.
+     */
+    public void setDeadlineScheduler(ScheduledExecutorService deadlineScheduler) {
+        this.deadlineScheduler = requireNonNull(deadlineScheduler);
+    }
+
+    /**
+     * Sets the executor for the fallback moves. The fallback move and the following move request
+     * run on this executor, e.g. a synchronous bot computes its reply on it. By default a pool of
+     * daemon threads is shared by all game logics, which starts a new thread if all threads are
+     * busy.
+     *
+     * @param fallbackExecutor The executor, must not be null.
+     */
+    public void setFallbackExecutor(Executor fallbackExecutor) {
+        this.fallbackExecutor = requireNonNull(fallbackExecutor);
+    }
+
+    /* Emits a flight recorder event for the applied move. */
+    private void emitMoveAppliedEvent(int index, Player player) {
+        MoveAppliedEvent event = new MoveAppliedEvent();
+        if (!event.shouldCommit())
+            return;
+        event.gameId = gameId;
+        event.moveNumber = moveCount;
+        event.player = player.getName();
+        event.index = index;
+        event.commit();
+    }
+
+    /* Applies the move of the player, if the move request is still open. Must be called with move
+       lock. */
+    private boolean applyMove(long requestId, int index, Player player) {
+        if (!isStarted)
+            throw new AssertionError("Game is not started!");
+        if (!player.equals(activePlayerLogic.getPlayer()))
+            throw new AssertionError("The player is not active!");
+        if (!indexRange.contains(index))
+            throw new AssertionError("Index must be between 0 and " + (fieldCount - 1) + "!");
+
+        if (!gameBoard.isFieldEmpty(index))
+            return false;
+
+        // The deadline claims the request without move lock:
+        if (!moveRequestId.compareAndSet(requestId, requestId + 1))
+            return false;
+
+        stopClock();
+
+        gameBoard.placePiece(index, player);
+        metricsRecorder.incrementCounter(MOVES, 1);
+        moveCount++;
+        emitMoveAppliedEvent(index, player);
+
+        MoveAnalysis analysis = analyzeMove(player);
+        if (checkIfGameIsOver(analysis.getState()))
+            return true;
+
+        switchActivePlayer();
+
+        return true;
+    }
+
+    /* Analyzes the game board for new squares and the game over state in one pass. */
+    private MoveAnalysis analyzeMove(Player player) {
+        SquaresDetectedEvent event = new SquaresDetectedEvent();
+        event.begin();
+        MoveAnalysis analysis = moveAnalyzer.analyze(gameBoard, player);
+        emitSquaresDetectedEvent(event, player, analysis);
+        if (analysis.getNewSquareCount() > 0)
+            fireOnNewSquaresFound(player, analysis.getNewSquares());
+        return analysis;
+    }
+
+    /* Emits the flight recorder event for the square detection. */
+    private void emitSquaresDetectedEvent(SquaresDetectedEvent event, Player player, MoveAnalysis analysis) {
+        if (!event.shouldCommit())
             return;
-        fireOnNewSquaresFound(player, foundSquares);
+        event.gameId = gameId;
+        event.player = player.getName();
+        event.newSquares = analysis.getNewSquareCount();
+        event.newScore = analysis.getNewScore();
+        event.commit();
     }
 
     /* Notifies listener about new squares. */
     private void fireOnNewSquaresFound(Player player, Set<Square> foundSquares) {
+        long startTime = metricsRecorder.startTime();
         for(IGameLogicListener listener : listeners)
             listener.onNewSquaresFound(player, foundSquares);
+        metricsRecorder.recordLatencySince(LISTENER_DISPATCH, startTime);
     }
 
 
     /* Returns true if the game is over, otherwise false. */
-    private boolean checkIfGameIsOver() {
-        switch(gameOverVerifier.isGameOver(gameBoard, squareCollector)) {
+    private boolean checkIfGameIsOver(GameOverState state) {
+        GameOverCheckEvent event = new GameOverCheckEvent();
+        if (event.shouldCommit()) {
+            event.gameId = gameId;
+            event.state = String.valueOf(state);
+            event.commit();
+        }
+
+        switch(state) {
             case NOT_OVER:
                 return false;
             case PLAYER1_WON:
@@ -158,8 +466,27 @@ public class GameLogic {
 
     /* Notifies listeners that game is over and given player won. */
     private void fireOnGameOver(Player player) {
+        metricsRecorder.incrementCounter(GAMES_FINISHED, 1);
+        emitGameFinishedEvent(player);
+        long startTime = metricsRecorder.startTime();
         for(IGameLogicListener listener : listeners)
             listener.onGameOver(player);
+        metricsRecorder.recordLatencySince(LISTENER_DISPATCH, startTime);
+        if (gameOverHandler != null)
+            gameOverHandler.accept(this);
+    }
+
+    /* Emits a flight recorder event for the finished game. */
+    private void emitGameFinishedEvent(Player winner) {
+        GameFinishedEvent event = new GameFinishedEvent();
+        if (!event.shouldCommit())
+            return;
+        event.gameId = gameId;
+        event.winner = (winner == null) ? null : winner.getName();
+        event.moves = moveCount;
+        event.scorePlayer1 = squareCollector.getScore(player1);
+        event.scorePlayer2 = squareCollector.getScore(player2);
+        event.commit();
     }
 
     /**
@@ -170,17 +497,32 @@ public class GameLogic {
     public void startGame(Player player) {
         checkStartGamePrecondition(player);
 
-        gameBoard.clear();
-        squareCollector.reset();
+        try {
+            moveLock.lock();
 
-        isStarted = true;
+            cancelDeadline();
+            if (gameClock != null)
+                gameClock.reset();
 
-        fireOnGameStarted(player);
+            gameBoard.clear();
+            squareCollector.reset();
 
-        if (player.equals(player1))
-            setActivePlayerLogicTo(playerLogic1);
-        else
-            setActivePlayerLogicTo(playerLogic2);
+            isStarted = true;
+            gameId = GAME_IDS.incrementAndGet();
+            moveCount = 0;
+
+            fireOnGameStarted(player);
+
+            if (player.equals(player1))
+                setActivePlayerLogicTo(playerLogic1);
+            else
+                setActivePlayerLogicTo(playerLogic2);
+
+        } finally {
+            moveLock.unlock();
+        }
+
+        sendMoveRequest();
     }
 
     /* Checks if the active player is valid. */
@@ -192,8 +534,10 @@ public class GameLogic {
 
     /* Notifies the game board listeners that the game has started. */
     private void fireOnGameStarted(Player activePlayer) {
+        long startTime = metricsRecorder.startTime();
         for (IGameLogicListener listener : listeners)
             listener.onGameStarted(activePlayer);
+        metricsRecorder.recordLatencySince(LISTENER_DISPATCH, startTime);
     }
 
     /* Switches the active player. */
@@ -204,19 +548,400 @@ public class GameLogic {
             setActivePlayerLogicTo(playerLogic1);
     }
 
-    /* Changes the active player to the given player. */
+    /* Changes the active player to the given player. Must be called with move lock. */
     private void setActivePlayerLogicTo(IPlayerLogic playerLogic) {
         this.activePlayerLogic = playerLogic;
         fireOnActivePlayerChanged(playerLogic.getPlayer());
+        prepareMoveRequest(playerLogic);
+    }
 
-        // Request move at the player logic.
-        playerLogic.requestMove(gameBoard, playerLogicCallback);
+    /* Starts a new move request, which is sent after the move lock is released. Must be called
+       with move lock. */
+    private void prepareMoveRequest(IPlayerLogic playerLogic) {
+        cancelDeadline();
+        if (gameClock == null) {
+            pendingMoveRequest = new MoveRequest(playerLogic, moveRequestId.get());
+        } else {
+            long deadlineNanos = scheduleDeadline(playerLogic);
+            pendingMoveRequest = new MoveRequest(playerLogic, moveRequestId.get(), deadlineNanos);
+        }
+    }
+
+    /* Sends the pending move request to the player logic. The request is sent without move lock,
+       so a deadline can expire while the player logic computes its move. If the move lock is held
+       by an outer call, the outer call sends the request. */
+    private void sendMoveRequest() {
+        if (moveLock.isHeldByCurrentThread())
+            return;
+
+        MoveRequest moveRequest;
+        try {
+            moveLock.lock();
+            moveRequest = pendingMoveRequest;
+            pendingMoveRequest = null;
+        } finally {
+            moveLock.unlock();
+        }
+
+        if ((moveRequest != null) && (moveRequest.requestId == moveRequestId.get()))
+            moveRequest.send();
+    }
+
+    /* Starts the clock of the player and schedules the deadline. Returns the deadline. Must be
+       called with move lock. */
+    private long scheduleDeadline(IPlayerLogic playerLogic) {
+        long deadlineNanos = gameClock.startMove(playerLogic.getPlayer());
+        // The remaining time is measured with the time source of the clock:
+        long delayNanos = Math.max(0, gameClock.getRemainingNanos(playerLogic.getPlayer()));
+        long requestId = moveRequestId.get();
+        deadlineTimeout = getDeadlineScheduler().schedule(() -> onDeadline(requestId, playerLogic),
+                delayNanos, NANOSECONDS);
+        return deadlineNanos;
+    }
+
+    /* Cancels the deadline and the pending move request and starts a new move request. */
+    private void cancelDeadline() {
+        try {
+            moveLock.lock();
+
+            moveRequestId.incrementAndGet();
+            pendingMoveRequest = null;
+            if (deadlineTimeout != null) {
+                deadlineTimeout.cancel(false);
+                deadlineTimeout = null;
+            }
+
+        } finally {
+            moveLock.unlock();
+        }
+    }
+
+    /* Stops the clock of the active player after a move. Must be called with move lock. */
+    private void stopClock() {
+        if (deadlineTimeout != null) {
+            deadlineTimeout.cancel(false);
+            deadlineTimeout = null;
+        }
+        if (gameClock != null)
+            gameClock.stopMove();
+    }
+
+    /* Claims the move request, if the deadline has expired. The request is claimed without move
+       lock, so a game, which holds the lock, doesn't delay the deadlines of other games. The
+       fallback move is made on the fallback executor. */
+    private void onDeadline(long requestId, IPlayerLogic expiredPlayerLogic) {
+        if (!moveRequestId.compareAndSet(requestId, requestId + 1))
+            return;
+
+        getFallbackExecutor().execute(() -> makeFallbackMove(requestId + 1, expiredPlayerLogic));
+    }
+
+    /* Cancels the expired move request and makes the fallback move, if the claimed request was not
+       replaced in the meantime. */
+    private void makeFallbackMove(long claimedRequestId, IPlayerLogic expiredPlayerLogic) {
+        // The request is cancelled without move lock, because player logics call the game logic
+        // with their own lock:
+        expiredPlayerLogic.cancelMoveRequest();
+
+        try {
+            moveLock.lock();
+            if (claimedRequestId != moveRequestId.get())
+                return;
+            int index = findFallbackMove(expiredPlayerLogic.getPlayer());
+            if (index < 0)
+                return;
+            metricsRecorder.incrementCounter(MOVE_TIMEOUTS, 1);
+            applyMove(claimedRequestId, index, expiredPlayerLogic.getPlayer());
+        } finally {
+            moveLock.unlock();
+        }
+
+        sendMoveRequest();
+    }
+
+    /* Returns the fallback move for the player or -1 if the game board is full. */
+    private int findFallbackMove(Player player) {
+        switch (fallbackMove) {
+            case FIRST_EMPTY_FIELD:
+                for (int i = 0; i < fieldCount; i++)
+                    if (gameBoard.isFieldEmpty(i))
+                        return i;
+                return -1;
+            case RANDOM_EMPTY_FIELD:
+                int emptyFields = fieldCount - gameBoard.getPieceCount();
+                if (emptyFields == 0)
+                    return -1;
+                int n = fallbackRandom.nextInt(emptyFields);
+                for (int i = 0; i < fieldCount; i++)
+                    if (gameBoard.isFieldEmpty(i) && (n-- == 0))
+                        return i;
+                return -1;
+            case BEST_MOVE:
+                return new PositionEvaluator(LONG_TERM).evaluate(Position.of(gameBoard, player)).getBestMove();
+            default:
+                throw new IllegalStateException("Unknown fallback move!");
+        }
+    }
+
+    /* Returns the scheduler for the deadlines. */
+    private ScheduledExecutorService getDeadlineScheduler() {
+        return (deadlineScheduler != null) ? deadlineScheduler : SharedDeadlineScheduler.INSTANCE;
+    }
+
+    /* Holder of the shared scheduler, which is created on first use. */
+    private static class SharedDeadlineScheduler {
+        private static final ScheduledExecutorService INSTANCE = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "quadratum-deadlines");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /* Returns the executor for the fallback moves. */
+    private Executor getFallbackExecutor() {
+        return (fallbackExecutor != null) ? fallbackExecutor : SharedFallbackExecutor.INSTANCE;
+    }
+
+    /* Holder of the shared executor for fallback moves, which is created on first use. */
+    private static class SharedFallbackExecutor {
+        private static final Executor INSTANCE = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "quadratum-fallback-moves");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /* A move request, which is also the callback for the move of the request. */
+    private class MoveRequest implements ILogicCallback {
+
+        /* The requested player logic. */
+        private final IPlayerLogic playerLogic;
+
+        /* The ID of the move request. */
+        private final long requestId;
+
+        /* True if the move request has a deadline. */
+        private final boolean hasDeadline;
+
+        /* The deadline of the move request. */
+        private final long deadlineNanos;
+
+        /* Creates a move request without deadline. */
+        MoveRequest(IPlayerLogic playerLogic, long requestId) {
+            this.playerLogic = playerLogic;
+            this.requestId = requestId;
+            this.hasDeadline = false;
+            this.deadlineNanos = 0;
+        }
+
+        /* Creates a move request with deadline. */
+        MoveRequest(IPlayerLogic playerLogic, long requestId, long deadlineNanos) {
+            this.playerLogic = playerLogic;
+            this.requestId = requestId;
+            this.hasDeadline = true;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        /* Requests the move at the player logic. */
+        void send() {
+            if (hasDeadline)
+                playerLogic.requestMove(gameBoard, this, deadlineNanos);
+            else
+                playerLogic.requestMove(gameBoard, this);
+        }
+
+        @Override
+        public boolean makeMove(int index, Player player) {
+            boolean moveMade;
+            try {
+                moveLock.lock();
+
+                // Ignore moves of replaced requests and moves after the deadline has expired:
+                moveMade = (requestId == moveRequestId.get()) && applyMove(requestId, index, player);
+
+            } finally {
+                moveLock.unlock();
+            }
+
+            sendMoveRequest();
+            return moveMade;
+        }
     }
 
     /* Notifies all listeners that the active player has changed. */
     private void fireOnActivePlayerChanged(Player player) {
+        long startTime = metricsRecorder.startTime();
         for (IGameLogicListener listener: listeners)
             listener.onActivePlayerChanged(player);
+        metricsRecorder.recordLatencySince(LISTENER_DISPATCH, startTime);
+    }
+
+
+    /**
+     * Undoes the last move and requests the move again from the player of the removed piece.
+     *
+     * @return True if a move was undone, false if no move was made since the game was started.
+     */
+    public boolean undoMove() {
+        if (moveCount == 0)
+            return false;
+        undoMoves(1);
+        return true;
+    }
+
+    /**
+     * Undoes the last moves and requests the next move from the player of the last removed piece.
+     * The pending move request is cancelled. The game continues, even if it was over before.
+     * <p>
+     * A bot moves immediately when its move is requested, so undo two moves to take back the own
+     * move in a game against a bot.
+     *
+     * @param count The number of moves, between 1 and the number of moves of the current game.
+     */
+    public void undoMoves(int count) {
+        IPlayerLogic cancelledPlayerLogic;
+        try {
+            moveLock.lock();
+
+            if (!isStarted)
+                throw new AssertionError("Game is not started!");
+            if ((count < 1) || (count > moveCount))
+                throw new AssertionError("count must be between 1 and " + moveCount + "!");
+
+            // Ignore the pending move and the deadline, until the request is cancelled:
+            moveRequestId.incrementAndGet();
+            cancelledPlayerLogic = activePlayerLogic;
+
+        } finally {
+            moveLock.unlock();
+        }
+
+        // The request is cancelled without move lock, because player logics call the game logic
+        // with their own lock:
+        cancelledPlayerLogic.cancelMoveRequest();
+
+        try {
+            moveLock.lock();
+
+            cancelDeadline();
+            if (gameClock != null)
+                gameClock.abortMove();
+
+            Player player = null;
+            for (int i = 0; i < count; i++) {
+                int index = gameBoard.getLastPlacedIndex();
+                player = gameBoard.removePiece(index);
+                Set<Square> removedSquares = squareCollector.rollback();
+                moveCount--;
+                fireOnMoveUndone(index, player, removedSquares);
+            }
+
+            if (player.equals(player1))
+                setActivePlayerLogicTo(playerLogic1);
+            else
+                setActivePlayerLogicTo(playerLogic2);
+
+        } finally {
+            moveLock.unlock();
+        }
+
+        sendMoveRequest();
+    }
+
+    /* Notifies all listeners that a move was undone. */
+    private void fireOnMoveUndone(int index, Player player, Set<Square> removedSquares) {
+        long startTime = metricsRecorder.startTime();
+        for (IGameLogicListener listener : listeners)
+            listener.onMoveUndone(index, player, removedSquares);
+        metricsRecorder.recordLatencySince(LISTENER_DISPATCH, startTime);
+    }
+
+
+    /**
+     * Returns a snapshot of the current state of the game, e.g. to migrate the game to another
+     * node.
+     *
+     * @return The snapshot, never null.
+     */
+    public GameSnapshot snapshot() {
+        try {
+            moveLock.lock();
+
+            int activePlayer = (activePlayerLogic == playerLogic2) ? PLAYER2 : PLAYER1;
+            Position position = new Position(gameBoard.getSize(), gameBoard.getPieces(player1),
+                    gameBoard.getPieces(player2), activePlayer);
+            return new GameSnapshot(position, isStarted);
+
+        } finally {
+            moveLock.unlock();
+        }
+    }
+
+    /**
+     * Restores the state of the snapshot. The pieces, squares and scores are set directly without
+     * replaying the moves, so the listeners are notified only once with
+     * {@link IGameLogicListener#onGameRestored(Player)} and the game board listeners with
+     * {@link de.tbressler.quadratum.model.IGameBoardListener#onGameBoardRestored()}.
+     * <p>
+     * The pending move request is cancelled and the game clock is reset. The restored game gets a
+     * new game ID and the moves before the snapshot can't be undone. If the game was started and
+     * is not over, the move is requested from the active player.
+     * <p>
+     * The state is restored with the move lock. A move of the old request, which is made
+     * concurrently, waits until the game is restored and is ignored.
+     *
+     * @param snapshot The snapshot, must not be null and must have the size of the game board.
+     */
+    public void restore(GameSnapshot snapshot) {
+        Position position = requireNonNull(snapshot).getPosition();
+        if (position.getSize() != gameBoard.getSize())
+            throw new AssertionError("Size of snapshot and game board doesn't match!");
+
+        // The request is cancelled without move lock, because player logics call the game logic
+        // with their own lock:
+        IPlayerLogic previousPlayerLogic = activePlayerLogic;
+        if (previousPlayerLogic != null)
+            previousPlayerLogic.cancelMoveRequest();
+
+        Player activePlayer;
+        try {
+            moveLock.lock();
+
+            cancelDeadline();
+            if (gameClock != null)
+                gameClock.reset();
+
+            gameBoard.restore(position.getPieces(PLAYER1), position.getPieces(PLAYER2));
+            squareCollector.restore(gameBoard);
+
+            isStarted = snapshot.isStarted();
+            gameId = isStarted ? GAME_IDS.incrementAndGet() : 0;
+            moveCount = 0;
+            if (!isStarted)
+                activePlayerLogic = null;
+            else if (position.getActivePlayer() == PLAYER1)
+                activePlayerLogic = playerLogic1;
+            else
+                activePlayerLogic = playerLogic2;
+            activePlayer = getActivePlayer();
+
+            if (isStarted && (gameOverVerifier.isGameOver(gameBoard, squareCollector) == NOT_OVER))
+                prepareMoveRequest(activePlayerLogic);
+
+        } finally {
+            moveLock.unlock();
+        }
+
+        fireOnGameRestored(activePlayer);
+        sendMoveRequest();
+    }
+
+    /* Notifies all listeners that the game was restored. */
+    private void fireOnGameRestored(Player activePlayer) {
+        long startTime = metricsRecorder.startTime();
+        for (IGameLogicListener listener : listeners)
+            listener.onGameRestored(activePlayer);
+        metricsRecorder.recordLatencySince(LISTENER_DISPATCH, startTime);
     }
 
 
@@ -251,6 +976,18 @@ public class GameLogic {
     }
 
 
+    /**
+     * Returns the ID of the current game or 0 if the game has not started yet. The ID is unique
+     * within the JVM and changes every time a game is started. It is also used by the flight
+     * recorder events of the game logic.
+     *
+     * @return The ID of the current game or 0.
+     */
+    public long getGameId() {
+        return gameId;
+    }
+
+
     /**
      * Returns the game board.
      *
@@ -310,4 +1047,11 @@ public class GameLogic {
         listeners.remove(requireNonNull(listener));
     }
 
+    /**
+     * Removes all listeners from the game logic.
+     */
+    public void removeAllGameLogicListeners() {
+        listeners.clear();
+    }
+
 }
@@ -0,0 +1,30 @@
+package de.tbressler.quadratum.logic;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event, which is emitted by the game logic after it was checked if the game is
+ * over. After a move the check is part of the move analysis and its duration is included in the
+ * {@link SquaresDetectedEvent}.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+@Name("de.tbressler.quadratum.GameOverCheck")
+@Label("Game Over Check")
+@Category("Quadratum")
+@Description("It was checked if the game is over.")
+@StackTrace(false)
+class GameOverCheckEvent extends jdk.jfr.Event {
+
+    @Label("Game ID")
+    long gameId;
+
+    @Label("State")
+    String state;
+
+}
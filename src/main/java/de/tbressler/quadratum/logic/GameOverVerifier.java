@@ -1,11 +1,19 @@
 package de.tbressler.quadratum.logic;
 
+import de.tbressler.quadratum.metrics.IMetricsRecorder;
+import de.tbressler.quadratum.metrics.NoOpMetricsRecorder;
 import de.tbressler.quadratum.model.IReadOnlyGameBoard;
 import de.tbressler.quadratum.model.Player;
+import de.tbressler.quadratum.utils.SquareTable;
 
+import static de.tbressler.quadratum.logic.GameOverVerifier.EarlyTermination.DISABLED;
+import static de.tbressler.quadratum.logic.GameOverVerifier.EarlyTermination.WHEN_DECIDED;
 import static de.tbressler.quadratum.logic.GameOverVerifier.GameOverState.*;
 import static de.tbressler.quadratum.logic.GameOverVerifier.PossibleMoves.*;
-import static de.tbressler.quadratum.utils.SquareUtils.getPossiblePieces;
+import static de.tbressler.quadratum.metrics.IMetricsRecorder.Latency.GAME_OVER_VERIFICATION;
+import static de.tbressler.quadratum.utils.GameBoardUtils.DEFAULT_SIZE;
+import static java.lang.Math.min;
+import static java.util.Arrays.sort;
 import static java.util.Objects.requireNonNull;
 
 /**
@@ -17,7 +25,7 @@ import static java.util.Objects.requireNonNull;
 public class GameOverVerifier {
 
     /** The game over state. */
-    enum GameOverState {
+    public enum GameOverState {
         /** The game is not over. */
         NOT_OVER,
         /** The game is over and player 1 won. */
@@ -40,26 +48,98 @@ public class GameOverVerifier {
         NO_PLAYER
     }
 
+    /** The policy for terminating the game before the regular winning conditions are reached. */
+    public enum EarlyTermination {
+        /** The game is played until the regular winning conditions are reached. */
+        DISABLED,
+        /** The game is over as soon as the trailing player can't catch up anymore. */
+        WHEN_DECIDED
+    }
+
     /* The minimum score for a player to win the game. */
     private final int minScore;
 
     /* The minimum difference between the player scores to win the game. */
     private final int minDifference;
 
+    /* The early termination policy. */
+    private final EarlyTermination earlyTermination;
+
+    /* The table of all possible squares on the game board. */
+    private final SquareTable squareTable;
+
+    /* The metrics recorder. */
+    private IMetricsRecorder metricsRecorder = NoOpMetricsRecorder.INSTANCE;
+
 
     /**
-     * Creates the game over verifier.
+     * Creates the game over verifier. Early termination is disabled.
      *
      * @param minScore The minimum score to win, must be > 0 (suggested 150).
      * @param minDifference The minimum difference between score, must be > 0 (suggested 15).
      */
     public GameOverVerifier(int minScore, int minDifference) {
+        this(minScore, minDifference, DISABLED);
+    }
+
+    /**
+     * Creates the game over verifier for a game board with 8x8 fields.
+     *
+     * @param minScore The minimum score to win, must be > 0 (suggested 150).
+     * @param minDifference The minimum difference between score, must be > 0 (suggested 15).
+     * @param earlyTermination The early termination policy, must not be null.
+     */
+    public GameOverVerifier(int minScore, int minDifference, EarlyTermination earlyTermination) {
+        this(minScore, minDifference, earlyTermination, DEFAULT_SIZE);
+    }
+
+    /**
+     * Creates the game over verifier for a game board with the given size.
+     *
+     * @param minScore The minimum score to win, must be > 0 (suggested 150).
+     * @param minDifference The minimum difference between score, must be > 0 (suggested 15).
+     * @param earlyTermination The early termination policy, must not be null.
+     * @param size The size of the game board, between 4..16.
+     */
+    public GameOverVerifier(int minScore, int minDifference, EarlyTermination earlyTermination, int size) {
         if (minScore < 1) throw new AssertionError("minScore must be > 0!");
         if (minDifference < 1) throw new AssertionError("minDifference must be > 0!");
         this.minScore = minScore;
         this.minDifference = minDifference;
+        this.earlyTermination = requireNonNull(earlyTermination);
+        this.squareTable = SquareTable.of(size);
+    }
+
+
+    /**
+     * Returns the size of the game board.
+     *
+     * @return The size of the game board.
+     */
+    public int getSize() {
+        return squareTable.getSize();
+    }
+
+
+    /**
+     * Returns the early termination policy.
+     *
+     * @return The early termination policy, never null.
+     */
+    public EarlyTermination getEarlyTermination() {
+        return earlyTermination;
     }
 
+    /**
+     * Sets the metrics recorder.
+     *
+     * @param metricsRecorder The metrics recorder, must not be null.
+     */
+    public void setMetricsRecorder(IMetricsRecorder metricsRecorder) {
+        this.metricsRecorder = requireNonNull(metricsRecorder);
+    }
+
+
     /**
      * Checks if the game is over.
      *
@@ -71,9 +151,50 @@ public class GameOverVerifier {
         requireNonNull(gameBoard);
         requireNonNull(squareCollector);
 
+        long startTime = metricsRecorder.startTime();
+        GameOverState state = verifyGameOver(gameBoard, squareCollector);
+        metricsRecorder.recordLatencySince(GAME_OVER_VERIFICATION, startTime);
+        return state;
+    }
+
+    /**
+     * Checks if the game is over with the scores and the open squares of a move analysis, so that
+     * the game board doesn't have to be scanned again. Only the early termination scans the game
+     * board, if it is enabled.
+     *
+     * @param gameBoard The game board, must not be null.
+     * @param analysis The analysis of the last move, must not be null.
+     * @return The game over state, never null.
+     */
+    GameOverState getGameOverState(IReadOnlyGameBoard gameBoard, MoveAnalysis analysis) {
+        requireNonNull(gameBoard);
+        requireNonNull(analysis);
+
+        long startTime = metricsRecorder.startTime();
+        GameOverState state = verifyScores(gameBoard, analysis.scorePlayer1, analysis.scorePlayer2);
+        if (state == NOT_OVER)
+            state = verifyPossibleMoves(toPossibleMoves(analysis.player1CanDoMoreSquares,
+                    analysis.player2CanDoMoreSquares), analysis.scorePlayer1, analysis.scorePlayer2);
+        metricsRecorder.recordLatencySince(GAME_OVER_VERIFICATION, startTime);
+        return state;
+    }
+
+    /* Checks if the game is over. */
+    private GameOverState verifyGameOver(IReadOnlyGameBoard gameBoard, SquareCollector squareCollector) {
+
         int scorePlayer1 = squareCollector.getScore(gameBoard.getPlayer1());
         int scorePlayer2 = squareCollector.getScore(gameBoard.getPlayer2());
 
+        GameOverState state = verifyScores(gameBoard, scorePlayer1, scorePlayer2);
+        if (state != NOT_OVER)
+            return state;
+
+        return verifyPossibleMoves(canPlayersDoMoreSquares(gameBoard), scorePlayer1, scorePlayer2);
+    }
+
+    /* Checks if the game is decided by the scores. */
+    private GameOverState verifyScores(IReadOnlyGameBoard gameBoard, int scorePlayer1, int scorePlayer2) {
+
         // Check if one player has won the game:
         if ((scorePlayer1 >= minScore) || (scorePlayer2 >= minScore)) {
 
@@ -86,8 +207,16 @@ public class GameOverVerifier {
             }
         }
 
-        // Check if more squares are possible:
-        switch (canPlayersDoMoreSquares(gameBoard)) {
+        // Check if the trailing player can still catch up:
+        if (earlyTermination == WHEN_DECIDED)
+            return getDecidedState(gameBoard, scorePlayer1, scorePlayer2);
+
+        return NOT_OVER;
+    }
+
+    /* Checks if the game is over, because one or both players can't do more squares. */
+    private GameOverState verifyPossibleMoves(PossibleMoves possibleMoves, int scorePlayer1, int scorePlayer2) {
+        switch (possibleMoves) {
             case BOTH_PLAYERS:
                 return NOT_OVER;
             case NO_PLAYER:
@@ -101,6 +230,13 @@ public class GameOverVerifier {
         }
     }
 
+    /* Returns the possible moves for the open squares of both players. */
+    private PossibleMoves toPossibleMoves(boolean player1CanDoMoreSquares, boolean player2CanDoMoreSquares) {
+        if (player1CanDoMoreSquares)
+            return player2CanDoMoreSquares ? BOTH_PLAYERS : ONLY_PLAYER1;
+        return player2CanDoMoreSquares ? ONLY_PLAYER2 : NO_PLAYER;
+    }
+
     /* Returns the game draw state. */
     private GameOverState getGameDrawState(int scorePlayer1, int scorePlayer2) {
         if (scorePlayer1 > scorePlayer2)
@@ -110,58 +246,147 @@ public class GameOverVerifier {
         return GAME_DRAW;
     }
 
-    /* Checks if the players can do more squares on the game board. */
-    private PossibleMoves canPlayersDoMoreSquares(IReadOnlyGameBoard gameBoard) {
-        Player player1 = gameBoard.getPlayer1();
+    /* Returns the winner, if the trailing player can't catch up anymore. Otherwise NOT_OVER. */
+    private GameOverState getDecidedState(IReadOnlyGameBoard gameBoard, int scorePlayer1, int scorePlayer2) {
+        int[] maxGain = getMaxRemainingScores(gameBoard);
+        if (scorePlayer1 > scorePlayer2 + maxGain[1])
+            return PLAYER1_WON;
+        if (scorePlayer2 > scorePlayer1 + maxGain[0])
+            return PLAYER2_WON;
+        return NOT_OVER;
+    }
+
+    /**
+     * Returns an upper bound for the score that each player can still achieve on the game board.
+     * The bound is the sum of the scores of all squares, which are not yet completed and not
+     * blocked by the opponent. If the player can't occupy all empty fields anymore, the bound is
+     * limited to the best fields the player can still occupy.
+     *
+     * @param gameBoard The game board, must not be null.
+     * @return The upper bounds in the form {player1, player2}, never null.
+     */
+    int[] getMaxRemainingScores(IReadOnlyGameBoard gameBoard) {
+        Player player1 = requireNonNull(gameBoard).getPlayer1();
+
+        int fieldCount = squareTable.getFieldCount();
+        int squareCount = squareTable.getSquareCount();
+        int[] squarePieces = squareTable.getPieces();
 
-        int[] possible;
         Player[] pieces = new Player[4];
 
         boolean hasPlayer1;
         boolean hasPlayer2;
         boolean hasEmpty;
 
-        boolean player1CanDoMoreSquares = false;
-        boolean player2CanDoMoreSquares = false;
+        // Sum of open square scores per player and per empty field and player:
+        int maxGainPlayer1 = 0;
+        int maxGainPlayer2 = 0;
+        int[] fieldGainPlayer1 = new int[fieldCount];
+        int[] fieldGainPlayer2 = new int[fieldCount];
+        int scoreForSquare;
+
+        for (int s = 0; s < squareCount; s++) {
+
+            hasPlayer1 = false;
+            hasPlayer2 = false;
+            hasEmpty = false;
+
+            for (int m = 0; m < 4; m++) {
+                pieces[m] = gameBoard.getPiece(squarePieces[4 * s + m]);
+                if (pieces[m] == null)
+                    hasEmpty = true;
+                else if (pieces[m] == player1)
+                    hasPlayer1 = true;
+                else
+                    hasPlayer2 = true;
+            }
 
-        // Go through the game board and check for possible squares:
-        for (int i = 0; i < 55; i++) {
+            if (!hasEmpty || (hasPlayer1 && hasPlayer2))
+                continue;
 
-            pieces[0] = gameBoard.getPiece(i);
+            scoreForSquare = squareTable.getScore(s);
 
-            for (int j = i + 1; j < 64; j++) {
+            if (!hasPlayer2) {
+                maxGainPlayer1 += scoreForSquare;
+                addToEmptyFields(fieldGainPlayer1, squarePieces, s, pieces, scoreForSquare);
+            }
+            if (!hasPlayer1) {
+                maxGainPlayer2 += scoreForSquare;
+                addToEmptyFields(fieldGainPlayer2, squarePieces, s, pieces, scoreForSquare);
+            }
+        }
+
+        // A player can occupy at most every second empty field:
+        int emptyFields = 0;
+        for (int i = 0; i < fieldCount; i++)
+            if (gameBoard.getPiece(i) == null)
+                emptyFields++;
+        int remainingMoves = (emptyFields + 1) / 2;
+
+        return new int[]{
+                min(maxGainPlayer1, sumOfBestFields(fieldGainPlayer1, remainingMoves)),
+                min(maxGainPlayer2, sumOfBestFields(fieldGainPlayer2, remainingMoves))
+        };
+    }
+
+    /* Adds the score of the square to all empty fields of the square. */
+    private void addToEmptyFields(int[] fieldGain, int[] squarePieces, int square, Player[] pieces, int scoreForSquare) {
+        for (int m = 0; m < 4; m++)
+            if (pieces[m] == null)
+                fieldGain[squarePieces[4 * square + m]] += scoreForSquare;
+    }
 
-                pieces[1] = gameBoard.getPiece(j);
+    /* Returns the sum of the given number of fields with the highest gain. */
+    private int sumOfBestFields(int[] fieldGain, int numberOfFields) {
+        sort(fieldGain);
+        int sum = 0;
+        for (int i = 0; i < numberOfFields; i++)
+            sum += fieldGain[fieldGain.length - 1 - i];
+        return sum;
+    }
 
-                possible = getPossiblePieces(i, j);
-                if (possible.length != 2)
-                    continue;
+    /* Checks if the players can do more squares on the game board. */
+    private PossibleMoves canPlayersDoMoreSquares(IReadOnlyGameBoard gameBoard) {
+        Player player1 = gameBoard.getPlayer1();
 
-                pieces[2] = gameBoard.getPiece(possible[0]);
-                pieces[3] = gameBoard.getPiece(possible[1]);
+        int squareCount = squareTable.getSquareCount();
+        int[] squarePieces = squareTable.getPieces();
 
-                hasPlayer1 = false;
-                hasPlayer2 = false;
-                hasEmpty = false;
+        Player piece;
 
-                for (int m = 0; m < 4; m++)
-                    if (pieces[m] == null)
-                        hasEmpty = true;
-                    else if (pieces[m] == player1)
-                        hasPlayer1 = true;
-                    else
-                        hasPlayer2 = true;
+        boolean hasPlayer1;
+        boolean hasPlayer2;
+        boolean hasEmpty;
 
-                if (hasPlayer1 && !hasPlayer2 && hasEmpty)
-                    player1CanDoMoreSquares = true;
-                else if (hasPlayer2 && !hasPlayer1 && hasEmpty)
-                    player2CanDoMoreSquares = true;
-                else if (!hasPlayer1 && !hasPlayer2 && hasEmpty)
-                    return BOTH_PLAYERS;
+        boolean player1CanDoMoreSquares = false;
+        boolean player2CanDoMoreSquares = false;
 
-                if (player1CanDoMoreSquares && player2CanDoMoreSquares)
-                    return BOTH_PLAYERS;
+        // Go through all possible squares of the game board:
+        for (int s = 0; s < squareCount; s++) {
+
+            hasPlayer1 = false;
+            hasPlayer2 = false;
+            hasEmpty = false;
+
+            for (int m = 0; m < 4; m++) {
+                piece = gameBoard.getPiece(squarePieces[4 * s + m]);
+                if (piece == null)
+                    hasEmpty = true;
+                else if (piece == player1)
+                    hasPlayer1 = true;
+                else
+                    hasPlayer2 = true;
             }
+
+            if (hasPlayer1 && !hasPlayer2 && hasEmpty)
+                player1CanDoMoreSquares = true;
+            else if (hasPlayer2 && !hasPlayer1 && hasEmpty)
+                player2CanDoMoreSquares = true;
+            else if (!hasPlayer1 && !hasPlayer2 && hasEmpty)
+                return BOTH_PLAYERS;
+
+            if (player1CanDoMoreSquares && player2CanDoMoreSquares)
+                return BOTH_PLAYERS;
         }
 
         // Check if player 1 or 2 can do more squares:
@@ -0,0 +1,213 @@
+package de.tbressler.quadratum.logic;
+
+import de.tbressler.quadratum.metrics.NoOpMetricsRecorder;
+import de.tbressler.quadratum.model.GameBoard;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import static de.tbressler.quadratum.logic.GameOverVerifier.EarlyTermination.DISABLED;
+import static de.tbressler.quadratum.utils.GameBoardUtils.DEFAULT_SIZE;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A pool of reusable games for servers with many short matches. A leased game logic is bound to
+ * the given player logics and has a cleared game board. Released games keep their game board,
+ * square collector and game over verifier and are rebound on the next lease, so that a new match
+ * doesn't allocate new game objects.
+ * <p>
+ * The pool is thread-safe, the leased games are not.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public class GamePool {
+
+    /** The policy for returning leased games to the pool. */
+    public enum ReleasePolicy {
+        /** The games must be returned with {@link #release(GameLogic)}. */
+        MANUAL,
+        /**
+         * The games are returned after all listeners were notified that the game is over. A
+         * returned game can be leased again before the last move is completed, it is rebound after
+         * the move.
+         */
+        ON_GAME_OVER
+    }
+
+    /* The size of the game boards. */
+    private final int size;
+
+    /* The maximum number of idle games in the pool. */
+    private final int maxIdleGames;
+
+    /* The release policy. */
+    private final ReleasePolicy releasePolicy;
+
+    /* The factory for the game over verifiers of new games. */
+    private final Supplier<GameOverVerifier> gameOverVerifierFactory;
+
+    /* The idle games. */
+    private final ArrayDeque<GameLogic> idleGames = new ArrayDeque<>();
+
+    /* The leased games. */
+    private final Set<GameLogic> leasedGames = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /* Returns games to the pool, if the release policy is ON_GAME_OVER. */
+    private final Consumer<GameLogic> gameOverHandler = this::release;
+
+    /* The number of created games. */
+    private int createdGames = 0;
+
+
+    /**
+     * Creates a game pool for game boards with 8x8 fields and the default game over verifier.
+     *
+     * @param maxIdleGames The maximum number of idle games in the pool, must be positive.
+     * @param releasePolicy The release policy, must not be null.
+     */
+    public GamePool(int maxIdleGames, ReleasePolicy releasePolicy) {
+        this(maxIdleGames, releasePolicy, () -> new GameOverVerifier(150, 15, DISABLED, DEFAULT_SIZE));
+    }
+
+    /**
+     * Creates a game pool with a custom game over verifier. The size of the game boards is the
+     * size of the game over verifiers.
+     *
+     * @param maxIdleGames The maximum number of idle games in the pool, must be positive.
+     * @param releasePolicy The release policy, must not be null.
+     * @param gameOverVerifierFactory The factory for the game over verifiers, must not be null.
+     */
+    public GamePool(int maxIdleGames, ReleasePolicy releasePolicy, Supplier<GameOverVerifier> gameOverVerifierFactory) {
+        if (maxIdleGames <= 0)
+            throw new AssertionError("maxIdleGames must be positive!");
+        this.maxIdleGames = maxIdleGames;
+        this.releasePolicy = requireNonNull(releasePolicy);
+        this.gameOverVerifierFactory = requireNonNull(gameOverVerifierFactory);
+        this.size = requireNonNull(gameOverVerifierFactory.get()).getSize();
+    }
+
+
+    /**
+     * Leases a game, which is bound to the given player logics. The game must be started by the
+     * caller.
+     *
+     * @param playerLogic1 The logic for player 1, must not be null.
+     * @param playerLogic2 The logic for player 2, must not be null.
+     * @return The game logic, never null.
+     */
+    public GameLogic lease(IPlayerLogic playerLogic1, IPlayerLogic playerLogic2) {
+        requireNonNull(playerLogic1);
+        requireNonNull(playerLogic2);
+
+        GameLogic gameLogic;
+        synchronized (this) {
+            gameLogic = idleGames.pollFirst();
+        }
+
+        if (gameLogic == null)
+            gameLogic = createGame(playerLogic1, playerLogic2);
+        else
+            gameLogic.rebindPlayers(playerLogic1, playerLogic2);
+
+        if (releasePolicy == ReleasePolicy.ON_GAME_OVER)
+            gameLogic.setGameOverHandler(gameOverHandler);
+
+        synchronized (this) {
+            leasedGames.add(gameLogic);
+        }
+        return gameLogic;
+    }
+
+    /* Creates a new game. */
+    private GameLogic createGame(IPlayerLogic playerLogic1, IPlayerLogic playerLogic2) {
+        GameOverVerifier gameOverVerifier = requireNonNull(gameOverVerifierFactory.get());
+        if (gameOverVerifier.getSize() != size)
+            throw new AssertionError("Size of game over verifiers must not change!");
+
+        GameBoard gameBoard = new GameBoard(requireNonNull(playerLogic1.getPlayer()),
+                requireNonNull(playerLogic2.getPlayer()), size);
+        GameLogic gameLogic = new GameLogic(gameBoard, playerLogic1, playerLogic2, gameOverVerifier);
+
+        synchronized (this) {
+            createdGames++;
+        }
+        return gameLogic;
+    }
+
+    /**
+     * Returns a leased game to the pool. The listeners and the metrics recorder of the game and
+     * the game board are removed. The game must not be used after it was released.
+     *
+     * @param gameLogic The leased game logic, must not be null.
+     */
+    public void release(GameLogic gameLogic) {
+        requireNonNull(gameLogic);
+
+        synchronized (this) {
+            if (!leasedGames.remove(gameLogic))
+                throw new AssertionError("The game is not leased from this pool!");
+        }
+
+        gameLogic.setGameOverHandler(null);
+        gameLogic.removeAllGameLogicListeners();
+        gameLogic.getGameBoard().removeAllGameBoardListeners();
+        gameLogic.setMetricsRecorder(NoOpMetricsRecorder.INSTANCE);
+
+        synchronized (this) {
+            if (idleGames.size() < maxIdleGames)
+                idleGames.addFirst(gameLogic);
+        }
+    }
+
+
+    /**
+     * Returns the size of the game boards.
+     *
+     * @return The size of the game boards.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the release policy.
+     *
+     * @return The release policy, never null.
+     */
+    public ReleasePolicy getReleasePolicy() {
+        return releasePolicy;
+    }
+
+    /**
+     * Returns the number of idle games in the pool.
+     *
+     * @return The number of idle games.
+     */
+    public synchronized int getIdleCount() {
+        return idleGames.size();
+    }
+
+    /**
+     * Returns the number of leased games.
+     *
+     * @return The number of leased games.
+     */
+    public synchronized int getLeasedCount() {
+        return leasedGames.size();
+    }
+
+    /**
+     * Returns the number of games, which were created by the pool.
+     *
+     * @return The number of created games.
+     */
+    public synchronized int getCreatedCount() {
+        return createdGames;
+    }
+
+}
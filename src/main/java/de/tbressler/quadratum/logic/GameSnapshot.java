@@ -0,0 +1,150 @@
+package de.tbressler.quadratum.logic;
+
+import de.tbressler.quadratum.core.Position;
+
+import java.nio.ByteBuffer;
+
+import static de.tbressler.quadratum.core.GameCore.PLAYER1;
+import static de.tbressler.quadratum.core.GameCore.PLAYER2;
+import static de.tbressler.quadratum.utils.GameBoardUtils.assertSize;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * An immutable snapshot of the state of a game logic, e.g. to migrate a game to another node or to
+ * survive a restart. The snapshot contains the pieces of both players, the active player and the
+ * started flag. The squares and the scores are derived from the pieces when the snapshot is
+ * restored. The history of the moves, the game ID and the game clock are not part of the snapshot.
+ * <p>
+ * The binary form has a fixed size per board size: one byte for the size, one byte for the flags
+ * and one bitboard per player. A snapshot of a game board with 8x8 fields has 18 bytes.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public final class GameSnapshot {
+
+    /* Flag for a started game. */
+    private static final int STARTED = 1;
+
+    /* Flag for player 2 as active player. */
+    private static final int PLAYER2_ACTIVE = 2;
+
+
+    /* The position with the pieces and the active player. */
+    private final Position position;
+
+    /* True if the game was started. */
+    private final boolean started;
+
+
+    /**
+     * Creates a snapshot.
+     *
+     * @param position The position with the pieces and the active player, must not be null. The
+     *                 active player is ignored if the game was not started.
+     * @param started True if the game was started.
+     */
+    public GameSnapshot(Position position, boolean started) {
+        this.position = requireNonNull(position);
+        this.started = started;
+    }
+
+
+    /**
+     * Returns the number of bytes of the binary form of a snapshot.
+     *
+     * @param size The size of the game board, between 4..16.
+     * @return The number of bytes.
+     */
+    public static int getByteCount(int size) {
+        assertSize(size);
+        return 2 + 2 * 8 * ((size * size + 63) / 64);
+    }
+
+    /**
+     * Creates a snapshot from its binary form.
+     *
+     * @param bytes The binary form, must not be null.
+     * @return The snapshot, never null.
+     */
+    public static GameSnapshot fromBytes(byte[] bytes) {
+        if (requireNonNull(bytes).length < 2)
+            throw new AssertionError("The snapshot is too short!");
+        int size = bytes[0];
+        if (bytes.length != getByteCount(size))
+            throw new AssertionError("The snapshot must have " + getByteCount(size) + " bytes!");
+
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, 2, bytes.length - 2);
+        int flags = bytes[1];
+        if ((flags & ~(STARTED | PLAYER2_ACTIVE)) != 0)
+            throw new AssertionError("Unknown flags in snapshot!");
+
+        long[] player1Pieces = new long[(size * size + 63) / 64];
+        long[] player2Pieces = new long[player1Pieces.length];
+        for (int w = 0; w < player1Pieces.length; w++)
+            player1Pieces[w] = buffer.getLong();
+        for (int w = 0; w < player2Pieces.length; w++)
+            player2Pieces[w] = buffer.getLong();
+
+        int activePlayer = ((flags & PLAYER2_ACTIVE) != 0) ? PLAYER2 : PLAYER1;
+        return new GameSnapshot(new Position(size, player1Pieces, player2Pieces, activePlayer),
+                (flags & STARTED) != 0);
+    }
+
+    /**
+     * Returns the binary form of the snapshot.
+     *
+     * @return The bytes, never null.
+     */
+    public byte[] toBytes() {
+        int size = position.getSize();
+        ByteBuffer buffer = ByteBuffer.allocate(getByteCount(size));
+        buffer.put((byte) size);
+        buffer.put((byte) ((started ? STARTED : 0) |
+                ((position.getActivePlayer() == PLAYER2) ? PLAYER2_ACTIVE : 0)));
+        for (long word : position.getPieces(PLAYER1))
+            buffer.putLong(word);
+        for (long word : position.getPieces(PLAYER2))
+            buffer.putLong(word);
+        return buffer.array();
+    }
+
+
+    /**
+     * Returns the position with the pieces and the active player.
+     *
+     * @return The position, never null.
+     */
+    public Position getPosition() {
+        return position;
+    }
+
+    /**
+     * Returns true if the game was started.
+     *
+     * @return True if the game was started, otherwise false.
+     */
+    public boolean isStarted() {
+        return started;
+    }
+
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        GameSnapshot snapshot = (GameSnapshot) o;
+        return (started == snapshot.started) && position.equals(snapshot.position);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * position.hashCode() + (started ? 1 : 0);
+    }
+
+    @Override
+    public String toString() {
+        return "GameSnapshot{started=" + started + ", position=" + position + '}';
+    }
+
+}
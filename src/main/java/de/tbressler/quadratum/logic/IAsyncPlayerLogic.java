@@ -0,0 +1,55 @@
+package de.tbressler.quadratum.logic;
+
+import de.tbressler.quadratum.model.IReadOnlyGameBoard;
+import de.tbressler.quadratum.model.Player;
+
+import java.util.concurrent.CompletionStage;
+
+/**
+ * The interface for an asynchronous player logic. Instead of calling a callback, the player logic
+ * returns the move as completion stage, e.g. computed by a shared executor. The game logic doesn't
+ * block while the move is computed.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public interface IAsyncPlayerLogic {
+
+    /**
+     * Returns the player of this logic.
+     *
+     * @return The player, never null.
+     */
+    Player getPlayer();
+
+    /**
+     * Requests a move at the player logic. The game board must not be changed by the player logic
+     * and is not changed by the game logic until the move is completed.
+     *
+     * @param gameBoard The game board (read-only), never null.
+     * @return The completion stage of the field index, never null.
+     */
+    CompletionStage<Integer> requestMove(IReadOnlyGameBoard gameBoard);
+
+    /**
+     * Requests a move at the player logic, which must be completed before the deadline. This
+     * method is called instead of {@link #requestMove(IReadOnlyGameBoard)}, if the game has a
+     * clock.
+     * <p>
+     * The default implementation ignores the deadline.
+     *
+     * @param gameBoard The game board (read-only), never null.
+     * @param deadlineNanos The deadline in {@link System#nanoTime()} units.
+     * @return The completion stage of the field index, never null.
+     */
+    default CompletionStage<Integer> requestMove(IReadOnlyGameBoard gameBoard, long deadlineNanos) {
+        return requestMove(gameBoard);
+    }
+
+    /**
+     * Cancels a pending move request, e.g. if a move was undone. The completion of the pending
+     * request is ignored by the game logic.
+     */
+    default void cancelMoveRequest() {}
+
+}
@@ -29,6 +29,15 @@ public interface IGameLogicListener {
      */
     void onNewSquaresFound(Player player, Set<Square> squares);
 
+    /**
+     * Method is called when a move was undone.
+     *
+     * @param index The field index of the removed piece.
+     * @param player The player of the removed piece, never null.
+     * @param removedSquares The squares that were removed with the piece, never null.
+     */
+    default void onMoveUndone(int index, Player player, Set<Square> removedSquares) {}
+
     /**
      * Method is called when the active player changed.
      *
@@ -43,4 +52,12 @@ public interface IGameLogicListener {
      */
     void onGameStarted(Player activePlayer);
 
+    /**
+     * Method is called when the state of the game was restored from a snapshot. No other
+     * notification is sent for the restored pieces and squares.
+     *
+     * @param activePlayer The active player or null, if the game was not started.
+     */
+    default void onGameRestored(Player activePlayer) {}
+
 }
@@ -26,4 +26,26 @@ public interface IPlayerLogic {
      */
     void requestMove(IReadOnlyGameBoard gameBoard, ILogicCallback callback);
 
+    /**
+     * Requests a move at the player logic, which must be made before the deadline. This method is
+     * called instead of {@link #requestMove(IReadOnlyGameBoard, ILogicCallback)}, if the game has
+     * a clock. If the deadline passes, the request is cancelled and the game logic makes a fallback
+     * move. Bots should return the best move found so far, when the deadline is reached.
+     * <p>
+     * The default implementation ignores the deadline.
+     *
+     * @param gameBoard The game board (read-only), never null.
+     * @param callback The callback of the game logic, never null.
+     * @param deadlineNanos The deadline in {@link System#nanoTime()} units.
+     */
+    default void requestMove(IReadOnlyGameBoard gameBoard, ILogicCallback callback, long deadlineNanos) {
+        requestMove(gameBoard, callback);
+    }
+
+    /**
+     * Cancels a pending move request, e.g. if a move was undone. The callback of the request must
+     * not be used anymore.
+     */
+    default void cancelMoveRequest() {}
+
 }
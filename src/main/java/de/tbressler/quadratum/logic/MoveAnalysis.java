@@ -0,0 +1,164 @@
+package de.tbressler.quadratum.logic;
+
+import de.tbressler.quadratum.logic.GameOverVerifier.GameOverState;
+import de.tbressler.quadratum.model.Player;
+import de.tbressler.quadratum.model.Square;
+
+import java.util.Set;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static de.tbressler.quadratum.logic.GameOverVerifier.GameOverState.NOT_OVER;
+import static java.util.Collections.emptySet;
+
+/**
+ * The result of a {@link MoveAnalyzer} for the last move: the new squares of the player, the
+ * scores, the open squares of both players and the game over state. The result is reused by the
+ * move analyzer and overwritten by the next analysis, so it must not be kept.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public final class MoveAnalysis {
+
+    /* The player of the analyzed move. */
+    Player player;
+
+    /* The new squares of the player. */
+    Set<Square> newSquares = emptySet();
+
+    /* The sum of the scores of the new squares. */
+    int newScore;
+
+    /* The score of player 1 including the new squares. */
+    int scorePlayer1;
+
+    /* The score of player 2 including the new squares. */
+    int scorePlayer2;
+
+    /* True if player 1 can still complete a square. */
+    boolean player1CanDoMoreSquares;
+
+    /* True if player 2 can still complete a square. */
+    boolean player2CanDoMoreSquares;
+
+    /* The game over state. */
+    GameOverState state = NOT_OVER;
+
+
+    /**
+     * Creates an empty analysis. Analyses are created by the move analyzer, this constructor
+     * should only be used for testing purposes.
+     */
+    MoveAnalysis() {
+    }
+
+    /* Clears the result for the analysis of the next move. */
+    void clear(Player player) {
+        this.player = player;
+        newSquares = emptySet();
+        newScore = 0;
+        player1CanDoMoreSquares = false;
+        player2CanDoMoreSquares = false;
+        state = NOT_OVER;
+    }
+
+
+    /**
+     * Returns the player of the analyzed move.
+     *
+     * @return The player.
+     */
+    public Player getPlayer() {
+        return player;
+    }
+
+    /**
+     * Returns the squares, which were completed by the move.
+     *
+     * @return The new squares of the player, never null.
+     */
+    public Set<Square> getNewSquares() {
+        return newSquares;
+    }
+
+    /**
+     * Returns the number of squares, which were completed by the move.
+     *
+     * @return The number of new squares.
+     */
+    public int getNewSquareCount() {
+        return newSquares.size();
+    }
+
+    /**
+     * Returns the sum of the scores of the squares, which were completed by the move.
+     *
+     * @return The score of the new squares.
+     */
+    public int getNewScore() {
+        return newScore;
+    }
+
+    /**
+     * Returns the score of player 1 after the move.
+     *
+     * @return The score of player 1.
+     */
+    public int getScorePlayer1() {
+        return scorePlayer1;
+    }
+
+    /**
+     * Returns the score of player 2 after the move.
+     *
+     * @return The score of player 2.
+     */
+    public int getScorePlayer2() {
+        return scorePlayer2;
+    }
+
+    /**
+     * Returns true if player 1 can still complete a square, i.e. if there is a square with empty
+     * fields and without pieces of player 2.
+     *
+     * @return True if player 1 can do more squares.
+     */
+    public boolean canPlayer1DoMoreSquares() {
+        return player1CanDoMoreSquares;
+    }
+
+    /**
+     * Returns true if player 2 can still complete a square, i.e. if there is a square with empty
+     * fields and without pieces of player 1.
+     *
+     * @return True if player 2 can do more squares.
+     */
+    public boolean canPlayer2DoMoreSquares() {
+        return player2CanDoMoreSquares;
+    }
+
+    /**
+     * Returns the game over state after the move.
+     *
+     * @return The game over state, never null.
+     */
+    public GameOverState getState() {
+        return state;
+    }
+
+
+    @Override
+    public String toString() {
+        return toStringHelper(this)
+                .add("player", player)
+                .add("newSquares", getNewSquareCount())
+                .add("newScore", newScore)
+                .add("scorePlayer1", scorePlayer1)
+                .add("scorePlayer2", scorePlayer2)
+                .add("player1CanDoMoreSquares", player1CanDoMoreSquares)
+                .add("player2CanDoMoreSquares", player2CanDoMoreSquares)
+                .add("state", state)
+                .toString();
+    }
+
+}
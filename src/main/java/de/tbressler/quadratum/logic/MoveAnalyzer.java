@@ -0,0 +1,163 @@
+package de.tbressler.quadratum.logic;
+
+import de.tbressler.quadratum.metrics.IMetricsRecorder;
+import de.tbressler.quadratum.metrics.NoOpMetricsRecorder;
+import de.tbressler.quadratum.model.IReadOnlyGameBoard;
+import de.tbressler.quadratum.model.Player;
+import de.tbressler.quadratum.model.Square;
+import de.tbressler.quadratum.utils.SquareTable;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static de.tbressler.quadratum.metrics.IMetricsRecorder.Counter.SQUARES_FOUND;
+import static de.tbressler.quadratum.metrics.IMetricsRecorder.Latency.SQUARE_DETECTION;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Analyzes the game board after a move in a single pass over the square table. The pass detects
+ * the new squares of the player, adds them to the square collector and finds the open squares of
+ * both players. The game over state is then derived from the scores and the open squares, so that
+ * the game board is not scanned again by the game over verifier.
+ * <p>
+ * The new squares can be rolled back by the square collector like the squares of a detect call.
+ * The analyzer returns the same result object for every move, it is not thread-safe.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public class MoveAnalyzer {
+
+    /* The square collector, which manages the found squares and the scores. */
+    private final SquareCollector squareCollector;
+
+    /* The game over verifier. */
+    private final GameOverVerifier gameOverVerifier;
+
+    /* The table of all possible squares on the game board. */
+    private final SquareTable squareTable;
+
+    /* The reused result. */
+    private final MoveAnalysis analysis = new MoveAnalysis();
+
+    /* The metrics recorder. */
+    private IMetricsRecorder metricsRecorder = NoOpMetricsRecorder.INSTANCE;
+
+
+    /**
+     * Creates the move analyzer.
+     *
+     * @param squareCollector The square collector, must not be null.
+     * @param gameOverVerifier The game over verifier, must not be null and must have the same size
+     *                         as the square collector.
+     */
+    public MoveAnalyzer(SquareCollector squareCollector, GameOverVerifier gameOverVerifier) {
+        this.squareCollector = requireNonNull(squareCollector);
+        this.gameOverVerifier = requireNonNull(gameOverVerifier);
+        if (squareCollector.getSize() != gameOverVerifier.getSize())
+            throw new AssertionError("Size of square collector and game over verifier doesn't match!");
+        this.squareTable = SquareTable.of(squareCollector.getSize());
+    }
+
+
+    /**
+     * Sets the metrics recorder.
+     *
+     * @param metricsRecorder The metrics recorder, must not be null.
+     */
+    public void setMetricsRecorder(IMetricsRecorder metricsRecorder) {
+        this.metricsRecorder = requireNonNull(metricsRecorder);
+    }
+
+
+    /**
+     * Analyzes the game board after a move of the player.
+     *
+     * @param gameBoard The game board, must not be null.
+     * @param player The player, who made the move, must not be null.
+     * @return The analysis, never null. The result is overwritten by the next call.
+     */
+    public MoveAnalysis analyze(IReadOnlyGameBoard gameBoard, Player player) {
+        requireNonNull(gameBoard);
+        requireNonNull(player);
+        if (gameBoard.getSize() != squareTable.getSize())
+            throw new AssertionError("Size of game board and move analyzer doesn't match!");
+
+        long startTime = metricsRecorder.startTime();
+
+        analysis.clear(player);
+        squareCollector.beginDetection();
+        scanSquares(gameBoard, player);
+
+        metricsRecorder.recordLatencySince(SQUARE_DETECTION, startTime);
+        if (analysis.newSquares.size() > 0)
+            metricsRecorder.incrementCounter(SQUARES_FOUND, analysis.newSquares.size());
+
+        analysis.scorePlayer1 = squareCollector.getScore(gameBoard.getPlayer1());
+        analysis.scorePlayer2 = squareCollector.getScore(gameBoard.getPlayer2());
+        analysis.state = gameOverVerifier.getGameOverState(gameBoard, analysis);
+
+        return analysis;
+    }
+
+    /* Detects the new squares of the player and the open squares of both players. */
+    private void scanSquares(IReadOnlyGameBoard gameBoard, Player player) {
+        Player player1 = gameBoard.getPlayer1();
+
+        int[] squarePieces = squareTable.getPieces();
+        int squareCount = squareTable.getSquareCount();
+
+        Set<Square> newSquares = null;
+        int newScore = 0;
+        boolean player1CanDoMoreSquares = false;
+        boolean player2CanDoMoreSquares = false;
+
+        Player piece;
+        int piecesOfPlayer1;
+        int piecesOfPlayer2;
+        int emptyFields;
+
+        for (int s = 0, p = 0; s < squareCount; s++, p += 4) {
+
+            piecesOfPlayer1 = 0;
+            piecesOfPlayer2 = 0;
+            emptyFields = 0;
+
+            for (int m = 0; m < 4; m++) {
+                piece = gameBoard.getPiece(squarePieces[p + m]);
+                if (piece == null)
+                    emptyFields++;
+                else if (piece == player1)
+                    piecesOfPlayer1++;
+                else
+                    piecesOfPlayer2++;
+            }
+
+            if (emptyFields > 0) {
+                if (piecesOfPlayer2 == 0)
+                    player1CanDoMoreSquares = true;
+                if (piecesOfPlayer1 == 0)
+                    player2CanDoMoreSquares = true;
+                continue;
+            }
+
+            // Skip if the square is mixed, of the opponent or well-known:
+            if (((piecesOfPlayer1 != 4) && (piecesOfPlayer2 != 4)) ||
+                    (gameBoard.getPiece(squarePieces[p]) != player) ||
+                    squareCollector.isKnownSquare(s))
+                continue;
+
+            if (newSquares == null)
+                newSquares = new HashSet<>();
+            newSquares.add(squareCollector.addSquare(s, player));
+            newScore += squareTable.getScore(s);
+        }
+
+        if (newSquares != null)
+            analysis.newSquares = newSquares;
+        analysis.newScore = newScore;
+        analysis.player1CanDoMoreSquares = player1CanDoMoreSquares;
+        analysis.player2CanDoMoreSquares = player2CanDoMoreSquares;
+    }
+
+}
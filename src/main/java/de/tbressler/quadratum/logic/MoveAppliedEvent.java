@@ -0,0 +1,35 @@
+package de.tbressler.quadratum.logic;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event, which is emitted by the game logic when a move was applied to the game
+ * board.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+@Name("de.tbressler.quadratum.MoveApplied")
+@Label("Move Applied")
+@Category("Quadratum")
+@Description("A move was applied to the game board.")
+@StackTrace(false)
+class MoveAppliedEvent extends jdk.jfr.Event {
+
+    @Label("Game ID")
+    long gameId;
+
+    @Label("Move Number")
+    int moveNumber;
+
+    @Label("Player")
+    String player;
+
+    @Label("Field Index")
+    int index;
+
+}
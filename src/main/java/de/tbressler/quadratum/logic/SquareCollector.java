@@ -1,13 +1,22 @@
 package de.tbressler.quadratum.logic;
 
+import de.tbressler.quadratum.metrics.IMetricsRecorder;
+import de.tbressler.quadratum.metrics.NoOpMetricsRecorder;
 import de.tbressler.quadratum.model.IReadOnlyGameBoard;
 import de.tbressler.quadratum.model.Player;
 import de.tbressler.quadratum.model.Square;
+import de.tbressler.quadratum.utils.SquareTable;
 
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
 import java.util.Set;
 
-import static de.tbressler.quadratum.utils.SquareUtils.getPossiblePieces;
+import static de.tbressler.quadratum.metrics.IMetricsRecorder.Counter.SQUARES_FOUND;
+import static de.tbressler.quadratum.metrics.IMetricsRecorder.Latency.SQUARE_DETECTION;
+import static de.tbressler.quadratum.utils.GameBoardUtils.DEFAULT_SIZE;
+import static java.util.Arrays.copyOf;
+import static java.util.Arrays.fill;
 import static java.util.Collections.emptySet;
 import static java.util.Objects.requireNonNull;
 
@@ -19,9 +28,74 @@ import static java.util.Objects.requireNonNull;
  */
 public class SquareCollector {
 
+    /* The table of all possible squares on the game board. */
+    private final SquareTable squareTable;
+
     /* A set of squares found by this detector. */
     private final Set<Square> squares = new HashSet<>();
 
+    /* The IDs of the found squares of the square table, one bit per square. */
+    private final long[] knownSquares;
+
+    /* The number of squares and the score per player in the form {count, score}. */
+    private final Map<Player, int[]> totals = new IdentityHashMap<>();
+
+    /* The found squares in the order they were found. */
+    private Square[] foundSquares = new Square[16];
+
+    /* The IDs of the found squares in the order they were found. */
+    private int[] foundSquareIds = new int[16];
+
+    /* The number of found squares. */
+    private int foundCount = 0;
+
+    /* The number of found squares before each detect call, used for the rollback. */
+    private int[] frames = new int[64];
+
+    /* The number of detect calls since the last reset. */
+    private int frameCount = 0;
+
+    /* The metrics recorder. */
+    private IMetricsRecorder metricsRecorder = NoOpMetricsRecorder.INSTANCE;
+
+
+    /**
+     * Creates a square collector for a game board with 8x8 fields.
+     */
+    public SquareCollector() {
+        this(DEFAULT_SIZE);
+    }
+
+    /**
+     * Creates a square collector for a game board with the given size.
+     *
+     * @param size The size of the game board, between 4..16.
+     */
+    public SquareCollector(int size) {
+        this.squareTable = SquareTable.of(size);
+        this.knownSquares = new long[(squareTable.getSquareCount() + 63) / 64];
+    }
+
+
+    /**
+     * Returns the size of the game board.
+     *
+     * @return The size of the game board.
+     */
+    public int getSize() {
+        return squareTable.getSize();
+    }
+
+
+    /**
+     * Sets the metrics recorder.
+     *
+     * @param metricsRecorder The metrics recorder, must not be null.
+     */
+    public void setMetricsRecorder(IMetricsRecorder metricsRecorder) {
+        this.metricsRecorder = requireNonNull(metricsRecorder);
+    }
+
 
     /**
      * Detect new squares of the given player on the game board.
@@ -31,54 +105,185 @@ public class SquareCollector {
      * @return A set of the new detected squares for the player, never null.
      */
     public Set<Square> detect(IReadOnlyGameBoard gameBoard, Player player) {
+        long startTime = metricsRecorder.startTime();
 
-        Set<Square> foundSquares = new HashSet<>();
+        pushFrame();
 
-        findNewSquares(requireNonNull(gameBoard), requireNonNull(player), foundSquares);
+        Set<Square> foundSquares = findNewSquares(requireNonNull(gameBoard), requireNonNull(player));
 
-        if (foundSquares.isEmpty())
+        metricsRecorder.recordLatencySince(SQUARE_DETECTION, startTime);
+
+        if (foundSquares == null)
             return emptySet();
 
-        squares.addAll(foundSquares);
+        addSquares(player, foundSquares);
+
+        metricsRecorder.incrementCounter(SQUARES_FOUND, foundSquares.size());
 
         return foundSquares;
     }
 
-    /* Finds new squares for the given player. */
-    private void findNewSquares(IReadOnlyGameBoard gameBoard, Player player, Set<Square> found) {
-        int[] possible;
+    /* Adds the found squares of the player to the squares and the totals. */
+    private void addSquares(Player player, Set<Square> foundSquares) {
+        squares.addAll(foundSquares);
+
+        int[] total = totals.computeIfAbsent(player, p -> new int[2]);
+        for (Square square : foundSquares) {
+            total[0]++;
+            total[1] += square.getScore();
+        }
+    }
+
+    /**
+     * Resets the square collector and finds all squares of both players on the game board, e.g.
+     * after a snapshot was restored. The found squares can't be rolled back.
+     *
+     * @param gameBoard The game board, must not be null.
+     */
+    public void restore(IReadOnlyGameBoard gameBoard) {
+        requireNonNull(gameBoard);
+        if (gameBoard.getSize() != getSize())
+            throw new AssertionError("Size of game board and square collector doesn't match!");
+
+        reset();
+        for (Player player : new Player[]{gameBoard.getPlayer1(), gameBoard.getPlayer2()}) {
+            Set<Square> foundSquares = findNewSquares(gameBoard, player);
+            if (foundSquares != null)
+                addSquares(player, foundSquares);
+        }
+    }
+
+    /* Finds new squares for the given player. Returns null if no new square was found. */
+    private Set<Square> findNewSquares(IReadOnlyGameBoard gameBoard, Player player) {
+        Set<Square> found = null;
+        int[] pieces = squareTable.getPieces();
+        int squareCount = squareTable.getSquareCount();
         Square square;
 
-        for (int i = 0; i < 55; i++) {
+        for (int s = 0, p = 0; s < squareCount; s++, p += 4) {
 
-            // Skip if field is empty or piece is not from given player
-            if (gameBoard.getPiece(i) != player)
+            // Skip if square is well-known
+            if ((knownSquares[s >>> 6] & (1L << s)) != 0)
                 continue;
 
-            for (int j = i + 1; j < 64; j++) {
+            // Skip if one of the fields is empty or the piece is not from given player
+            if ((gameBoard.getPiece(pieces[p]) != player) ||
+                    (gameBoard.getPiece(pieces[p + 1]) != player) ||
+                    (gameBoard.getPiece(pieces[p + 2]) != player) ||
+                    (gameBoard.getPiece(pieces[p + 3]) != player))
+                continue;
 
-                // Skip if field is empty or piece is not from given player
-                if (gameBoard.getPiece(j) != player)
-                    continue;
+            square = new Square(new int[]{pieces[p], pieces[p + 1], pieces[p + 2], pieces[p + 3]},
+                    player, squareTable.getSize());
+            knownSquares[s >>> 6] |= 1L << s;
+            pushSquare(s, square);
 
-                possible = getPossiblePieces(i, j);
+            if (found == null)
+                found = new HashSet<>();
+            found.add(square);
+        }
+        return found;
+    }
 
-                if (possible.length != 2) continue;
 
-                // Check for possible square edges.
-                if ((gameBoard.getPiece(possible[0]) == player) &&
-                        (gameBoard.getPiece(possible[1]) == player)) {
+    /**
+     * Starts a detection of the move analyzer, which can be rolled back like a detect call.
+     */
+    void beginDetection() {
+        pushFrame();
+    }
 
-                    square = new Square(new int[]{i,j,possible[0],possible[1]}, player);
+    /**
+     * Returns true if the square of the square table was already found.
+     *
+     * @param id The ID of the square in the square table.
+     * @return True if the square is known.
+     */
+    boolean isKnownSquare(int id) {
+        return (knownSquares[id >>> 6] & (1L << id)) != 0;
+    }
+
+    /**
+     * Adds a new square of the player, which was found by the move analyzer.
+     *
+     * @param id The ID of the square in the square table, the square must not be known.
+     * @param player The player, must not be null.
+     * @return The new square, never null.
+     */
+    Square addSquare(int id, Player player) {
+        int[] pieces = squareTable.getPieces();
+        int p = 4 * id;
+        Square square = new Square(new int[]{pieces[p], pieces[p + 1], pieces[p + 2], pieces[p + 3]},
+                player, squareTable.getSize());
+        knownSquares[id >>> 6] |= 1L << id;
+        pushSquare(id, square);
+
+        squares.add(square);
+        int[] total = totals.computeIfAbsent(player, k -> new int[2]);
+        total[0]++;
+        total[1] += square.getScore();
+        return square;
+    }
 
-                    // Skip if square is well-known
-                    if (squares.contains(square))
-                        continue;
 
-                    found.add(square);
-                }
-            }
+    /* Remembers the number of found squares before a detect call. */
+    private void pushFrame() {
+        if (frameCount == frames.length)
+            frames = copyOf(frames, 2 * frameCount);
+        frames[frameCount++] = foundCount;
+    }
+
+    /* Remembers a found square for the rollback. */
+    private void pushSquare(int id, Square square) {
+        if (foundCount == foundSquares.length) {
+            foundSquares = copyOf(foundSquares, 2 * foundCount);
+            foundSquareIds = copyOf(foundSquareIds, 2 * foundCount);
+        }
+        foundSquares[foundCount] = square;
+        foundSquareIds[foundCount++] = id;
+    }
+
+
+    /**
+     * Rolls back the last detect call. The squares found by this call are removed and the scores
+     * are reduced. This is used to undo a move, the piece must be removed from the game board
+     * before the next call of detect.
+     *
+     * @return The removed squares, never null.
+     */
+    public Set<Square> rollback() {
+        if (frameCount == 0)
+            throw new AssertionError("No detect call to roll back!");
+
+        int start = frames[--frameCount];
+        if (start == foundCount)
+            return emptySet();
+
+        Set<Square> removed = new HashSet<>();
+        while (foundCount > start) {
+            Square square = foundSquares[--foundCount];
+            int id = foundSquareIds[foundCount];
+            foundSquares[foundCount] = null;
+
+            squares.remove(square);
+            knownSquares[id >>> 6] &= ~(1L << id);
+
+            int[] total = totals.get(square.getPlayer());
+            total[0]--;
+            total[1] -= square.getScore();
+
+            removed.add(square);
         }
+        return removed;
+    }
+
+    /**
+     * Returns the number of detect calls, which can be rolled back.
+     *
+     * @return The number of detect calls since the last reset.
+     */
+    public int getRollbackDepth() {
+        return frameCount;
     }
 
 
@@ -99,12 +304,8 @@ public class SquareCollector {
      * @return The current number of squares
      */
     public int getSquareCount(Player player) {
-        requireNonNull(player);
-        int count = 0;
-        for (Square square : squares)
-            if (square.getPlayer() == player)
-                count++;
-        return count;
+        int[] total = totals.get(requireNonNull(player));
+        return (total == null) ? 0 : total[0];
     }
 
 
@@ -115,12 +316,8 @@ public class SquareCollector {
      * @return The current score of the player
      */
     public int getScore(Player player) {
-        requireNonNull(player);
-        int score = 0;
-        for (Square square : squares)
-            if (square.getPlayer() == player)
-                score += square.getScore();
-        return score;
+        int[] total = totals.get(requireNonNull(player));
+        return (total == null) ? 0 : total[1];
     }
 
 
@@ -129,6 +326,11 @@ public class SquareCollector {
      */
     public void reset() {
         squares.clear();
+        totals.clear();
+        fill(knownSquares, 0L);
+        fill(foundSquares, 0, foundCount, null);
+        foundCount = 0;
+        frameCount = 0;
     }
 
 }
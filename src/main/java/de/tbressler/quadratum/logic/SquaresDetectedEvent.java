@@ -0,0 +1,37 @@
+package de.tbressler.quadratum.logic;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event, which is emitted by the game logic after the game board was checked for
+ * new squares. The duration of the event is the duration of the move analysis, which includes the
+ * game over check.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+@Name("de.tbressler.quadratum.SquaresDetected")
+@Label("Squares Detected")
+@Category("Quadratum")
+@Description("The game board was checked for new squares.")
+@StackTrace(false)
+class SquaresDetectedEvent extends jdk.jfr.Event {
+
+    @Label("Game ID")
+    long gameId;
+
+    @Label("Player")
+    String player;
+
+    @Label("New Squares")
+    int newSquares;
+
+    @Label("New Score")
+    @Description("The sum of the scores of the new squares.")
+    int newScore;
+
+}
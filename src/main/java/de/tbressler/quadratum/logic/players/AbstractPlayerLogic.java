@@ -1,6 +1,8 @@
 package de.tbressler.quadratum.logic.players;
 
 import de.tbressler.quadratum.logic.IPlayerLogic;
+import de.tbressler.quadratum.metrics.IMetricsRecorder;
+import de.tbressler.quadratum.metrics.NoOpMetricsRecorder;
 import de.tbressler.quadratum.model.Player;
 
 import static java.util.Objects.requireNonNull;
@@ -16,6 +18,9 @@ public abstract class AbstractPlayerLogic implements IPlayerLogic {
     /* The player. */
     private final Player player;
 
+    /* The metrics recorder. */
+    private IMetricsRecorder metricsRecorder = NoOpMetricsRecorder.INSTANCE;
+
 
     /**
      * Creates the abstract player logic.
@@ -32,4 +37,23 @@ public abstract class AbstractPlayerLogic implements IPlayerLogic {
         return player;
     }
 
+
+    /**
+     * Sets the metrics recorder.
+     *
+     * @param metricsRecorder The metrics recorder, must not be null.
+     */
+    public void setMetricsRecorder(IMetricsRecorder metricsRecorder) {
+        this.metricsRecorder = requireNonNull(metricsRecorder);
+    }
+
+    /**
+     * Returns the metrics recorder.
+     *
+     * @return The metrics recorder, never null.
+     */
+    protected IMetricsRecorder getMetricsRecorder() {
+        return metricsRecorder;
+    }
+
 }
@@ -0,0 +1,148 @@
+package de.tbressler.quadratum.logic.players;
+
+import de.tbressler.quadratum.logic.IAsyncPlayerLogic;
+import de.tbressler.quadratum.logic.ILogicCallback;
+import de.tbressler.quadratum.logic.IPlayerLogic;
+import de.tbressler.quadratum.model.IReadOnlyGameBoard;
+import de.tbressler.quadratum.model.Player;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Adapts an asynchronous player logic to the player logic interface. The move is made via the
+ * callback on the thread, which completes the move. If the move completes after the request was
+ * cancelled, it is ignored.
+ * <p>
+ * If the move completes exceptionally or with null, or if the callback rejects the move, no move is
+ * made and the failure is passed to the failure handler. Without a game clock the game waits for
+ * the move, so the failures should be handled, e.g. by requesting the move again. By default the
+ * failures are passed to the uncaught exception handler of the completing thread.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public class AsyncPlayerLogicAdapter implements IPlayerLogic {
+
+    /* The asynchronous player logic. */
+    private final IAsyncPlayerLogic asyncPlayerLogic;
+
+    /* The ID of the current move request. */
+    private final AtomicLong requestId = new AtomicLong();
+
+    /* The pending move or null. */
+    private volatile CompletionStage<Integer> pendingMove = null;
+
+    /* The handler for failed moves. */
+    private volatile Consumer<Throwable> failureHandler = AsyncPlayerLogicAdapter::handleUncaught;
+
+
+    /**
+     * Creates the adapter.
+     *
+     * @param asyncPlayerLogic The asynchronous player logic, must not be null.
+     */
+    public AsyncPlayerLogicAdapter(IAsyncPlayerLogic asyncPlayerLogic) {
+        this.asyncPlayerLogic = requireNonNull(asyncPlayerLogic);
+    }
+
+
+    /**
+     * Sets the handler for failed moves. The handler is called on the thread, which completes the
+     * move, if the move completes exceptionally or with null or if the callback rejects the move.
+     *
+     * @param failureHandler The handler, must not be null.
+     */
+    public void setFailureHandler(Consumer<Throwable> failureHandler) {
+        this.failureHandler = requireNonNull(failureHandler);
+    }
+
+    /* Passes the failure to the uncaught exception handler of the current thread. */
+    private static void handleUncaught(Throwable failure) {
+        Thread thread = Thread.currentThread();
+        thread.getUncaughtExceptionHandler().uncaughtException(thread, failure);
+    }
+
+
+    @Override
+    public Player getPlayer() {
+        return asyncPlayerLogic.getPlayer();
+    }
+
+    @Override
+    public void requestMove(IReadOnlyGameBoard gameBoard, ILogicCallback callback) {
+        requireNonNull(callback);
+        long id = requestId.incrementAndGet();
+        awaitMove(id, asyncPlayerLogic.requestMove(requireNonNull(gameBoard)), callback);
+    }
+
+    @Override
+    public void requestMove(IReadOnlyGameBoard gameBoard, ILogicCallback callback, long deadlineNanos) {
+        requireNonNull(callback);
+        long id = requestId.incrementAndGet();
+        awaitMove(id, asyncPlayerLogic.requestMove(requireNonNull(gameBoard), deadlineNanos), callback);
+    }
+
+    /* Makes the move via the callback, when the move is completed. */
+    private void awaitMove(long id, CompletionStage<Integer> move, ILogicCallback callback) {
+        pendingMove = requireNonNull(move);
+        move.whenComplete((index, error) -> {
+            // Claim the request, so that it can't be cancelled or replaced until the move is made:
+            if (!requestId.compareAndSet(id, id + 1))
+                return;
+            pendingMove = null;
+
+            if (error != null) {
+                failureHandler.accept(unwrap(error));
+                return;
+            }
+            if (index == null) {
+                failureHandler.accept(new IllegalStateException("Move of " + getPlayer() + " is null!"));
+                return;
+            }
+            makeMove(callback, index);
+        });
+    }
+
+    /* Makes the move via the callback and passes a rejected move to the failure handler. */
+    private void makeMove(ILogicCallback callback, int index) {
+        try {
+            if (!callback.makeMove(index, getPlayer()))
+                failureHandler.accept(new IllegalStateException("Move " + index + " of " + getPlayer() + " was rejected!"));
+        } catch (RuntimeException | AssertionError e) {
+            failureHandler.accept(e);
+        }
+    }
+
+    /* Returns the cause of a completion exception. */
+    private static Throwable unwrap(Throwable error) {
+        if ((error instanceof CompletionException) && (error.getCause() != null))
+            return error.getCause();
+        return error;
+    }
+
+    @Override
+    public void cancelMoveRequest() {
+        requestId.incrementAndGet();
+        CompletionStage<Integer> move = pendingMove;
+        pendingMove = null;
+        if (move instanceof Future)
+            ((Future<?>) move).cancel(false);
+        asyncPlayerLogic.cancelMoveRequest();
+    }
+
+
+    @Override
+    public String toString() {
+        return toStringHelper(this)
+                .add("asyncPlayerLogic", asyncPlayerLogic)
+                .toString();
+    }
+
+}
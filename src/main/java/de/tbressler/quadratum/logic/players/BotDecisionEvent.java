@@ -0,0 +1,43 @@
+package de.tbressler.quadratum.logic.players;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event, which is emitted by the bot player logic when the bot decided for a
+ * move. The duration of the event is the duration of the move computation.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+@Name("de.tbressler.quadratum.BotDecision")
+@Label("Bot Decision")
+@Category("Quadratum")
+@Description("A bot decided for a move.")
+@StackTrace(false)
+class BotDecisionEvent extends jdk.jfr.Event {
+
+    @Label("Player")
+    String player;
+
+    @Label("Strategy")
+    String strategy;
+
+    @Label("Randomized")
+    boolean randomized;
+
+    @Label("Candidate Count")
+    @Description("The number of empty fields, which were rated by the bot.")
+    int candidateCount;
+
+    @Label("Chosen Index")
+    int chosenIndex;
+
+    @Label("Chosen Value")
+    @Description("The heat map value of the chosen field.")
+    int chosenValue;
+
+}
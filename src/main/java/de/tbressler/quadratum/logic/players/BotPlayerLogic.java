@@ -1,19 +1,43 @@
 package de.tbressler.quadratum.logic.players;
 
+import de.tbressler.quadratum.core.GameCore;
+import de.tbressler.quadratum.evaluation.IEvaluator;
+import de.tbressler.quadratum.evaluation.WeightedEvaluator;
 import de.tbressler.quadratum.logic.ILogicCallback;
 import de.tbressler.quadratum.model.IReadOnlyGameBoard;
 import de.tbressler.quadratum.model.Player;
+import de.tbressler.quadratum.utils.SquareTable;
 
 import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.function.BooleanSupplier;
 
 import static com.google.common.base.MoreObjects.toStringHelper;
+import static de.tbressler.quadratum.core.GameCore.NO_PLAYER;
+import static de.tbressler.quadratum.core.GameCore.PLAYER1;
+import static de.tbressler.quadratum.core.GameCore.PLAYER2;
+import static de.tbressler.quadratum.metrics.IMetricsRecorder.Latency.BOT_MOVE;
+import static de.tbressler.quadratum.utils.GameBoardUtils.DEFAULT_SIZE;
 import static de.tbressler.quadratum.utils.GameBoardUtils.assertIndex;
-import static de.tbressler.quadratum.utils.SquareUtils.getPossiblePieces;
-import static de.tbressler.quadratum.utils.SquareUtils.score;
 import static java.util.Objects.requireNonNull;
 
 /**
  * The implementation of the player logic interface for artificial intelligence players (bots).
+ * <p>
+ * The bot is an anytime algorithm: if the move request has a deadline and the deadline is reached
+ * while the heat maps are built, the bot chooses the best move of the incomplete heat maps.
+ * <p>
+ * The values of the squares are computed by an {@link IEvaluator}. The strategy decides how the
+ * values of the squares are combined to the value of a field.
+ * <p>
+ * If a player can complete a square with the next piece, the bot takes the biggest of these threats
+ * or blocks the biggest threat of the opponent without building the heat maps. The threats are
+ * tracked incrementally by a {@link GameCore}, which is synchronized with the game board on every
+ * move request. This can be disabled with {@link #setForcedMoves(boolean)}.
+ * <p>
+ * Every bot has its own random number generator for the randomization of moves, so that bots in
+ * parallel games don't contend for a shared generator. For reproducible games the generator can be
+ * seeded per game, e.g. with a {@link de.tbressler.quadratum.utils.SeedSequence}.
  *
  * @author Tobias Bressler
  * @version 1.0
@@ -21,7 +45,7 @@ import static java.util.Objects.requireNonNull;
 public class BotPlayerLogic extends AbstractPlayerLogic {
 
     /** Enum for different bot strategies. */
-    enum Strategy {
+    public enum Strategy {
         /** Finds best index by adding all square scores to heat map. */
         LONG_TERM,
         /** Finds best index by using best square score for heat map. */
@@ -29,28 +53,66 @@ public class BotPlayerLogic extends AbstractPlayerLogic {
     }
 
 
+    /* The number of squares between two checks of the deadline. */
+    private static final int DEADLINE_CHECK_INTERVAL = 64;
+
     /* The strategy that should be used by the bot. */
     private final Strategy strategy;
 
+    /* The table of all possible squares on the game board. */
+    private final SquareTable squareTable;
+
+    /* The evaluator for the squares. */
+    private IEvaluator evaluator = WeightedEvaluator.DEFAULT;
+
     /* True if the moves of the player should be randomized. */
     private boolean randomizeMoves = true;
 
-    /* Random number generator. */
-    private Random random = new Random();
+    /* True if threats should be taken or blocked immediately. */
+    private boolean forcedMoves = true;
+
+    /* The game core with the pieces of the last move request, used to track the threats. */
+    private final GameCore core;
+
+    /* Decides if a field with the same value replaces the current best field. */
+    private BooleanSupplier randomBoolean = new SplittableRandom()::nextBoolean;
 
 
     /**
-     * Creates the bot player logic.
+     * Creates the bot player logic for a game board with 8x8 fields.
      *
      * @param player The player, must not be null.
      * @param strategy The strategy, must not be null.
      */
     public BotPlayerLogic(Player player, Strategy strategy) {
+        this(player, strategy, DEFAULT_SIZE);
+    }
+
+    /**
+     * Creates the bot player logic for a game board with the given size.
+     *
+     * @param player The player, must not be null.
+     * @param strategy The strategy, must not be null.
+     * @param size The size of the game board, between 4..16.
+     */
+    public BotPlayerLogic(Player player, Strategy strategy, int size) {
         super(player);
         this.strategy = requireNonNull(strategy);
+        this.squareTable = SquareTable.of(size);
+        this.core = new GameCore(size, Integer.MAX_VALUE, 0);
     }
 
 
+    /**
+     * Sets the evaluator for the squares, e.g. a {@link WeightedEvaluator} with tuned weights. The
+     * default is {@link WeightedEvaluator#DEFAULT}.
+     *
+     * @param evaluator The evaluator, must not be null.
+     */
+    public void setEvaluator(IEvaluator evaluator) {
+        this.evaluator = requireNonNull(evaluator);
+    }
+
     /**
      * Enables or disables randomization of moves. If randomization is enabled, the bot makes a random
      * decision which field he uses for his next move if the chance for a good score is the same.
@@ -62,26 +124,82 @@ public class BotPlayerLogic extends AbstractPlayerLogic {
     }
 
 
+    /**
+     * Enables or disables forced moves. If forced moves are enabled, the bot takes its biggest
+     * threat or blocks the biggest threat of the opponent immediately. Forced moves are enabled
+     * by default.
+     *
+     * @param forcedMoves True if threats should be taken or blocked immediately.
+     */
+    public void setForcedMoves(boolean forcedMoves) {
+        this.forcedMoves = forcedMoves;
+    }
+
+    /**
+     * Sets the random number generator for the randomization of moves. The generator is not
+     * thread-safe and must not be shared with other bots.
+     *
+     * @param random The random number generator, must not be null.
+     */
+    public void setRandom(SplittableRandom random) {
+        this.randomBoolean = requireNonNull(random)::nextBoolean;
+    }
+
     /**
      * Sets the random number generator. This method should only be used for testing purposes.
      *
      * @param random The random number generator, must not be null.
      */
     void setRandom(Random random) {
-        this.random = requireNonNull(random);
+        this.randomBoolean = requireNonNull(random)::nextBoolean;
     }
 
 
     @Override
     public void requestMove(IReadOnlyGameBoard gameBoard, ILogicCallback callback) {
+        makeMove(gameBoard, callback, false, 0);
+    }
+
+    @Override
+    public void requestMove(IReadOnlyGameBoard gameBoard, ILogicCallback callback, long deadlineNanos) {
+        makeMove(gameBoard, callback, true, deadlineNanos);
+    }
+
+    /* Finds the best move and makes the move via the callback. */
+    private void makeMove(IReadOnlyGameBoard gameBoard, ILogicCallback callback, boolean hasDeadline,
+                          long deadlineNanos) {
         requireNonNull(gameBoard);
         requireNonNull(callback);
 
-        int[] playerHeatMap = new int[64];
-        int[] opponentHeatMap = new int[64];
+        long startTime = getMetricsRecorder().startTime();
+        BotDecisionEvent event = new BotDecisionEvent();
+        event.begin();
+
+        if (forcedMoves) {
+            int forcedMove;
+            int forcedValue;
+            synchronized (core) {
+                int player = synchronizeCore(gameBoard);
+                forcedMove = core.getForcedMove(player);
+                forcedValue = (forcedMove < 0) ? 0 :
+                        Math.max(core.getThreatValue(player, forcedMove), core.getThreatValue(player ^ 1, forcedMove));
+            }
+            if (forcedMove >= 0) {
+                getMetricsRecorder().recordLatencySince(BOT_MOVE, startTime);
+                emitBotDecisionEvent(event, 1, forcedMove, forcedValue);
+                callback.makeMove(forcedMove, getPlayer());
+                return;
+            }
+        }
+
+        int fieldCount = squareTable.getFieldCount();
+        int squareCount = squareTable.getSquareCount();
+        int[] squarePieces = squareTable.getPieces();
+
+        int[] playerHeatMap = new int[fieldCount];
+        int[] opponentHeatMap = new int[fieldCount];
 
-        Player[] pieces = new Player[4];
-        int[] possible;
+        Player piece;
 
         int scoreForSquare;
         int playerScore;
@@ -90,69 +208,63 @@ public class BotPlayerLogic extends AbstractPlayerLogic {
         int numberOfOpponentPieces;
 
         // Create heat maps for player and opponent:
-        for (int i = 0; i < 55; i++) {
-            pieces[0] = gameBoard.getPiece(i);
-            for (int j = i + 1; j < 64; j++) {
-                pieces[1] = gameBoard.getPiece(j);
-
-                possible = getPossiblePieces(i, j);
-                if (possible.length != 2)
-                    continue;
+        for (int s = 0, p = 0; s < squareCount; s++, p += 4) {
 
-                pieces[2] = gameBoard.getPiece(possible[0]);
-                pieces[3] = gameBoard.getPiece(possible[1]);
+            // Stop with the incomplete heat maps, if the deadline is reached:
+            if (hasDeadline && (s % DEADLINE_CHECK_INTERVAL == 0) && (System.nanoTime() - deadlineNanos >= 0))
+                break;
 
-                numberOfPlayerPieces = 0;
-                numberOfOpponentPieces = 0;
+            numberOfPlayerPieces = 0;
+            numberOfOpponentPieces = 0;
 
-                for (int p = 0; p < 4; p++)
-                    if (pieces[p] == getPlayer())
-                        numberOfPlayerPieces++;
-                    else if (pieces[p] != null)
-                        numberOfOpponentPieces++;
+            for (int m = 0; m < 4; m++) {
+                piece = gameBoard.getPiece(squarePieces[p + m]);
+                if (piece == getPlayer())
+                    numberOfPlayerPieces++;
+                else if (piece != null)
+                    numberOfOpponentPieces++;
+            }
 
-                // Calculate possible score of square:
-                scoreForSquare = score(i, j, possible[0], possible[1]);
+            // Calculate possible score of square:
+            scoreForSquare = squareTable.getScore(s);
 
-                if ((numberOfOpponentPieces > 0) && (numberOfPlayerPieces == 0)) {
-                    // ... square is not occupied by opponent and not yet blocked by player.
+            if ((numberOfOpponentPieces > 0) && (numberOfPlayerPieces == 0)) {
+                // ... square is not occupied by opponent and not yet blocked by player.
 
-                    // Calculate chance for opponent to get this square.
-                    opponentScore = scoreForSquare * (numberOfOpponentPieces+1);
+                // Calculate chance for opponent to get this square.
+                opponentScore = evaluator.evaluateOpponentSquare(scoreForSquare, numberOfOpponentPieces);
 
-                    // Update opponent heat map:
-                    updateHeatMap(opponentHeatMap, i, opponentScore);
-                    updateHeatMap(opponentHeatMap, j, opponentScore);
-                    updateHeatMap(opponentHeatMap, possible[0], opponentScore);
-                    updateHeatMap(opponentHeatMap, possible[1], opponentScore);
+                // Update opponent heat map:
+                for (int m = 0; m < 4; m++)
+                    updateHeatMap(opponentHeatMap, squarePieces[p + m], opponentScore);
 
-                } else if (numberOfOpponentPieces == 0) {
-                    // ... square is not blocked by opponent.
+            } else if (numberOfOpponentPieces == 0) {
+                // ... square is not blocked by opponent.
 
-                    // Calculate chance for player to get this square.
-                    playerScore = scoreForSquare * (numberOfPlayerPieces+1);
+                // Calculate chance for player to get this square.
+                playerScore = evaluator.evaluatePlayerSquare(scoreForSquare, numberOfPlayerPieces);
 
-                    // Update player heat map:
-                    updateHeatMap(playerHeatMap, i, playerScore);
-                    updateHeatMap(playerHeatMap, j, playerScore);
-                    updateHeatMap(playerHeatMap, possible[0], playerScore);
-                    updateHeatMap(playerHeatMap, possible[1], playerScore);
+                // Update player heat map:
+                for (int m = 0; m < 4; m++)
+                    updateHeatMap(playerHeatMap, squarePieces[p + m], playerScore);
 
-                }
             }
         }
 
         int value;
         int maxValue = -1;
         int indexWithMaxValue = -1;
+        int candidateCount = 0;
 
         // Analyze heat map:
-        for(int i = 0; i < 64; i++) {
+        for(int i = 0; i < fieldCount; i++) {
 
             // Skip if field is not empty.
             if (!gameBoard.isFieldEmpty(i))
                 continue;
 
+            candidateCount++;
+
             // Check chances to score:
             if (playerHeatMap[i] >= opponentHeatMap[i]) {
                 // ... the chance for a player score is higher or equal.
@@ -170,11 +282,45 @@ public class BotPlayerLogic extends AbstractPlayerLogic {
             }
         }
 
-        assertIndex(indexWithMaxValue, "Bot logic error! Invalid field index.");
+        assertIndex(squareTable.getSize(), indexWithMaxValue, "Bot logic error! Invalid field index.");
+
+        getMetricsRecorder().recordLatencySince(BOT_MOVE, startTime);
+        emitBotDecisionEvent(event, candidateCount, indexWithMaxValue, maxValue);
 
         callback.makeMove(indexWithMaxValue, getPlayer());
     }
 
+    /* Synchronizes the game core with the game board and returns the player of the bot in the core. */
+    private int synchronizeCore(IReadOnlyGameBoard gameBoard) {
+        Player player1 = gameBoard.getPlayer1();
+        int fieldCount = squareTable.getFieldCount();
+        for (int i = 0; i < fieldCount; i++) {
+            Player piece = gameBoard.getPiece(i);
+            int expected = (piece == null) ? NO_PLAYER : ((piece == player1) ? PLAYER1 : PLAYER2);
+            int actual = core.getPieceUnchecked(i);
+            if (expected == actual)
+                continue;
+            if (actual != NO_PLAYER)
+                core.unmakeMoveUnchecked(i);
+            if (expected != NO_PLAYER)
+                core.placePieceUnchecked(i, expected);
+        }
+        return (getPlayer() == player1) ? PLAYER1 : PLAYER2;
+    }
+
+    /* Emits the flight recorder event for the decision of the bot. */
+    private void emitBotDecisionEvent(BotDecisionEvent event, int candidateCount, int chosenIndex, int chosenValue) {
+        if (!event.shouldCommit())
+            return;
+        event.player = getPlayer().getName();
+        event.strategy = strategy.name();
+        event.randomized = randomizeMoves;
+        event.candidateCount = candidateCount;
+        event.chosenIndex = chosenIndex;
+        event.chosenValue = chosenValue;
+        event.commit();
+    }
+
     /* Updates the heat map at the given index with the score. */
     private void updateHeatMap(int[] heatMap, int index, int score) {
         heatMap[index] = calculateNewScore(heatMap[index], score);
@@ -194,7 +340,7 @@ public class BotPlayerLogic extends AbstractPlayerLogic {
 
     /* Returns true, if the values should be randomized. */
     private boolean doRandomization() {
-        return randomizeMoves && random.nextBoolean();
+        return randomizeMoves && randomBoolean.getAsBoolean();
     }
 
 
@@ -202,7 +348,9 @@ public class BotPlayerLogic extends AbstractPlayerLogic {
     public String toString() {
         return toStringHelper(this)
                 .add("strategy", strategy)
+                .add("evaluator", evaluator)
                 .add("randomizeMoves", randomizeMoves)
+                .add("forcedMoves", forcedMoves)
                 .toString();
     }
 
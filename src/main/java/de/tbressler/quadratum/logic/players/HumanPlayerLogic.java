@@ -1,54 +1,138 @@
 package de.tbressler.quadratum.logic.players;
 
+import de.tbressler.quadratum.analysis.PositionEvaluator;
+import de.tbressler.quadratum.core.Position;
 import de.tbressler.quadratum.logic.ILogicCallback;
+import de.tbressler.quadratum.model.IGameBoardListener;
 import de.tbressler.quadratum.model.IReadOnlyGameBoard;
 import de.tbressler.quadratum.model.Player;
 
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicReference;
 
-import static de.tbressler.quadratum.utils.GameBoardUtils.assertIndex;
+import static de.tbressler.quadratum.utils.GameBoardUtils.DEFAULT_SIZE;
+import static de.tbressler.quadratum.utils.GameBoardUtils.assertSize;
 import static java.util.Objects.requireNonNull;
 
 /**
  * The player logic for a human player. This logic can be used by the user interface of the
  * application, which accepts the user input.
+ * <p>
+ * If a hint evaluator is set, a suggested move is computed in the background whenever a move is
+ * requested from the player. The hint is cancelled when the player places a piece, the move request
+ * is cancelled or the game board is cleared.
+ * <p>
+ * The move request is a lock-free state machine: the player is inactive, active or the move is in
+ * flight. A call of {@link #placePiece(int)} claims the move of the active request with a single
+ * compare-and-set, so concurrent calls (e.g. retries of a network client) submit exactly one move
+ * per request and the other calls return false.
  *
  * @author Tobias Bressler
  * @version 1.0
  */
 public class HumanPlayerLogic extends AbstractPlayerLogic {
 
-    /* True if the player is active. */
-    private boolean isPlayerActive = false;
+    /* The size of the game board. */
+    private final int size;
 
-    /* Lock. */
-    private final ReentrantLock lock = new ReentrantLock(true);
+    /* The state of the move request: inactive, an active request or the move of a request in
+       flight. */
+    private final AtomicReference<MoveRequest> moveRequest = new AtomicReference<>(MoveRequest.INACTIVE);
 
-    /* The logic callback. */
-    private ILogicCallback logicCallback = null;
+    /* The evaluator for hints or null, if hints are disabled. */
+    private volatile PositionEvaluator hintEvaluator = null;
+
+    /* The executor for hints. */
+    private volatile Executor hintExecutor = ForkJoinPool.commonPool();
+
+    /* The current hint or null. */
+    private final AtomicReference<CompletableFuture<Integer>> hint = new AtomicReference<>();
+
+    /* The game board, which is observed for the cancellation of hints. Guarded by the listener. */
+    private IReadOnlyGameBoard observedGameBoard = null;
+
+    /* Cancels the hint if the game board is cleared. */
+    private final IGameBoardListener gameBoardListener = new IGameBoardListener() {
+        @Override
+        public void onPiecePlaced(int index, Player player) {
+            // Nothing to do.
+        }
+
+        @Override
+        public void onGameBoardCleared() {
+            cancelHint();
+        }
+    };
 
 
     /**
-     * Creates the human player logic.
+     * Creates the human player logic for a game board with 8x8 fields.
      *
      * @param player The player, must not be null.
      */
     public HumanPlayerLogic(Player player) {
+        this(player, DEFAULT_SIZE);
+    }
+
+    /**
+     * Creates the human player logic for a game board with the given size.
+     *
+     * @param player The player, must not be null.
+     * @param size The size of the game board, between 4..16.
+     */
+    public HumanPlayerLogic(Player player, int size) {
         super(player);
+        assertSize(size);
+        this.size = size;
     }
 
     @Override
     public void requestMove(IReadOnlyGameBoard gameBoard, ILogicCallback callback) {
-        try {
-            lock.lock();
+        MoveRequest request = new MoveRequest(requireNonNull(callback));
 
-            this.logicCallback = requireNonNull(callback);
+        // The hint is started before the request is active, so that a placed piece cancels it:
+        cancelHint();
+        PositionEvaluator evaluator = hintEvaluator;
+        if (evaluator != null)
+            startHint(requireNonNull(gameBoard), evaluator);
 
-            isPlayerActive = true;
+        moveRequest.set(request);
+    }
 
-        } finally {
-            lock.unlock();
+    /* Starts the computation of a hint for the current game board. */
+    private void startHint(IReadOnlyGameBoard gameBoard, PositionEvaluator evaluator) {
+        synchronized (gameBoardListener) {
+            if (observedGameBoard != gameBoard) {
+                if (observedGameBoard != null)
+                    observedGameBoard.removeGameBoardListener(gameBoardListener);
+                gameBoard.addGameBoardListener(gameBoardListener);
+                observedGameBoard = gameBoard;
+            }
         }
+
+        // The position is taken on the calling thread, because the game board is not thread-safe:
+        Position position = Position.of(gameBoard, getPlayer());
+        CompletableFuture<Integer> newHint = CompletableFuture.supplyAsync(
+                () -> evaluator.evaluate(position).getBestMove(), hintExecutor);
+        CompletableFuture<Integer> oldHint = hint.getAndSet(newHint);
+        if (oldHint != null)
+            oldHint.cancel(false);
+    }
+
+    /* Cancels the current hint. */
+    private void cancelHint() {
+        CompletableFuture<Integer> oldHint = hint.getAndSet(null);
+        if (oldHint != null)
+            oldHint.cancel(false);
+    }
+
+
+    @Override
+    public void cancelMoveRequest() {
+        moveRequest.set(MoveRequest.INACTIVE);
+        cancelHint();
     }
 
 
@@ -58,31 +142,100 @@ public class HumanPlayerLogic extends AbstractPlayerLogic {
      * @return True if the player is active.
      */
     public boolean isPlayerActive() {
-        return isPlayerActive;
+        return moveRequest.get().isActive();
     }
 
 
     /**
-     * Place a piece on the game board.
+     * Sets the evaluator for hints. The hints are disabled by default.
      *
-     * @param index The field index, between 0..63.
+     * @param hintEvaluator The evaluator or null, if no hints should be computed.
+     */
+    public void setHintEvaluator(PositionEvaluator hintEvaluator) {
+        this.hintEvaluator = hintEvaluator;
+        if (hintEvaluator == null)
+            cancelHint();
+    }
+
+    /**
+     * Sets the executor for the computation of hints. The common fork/join pool is used by
+     * default.
+     *
+     * @param hintExecutor The executor, must not be null.
+     */
+    public void setHintExecutor(Executor hintExecutor) {
+        this.hintExecutor = requireNonNull(hintExecutor);
+    }
+
+    /**
+     * Returns the hint for the current move request. The future returns the field index of the
+     * suggested move or -1 if the game board is full. The future is cancelled, when the hint is no
+     * longer relevant.
+     *
+     * @return The hint or null, if the player is not active or hints are disabled.
+     */
+    public CompletableFuture<Integer> getHint() {
+        return hint.get();
+    }
+
+
+    /**
+     * Place a piece on the game board. If several threads place a piece concurrently, only one of
+     * them makes the move of the current move request.
+     *
+     * @param index The field index, between 0..size*size-1.
      * @return True if the piece was placed successfully.
      */
     public boolean placePiece(int index) {
-        assertIndex(index, "Index must be between 0 and 63!");
+        if ((index < 0) || (index >= size * size))
+            throw new AssertionError("Index must be between 0 and " + (size * size - 1) + "!");
+
+        MoveRequest request = moveRequest.get();
+        if (!request.isActive() || !moveRequest.compareAndSet(request, request.inFlight))
+            return false;
+
+        cancelHint();
+
         try {
-            lock.lock();
+            return request.callback.makeMove(index, getPlayer());
+        } finally {
+            // The callback may have requested the next move already:
+            moveRequest.compareAndSet(request.inFlight, MoveRequest.INACTIVE);
+        }
+    }
 
-            if (!isPlayerActive)
-                return false;
 
-            isPlayerActive = false;
+    /* A state of the move request. Every move request has its own states, so that a move can
+       only be claimed once per request. */
+    private static final class MoveRequest {
 
-            return logicCallback.makeMove(index, getPlayer());
+        /* The player is inactive. */
+        static final MoveRequest INACTIVE = new MoveRequest();
 
-        } finally {
-            lock.unlock();
+        /* The logic callback or null, if inactive. */
+        final ILogicCallback callback;
+
+        /* The state of the request after its move was claimed or null, if this is not an active
+           request. */
+        final MoveRequest inFlight;
+
+        /* Creates an active request. */
+        MoveRequest(ILogicCallback callback) {
+            this.callback = callback;
+            this.inFlight = new MoveRequest();
+        }
+
+        /* Creates the inactive state or the state of a move in flight. */
+        private MoveRequest() {
+            this.callback = null;
+            this.inFlight = null;
         }
+
+        /* Returns true if the request is active and the move is not claimed. */
+        boolean isActive() {
+            return inFlight != null;
+        }
+
     }
 
 }
@@ -0,0 +1,128 @@
+package de.tbressler.quadratum.logic.players;
+
+import de.tbressler.quadratum.core.GameCore;
+import de.tbressler.quadratum.core.Position;
+import de.tbressler.quadratum.evaluation.FeatureExtractor;
+import de.tbressler.quadratum.evaluation.PositionModel;
+import de.tbressler.quadratum.logic.ILogicCallback;
+import de.tbressler.quadratum.model.IReadOnlyGameBoard;
+import de.tbressler.quadratum.model.Player;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static de.tbressler.quadratum.evaluation.FeatureExtractor.FEATURE_COUNT;
+import static de.tbressler.quadratum.metrics.IMetricsRecorder.Latency.BOT_MOVE;
+import static de.tbressler.quadratum.utils.GameBoardUtils.DEFAULT_SIZE;
+import static de.tbressler.quadratum.utils.GameBoardUtils.assertSize;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A bot, which chooses its moves with a learned {@link PositionModel}. For every move request the
+ * features of the positions after all possible moves are extracted in one pass and the model
+ * predicts their outcomes in one batch. The bot makes the move with the best prediction, the
+ * first of several moves with the same prediction.
+ * <p>
+ * The buffers for the features and predictions are allocated once per bot, so a bot must not be
+ * used by parallel games.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public class ModelBotPlayerLogic extends AbstractPlayerLogic {
+
+    /* The model. */
+    private final PositionModel model;
+
+    /* The extractor for the features. */
+    private final FeatureExtractor extractor;
+
+    /* The game core with the current position. */
+    private final GameCore core;
+
+    /* The possible moves. */
+    private final int[] moves;
+
+    /* The features of the positions after the moves. */
+    private final float[] features;
+
+    /* The predictions of the positions after the moves. */
+    private final float[] predictions;
+
+    /* The hidden units of the model. */
+    private final float[] hidden;
+
+
+    /**
+     * Creates the bot for a game board with 8x8 fields.
+     *
+     * @param player The player, must not be null.
+     * @param model The model, must not be null.
+     */
+    public ModelBotPlayerLogic(Player player, PositionModel model) {
+        this(player, model, DEFAULT_SIZE);
+    }
+
+    /**
+     * Creates the bot for a game board with the given size.
+     *
+     * @param player The player, must not be null.
+     * @param model The model, must not be null.
+     * @param size The size of the game board, between 4..16.
+     */
+    public ModelBotPlayerLogic(Player player, PositionModel model, int size) {
+        super(player);
+        assertSize(size);
+        this.model = requireNonNull(model);
+        this.extractor = new FeatureExtractor(size);
+        this.core = new GameCore(size, Integer.MAX_VALUE, 0);
+        this.moves = new int[size * size];
+        this.features = new float[size * size * FEATURE_COUNT];
+        this.predictions = new float[size * size];
+        this.hidden = new float[model.getHiddenSize()];
+    }
+
+
+    @Override
+    public void requestMove(IReadOnlyGameBoard gameBoard, ILogicCallback callback) {
+        requireNonNull(gameBoard);
+        requireNonNull(callback);
+        if (gameBoard.getSize() != extractor.getSize())
+            throw new AssertionError("Size of game board and bot doesn't match!");
+
+        long startTime = getMetricsRecorder().startTime();
+
+        core.setPosition(Position.of(gameBoard, getPlayer()));
+        int count = core.getEmptyFields(moves);
+        extractor.extract(core, moves, count, features);
+        model.predict(features, count, predictions, hidden);
+
+        int bestMove = -1;
+        float bestPrediction = Float.NEGATIVE_INFINITY;
+        for (int i = 0; i < count; i++) {
+            if (predictions[i] > bestPrediction) {
+                bestPrediction = predictions[i];
+                bestMove = moves[i];
+            }
+        }
+        if (bestMove < 0)
+            throw new IllegalStateException("No empty field!");
+
+        getMetricsRecorder().recordLatencySince(BOT_MOVE, startTime);
+
+        callback.makeMove(bestMove, getPlayer());
+    }
+
+    @Override
+    public void cancelMoveRequest() {
+        // Nothing to do, the move is made synchronously.
+    }
+
+
+    @Override
+    public String toString() {
+        return toStringHelper(this)
+                .add("player", getPlayer())
+                .add("model", model)
+                .toString();
+    }
+
+}
@@ -0,0 +1,369 @@
+package de.tbressler.quadratum.logic.players;
+
+import de.tbressler.quadratum.analysis.PositionEvaluation;
+import de.tbressler.quadratum.analysis.PositionEvaluator;
+import de.tbressler.quadratum.core.GameCore;
+import de.tbressler.quadratum.core.Position;
+import de.tbressler.quadratum.logic.GameLogic;
+import de.tbressler.quadratum.logic.IGameLogicListener;
+import de.tbressler.quadratum.logic.ILogicCallback;
+import de.tbressler.quadratum.logic.players.BotPlayerLogic.Strategy;
+import de.tbressler.quadratum.model.IReadOnlyGameBoard;
+import de.tbressler.quadratum.model.Player;
+import de.tbressler.quadratum.model.Square;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static de.tbressler.quadratum.metrics.IMetricsRecorder.Latency.BOT_MOVE;
+import static de.tbressler.quadratum.utils.GameBoardUtils.DEFAULT_SIZE;
+import static de.tbressler.quadratum.utils.GameBoardUtils.assertSize;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A bot, which uses the turn of the opponent to compute its replies in advance (pondering). The
+ * bot must be attached to a game logic. When the opponent becomes active, the bot predicts the most
+ * likely moves of the opponent and computes the reply for each of them in the background. If the
+ * opponent plays one of the predicted moves, the move request is answered without computation.
+ * <p>
+ * Every bot runs at most one pondering task at a time: a new task is submitted to the ponder
+ * executor after the previous task has finished. A task is cancelled, when the bot is requested to
+ * move, the game is restarted, restored or over, a move is undone or the bot is detached. A
+ * cancelled task doesn't start and a running task stops after the current position evaluation.
+ * <p>
+ * The moves are the moves of a {@link BotPlayerLogic} with the same strategy and without
+ * randomization.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public class PonderingBotPlayerLogic extends AbstractPlayerLogic {
+
+    /** The default number of predicted opponent moves. */
+    public static final int DEFAULT_PONDER_MOVES = 4;
+
+
+    /* The strategy that should be used by the bot. */
+    private final Strategy strategy;
+
+    /* The size of the game board. */
+    private final int size;
+
+    /* The evaluator for positions. */
+    private final PositionEvaluator evaluator;
+
+    /* Lock. */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /* The game logic or null, if the bot is not attached. */
+    private GameLogic gameLogic = null;
+
+    /* The executor for the pondering tasks. */
+    private Executor ponderExecutor = ForkJoinPool.commonPool();
+
+    /* The number of predicted opponent moves. */
+    private int ponderMoves = DEFAULT_PONDER_MOVES;
+
+    /* The current pondering task or null. */
+    private PonderTask ponderTask = null;
+
+    /* Is completed, when the last submitted pondering task has finished. */
+    private CompletableFuture<Void> lastPonderTask = CompletableFuture.completedFuture(null);
+
+    /* The number of move requests, which were answered by pondering. */
+    private final AtomicInteger ponderHits = new AtomicInteger();
+
+    /* The number of move requests, which were not answered by pondering. */
+    private final AtomicInteger ponderMisses = new AtomicInteger();
+
+    /* Starts and cancels the pondering. */
+    private final IGameLogicListener gameLogicListener = new IGameLogicListener() {
+        @Override
+        public void onGameOver(Player winner) {
+            cancelPondering();
+        }
+
+        @Override
+        public void onNewSquaresFound(Player player, Set<Square> squares) {
+            // Nothing to do.
+        }
+
+        @Override
+        public void onMoveUndone(int index, Player player, Set<Square> removedSquares) {
+            cancelPondering();
+        }
+
+        @Override
+        public void onActivePlayerChanged(Player activePlayer) {
+            if (activePlayer.equals(getPlayer()))
+                return;
+            startPondering(activePlayer);
+        }
+
+        @Override
+        public void onGameStarted(Player activePlayer) {
+            cancelPondering();
+        }
+
+        @Override
+        public void onGameRestored(Player activePlayer) {
+            if ((activePlayer == null) || activePlayer.equals(getPlayer()))
+                cancelPondering();
+            else
+                startPondering(activePlayer);
+        }
+    };
+
+
+    /**
+     * Creates the pondering bot for a game board with 8x8 fields.
+     *
+     * @param player The player, must not be null.
+     * @param strategy The strategy, must not be null.
+     */
+    public PonderingBotPlayerLogic(Player player, Strategy strategy) {
+        this(player, strategy, DEFAULT_SIZE);
+    }
+
+    /**
+     * Creates the pondering bot for a game board with the given size.
+     *
+     * @param player The player, must not be null.
+     * @param strategy The strategy, must not be null.
+     * @param size The size of the game board, between 4..16.
+     */
+    public PonderingBotPlayerLogic(Player player, Strategy strategy, int size) {
+        super(player);
+        assertSize(size);
+        this.strategy = requireNonNull(strategy);
+        this.size = size;
+        this.evaluator = new PositionEvaluator(strategy);
+    }
+
+
+    /**
+     * Attaches the bot to the game logic, so that the bot can ponder during the turns of the
+     * opponent. The bot must be a player logic of the game logic.
+     *
+     * @param gameLogic The game logic, must not be null.
+     */
+    public void attachTo(GameLogic gameLogic) {
+        requireNonNull(gameLogic);
+        if (gameLogic.getGameBoard().getSize() != size)
+            throw new AssertionError("Size of game board and bot doesn't match!");
+
+        detach();
+        try {
+            lock.lock();
+            this.gameLogic = gameLogic;
+        } finally {
+            lock.unlock();
+        }
+        gameLogic.addGameLogicListener(gameLogicListener);
+    }
+
+    /**
+     * Detaches the bot from the game logic and cancels the pondering. Does nothing if the bot is
+     * not attached.
+     */
+    public void detach() {
+        GameLogic attachedGameLogic;
+        try {
+            lock.lock();
+            attachedGameLogic = gameLogic;
+            gameLogic = null;
+            cancelPonderTask();
+        } finally {
+            lock.unlock();
+        }
+        if (attachedGameLogic != null)
+            attachedGameLogic.removeGameLogicListener(gameLogicListener);
+    }
+
+    /**
+     * Sets the executor for the pondering tasks. The common fork/join pool is used by default.
+     *
+     * @param ponderExecutor The executor, must not be null.
+     */
+    public void setPonderExecutor(Executor ponderExecutor) {
+        requireNonNull(ponderExecutor);
+        try {
+            lock.lock();
+            this.ponderExecutor = ponderExecutor;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Sets the number of predicted opponent moves, for which a reply is computed. The default is
+     * {@link #DEFAULT_PONDER_MOVES}. 0 disables the pondering.
+     *
+     * @param ponderMoves The number of moves, must not be negative.
+     */
+    public void setPonderMoves(int ponderMoves) {
+        if (ponderMoves < 0)
+            throw new AssertionError("ponderMoves must not be negative!");
+        try {
+            lock.lock();
+            this.ponderMoves = ponderMoves;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of move requests, which were answered by a pondered reply.
+     *
+     * @return The number of ponder hits.
+     */
+    public int getPonderHits() {
+        return ponderHits.get();
+    }
+
+    /**
+     * Returns the number of move requests, which had to be computed.
+     *
+     * @return The number of ponder misses.
+     */
+    public int getPonderMisses() {
+        return ponderMisses.get();
+    }
+
+
+    /* Starts the pondering for the current game board. The opponent is the active player. */
+    private void startPondering(Player opponent) {
+        try {
+            lock.lock();
+
+            cancelPonderTask();
+            if ((gameLogic == null) || (ponderMoves == 0))
+                return;
+
+            // The position is taken on the calling thread, because the game board is not thread-safe:
+            Position position = Position.of(gameLogic.getGameBoard(), opponent);
+            ponderTask = new PonderTask(position, ponderMoves);
+
+            // The task is submitted after the previous task has finished, so that a cancelled task
+            // and the new task never run at the same time:
+            lastPonderTask = lastPonderTask.exceptionally(e -> null).thenRunAsync(ponderTask, ponderExecutor);
+
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /* Cancels the pondering. */
+    private void cancelPondering() {
+        try {
+            lock.lock();
+            cancelPonderTask();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /* Cancels the current pondering task. Must be called with lock. */
+    private void cancelPonderTask() {
+        if (ponderTask == null)
+            return;
+        ponderTask.cancelled = true;
+        ponderTask = null;
+    }
+
+
+    @Override
+    public void requestMove(IReadOnlyGameBoard gameBoard, ILogicCallback callback) {
+        requireNonNull(gameBoard);
+        requireNonNull(callback);
+
+        long startTime = getMetricsRecorder().startTime();
+
+        PonderTask task;
+        try {
+            lock.lock();
+            task = ponderTask;
+            cancelPonderTask();
+        } finally {
+            lock.unlock();
+        }
+
+        Position position = Position.of(gameBoard, getPlayer());
+        Integer reply = (task != null) ? task.replies.get(position) : null;
+
+        if (reply != null) {
+            ponderHits.incrementAndGet();
+        } else {
+            ponderMisses.incrementAndGet();
+            reply = evaluator.evaluate(position).getBestMove();
+        }
+
+        getMetricsRecorder().recordLatencySince(BOT_MOVE, startTime);
+
+        callback.makeMove(reply, getPlayer());
+    }
+
+    @Override
+    public void cancelMoveRequest() {
+        cancelPondering();
+    }
+
+
+    /* Computes the replies for the most likely moves of the opponent. */
+    private class PonderTask implements Runnable {
+
+        /* The position with the opponent as active player. */
+        private final Position position;
+
+        /* The number of predicted opponent moves. */
+        private final int moves;
+
+        /* The replies, indexed by the position after the move of the opponent. */
+        private final Map<Position, Integer> replies = new ConcurrentHashMap<>();
+
+        /* True if the task was cancelled. */
+        private volatile boolean cancelled = false;
+
+        PonderTask(Position position, int moves) {
+            this.position = position;
+            this.moves = moves;
+        }
+
+        @Override
+        public void run() {
+            if (cancelled)
+                return;
+
+            PositionEvaluation evaluation = evaluator.evaluate(position);
+            GameCore core = new GameCore(size, Integer.MAX_VALUE, 0);
+
+            for (int move : evaluation.getBestMoves(moves)) {
+                if (cancelled)
+                    return;
+                core.setPosition(position);
+                core.makeMoveUnchecked(move);
+                Position next = core.toPosition();
+                replies.put(next, evaluator.evaluate(next).getBestMove());
+            }
+        }
+
+    }
+
+
+    @Override
+    public String toString() {
+        return toStringHelper(this)
+                .add("player", getPlayer())
+                .add("strategy", strategy)
+                .add("ponderMoves", ponderMoves)
+                .toString();
+    }
+
+}
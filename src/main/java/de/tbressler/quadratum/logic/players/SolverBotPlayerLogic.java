@@ -0,0 +1,105 @@
+package de.tbressler.quadratum.logic.players;
+
+import de.tbressler.quadratum.core.Position;
+import de.tbressler.quadratum.logic.ILogicCallback;
+import de.tbressler.quadratum.model.IReadOnlyGameBoard;
+import de.tbressler.quadratum.model.Player;
+import de.tbressler.quadratum.solver.Solution;
+import de.tbressler.quadratum.solver.SolutionBook;
+import de.tbressler.quadratum.solver.Solver;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static de.tbressler.quadratum.metrics.IMetricsRecorder.Latency.BOT_MOVE;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A perfect bot for small game boards. The bot looks up the position in a {@link SolutionBook},
+ * if it has one, and solves the position with a {@link Solver} otherwise. It makes the first
+ * optimal move. The solver must have the rules of the game, otherwise the moves are not optimal.
+ * <p>
+ * The positions of the first moves should be in the book, because solving them takes long. The
+ * later positions are solved quickly with the transposition table of the solver.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public class SolverBotPlayerLogic extends AbstractPlayerLogic {
+
+    /* The solver. */
+    private final Solver solver;
+
+    /* The book with the solved positions or null. */
+    private volatile SolutionBook solutionBook = null;
+
+
+    /**
+     * Creates the bot.
+     *
+     * @param player The player, must not be null.
+     * @param solver The solver, must not be null.
+     */
+    public SolverBotPlayerLogic(Player player, Solver solver) {
+        super(player);
+        this.solver = requireNonNull(solver);
+    }
+
+
+    /**
+     * Sets the book with the solved positions, e.g. a book which was loaded with
+     * {@link SolutionBook#load(java.nio.file.Path)}.
+     *
+     * @param solutionBook The book or null, if all positions should be solved.
+     */
+    public void setSolutionBook(SolutionBook solutionBook) {
+        if ((solutionBook != null) && (solutionBook.getSize() != solver.getSize()))
+            throw new AssertionError("Size of book and solver doesn't match!");
+        this.solutionBook = solutionBook;
+    }
+
+
+    @Override
+    public void requestMove(IReadOnlyGameBoard gameBoard, ILogicCallback callback) {
+        requireNonNull(gameBoard);
+        requireNonNull(callback);
+        if (gameBoard.getSize() != solver.getSize())
+            throw new AssertionError("Size of game board and bot doesn't match!");
+
+        long startTime = getMetricsRecorder().startTime();
+
+        Position position = Position.of(gameBoard, getPlayer());
+        SolutionBook book = solutionBook;
+        Solution solution = (book != null) ? book.getSolution(position) : null;
+        if (solution == null)
+            solution = solver.solve(position);
+
+        int[] optimalMoves = solution.getOptimalMoves();
+        int move = (optimalMoves.length > 0) ? optimalMoves[0] : getFirstEmptyField(gameBoard);
+
+        getMetricsRecorder().recordLatencySince(BOT_MOVE, startTime);
+
+        callback.makeMove(move, getPlayer());
+    }
+
+    @Override
+    public void cancelMoveRequest() {
+        // Nothing to do, the move is made synchronously.
+    }
+
+
+    /* Returns the first empty field, if the game is over under the rules of the solver. */
+    private static int getFirstEmptyField(IReadOnlyGameBoard gameBoard) {
+        for (int i = 0; i < gameBoard.getSize() * gameBoard.getSize(); i++)
+            if (gameBoard.isFieldEmpty(i))
+                return i;
+        throw new IllegalStateException("No empty field!");
+    }
+
+    @Override
+    public String toString() {
+        return toStringHelper(this)
+                .add("player", getPlayer())
+                .add("solutionBook", solutionBook)
+                .toString();
+    }
+
+}
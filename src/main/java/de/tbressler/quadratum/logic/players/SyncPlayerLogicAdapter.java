@@ -0,0 +1,94 @@
+package de.tbressler.quadratum.logic.players;
+
+import de.tbressler.quadratum.logic.IAsyncPlayerLogic;
+import de.tbressler.quadratum.logic.IPlayerLogic;
+import de.tbressler.quadratum.model.IReadOnlyGameBoard;
+import de.tbressler.quadratum.model.Player;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Adapts a player logic to the asynchronous player logic interface. The move is requested at the
+ * player logic on the executor, e.g. a pool, which is shared by all bots. The returned future is
+ * completed by the first move of the player logic. Cancelled requests, which are not yet started,
+ * are not requested at the player logic.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public class SyncPlayerLogicAdapter implements IAsyncPlayerLogic {
+
+    /* The player logic. */
+    private final IPlayerLogic playerLogic;
+
+    /* The executor for the move requests. */
+    private final Executor executor;
+
+    /* The pending move or null. */
+    private volatile CompletableFuture<Integer> pendingMove = null;
+
+
+    /**
+     * Creates the adapter.
+     *
+     * @param playerLogic The player logic, must not be null.
+     * @param executor The executor for the move requests, must not be null.
+     */
+    public SyncPlayerLogicAdapter(IPlayerLogic playerLogic, Executor executor) {
+        this.playerLogic = requireNonNull(playerLogic);
+        this.executor = requireNonNull(executor);
+    }
+
+
+    @Override
+    public Player getPlayer() {
+        return playerLogic.getPlayer();
+    }
+
+    @Override
+    public CompletionStage<Integer> requestMove(IReadOnlyGameBoard gameBoard) {
+        requireNonNull(gameBoard);
+        CompletableFuture<Integer> move = new CompletableFuture<>();
+        pendingMove = move;
+        executor.execute(() -> {
+            if (!move.isDone())
+                playerLogic.requestMove(gameBoard, (index, player) -> move.complete(index));
+        });
+        return move;
+    }
+
+    @Override
+    public CompletionStage<Integer> requestMove(IReadOnlyGameBoard gameBoard, long deadlineNanos) {
+        requireNonNull(gameBoard);
+        CompletableFuture<Integer> move = new CompletableFuture<>();
+        pendingMove = move;
+        executor.execute(() -> {
+            if (!move.isDone())
+                playerLogic.requestMove(gameBoard, (index, player) -> move.complete(index), deadlineNanos);
+        });
+        return move;
+    }
+
+    @Override
+    public void cancelMoveRequest() {
+        CompletableFuture<Integer> move = pendingMove;
+        pendingMove = null;
+        if (move != null)
+            move.cancel(false);
+        playerLogic.cancelMoveRequest();
+    }
+
+
+    @Override
+    public String toString() {
+        return toStringHelper(this)
+                .add("playerLogic", playerLogic)
+                .toString();
+    }
+
+}
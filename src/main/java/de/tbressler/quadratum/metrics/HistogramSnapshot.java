@@ -0,0 +1,118 @@
+package de.tbressler.quadratum.metrics;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static de.tbressler.quadratum.metrics.LatencyHistogram.highestValueOfBucket;
+import static java.lang.Math.ceil;
+import static java.lang.Math.min;
+
+/**
+ * An immutable snapshot of a latency histogram.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public class HistogramSnapshot {
+
+    /* The counts of the buckets. */
+    private final long[] buckets;
+
+    /* The number of recorded values. */
+    private final long count;
+
+    /* The sum of the recorded values. */
+    private final long sum;
+
+    /* The minimum recorded value. */
+    private final long min;
+
+    /* The maximum recorded value. */
+    private final long max;
+
+
+    /* Creates the snapshot. */
+    HistogramSnapshot(long[] buckets, long count, long sum, long min, long max) {
+        this.buckets = buckets;
+        this.count = count;
+        this.sum = sum;
+        this.min = min;
+        this.max = max;
+    }
+
+
+    /**
+     * Returns the number of recorded values.
+     *
+     * @return The number of recorded values.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the minimum recorded value or 0 if no value was recorded.
+     *
+     * @return The minimum value.
+     */
+    public long getMin() {
+        return min;
+    }
+
+    /**
+     * Returns the maximum recorded value or 0 if no value was recorded.
+     *
+     * @return The maximum value.
+     */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * Returns the mean of the recorded values or 0 if no value was recorded.
+     *
+     * @return The mean value.
+     */
+    public double getMean() {
+        return (count == 0) ? 0.0 : (double) sum / count;
+    }
+
+    /**
+     * Returns the value at the given percentile. The returned value is the highest value of the
+     * bucket, which contains the percentile, but never greater than the maximum recorded value.
+     *
+     * @param percentile The percentile, between 0..100.
+     * @return The value at the percentile or 0 if no value was recorded.
+     */
+    public long getValueAtPercentile(double percentile) {
+        if ((percentile < 0.0) || (percentile > 100.0))
+            throw new AssertionError("percentile must be between 0..100!");
+        long total = 0;
+        for (long bucket : buckets)
+            total += bucket;
+        if (total == 0)
+            return 0;
+
+        long rank = Math.max(1, (long) ceil(percentile / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            seen += buckets[i];
+            if (seen >= rank)
+                return min(highestValueOfBucket(i), max);
+        }
+        return max;
+    }
+
+
+    @Override
+    public String toString() {
+        return toStringHelper(this)
+                .add("count", count)
+                .add("min", min)
+                .add("mean", getMean())
+                .add("p50", getValueAtPercentile(50))
+                .add("p99", getValueAtPercentile(99))
+                .add("p999", getValueAtPercentile(99.9))
+                .add("max", max)
+                .toString();
+    }
+
+}
@@ -0,0 +1,85 @@
+package de.tbressler.quadratum.metrics;
+
+/**
+ * Interface for recording metrics of the move pipeline. The game logic, the square collector, the
+ * game over verifier and the player logics report latencies and counters to this interface.
+ * <p>
+ * Implementations must be thread-safe. The reporting components only measure time if the
+ * recorder is enabled.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public interface IMetricsRecorder {
+
+    /** The measured latencies. */
+    enum Latency {
+        /** Detection of new squares after a move. */
+        SQUARE_DETECTION,
+        /** Verification if the game is over after a move. */
+        GAME_OVER_VERIFICATION,
+        /** Computation of the next move by a bot. */
+        BOT_MOVE,
+        /** Notification of the game logic listeners. */
+        LISTENER_DISPATCH
+    }
+
+    /** The counted events. */
+    enum Counter {
+        /** Moves made on the game board. */
+        MOVES,
+        /** New squares found on the game board. */
+        SQUARES_FOUND,
+        /** Finished games. */
+        GAMES_FINISHED,
+        /** Fallback moves, which were made because a player missed the deadline. */
+        MOVE_TIMEOUTS
+    }
+
+
+    /**
+     * Returns true if the recorder is enabled. If the recorder is disabled, the reporting
+     * components don't measure any time.
+     *
+     * @return True if the recorder is enabled.
+     */
+    boolean isEnabled();
+
+    /**
+     * Records a latency.
+     *
+     * @param latency The latency type, never null.
+     * @param nanos The latency in nanoseconds, must be >= 0.
+     */
+    void recordLatency(Latency latency, long nanos);
+
+    /**
+     * Increments a counter.
+     *
+     * @param counter The counter, never null.
+     * @param delta The value to add, must be >= 0.
+     */
+    void incrementCounter(Counter counter, long delta);
+
+
+    /**
+     * Returns the start time of a latency measurement or 0 if the recorder is disabled.
+     *
+     * @return The start time in nanoseconds or 0.
+     */
+    default long startTime() {
+        return isEnabled() ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * Records the time since the given start time, if the recorder is enabled.
+     *
+     * @param latency The latency type, never null.
+     * @param startTime The start time returned by {@link #startTime()}.
+     */
+    default void recordLatencySince(Latency latency, long startTime) {
+        if (isEnabled())
+            recordLatency(latency, System.nanoTime() - startTime);
+    }
+
+}
@@ -0,0 +1,94 @@
+package de.tbressler.quadratum.metrics;
+
+import com.google.common.base.MoreObjects.ToStringHelper;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A thread-safe and lock-free metrics recorder, which keeps all metrics in memory. The metrics
+ * can be scraped at any time via {@link #getLatency(Latency)} and {@link #getCount(Counter)}.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public class InMemoryMetricsRecorder implements IMetricsRecorder {
+
+    /* The histograms, indexed by latency type. */
+    private final LatencyHistogram[] histograms = new LatencyHistogram[Latency.values().length];
+
+    /* The counters, indexed by counter type. */
+    private final LongAdder[] counters = new LongAdder[Counter.values().length];
+
+
+    /**
+     * Creates the in-memory metrics recorder.
+     */
+    public InMemoryMetricsRecorder() {
+        for (int i = 0; i < histograms.length; i++)
+            histograms[i] = new LatencyHistogram();
+        for (int i = 0; i < counters.length; i++)
+            counters[i] = new LongAdder();
+    }
+
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public void recordLatency(Latency latency, long nanos) {
+        histograms[latency.ordinal()].record(nanos);
+    }
+
+    @Override
+    public void incrementCounter(Counter counter, long delta) {
+        counters[counter.ordinal()].add(delta);
+    }
+
+
+    /**
+     * Returns a snapshot of the histogram of the given latency type.
+     *
+     * @param latency The latency type, must not be null.
+     * @return The snapshot, never null.
+     */
+    public HistogramSnapshot getLatency(Latency latency) {
+        return histograms[requireNonNull(latency).ordinal()].snapshot();
+    }
+
+    /**
+     * Returns the current value of the given counter.
+     *
+     * @param counter The counter, must not be null.
+     * @return The value of the counter.
+     */
+    public long getCount(Counter counter) {
+        return counters[requireNonNull(counter).ordinal()].sum();
+    }
+
+    /**
+     * Resets all histograms and counters.
+     */
+    public void reset() {
+        for (LatencyHistogram histogram : histograms)
+            histogram.reset();
+        for (LongAdder counter : counters)
+            counter.reset();
+    }
+
+
+    @Override
+    public String toString() {
+        ToStringHelper helper = toStringHelper(this);
+        for (Latency latency : Latency.values())
+            helper.add(latency.name(), getLatency(latency));
+        for (Counter counter : Counter.values())
+            helper.add(counter.name(), getCount(counter));
+        return helper.toString();
+    }
+
+}
@@ -0,0 +1,108 @@
+package de.tbressler.quadratum.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.lang.Long.numberOfLeadingZeros;
+
+/**
+ * A lock-free latency histogram with log-linear buckets (similar to HdrHistogram). Values below 32
+ * are recorded exactly, larger values are recorded with 16 buckets per power of two, so the
+ * relative error of a recorded value is below 6.25%.
+ * <p>
+ * Values can be recorded concurrently by multiple threads without locking. A snapshot is not
+ * atomic, values recorded while the snapshot is taken may be missing in the snapshot.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public class LatencyHistogram {
+
+    /* Number of linear sub buckets per power of two (in bits). */
+    private static final int SUB_BUCKET_BITS = 4;
+
+    /* Number of linear sub buckets per power of two. */
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /* Values below this limit are recorded exactly. */
+    private static final int LINEAR_LIMIT = 2 * SUB_BUCKETS;
+
+    /* The number of buckets, which is enough for all positive long values. */
+    static final int BUCKET_COUNT = bucketIndex(Long.MAX_VALUE) + 1;
+
+
+    /* The counts of the buckets. */
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+
+    /* The number of recorded values. */
+    private final LongAdder count = new LongAdder();
+
+    /* The sum of the recorded values. */
+    private final LongAdder sum = new LongAdder();
+
+    /* The minimum recorded value. */
+    private final LongAccumulator min = new LongAccumulator(Math::min, Long.MAX_VALUE);
+
+    /* The maximum recorded value. */
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0L);
+
+
+    /**
+     * Records a value.
+     *
+     * @param value The value, must be >= 0.
+     */
+    public void record(long value) {
+        if (value < 0) throw new AssertionError("value must be >= 0!");
+        buckets.incrementAndGet(bucketIndex(value));
+        count.increment();
+        sum.add(value);
+        min.accumulate(value);
+        max.accumulate(value);
+    }
+
+    /**
+     * Returns a snapshot of the histogram.
+     *
+     * @return The snapshot, never null.
+     */
+    public HistogramSnapshot snapshot() {
+        long[] counts = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++)
+            counts[i] = buckets.get(i);
+        long n = count.sum();
+        return new HistogramSnapshot(counts, n, sum.sum(), (n == 0) ? 0 : min.get(), max.get());
+    }
+
+    /**
+     * Resets the histogram.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++)
+            buckets.set(i, 0);
+        count.reset();
+        sum.reset();
+        min.reset();
+        max.reset();
+    }
+
+
+    /* Returns the index of the bucket for the given value. */
+    static int bucketIndex(long value) {
+        if (value < LINEAR_LIMIT)
+            return (int) value;
+        int shift = (63 - numberOfLeadingZeros(value)) - SUB_BUCKET_BITS;
+        return (shift * SUB_BUCKETS) + (int) (value >>> shift);
+    }
+
+    /* Returns the highest value that is recorded in the bucket with the given index. */
+    static long highestValueOfBucket(int index) {
+        if (index < LINEAR_LIMIT)
+            return index;
+        int shift = (index / SUB_BUCKETS) - 1;
+        long subBucket = (index % SUB_BUCKETS) + SUB_BUCKETS;
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+}
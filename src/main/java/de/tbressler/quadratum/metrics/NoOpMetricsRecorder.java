@@ -0,0 +1,44 @@
+package de.tbressler.quadratum.metrics;
+
+/**
+ * A metrics recorder that discards all metrics. This is the default recorder of all components.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public final class NoOpMetricsRecorder implements IMetricsRecorder {
+
+    /** The shared instance of the recorder. */
+    public static final NoOpMetricsRecorder INSTANCE = new NoOpMetricsRecorder();
+
+
+    /* Private constructor. */
+    private NoOpMetricsRecorder() {}
+
+
+    @Override
+    public boolean isEnabled() {
+        return false;
+    }
+
+    @Override
+    public void recordLatency(Latency latency, long nanos) {
+        // Do nothing.
+    }
+
+    @Override
+    public void incrementCounter(Counter counter, long delta) {
+        // Do nothing.
+    }
+
+    @Override
+    public long startTime() {
+        return 0L;
+    }
+
+    @Override
+    public void recordLatencySince(Latency latency, long startTime) {
+        // Do nothing.
+    }
+
+}
@@ -5,11 +5,14 @@ import java.util.List;
 import java.util.Objects;
 
 import static com.google.common.base.MoreObjects.toStringHelper;
-import static de.tbressler.quadratum.utils.GameBoardUtils.assertIndex;
+import static de.tbressler.quadratum.utils.GameBoardUtils.DEFAULT_SIZE;
+import static de.tbressler.quadratum.utils.GameBoardUtils.assertSize;
+import static java.util.Arrays.fill;
 import static java.util.Objects.requireNonNull;
 
 /**
- * A game board (without any game logic).
+ * A game board (without any game logic). The pieces of the players are stored as bitboards, one
+ * bit per field and 64 fields per word.
  *
  * @author Tobias Bressler
  * @version 1.0
@@ -17,29 +20,73 @@ import static java.util.Objects.requireNonNull;
 public class GameBoard implements IReadOnlyGameBoard {
 
     /* Player one. */
-    private final Player player1;
+    private Player player1;
 
     /* Player two. */
-    private final Player player2;
+    private Player player2;
 
-    /* The fields of the game board. */
-    private int[] board = new int[64];
+    /* The size of the game board. */
+    private final int size;
+
+    /* The bitboard with the pieces of player one. */
+    private final long[] player1Pieces;
+
+    /* The bitboard with the pieces of player two. */
+    private final long[] player2Pieces;
+
+    /* The placed pieces in the order they were placed. */
+    private final int[] moves;
+
+    /* The number of pieces on the game board. */
+    private int pieceCount = 0;
 
     /* The game board listeners. */
     private List<IGameBoardListener> listeners = new ArrayList<>();
 
 
     /**
-     * Creates a game board with the two given players.
+     * Creates a game board with 8x8 fields and the two given players.
      *
      * @param player1 Player one, must not be null.
      * @param player2 Player two, must not be null or equal to player one.
      */
     public GameBoard(Player player1, Player player2) {
+        this(player1, player2, DEFAULT_SIZE);
+    }
+
+    /**
+     * Creates a game board with the given size and the two given players.
+     *
+     * @param player1 Player one, must not be null.
+     * @param player2 Player two, must not be null or equal to player one.
+     * @param size The size of the game board, between 4..16 (e.g. 8 for 8x8 fields).
+     */
+    public GameBoard(Player player1, Player player2, int size) {
         if (Objects.equals(player1, player2))
             throw new AssertionError("player1 must not be equal to player2!");
+        assertSize(size);
         this.player1 = requireNonNull(player1);
         this.player2 = requireNonNull(player2);
+        this.size = size;
+        this.player1Pieces = new long[(size * size + 63) / 64];
+        this.player2Pieces = new long[player1Pieces.length];
+        this.moves = new int[size * size];
+    }
+
+
+    /**
+     * Clears the game board and binds it to the given players. This allows to reuse the game board
+     * for a new match, e.g. in a game pool.
+     *
+     * @param player1 Player one, must not be null.
+     * @param player2 Player two, must not be null or equal to player one.
+     */
+    public void rebindPlayers(Player player1, Player player2) {
+        if (Objects.equals(player1, player2))
+            throw new AssertionError("player1 must not be equal to player2!");
+        this.player1 = requireNonNull(player1);
+        this.player2 = requireNonNull(player2);
+        clear();
     }
 
 
@@ -54,12 +101,19 @@ public class GameBoard implements IReadOnlyGameBoard {
         return player2;
     }
 
+
+    @Override
+    public int getSize() {
+        return size;
+    }
+
     /**
      * Clears the game board.
      */
     public void clear() {
-        for (int i = 0; i < 64; i++)
-            board[i] = 0;
+        fill(player1Pieces, 0L);
+        fill(player2Pieces, 0L);
+        pieceCount = 0;
         fireOnGameBoardCleared();
     }
 
@@ -73,12 +127,14 @@ public class GameBoard implements IReadOnlyGameBoard {
     /**
      * Place a piece on the game board.
      *
-     * @param index The field index, between 0 and 63.
+     * @param index The field index, between 0 and size*size-1.
      * @param player The player, must not be null.
      */
     public void placePiece(int index, Player player) {
         checkPlacePiecePrecondition(index, player);
-        board[index] = (player.equals(player1)) ? 1 : 2;
+        long[] pieces = (player.equals(player1)) ? player1Pieces : player2Pieces;
+        pieces[index >>> 6] |= 1L << index;
+        moves[pieceCount++] = index;
         fireOnPiecePlaced(index, player);
     }
 
@@ -99,24 +155,161 @@ public class GameBoard implements IReadOnlyGameBoard {
     }
 
 
+    /**
+     * Removes a piece from the game board.
+     *
+     * @param index The field index, between 0 and size*size-1. The field must not be empty.
+     * @return The player of the removed piece, never null.
+     */
+    public Player removePiece(int index) {
+        Player player = getPiece(index);
+        if (player == null)
+            throw new AssertionError("The given field index is empty!");
+
+        long[] pieces = (player == player1) ? player1Pieces : player2Pieces;
+        pieces[index >>> 6] &= ~(1L << index);
+        removeFromMoves(index);
+
+        fireOnPieceRemoved(index, player);
+        return player;
+    }
+
+    /* Removes the index from the placed pieces, the last piece is found first. */
+    private void removeFromMoves(int index) {
+        int i = pieceCount - 1;
+        while (moves[i] != index)
+            i--;
+        System.arraycopy(moves, i + 1, moves, i, pieceCount - 1 - i);
+        pieceCount--;
+    }
+
+    /* Notifies all listeners that a piece was removed from the game board. */
+    private void fireOnPieceRemoved(int index, Player player) {
+        for(IGameBoardListener listener : listeners)
+            listener.onPieceRemoved(index, player);
+    }
+
+    /**
+     * Removes the last placed piece from the game board.
+     *
+     * @return The field index of the removed piece.
+     */
+    public int undo() {
+        int index = getLastPlacedIndex();
+        if (index < 0)
+            throw new AssertionError("The game board is empty!");
+        removePiece(index);
+        return index;
+    }
+
+    /**
+     * Returns the field index of the last placed piece or -1 if the game board is empty.
+     *
+     * @return The field index or -1.
+     */
+    public int getLastPlacedIndex() {
+        return (pieceCount == 0) ? -1 : moves[pieceCount - 1];
+    }
+
+    /**
+     * Returns the number of pieces on the game board.
+     *
+     * @return The number of pieces.
+     */
+    public int getPieceCount() {
+        return pieceCount;
+    }
+
+
+    /**
+     * Returns a copy of the bitboard with the pieces of the player (one bit per field and 64 fields
+     * per word).
+     *
+     * @param player The player, must be player one or two of the game board.
+     * @return The bitboard, never null.
+     */
+    public long[] getPieces(Player player) {
+        if (requireNonNull(player).equals(player1))
+            return player1Pieces.clone();
+        if (player.equals(player2))
+            return player2Pieces.clone();
+        throw new AssertionError("Player is unknown at the game board!");
+    }
+
+    /**
+     * Replaces all pieces of the game board with the pieces of the bitboards, e.g. to restore a
+     * snapshot. The listeners are notified once with {@link IGameBoardListener#onGameBoardRestored()}
+     * instead of one notification per piece. The order of the placed pieces is lost, the pieces
+     * are ordered by their field index.
+     *
+     * @param player1Pieces The bitboard of player one, must not be null and must have
+     *                      (size*size+63)/64 words.
+     * @param player2Pieces The bitboard of player two, must not be null and must have
+     *                      (size*size+63)/64 words.
+     */
+    public void restore(long[] player1Pieces, long[] player2Pieces) {
+        checkRestorePrecondition(requireNonNull(player1Pieces), requireNonNull(player2Pieces));
+
+        System.arraycopy(player1Pieces, 0, this.player1Pieces, 0, player1Pieces.length);
+        System.arraycopy(player2Pieces, 0, this.player2Pieces, 0, player2Pieces.length);
+
+        pieceCount = 0;
+        for (int w = 0; w < player1Pieces.length; w++) {
+            long bits = player1Pieces[w] | player2Pieces[w];
+            while (bits != 0) {
+                moves[pieceCount++] = 64 * w + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+            }
+        }
+
+        fireOnGameBoardRestored();
+    }
+
+    /* Checks the preconditions for restoring the bitboards. */
+    private void checkRestorePrecondition(long[] player1Pieces, long[] player2Pieces) {
+        int fieldCount = size * size;
+        if ((player1Pieces.length != this.player1Pieces.length) ||
+                (player2Pieces.length != this.player2Pieces.length))
+            throw new AssertionError("The bitboards must have " + this.player1Pieces.length + " words!");
+        for (int w = 0; w < player1Pieces.length; w++) {
+            if ((player1Pieces[w] & player2Pieces[w]) != 0)
+                throw new AssertionError("A field is occupied by both players!");
+            int fieldsInWord = Math.min(64, fieldCount - 64 * w);
+            long outside = (fieldsInWord == 64) ? 0L : (-1L << fieldsInWord);
+            if (((player1Pieces[w] | player2Pieces[w]) & outside) != 0)
+                throw new AssertionError("A piece is outside of the game board!");
+        }
+    }
+
+    /* Notifies all listeners that the game board was restored. */
+    private void fireOnGameBoardRestored() {
+        for(IGameBoardListener listener : listeners)
+            listener.onGameBoardRestored();
+    }
+
+
     @Override
     public boolean isFieldEmpty(int index) {
         checkFieldIndex(index);
-        return (board[index] == 0);
+        return (((player1Pieces[index >>> 6] | player2Pieces[index >>> 6]) >>> index) & 1L) == 0;
     }
 
     /* Checks if index is in range. */
     private void checkFieldIndex(int index) {
-        assertIndex(index, "Index must be between 0 and 63!");
+        if ((index < 0) || (index >= size * size))
+            throw new AssertionError("Index must be between 0 and " + (size * size - 1) + "!");
     }
 
 
     @Override
     public Player getPiece(int index) {
         checkFieldIndex(index);
-        if (board[index] == 0)
-            return null;
-        return (board[index] == 1) ? player1 : player2;
+        long bit = 1L << index;
+        if ((player1Pieces[index >>> 6] & bit) != 0)
+            return player1;
+        if ((player2Pieces[index >>> 6] & bit) != 0)
+            return player2;
+        return null;
     }
 
 
@@ -130,12 +323,20 @@ public class GameBoard implements IReadOnlyGameBoard {
         listeners.remove(requireNonNull(listener));
     }
 
+    /**
+     * Removes all listeners from the game board.
+     */
+    public void removeAllGameBoardListeners() {
+        listeners.clear();
+    }
+
 
     @Override
     public String toString() {
         return toStringHelper(this)
                 .add("player1", player1)
                 .add("player2", player2)
+                .add("size", size)
                 .toString();
     }
 
@@ -16,9 +16,24 @@ public interface IGameBoardListener {
      */
     void onPiecePlaced(int index, Player player);
 
+    /**
+     * This method is called, if a piece was removed from the game board, e.g. if a move was
+     * undone.
+     *
+     * @param index The index where the piece was removed.
+     * @param player The player of the removed piece.
+     */
+    default void onPieceRemoved(int index, Player player) {}
+
     /**
      * This method is called, if the game board was cleared.
      */
     void onGameBoardCleared();
 
+    /**
+     * This method is called, if all pieces of the game board were replaced at once, e.g. if a
+     * snapshot was restored. No other notification is sent for the pieces.
+     */
+    default void onGameBoardRestored() {}
+
 }
@@ -1,5 +1,7 @@
 package de.tbressler.quadratum.model;
 
+import static de.tbressler.quadratum.utils.GameBoardUtils.DEFAULT_SIZE;
+
 /**
  * Interface for the game board. This interface is used for readonly-access to the game board.
  *
@@ -22,10 +24,22 @@ public interface IReadOnlyGameBoard {
      */
     Player getPlayer2();
 
+    /**
+     * Returns the size of the game board, e.g. 8 for a game board with 8x8 fields.
+     * <p>
+     * The default implementation returns the default size, so implementations of game boards
+     * with 8x8 fields don't have to implement this method.
+     *
+     * @return The size of the game board.
+     */
+    default int getSize() {
+        return DEFAULT_SIZE;
+    }
+
     /**
      * Returns true if the field is empty. Otherwise this method returns false.
      *
-     * @param index The field index, between 0 and 63.
+     * @param index The field index, between 0 and size*size-1.
      * @return True if the field is empty or false.
      */
     boolean isFieldEmpty(int index);
@@ -34,7 +48,7 @@ public interface IReadOnlyGameBoard {
      * Returns the player who placed the piece on the game board or null if no piece was placed
      * on the given field.
      *
-     * @param index The field index, between 0 and 63.
+     * @param index The field index, between 0 and size*size-1.
      * @return The player who placed the piece or null if no piece was placed.
      */
     Player getPiece(int index);
@@ -6,6 +6,7 @@ import java.util.Arrays;
 
 import static com.google.common.base.Joiner.on;
 import static com.google.common.base.MoreObjects.toStringHelper;
+import static de.tbressler.quadratum.utils.GameBoardUtils.DEFAULT_SIZE;
 import static de.tbressler.quadratum.utils.SquareUtils.score;
 import static java.util.Arrays.sort;
 import static java.util.Objects.requireNonNull;
@@ -29,20 +30,31 @@ public class Square {
 
 
     /**
-     * Creates a square.
+     * Creates a square on a game board with 8x8 fields.
      *
      * @param pieces The 4 pieces of the square, must not be null or empty.
      * @param player  The player that scored this square, must not be null.
      */
     public Square(int[] pieces, Player player) {
+        this(pieces, player, DEFAULT_SIZE);
+    }
+
+    /**
+     * Creates a square on a game board with the given size.
+     *
+     * @param pieces The 4 pieces of the square, must not be null or empty.
+     * @param player  The player that scored this square, must not be null.
+     * @param size The size of the game board.
+     */
+    public Square(int[] pieces, Player player, int size) {
         if (requireNonNull(pieces).length != 4)
             throw new AssertionError("pieces array must contain 4 elements!");
-        if (!SquareUtils.isSquare(pieces))
+        if (!SquareUtils.isSquare(size, pieces))
             throw new AssertionError("pieces must form a square!");
 
         sort(pieces);
         this.pieces = pieces;
-        this.score = score(pieces);
+        this.score = score(size, pieces);
 
         this.player = requireNonNull(player);
     }
@@ -0,0 +1,148 @@
+package de.tbressler.quadratum.solver;
+
+import de.tbressler.quadratum.core.Position;
+
+import static de.tbressler.quadratum.core.GameCore.PLAYER1;
+import static de.tbressler.quadratum.core.GameCore.PLAYER2;
+import static de.tbressler.quadratum.utils.GameBoardUtils.assertSize;
+
+/**
+ * The 8 symmetries of a square game board (rotations and reflections). The squares and their
+ * scores don't change under these symmetries, so symmetric positions have the same game theoretic
+ * value. Symmetry 0 is the identity.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+final class BoardSymmetry {
+
+    /** The number of symmetries. */
+    static final int COUNT = 8;
+
+
+    /* The size of the game board. */
+    private final int size;
+
+    /* The field indices after the symmetries, indexed by symmetry and field index. */
+    private final int[][] maps;
+
+    /* The field indices before the symmetries, indexed by symmetry and field index. */
+    private final int[][] inverseMaps;
+
+
+    /**
+     * Creates the symmetries of a game board with the given size.
+     *
+     * @param size The size of the game board, between 4..16.
+     */
+    BoardSymmetry(int size) {
+        assertSize(size);
+        this.size = size;
+        int fieldCount = size * size;
+        int n = size - 1;
+        maps = new int[COUNT][fieldCount];
+        inverseMaps = new int[COUNT][fieldCount];
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                int index = y * size + x;
+                maps[0][index] = index;
+                maps[1][index] = x * size + (n - y);
+                maps[2][index] = (n - y) * size + (n - x);
+                maps[3][index] = (n - x) * size + y;
+                maps[4][index] = y * size + (n - x);
+                maps[5][index] = (n - y) * size + x;
+                maps[6][index] = x * size + y;
+                maps[7][index] = (n - x) * size + (n - y);
+            }
+        }
+        for (int s = 0; s < COUNT; s++)
+            for (int i = 0; i < fieldCount; i++)
+                inverseMaps[s][maps[s][i]] = i;
+    }
+
+
+    /**
+     * Returns the size of the game board.
+     *
+     * @return The size of the game board.
+     */
+    int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the field index after the symmetry.
+     *
+     * @param symmetry The symmetry, between 0..7.
+     * @param index The field index.
+     * @return The transformed field index.
+     */
+    int map(int symmetry, int index) {
+        return maps[symmetry][index];
+    }
+
+    /**
+     * Returns the field index before the symmetry.
+     *
+     * @param symmetry The symmetry, between 0..7.
+     * @param index The transformed field index.
+     * @return The field index.
+     */
+    int unmap(int symmetry, int index) {
+        return inverseMaps[symmetry][index];
+    }
+
+    /**
+     * Returns the position after the symmetry.
+     *
+     * @param symmetry The symmetry, between 0..7.
+     * @param position The position, must have the size of the symmetries.
+     * @return The transformed position, never null.
+     */
+    Position transform(int symmetry, Position position) {
+        int[] map = maps[symmetry];
+        int words = (size * size + 63) / 64;
+        long[][] pieces = new long[2][words];
+        for (int i = 0; i < map.length; i++) {
+            int piece = position.getPiece(i);
+            if (piece >= 0)
+                pieces[piece][map[i] >>> 6] |= 1L << map[i];
+        }
+        return new Position(size, pieces[PLAYER1], pieces[PLAYER2], position.getActivePlayer());
+    }
+
+    /**
+     * Returns the symmetry, which transforms the position to its canonical form. The canonical
+     * form is the same for all symmetric positions, it has the smallest bitboards of player 1 and
+     * then of player 2.
+     *
+     * @param position The position, must have the size of the symmetries.
+     * @return The symmetry, between 0..7.
+     */
+    int getCanonicalSymmetry(Position position) {
+        int best = 0;
+        long[][] bestPieces = null;
+        for (int s = 0; s < COUNT; s++) {
+            Position transformed = transform(s, position);
+            long[][] pieces = {transformed.getPieces(PLAYER1), transformed.getPieces(PLAYER2)};
+            if ((bestPieces == null) || (compare(pieces, bestPieces) < 0)) {
+                best = s;
+                bestPieces = pieces;
+            }
+        }
+        return best;
+    }
+
+    /* Compares the bitboards of both players as unsigned numbers, the highest word first. */
+    private static int compare(long[][] pieces, long[][] other) {
+        for (int p = PLAYER1; p <= PLAYER2; p++) {
+            for (int w = pieces[p].length - 1; w >= 0; w--) {
+                int result = Long.compareUnsigned(pieces[p][w], other[p][w]);
+                if (result != 0)
+                    return result;
+            }
+        }
+        return 0;
+    }
+
+}
@@ -0,0 +1,132 @@
+package de.tbressler.quadratum.solver;
+
+import de.tbressler.quadratum.core.Position;
+import de.tbressler.quadratum.logic.GameOverVerifier.GameOverState;
+
+import java.util.Arrays;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static de.tbressler.quadratum.logic.GameOverVerifier.GameOverState.NOT_OVER;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * The game theoretic value of a position and its optimal moves, i.e. the outcome of the game if
+ * both players play perfectly and the moves of the active player, which keep this outcome. Two
+ * solutions are equal, if the positions, values and optimal moves are equal.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public final class Solution {
+
+    /* The solved position. */
+    private final Position position;
+
+    /* The outcome of the game with perfect play. */
+    private final GameOverState value;
+
+    /* The optimal moves in ascending order. */
+    private final int[] optimalMoves;
+
+    /* The number of searched positions. */
+    private final long nodes;
+
+
+    /**
+     * Creates a solution.
+     *
+     * @param position The solved position, must not be null.
+     * @param value The outcome with perfect play, must not be null or NOT_OVER.
+     * @param optimalMoves The optimal moves, must not be null. Empty if the game is over.
+     * @param nodes The number of searched positions, must not be negative.
+     */
+    public Solution(Position position, GameOverState value, int[] optimalMoves, long nodes) {
+        this.position = requireNonNull(position);
+        if (requireNonNull(value) == NOT_OVER)
+            throw new AssertionError("value must not be NOT_OVER!");
+        if (nodes < 0)
+            throw new AssertionError("nodes must not be negative!");
+        int[] moves = requireNonNull(optimalMoves).clone();
+        Arrays.sort(moves);
+        for (int move : moves)
+            if (position.getPiece(move) >= 0)
+                throw new AssertionError("Optimal moves must be empty fields!");
+        this.value = value;
+        this.optimalMoves = moves;
+        this.nodes = nodes;
+    }
+
+
+    /**
+     * Returns the solved position.
+     *
+     * @return The position, never null.
+     */
+    public Position getPosition() {
+        return position;
+    }
+
+    /**
+     * Returns the outcome of the game if both players play perfectly.
+     *
+     * @return PLAYER1_WON, PLAYER2_WON or GAME_DRAW.
+     */
+    public GameOverState getValue() {
+        return value;
+    }
+
+    /**
+     * Returns the optimal moves of the active player.
+     *
+     * @return The optimal moves in ascending order, never null. Empty if the game is over.
+     */
+    public int[] getOptimalMoves() {
+        return optimalMoves.clone();
+    }
+
+    /**
+     * Returns true if the move is an optimal move of the active player.
+     *
+     * @param index The field index.
+     * @return True if the move is optimal.
+     */
+    public boolean isOptimalMove(int index) {
+        return Arrays.binarySearch(optimalMoves, index) >= 0;
+    }
+
+    /**
+     * Returns the number of positions, which were searched to find the solution.
+     *
+     * @return The number of positions or 0 if the solution was loaded from a book.
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Solution solution = (Solution) o;
+        return position.equals(solution.position) &&
+                (value == solution.value) &&
+                Arrays.equals(optimalMoves, solution.optimalMoves);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * position.hashCode() + value.hashCode()) + Arrays.hashCode(optimalMoves);
+    }
+
+    @Override
+    public String toString() {
+        return toStringHelper(this)
+                .add("position", position)
+                .add("value", value)
+                .add("optimalMoves", Arrays.toString(optimalMoves))
+                .add("nodes", nodes)
+                .toString();
+    }
+
+}
@@ -0,0 +1,197 @@
+package de.tbressler.quadratum.solver;
+
+import de.tbressler.quadratum.core.Position;
+import de.tbressler.quadratum.logic.GameOverVerifier.GameOverState;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static de.tbressler.quadratum.core.GameCore.PLAYER1;
+import static de.tbressler.quadratum.core.GameCore.PLAYER2;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A book of solved positions, e.g. the openings of a small game board, which were solved with
+ * {@link Solver#solveBook(Position, int)}. The solutions are stored once for all symmetric
+ * positions, a lookup returns the solution in the orientation of the requested position.
+ * <p>
+ * The book is immutable and thread-safe. It can be saved to a file and loaded by the bots.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public final class SolutionBook {
+
+    /* The magic number of book files ("QSB1"). */
+    private static final int MAGIC = 0x51534231;
+
+
+    /* The symmetries of the game board. */
+    private final BoardSymmetry symmetry;
+
+    /* The solutions of the canonical positions. */
+    private final Map<Position, Solution> solutions = new HashMap<>();
+
+
+    /**
+     * Creates a book with the given solutions.
+     *
+     * @param size The size of the game board, between 4..16.
+     * @param solutions The solutions, must not be null and must have the size of the book.
+     */
+    public SolutionBook(int size, Collection<Solution> solutions) {
+        this.symmetry = new BoardSymmetry(size);
+        for (Solution solution : requireNonNull(solutions)) {
+            if (solution.getPosition().getSize() != size)
+                throw new AssertionError("Size of solution and book doesn't match!");
+            Solution canonical = transform(solution, symmetry.getCanonicalSymmetry(solution.getPosition()));
+            this.solutions.put(canonical.getPosition(), canonical);
+        }
+    }
+
+
+    /**
+     * Loads a book, which was saved with {@link #save(Path)}.
+     *
+     * @param path The path of the book file, must not be null.
+     * @return The book, never null.
+     * @throws IOException If the file can't be read or is not a valid book file.
+     */
+    public static SolutionBook load(Path path) throws IOException {
+        try (InputStream in = Files.newInputStream(requireNonNull(path));
+             DataInputStream data = new DataInputStream(in)) {
+            if (data.readInt() != MAGIC)
+                throw new IOException("Not a book file!");
+            int size = data.readInt();
+            int count = data.readInt();
+            if ((size < 4) || (size > 16) || (count < 0))
+                throw new IOException("Invalid book header!");
+
+            int words = (size * size + 63) / 64;
+            GameOverState[] states = GameOverState.values();
+            List<Solution> solutions = new ArrayList<>(count);
+            try {
+                for (int i = 0; i < count; i++) {
+                    int activePlayer = data.readByte();
+                    long[] player1Pieces = new long[words];
+                    long[] player2Pieces = new long[words];
+                    for (int w = 0; w < words; w++)
+                        player1Pieces[w] = data.readLong();
+                    for (int w = 0; w < words; w++)
+                        player2Pieces[w] = data.readLong();
+                    int value = data.readByte();
+                    if ((value < 0) || (value >= states.length))
+                        throw new IOException("Invalid value!");
+                    int[] moves = new int[data.readUnsignedShort()];
+                    for (int m = 0; m < moves.length; m++)
+                        moves[m] = data.readUnsignedShort();
+
+                    Position position = new Position(size, player1Pieces, player2Pieces, activePlayer);
+                    solutions.add(new Solution(position, states[value], moves, 0));
+                }
+            } catch (AssertionError | ArrayIndexOutOfBoundsException e) {
+                throw new IOException("Invalid solution!", e);
+            }
+            return new SolutionBook(size, solutions);
+        }
+    }
+
+    /**
+     * Saves the book to a book file.
+     *
+     * @param path The path of the book file, must not be null.
+     * @throws IOException If the file can't be written.
+     */
+    public void save(Path path) throws IOException {
+        try (OutputStream out = Files.newOutputStream(requireNonNull(path));
+             DataOutputStream data = new DataOutputStream(out)) {
+            data.writeInt(MAGIC);
+            data.writeInt(getSize());
+            data.writeInt(solutions.size());
+            for (Solution solution : solutions.values()) {
+                Position position = solution.getPosition();
+                data.writeByte(position.getActivePlayer());
+                for (long word : position.getPieces(PLAYER1))
+                    data.writeLong(word);
+                for (long word : position.getPieces(PLAYER2))
+                    data.writeLong(word);
+                data.writeByte(solution.getValue().ordinal());
+                int[] moves = solution.getOptimalMoves();
+                data.writeShort(moves.length);
+                for (int move : moves)
+                    data.writeShort(move);
+            }
+        }
+    }
+
+
+    /**
+     * Returns the size of the game board.
+     *
+     * @return The size of the game board.
+     */
+    public int getSize() {
+        return symmetry.getSize();
+    }
+
+    /**
+     * Returns the number of solutions. Symmetric positions are counted once.
+     *
+     * @return The number of solutions.
+     */
+    public int getSolutionCount() {
+        return solutions.size();
+    }
+
+    /**
+     * Returns the solution of the position.
+     *
+     * @param position The position, must not be null and must have the size of the book.
+     * @return The solution in the orientation of the position or null, if the position isn't in
+     * the book.
+     */
+    public Solution getSolution(Position position) {
+        requireNonNull(position);
+        if (position.getSize() != getSize())
+            throw new AssertionError("Size of position and book doesn't match!");
+
+        int s = symmetry.getCanonicalSymmetry(position);
+        Solution canonical = solutions.get(symmetry.transform(s, position));
+        if (canonical == null)
+            return null;
+
+        int[] moves = canonical.getOptimalMoves();
+        for (int m = 0; m < moves.length; m++)
+            moves[m] = symmetry.unmap(s, moves[m]);
+        return new Solution(position, canonical.getValue(), moves, 0);
+    }
+
+    /* Returns the solution after the symmetry. */
+    private Solution transform(Solution solution, int s) {
+        int[] moves = solution.getOptimalMoves();
+        for (int m = 0; m < moves.length; m++)
+            moves[m] = symmetry.map(s, moves[m]);
+        return new Solution(symmetry.transform(s, solution.getPosition()), solution.getValue(), moves, 0);
+    }
+
+
+    @Override
+    public String toString() {
+        return toStringHelper(this)
+                .add("size", getSize())
+                .add("solutions", solutions.size())
+                .toString();
+    }
+
+}
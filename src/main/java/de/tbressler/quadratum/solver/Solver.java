@@ -0,0 +1,528 @@
+package de.tbressler.quadratum.solver;
+
+import de.tbressler.quadratum.core.GameCore;
+import de.tbressler.quadratum.core.Position;
+import de.tbressler.quadratum.logic.GameOverVerifier.GameOverState;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+import static de.tbressler.quadratum.core.GameCore.PLAYER1;
+import static de.tbressler.quadratum.core.GameCore.PLAYER2;
+import static de.tbressler.quadratum.logic.GameOverVerifier.GameOverState.GAME_DRAW;
+import static de.tbressler.quadratum.logic.GameOverVerifier.GameOverState.NOT_OVER;
+import static de.tbressler.quadratum.logic.GameOverVerifier.GameOverState.PLAYER1_WON;
+import static de.tbressler.quadratum.logic.GameOverVerifier.GameOverState.PLAYER2_WON;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Solves positions on small game boards exactly, i.e. computes the outcome of the game with
+ * perfect play of both players and the optimal moves of the active player. The rules are the same
+ * as in the game logic with a game over verifier without early termination.
+ * <p>
+ * The solver is an alpha-beta search over win, draw and loss on a {@link GameCore}. The moves are
+ * ordered by the threats of the game core. The results of searched positions are stored in a
+ * shared transposition table, which is keyed by a hash of the position, that is the same for all
+ * 8 symmetric positions (rotations and reflections), so symmetric subtrees are searched once. The
+ * hashes have 64 bits, a collision is possible but very unlikely.
+ * <p>
+ * The first plies are searched in parallel by a fork/join pool: the first move of a position is
+ * searched before the other moves are forked with the improved bounds, the idle workers steal the
+ * forked subtrees. The transposition table is kept between the solve calls and can be used by
+ * parallel solve calls.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public class Solver {
+
+    /** The default number of bits of the transposition table index (2^20 entries, 16 MB). */
+    public static final int DEFAULT_TABLE_BITS = 20;
+
+    /** The default number of plies, which are searched in parallel. */
+    public static final int DEFAULT_SPLIT_DEPTH = 3;
+
+
+    /* The values of a position for the active player. */
+    private static final int LOSS = -1;
+    private static final int WIN = 1;
+
+    /* The bounds of the values in the transposition table. */
+    private static final int EXACT = 1;
+    private static final int LOWER = 2;
+    private static final int UPPER = 3;
+
+
+    /* The size of the game board. */
+    private final int size;
+
+    /* The minimum score for a player to win the game. */
+    private final int minScore;
+
+    /* The minimum difference between the player scores to win the game. */
+    private final int minDifference;
+
+    /* The symmetries of the game board. */
+    private final BoardSymmetry symmetry;
+
+    /* The hash keys of the pieces, indexed by symmetry, player and field index. */
+    private final long[][][] pieceKeys;
+
+    /* The hash key of player 2 as active player. */
+    private final long activePlayerKey;
+
+    /* The number of plies, which are searched in parallel. */
+    private int splitDepth = DEFAULT_SPLIT_DEPTH;
+
+    /* The fork/join pool. */
+    private ForkJoinPool forkJoinPool = ForkJoinPool.commonPool();
+
+    /* The transposition table. */
+    private volatile TranspositionTable table = new TranspositionTable(DEFAULT_TABLE_BITS);
+
+
+    /**
+     * Creates a solver for a game board with the given size and the given winning conditions.
+     *
+     * @param size The size of the game board, between 4..16. Only small game boards can be solved
+     *             in reasonable time.
+     * @param minScore The minimum score to win, must be > 0 (suggested 150).
+     * @param minDifference The minimum difference between score, must be > 0 (suggested 15).
+     */
+    public Solver(int size, int minScore, int minDifference) {
+        if (minScore < 1) throw new AssertionError("minScore must be > 0!");
+        if (minDifference < 1) throw new AssertionError("minDifference must be > 0!");
+        this.symmetry = new BoardSymmetry(size);
+        this.size = size;
+        this.minScore = minScore;
+        this.minDifference = minDifference;
+
+        SplittableRandom random = new SplittableRandom(size);
+        int fieldCount = size * size;
+        long[][] keys = new long[2][fieldCount];
+        for (int i = 0; i < fieldCount; i++) {
+            keys[PLAYER1][i] = random.nextLong();
+            keys[PLAYER2][i] = random.nextLong();
+        }
+        pieceKeys = new long[BoardSymmetry.COUNT][2][fieldCount];
+        for (int s = 0; s < BoardSymmetry.COUNT; s++) {
+            for (int i = 0; i < fieldCount; i++) {
+                pieceKeys[s][PLAYER1][i] = keys[PLAYER1][symmetry.map(s, i)];
+                pieceKeys[s][PLAYER2][i] = keys[PLAYER2][symmetry.map(s, i)];
+            }
+        }
+        activePlayerKey = random.nextLong();
+    }
+
+
+    /**
+     * Sets the size of the transposition table and clears it.
+     *
+     * @param tableBits The number of bits of the table index, between 10..30. The table has
+     *                  2^tableBits entries with 16 bytes.
+     */
+    public void setTableBits(int tableBits) {
+        if ((tableBits < 10) || (tableBits > 30))
+            throw new AssertionError("tableBits must be between 10 and 30!");
+        this.table = new TranspositionTable(tableBits);
+    }
+
+    /**
+     * Clears the transposition table.
+     */
+    public void clearTable() {
+        this.table = new TranspositionTable(table.bits);
+    }
+
+    /**
+     * Sets the number of plies, which are searched in parallel. 0 searches every position in one
+     * task. The default is {@link #DEFAULT_SPLIT_DEPTH}.
+     *
+     * @param splitDepth The number of plies, must not be negative.
+     */
+    public void setSplitDepth(int splitDepth) {
+        if (splitDepth < 0)
+            throw new AssertionError("splitDepth must not be negative!");
+        this.splitDepth = splitDepth;
+    }
+
+    /**
+     * Sets the fork/join pool. The common pool is used by default.
+     *
+     * @param forkJoinPool The fork/join pool, must not be null.
+     */
+    public void setForkJoinPool(ForkJoinPool forkJoinPool) {
+        this.forkJoinPool = requireNonNull(forkJoinPool);
+    }
+
+    /**
+     * Returns the size of the game board.
+     *
+     * @return The size of the game board.
+     */
+    public int getSize() {
+        return size;
+    }
+
+
+    /**
+     * Solves the position.
+     *
+     * @param position The position, must not be null and must have the size of the solver.
+     * @return The solution, never null.
+     */
+    public Solution solve(Position position) {
+        requireNonNull(position);
+        if (position.getSize() != size)
+            throw new AssertionError("Size of position and solver doesn't match!");
+
+        return forkJoinPool.invoke(new SolveTask(new Search(position)));
+    }
+
+    /**
+     * Solves all positions, which can be reached from the root position within the given number
+     * of plies and are not over. Symmetric positions are solved once.
+     *
+     * @param root The root position, must not be null and must have the size of the solver.
+     * @param depth The number of plies, must not be negative.
+     * @return The book with the solutions, never null.
+     */
+    public SolutionBook solveBook(Position root, int depth) {
+        requireNonNull(root);
+        if (root.getSize() != size)
+            throw new AssertionError("Size of position and solver doesn't match!");
+        if (depth < 0)
+            throw new AssertionError("depth must not be negative!");
+
+        List<Solution> solutions = new ArrayList<>();
+        Set<Position> visited = new HashSet<>();
+        Queue<Position> positions = new ArrayDeque<>();
+        positions.add(canonical(root));
+        visited.add(canonical(root));
+
+        GameCore core = new GameCore(size, minScore, minDifference);
+        int[] moves = new int[size * size];
+        for (int ply = 0; (ply <= depth) && !positions.isEmpty(); ply++) {
+            Queue<Position> next = new ArrayDeque<>();
+            for (Position position : positions) {
+                core.setPosition(position);
+                if (core.getState() != NOT_OVER)
+                    continue;
+                solutions.add(solve(position));
+                if (ply == depth)
+                    continue;
+
+                int count = core.getEmptyFields(moves);
+                for (int i = 0; i < count; i++) {
+                    core.makeMoveUnchecked(moves[i]);
+                    Position child = canonical(core.toPosition());
+                    if (visited.add(child))
+                        next.add(child);
+                    core.unmakeMoveUnchecked(moves[i]);
+                }
+            }
+            positions = next;
+        }
+        return new SolutionBook(size, solutions);
+    }
+
+    /* Returns the canonical form of the position. */
+    private Position canonical(Position position) {
+        return symmetry.transform(symmetry.getCanonicalSymmetry(position), position);
+    }
+
+
+    /* Returns the value of a finished game for the player. */
+    private static int valueOf(GameOverState state, int player) {
+        if (state == GAME_DRAW)
+            return 0;
+        return ((state == PLAYER1_WON) == (player == PLAYER1)) ? WIN : LOSS;
+    }
+
+    /* Returns the outcome of the game for the value of the active player. */
+    private static GameOverState toState(int value, int activePlayer) {
+        if (value == 0)
+            return GAME_DRAW;
+        return ((value == WIN) == (activePlayer == PLAYER1)) ? PLAYER1_WON : PLAYER2_WON;
+    }
+
+
+    /* Searches the position of the search with the bounds and returns the value for the active
+       player. The value is exact within the bounds, an upper bound if it is <= alpha and a lower
+       bound if it is >= beta. The position must not be over. */
+    private int search(Search s, int ply, int alpha, int beta) {
+        s.nodes++;
+        TranspositionTable table = this.table;
+        long key = s.key();
+
+        long entry = table.probe(key);
+        if (entry != 0) {
+            int value = (int) (entry & 3) - 2;
+            int bound = (int) (entry >>> 2) & 3;
+            if ((bound == EXACT) || ((bound == LOWER) && (value >= beta)) || ((bound == UPPER) && (value <= alpha)))
+                return value;
+            if (bound == LOWER)
+                alpha = Math.max(alpha, value);
+            else
+                beta = Math.min(beta, value);
+        }
+
+        int originalAlpha = alpha;
+        int[] moves = s.moves[ply];
+        int count = s.core.getOrderedMoves(moves);
+        int best = LOSS - 1;
+
+        for (int i = 0; i < count; i++) {
+            int value;
+            if ((i == 1) && (ply < splitDepth)) {
+                // Search the other moves in parallel with the bounds of the first move:
+                value = searchInParallel(s, ply, moves, 1, count, alpha, beta);
+                i = count;
+            } else {
+                value = searchMove(s, ply, moves[i], alpha, beta);
+            }
+            if (value > best) {
+                best = value;
+                if (value > alpha)
+                    alpha = value;
+                if (alpha >= beta)
+                    break;
+            }
+        }
+
+        int bound = (best <= originalAlpha) ? UPPER : (best >= beta) ? LOWER : EXACT;
+        table.store(key, (best + 2) | ((long) bound << 2) | ((long) s.core.getEmptyFieldCount() << 4));
+        return best;
+    }
+
+    /* Makes the move, searches the position and returns the value for the player of the move. */
+    private int searchMove(Search s, int ply, int move, int alpha, int beta) {
+        int player = s.core.getActivePlayer();
+        s.make(move);
+        GameOverState state = s.core.getState();
+        int value = (state == NOT_OVER) ? -search(s, ply + 1, -beta, -alpha) : valueOf(state, player);
+        s.unmake(move);
+        return value;
+    }
+
+    /* Searches the moves between first and last (exclusive) in parallel and returns the best
+       value. Must be called by a worker of the fork/join pool. */
+    private int searchInParallel(Search s, int ply, int[] moves, int first, int last, int alpha, int beta) {
+        int player = s.core.getActivePlayer();
+        int best = LOSS - 1;
+        List<SearchTask> tasks = new ArrayList<>();
+
+        for (int i = first; i < last; i++) {
+            Search child = s.copy();
+            child.make(moves[i]);
+            GameOverState state = child.core.getState();
+            if (state == NOT_OVER)
+                tasks.add(new SearchTask(child, ply + 1, -beta, -alpha));
+            else
+                best = Math.max(best, valueOf(state, player));
+        }
+        if (best >= beta)
+            return best;
+
+        for (SearchTask task : ForkJoinTask.invokeAll(tasks)) {
+            best = Math.max(best, -task.join());
+            s.nodes += task.search.nodes;
+        }
+        return best;
+    }
+
+
+    /* Solves a position: searches the value and then checks every move in parallel. */
+    @SuppressWarnings("serial")
+    private class SolveTask extends RecursiveTask<Solution> {
+
+        private final Search search;
+
+        SolveTask(Search search) {
+            this.search = search;
+        }
+
+        @Override
+        protected Solution compute() {
+            Position position = search.core.toPosition();
+            int activePlayer = search.core.getActivePlayer();
+            GameOverState state = search.core.getState();
+            if (state != NOT_OVER)
+                return new Solution(position, state, new int[0], 0);
+
+            int value = search(search, 0, LOSS, WIN);
+
+            // A move is optimal, if its value is not below the value of the position:
+            int[] moves = new int[size * size];
+            int count = search.core.getEmptyFields(moves);
+            List<MoveTask> tasks = new ArrayList<>();
+            for (int i = 0; i < count; i++)
+                tasks.add(new MoveTask(search.copy(), moves[i], value));
+
+            int[] optimalMoves = new int[count];
+            int optimalCount = 0;
+            long nodes = search.nodes;
+            for (MoveTask task : invokeAll(tasks)) {
+                if (task.join())
+                    optimalMoves[optimalCount++] = task.move;
+                nodes += task.search.nodes;
+            }
+
+            return new Solution(position, toState(value, activePlayer),
+                    Arrays.copyOf(optimalMoves, optimalCount), nodes);
+        }
+
+    }
+
+    /* Checks if a move reaches the value of the position. */
+    @SuppressWarnings("serial")
+    private class MoveTask extends RecursiveTask<Boolean> {
+
+        private final Search search;
+        private final int move;
+        private final int value;
+
+        MoveTask(Search search, int move, int value) {
+            this.search = search;
+            this.move = move;
+            this.value = value;
+        }
+
+        @Override
+        protected Boolean compute() {
+            // Search with a null window, a value <= -value of the opponent is enough:
+            return searchMove(search, 0, move, value - 1, value) >= value;
+        }
+
+    }
+
+    /* Searches a position and returns the value for the active player. */
+    @SuppressWarnings("serial")
+    private class SearchTask extends RecursiveTask<Integer> {
+
+        private final Search search;
+        private final int ply;
+        private final int alpha;
+        private final int beta;
+
+        SearchTask(Search search, int ply, int alpha, int beta) {
+            this.search = search;
+            this.ply = ply;
+            this.alpha = alpha;
+            this.beta = beta;
+        }
+
+        @Override
+        protected Integer compute() {
+            return search(search, ply, alpha, beta);
+        }
+
+    }
+
+
+    /* The state of a search in one task: the game core, the hashes of all symmetries and the
+       move lists of all plies. */
+    private class Search {
+
+        private final GameCore core;
+        private final long[] hashes = new long[BoardSymmetry.COUNT];
+        private final int[][] moves;
+        private long nodes = 0;
+
+        Search(Position position) {
+            core = new GameCore(size, minScore, minDifference);
+            core.setPosition(position);
+            for (int i = 0; i < size * size; i++) {
+                int piece = core.getPieceUnchecked(i);
+                if (piece >= 0)
+                    for (int s = 0; s < BoardSymmetry.COUNT; s++)
+                        hashes[s] ^= pieceKeys[s][piece][i];
+            }
+            moves = new int[size * size + 1][size * size];
+        }
+
+        private Search(Search other) {
+            core = other.core.copy();
+            System.arraycopy(other.hashes, 0, hashes, 0, hashes.length);
+            moves = new int[size * size + 1][size * size];
+        }
+
+        Search copy() {
+            return new Search(this);
+        }
+
+        void make(int index) {
+            int player = core.getActivePlayer();
+            core.makeMoveUnchecked(index);
+            for (int s = 0; s < BoardSymmetry.COUNT; s++)
+                hashes[s] ^= pieceKeys[s][player][index];
+        }
+
+        void unmake(int index) {
+            int player = core.getPieceUnchecked(index);
+            core.unmakeMoveUnchecked(index);
+            for (int s = 0; s < BoardSymmetry.COUNT; s++)
+                hashes[s] ^= pieceKeys[s][player][index];
+        }
+
+        /* Returns the hash, which is the same for all symmetric positions. */
+        long key() {
+            long key = hashes[0];
+            for (int s = 1; s < BoardSymmetry.COUNT; s++)
+                if (hashes[s] < key)
+                    key = hashes[s];
+            return (core.getActivePlayer() == PLAYER2) ? key ^ activePlayerKey : key;
+        }
+
+    }
+
+    /* A lock-free transposition table with buckets of two entries: the first entry keeps the
+       position with the biggest subtree, the second entry is always replaced. An entry is stored
+       as key^data and data, so that an entry, which was torn by a parallel write, doesn't match
+       its key. The data contains the value, the bound and the number of empty fields. */
+    private static final class TranspositionTable {
+
+        private final int bits;
+        private final int mask;
+        private final long[] keys;
+        private final long[] data;
+
+        TranspositionTable(int bits) {
+            this.bits = bits;
+            this.mask = (1 << bits) - 2;
+            this.keys = new long[1 << bits];
+            this.data = new long[1 << bits];
+        }
+
+        /* Returns the data of the key or 0, if the key isn't stored. */
+        long probe(long key) {
+            int index = (int) key & mask;
+            long entry = data[index];
+            if ((keys[index] ^ entry) == key)
+                return entry;
+            entry = data[index + 1];
+            return ((keys[index + 1] ^ entry) == key) ? entry : 0;
+        }
+
+        /* Stores the data of the key, the data must not be 0. */
+        void store(long key, long entry) {
+            int index = (int) key & mask;
+            long first = data[index];
+            if (((keys[index] ^ first) != key) && ((first >>> 4) > (entry >>> 4)))
+                index++;
+            data[index] = entry;
+            keys[index] = key ^ entry;
+        }
+
+    }
+
+}
@@ -0,0 +1,95 @@
+package de.tbressler.quadratum.tournament;
+
+/**
+ * Utils for Elo ratings. The scores are between 0 (all games lost) and 1 (all games won), a draw
+ * counts as half a win.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public class EloUtils {
+
+    /** The quantile of the normal distribution for a confidence of 95%. */
+    public static final double Z_95 = 1.959964;
+
+
+    /* Private constructor. */
+    private EloUtils() {}
+
+
+    /**
+     * Returns the expected score of a player with the given Elo difference to the opponent.
+     *
+     * @param eloDifference The Elo difference.
+     * @return The expected score, between 0..1.
+     */
+    public static double expectedScore(double eloDifference) {
+        return 1.0 / (1.0 + Math.pow(10.0, -eloDifference / 400.0));
+    }
+
+    /**
+     * Returns the Elo difference, which corresponds to the score. Scores of 0 and 1 are clamped,
+     * so that the difference is finite.
+     *
+     * @param score The score, between 0..1.
+     * @return The Elo difference.
+     */
+    public static double eloDifference(double score) {
+        double clamped = Math.min(Math.max(score, 1e-6), 1.0 - 1e-6);
+        return -400.0 * Math.log10(1.0 / clamped - 1.0);
+    }
+
+    /**
+     * Returns the score of the results.
+     *
+     * @param wins The number of wins.
+     * @param draws The number of draws.
+     * @param losses The number of losses.
+     * @return The score, between 0..1 or 0.5 if no game was played.
+     */
+    public static double score(int wins, int draws, int losses) {
+        int games = wins + draws + losses;
+        return (games == 0) ? 0.5 : (wins + 0.5 * draws) / games;
+    }
+
+    /**
+     * Returns the variance of the score of a single game.
+     *
+     * @param wins The number of wins.
+     * @param draws The number of draws.
+     * @param losses The number of losses.
+     * @return The variance or 0 if no game was played.
+     */
+    public static double variance(int wins, int draws, int losses) {
+        int games = wins + draws + losses;
+        if (games == 0)
+            return 0;
+        double score = score(wins, draws, losses);
+        return (wins * square(1.0 - score) + draws * square(0.5 - score) + losses * square(score)) / games;
+    }
+
+    /**
+     * Returns the error margin of the Elo difference with a confidence of 95%, i.e. half of the
+     * width of the confidence interval.
+     *
+     * @param wins The number of wins.
+     * @param draws The number of draws.
+     * @param losses The number of losses.
+     * @return The error margin, 0 if all games have the same result or infinity if no game was
+     *         played.
+     */
+    public static double errorMargin(int wins, int draws, int losses) {
+        int games = wins + draws + losses;
+        if (games == 0)
+            return Double.POSITIVE_INFINITY;
+        double score = score(wins, draws, losses);
+        double deviation = Z_95 * Math.sqrt(variance(wins, draws, losses) / games);
+        return (eloDifference(score + deviation) - eloDifference(score - deviation)) / 2.0;
+    }
+
+    /* Returns the square of the value. */
+    private static double square(double value) {
+        return value * value;
+    }
+
+}
@@ -0,0 +1,100 @@
+package de.tbressler.quadratum.tournament;
+
+import de.tbressler.quadratum.logic.IPlayerLogic;
+import de.tbressler.quadratum.model.Player;
+
+import java.util.SplittableRandom;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * An entrant of a tournament, e.g. a bot with a specific strategy. The entrant creates a new player
+ * logic for every game, so that games can be played in parallel. Player logics, which use random
+ * numbers, should use the random number generator of the game, so that the tournament is
+ * reproducible with the same seed.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public final class Entrant {
+
+    /* The name of the entrant. */
+    private final String name;
+
+    /* The factory for the player logics. */
+    private final BiFunction<Player, SplittableRandom, IPlayerLogic> playerLogicFactory;
+
+
+    /**
+     * Creates an entrant.
+     *
+     * @param name The name of the entrant, must not be null.
+     * @param playerLogicFactory The factory, which creates a player logic for the given player,
+     *                           must not be null. The factory must be thread-safe.
+     */
+    public Entrant(String name, Function<Player, IPlayerLogic> playerLogicFactory) {
+        requireNonNull(playerLogicFactory);
+        this.name = requireNonNull(name);
+        this.playerLogicFactory = (player, random) -> playerLogicFactory.apply(player);
+    }
+
+    /**
+     * Creates an entrant with player logics, which use the random number generator of the game.
+     *
+     * @param name The name of the entrant, must not be null.
+     * @param playerLogicFactory The factory, which creates a player logic for the given player and
+     *                           random number generator, must not be null. The factory must be
+     *                           thread-safe.
+     */
+    public Entrant(String name, BiFunction<Player, SplittableRandom, IPlayerLogic> playerLogicFactory) {
+        this.name = requireNonNull(name);
+        this.playerLogicFactory = requireNonNull(playerLogicFactory);
+    }
+
+
+    /**
+     * Returns the name of the entrant.
+     *
+     * @return The name, never null.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Creates a player logic for a game with an unseeded random number generator.
+     *
+     * @param player The player, must not be null.
+     * @return The player logic, never null.
+     */
+    public IPlayerLogic createPlayerLogic(Player player) {
+        return createPlayerLogic(player, new SplittableRandom());
+    }
+
+    /**
+     * Creates a player logic for a game.
+     *
+     * @param player The player, must not be null.
+     * @param random The random number generator for the player logic, must not be null.
+     * @return The player logic, never null.
+     */
+    public IPlayerLogic createPlayerLogic(Player player, SplittableRandom random) {
+        IPlayerLogic playerLogic = requireNonNull(playerLogicFactory.apply(requireNonNull(player),
+                requireNonNull(random)));
+        if (playerLogic.getPlayer() != player)
+            throw new AssertionError("The player logic must use the given player!");
+        return playerLogic;
+    }
+
+
+    @Override
+    public String toString() {
+        return toStringHelper(this)
+                .add("name", name)
+                .toString();
+    }
+
+}
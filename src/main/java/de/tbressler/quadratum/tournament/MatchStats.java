@@ -0,0 +1,117 @@
+package de.tbressler.quadratum.tournament;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+
+/**
+ * The immutable results of the games between two entrants from the view of the first entrant.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public final class MatchStats {
+
+    /* The number of wins, draws and losses. */
+    private final int wins;
+    private final int draws;
+    private final int losses;
+
+
+    /**
+     * Creates the results.
+     *
+     * @param wins The number of wins, must not be negative.
+     * @param draws The number of draws, must not be negative.
+     * @param losses The number of losses, must not be negative.
+     */
+    public MatchStats(int wins, int draws, int losses) {
+        if ((wins < 0) || (draws < 0) || (losses < 0))
+            throw new AssertionError("The results must not be negative!");
+        this.wins = wins;
+        this.draws = draws;
+        this.losses = losses;
+    }
+
+
+    /**
+     * Returns the number of wins.
+     *
+     * @return The number of wins.
+     */
+    public int getWins() {
+        return wins;
+    }
+
+    /**
+     * Returns the number of draws.
+     *
+     * @return The number of draws.
+     */
+    public int getDraws() {
+        return draws;
+    }
+
+    /**
+     * Returns the number of losses.
+     *
+     * @return The number of losses.
+     */
+    public int getLosses() {
+        return losses;
+    }
+
+    /**
+     * Returns the number of games.
+     *
+     * @return The number of games.
+     */
+    public int getGameCount() {
+        return wins + draws + losses;
+    }
+
+    /**
+     * Returns the score, a draw counts as half a win.
+     *
+     * @return The score between 0..1 or 0.5 if no game was played.
+     */
+    public double getScore() {
+        return EloUtils.score(wins, draws, losses);
+    }
+
+    /**
+     * Returns the Elo difference to the opponent.
+     *
+     * @return The Elo difference.
+     */
+    public double getEloDifference() {
+        return EloUtils.eloDifference(getScore());
+    }
+
+    /**
+     * Returns the error margin of the Elo difference with a confidence of 95%.
+     *
+     * @return The error margin or infinity if no game was played.
+     */
+    public double getErrorMargin() {
+        return EloUtils.errorMargin(wins, draws, losses);
+    }
+
+    /**
+     * Returns the results from the view of the opponent.
+     *
+     * @return The results, never null.
+     */
+    public MatchStats reverse() {
+        return new MatchStats(losses, draws, wins);
+    }
+
+
+    @Override
+    public String toString() {
+        return toStringHelper(this)
+                .add("wins", wins)
+                .add("draws", draws)
+                .add("losses", losses)
+                .toString();
+    }
+
+}
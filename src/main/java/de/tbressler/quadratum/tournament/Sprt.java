@@ -0,0 +1,127 @@
+package de.tbressler.quadratum.tournament;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static de.tbressler.quadratum.tournament.EloUtils.expectedScore;
+import static de.tbressler.quadratum.tournament.EloUtils.score;
+import static de.tbressler.quadratum.tournament.EloUtils.variance;
+
+/**
+ * Sequential probability ratio test (SPRT) for the Elo difference of two entrants. The test decides
+ * between the hypothesis H0 (the difference is elo0) and H1 (the difference is elo1) as soon as the
+ * results are significant. The log-likelihood ratio is approximated with the normal distribution
+ * of the scores (generalized SPRT).
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public final class Sprt {
+
+    /** The decision of the test. */
+    public enum Decision {
+        /** The results are not significant yet. */
+        CONTINUE,
+        /** The Elo difference is elo0 or lower. */
+        ACCEPT_H0,
+        /** The Elo difference is elo1 or higher. */
+        ACCEPT_H1
+    }
+
+
+    /* The lower bound of the variance, so that the test terminates if all games have the same result. */
+    private static final double MIN_VARIANCE = 1e-3;
+
+    /* The Elo differences of the hypotheses. */
+    private final double elo0;
+    private final double elo1;
+
+    /* The bounds of the log-likelihood ratio. */
+    private final double lowerBound;
+    private final double upperBound;
+
+
+    /**
+     * Creates the test.
+     *
+     * @param elo0 The Elo difference of H0.
+     * @param elo1 The Elo difference of H1, must be greater than elo0.
+     * @param alpha The probability of a false positive (accepting H1 if H0 is true), between 0..1.
+     * @param beta The probability of a false negative (accepting H0 if H1 is true), between 0..1.
+     */
+    public Sprt(double elo0, double elo1, double alpha, double beta) {
+        if (elo1 <= elo0)
+            throw new AssertionError("elo1 must be greater than elo0!");
+        if ((alpha <= 0) || (alpha >= 1) || (beta <= 0) || (beta >= 1))
+            throw new AssertionError("alpha and beta must be between 0 and 1!");
+        this.elo0 = elo0;
+        this.elo1 = elo1;
+        this.lowerBound = Math.log(beta / (1 - alpha));
+        this.upperBound = Math.log((1 - beta) / alpha);
+    }
+
+
+    /**
+     * Returns the log-likelihood ratio of the results.
+     *
+     * @param wins The number of wins.
+     * @param draws The number of draws.
+     * @param losses The number of losses.
+     * @return The log-likelihood ratio or 0 if no game was played.
+     */
+    public double getLogLikelihoodRatio(int wins, int draws, int losses) {
+        int games = wins + draws + losses;
+        if (games == 0)
+            return 0;
+        double score0 = expectedScore(elo0);
+        double score1 = expectedScore(elo1);
+        double score = score(wins, draws, losses);
+        double variance = Math.max(variance(wins, draws, losses), MIN_VARIANCE);
+        return games * (score1 - score0) * (2 * score - score0 - score1) / (2 * variance);
+    }
+
+    /**
+     * Tests the results.
+     *
+     * @param wins The number of wins.
+     * @param draws The number of draws.
+     * @param losses The number of losses.
+     * @return The decision, never null.
+     */
+    public Decision test(int wins, int draws, int losses) {
+        double llr = getLogLikelihoodRatio(wins, draws, losses);
+        if (llr >= upperBound)
+            return Decision.ACCEPT_H1;
+        if (llr <= lowerBound)
+            return Decision.ACCEPT_H0;
+        return Decision.CONTINUE;
+    }
+
+    /**
+     * Returns the lower bound of the log-likelihood ratio, at which H0 is accepted.
+     *
+     * @return The lower bound.
+     */
+    public double getLowerBound() {
+        return lowerBound;
+    }
+
+    /**
+     * Returns the upper bound of the log-likelihood ratio, at which H1 is accepted.
+     *
+     * @return The upper bound.
+     */
+    public double getUpperBound() {
+        return upperBound;
+    }
+
+
+    @Override
+    public String toString() {
+        return toStringHelper(this)
+                .add("elo0", elo0)
+                .add("elo1", elo1)
+                .add("lowerBound", lowerBound)
+                .add("upperBound", upperBound)
+                .toString();
+    }
+
+}
@@ -0,0 +1,200 @@
+package de.tbressler.quadratum.tournament;
+
+import de.tbressler.quadratum.evaluation.WeightedEvaluator;
+import de.tbressler.quadratum.logic.players.BotPlayerLogic;
+import de.tbressler.quadratum.logic.players.BotPlayerLogic.Strategy;
+import de.tbressler.quadratum.utils.SeedSequence;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+
+import static java.util.Arrays.asList;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Optimizes the weights of a {@link WeightedEvaluator} by self-play with simultaneous perturbation
+ * stochastic approximation (SPSA). In every iteration all weights are perturbed at once in a random
+ * direction. A bot with the weights plus the perturbation plays against a bot with the weights minus
+ * the perturbation, and the weights are moved towards the winner. The games of an iteration are
+ * played in parallel by a {@link Tournament}.
+ * <p>
+ * The tuner is reproducible: with the same seed it returns the same weights regardless of the
+ * number of threads.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public class SpsaTuner {
+
+    /** The default number of iterations. */
+    public static final int DEFAULT_ITERATIONS = 100;
+
+    /** The default number of game pairs per iteration. */
+    public static final int DEFAULT_GAME_PAIRS = 8;
+
+    /** The default step size of the first iteration. */
+    public static final double DEFAULT_STEP_SIZE = 0.5;
+
+    /** The default perturbation of the first iteration. */
+    public static final double DEFAULT_PERTURBATION = 0.2;
+
+
+    /* The decay exponent of the step size. */
+    private static final double ALPHA = 0.602;
+
+    /* The decay exponent of the perturbation. */
+    private static final double GAMMA = 0.101;
+
+
+    /* The strategy of the bots. */
+    private final Strategy strategy;
+
+    /* The initial evaluator. */
+    private final WeightedEvaluator initialEvaluator;
+
+    /* The number of iterations. */
+    private int iterations = DEFAULT_ITERATIONS;
+
+    /* The number of game pairs per iteration. */
+    private int gamePairs = DEFAULT_GAME_PAIRS;
+
+    /* The step size of the first iteration. */
+    private double stepSize = DEFAULT_STEP_SIZE;
+
+    /* The perturbation of the first iteration. */
+    private double perturbation = DEFAULT_PERTURBATION;
+
+    /* The executor for the games. */
+    private ExecutorService executor = ForkJoinPool.commonPool();
+
+    /* The seeds of the iterations. */
+    private SeedSequence seeds = new SeedSequence(new SplittableRandom().nextLong());
+
+
+    /**
+     * Creates a tuner for bots on game boards with 8x8 fields.
+     *
+     * @param strategy The strategy of the bots, must not be null.
+     * @param initialEvaluator The evaluator with the initial weights, must not be null.
+     */
+    public SpsaTuner(Strategy strategy, WeightedEvaluator initialEvaluator) {
+        this.strategy = requireNonNull(strategy);
+        this.initialEvaluator = requireNonNull(initialEvaluator);
+    }
+
+
+    /**
+     * Sets the number of iterations. The default is {@link #DEFAULT_ITERATIONS}.
+     *
+     * @param iterations The number of iterations, must be positive.
+     */
+    public void setIterations(int iterations) {
+        if (iterations <= 0)
+            throw new AssertionError("iterations must be positive!");
+        this.iterations = iterations;
+    }
+
+    /**
+     * Sets the number of game pairs per iteration. The default is {@link #DEFAULT_GAME_PAIRS}.
+     *
+     * @param gamePairs The number of game pairs, must be positive.
+     */
+    public void setGamePairs(int gamePairs) {
+        if (gamePairs <= 0)
+            throw new AssertionError("gamePairs must be positive!");
+        this.gamePairs = gamePairs;
+    }
+
+    /**
+     * Sets the step size and the perturbation of the first iteration. Both decrease with the
+     * number of iterations.
+     *
+     * @param stepSize The step size, must be positive.
+     * @param perturbation The perturbation, must be positive.
+     */
+    public void setGains(double stepSize, double perturbation) {
+        if (!(stepSize > 0) || !(perturbation > 0))
+            throw new AssertionError("stepSize and perturbation must be positive!");
+        this.stepSize = stepSize;
+        this.perturbation = perturbation;
+    }
+
+    /**
+     * Sets the executor for the games. The common fork/join pool is used by default.
+     *
+     * @param executor The executor, must not be null.
+     */
+    public void setExecutor(ExecutorService executor) {
+        this.executor = requireNonNull(executor);
+    }
+
+    /**
+     * Sets the master seed for the perturbations and the games. A random seed is used by default.
+     *
+     * @param masterSeed The master seed.
+     */
+    public void setSeed(long masterSeed) {
+        this.seeds = new SeedSequence(masterSeed);
+    }
+
+
+    /**
+     * Optimizes the weights. The result can be saved with {@link WeightedEvaluator#save}.
+     *
+     * @return The evaluator with the optimized weights, never null.
+     */
+    public WeightedEvaluator tune() {
+        double[] weights = initialEvaluator.getWeights();
+        double[] plus = new double[weights.length];
+        double[] minus = new double[weights.length];
+        double[] direction = new double[weights.length];
+        double stability = iterations / 10.0;
+
+        for (int k = 0; k < iterations; k++) {
+            double a = stepSize / Math.pow(k + 1 + stability, ALPHA);
+            double c = perturbation / Math.pow(k + 1, GAMMA);
+
+            SplittableRandom random = seeds.getRandom(k);
+            for (int i = 0; i < weights.length; i++) {
+                direction[i] = random.nextBoolean() ? 1.0 : -1.0;
+                plus[i] = Math.max(0, weights[i] + c * direction[i]);
+                minus[i] = Math.max(0, weights[i] - c * direction[i]);
+            }
+
+            double score = playMatch(new WeightedEvaluator(plus), new WeightedEvaluator(minus), random.nextLong());
+
+            // The score difference of plus and minus is (2 * score - 1):
+            for (int i = 0; i < weights.length; i++)
+                weights[i] = Math.max(0, weights[i] + a * (2 * score - 1) / (2 * c * direction[i]));
+        }
+
+        return new WeightedEvaluator(weights);
+    }
+
+    /* Plays the games between the evaluators and returns the score of the first evaluator. */
+    private double playMatch(WeightedEvaluator first, WeightedEvaluator second, long seed) {
+        Entrant firstEntrant = createEntrant("plus", first);
+        Entrant secondEntrant = createEntrant("minus", second);
+
+        Tournament tournament = new Tournament(asList(firstEntrant, secondEntrant));
+        tournament.setExecutor(executor);
+        tournament.setSeed(seed);
+        tournament.setMaxRounds(1);
+        tournament.setGamePairsPerRound(gamePairs);
+
+        return tournament.run().getStats(firstEntrant, secondEntrant).getScore();
+    }
+
+    /* Creates an entrant, whose bots use the evaluator and the random number generator of the
+       game. */
+    private Entrant createEntrant(String name, WeightedEvaluator evaluator) {
+        return new Entrant(name, (player, random) -> {
+            BotPlayerLogic botPlayerLogic = new BotPlayerLogic(player, strategy);
+            botPlayerLogic.setEvaluator(evaluator);
+            botPlayerLogic.setRandom(random);
+            return botPlayerLogic;
+        });
+    }
+
+}
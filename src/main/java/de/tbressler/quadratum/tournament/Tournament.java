@@ -0,0 +1,354 @@
+package de.tbressler.quadratum.tournament;
+
+import com.google.common.collect.ImmutableList;
+import de.tbressler.quadratum.logic.GameLogic;
+import de.tbressler.quadratum.logic.GameOverVerifier;
+import de.tbressler.quadratum.logic.GamePool;
+import de.tbressler.quadratum.logic.IGameLogicListener;
+import de.tbressler.quadratum.model.Player;
+import de.tbressler.quadratum.model.Square;
+import de.tbressler.quadratum.tournament.Sprt.Decision;
+import de.tbressler.quadratum.utils.SeedSequence;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import static de.tbressler.quadratum.logic.GameOverVerifier.EarlyTermination.DISABLED;
+import static de.tbressler.quadratum.logic.GamePool.ReleasePolicy.MANUAL;
+import static de.tbressler.quadratum.tournament.Sprt.Decision.CONTINUE;
+import static de.tbressler.quadratum.utils.GameBoardUtils.DEFAULT_SIZE;
+import static java.util.Arrays.fill;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A tournament between entrants, e.g. bots with different configurations. The games of a round are
+ * played in parallel. Every pairing of a round plays game pairs, in which both entrants play as
+ * player 1 and player 2 once. The starting player alternates between the game pairs, so that the
+ * colors and the starting players are balanced.
+ * <p>
+ * If a SPRT is set, a pairing is not continued once the test has decided, and the tournament stops
+ * early if all pairings are decided. The games are played with a game pool, so that the game
+ * objects are reused.
+ * <p>
+ * Every game gets its own random number generator, which is derived from the master seed and the
+ * index of the game. So a tournament with the same seed and entrants, which use these generators,
+ * has the same results regardless of the number of threads.
+ * <p>
+ * The player logics of the entrants must make their moves synchronously or on other threads than
+ * the threads of the executor, because the games are waiting for their moves.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public class Tournament {
+
+    /** The pairing system. */
+    public enum Pairing {
+        /** Every entrant plays against every other entrant in every round. */
+        ROUND_ROBIN,
+        /** The entrants are paired with entrants of similar score in every round. */
+        SWISS
+    }
+
+    /** The default maximum number of rounds. */
+    public static final int DEFAULT_MAX_ROUNDS = 100;
+
+
+    /* The entrants. */
+    private final List<Entrant> entrants;
+
+    /* The game pool. */
+    private final GamePool gamePool;
+
+    /* The pairing system. */
+    private Pairing pairing = Pairing.ROUND_ROBIN;
+
+    /* The maximum number of rounds. */
+    private int maxRounds = DEFAULT_MAX_ROUNDS;
+
+    /* The number of game pairs per pairing and round. */
+    private int gamePairsPerRound = Runtime.getRuntime().availableProcessors();
+
+    /* The SPRT or null. */
+    private Sprt sprt = null;
+
+    /* The executor for the games. */
+    private ExecutorService executor = ForkJoinPool.commonPool();
+
+    /* The seeds of the games. */
+    private SeedSequence seeds = new SeedSequence(new SplittableRandom().nextLong());
+
+
+    /**
+     * Creates a tournament on game boards with 8x8 fields and the default winning conditions (150
+     * points and 15 points difference).
+     *
+     * @param entrants The entrants, must not be null and must contain at least two entrants.
+     */
+    public Tournament(List<Entrant> entrants) {
+        this(entrants, () -> new GameOverVerifier(150, 15, DISABLED, DEFAULT_SIZE));
+    }
+
+    /**
+     * Creates a tournament with custom game over verifiers, e.g. for other board sizes.
+     *
+     * @param entrants The entrants, must not be null and must contain at least two entrants.
+     * @param gameOverVerifierFactory The factory for the game over verifiers, must not be null.
+     */
+    public Tournament(List<Entrant> entrants, Supplier<GameOverVerifier> gameOverVerifierFactory) {
+        if (requireNonNull(entrants).size() < 2)
+            throw new AssertionError("The tournament needs at least two entrants!");
+        this.entrants = ImmutableList.copyOf(entrants);
+        this.gamePool = new GamePool(2 * Runtime.getRuntime().availableProcessors(), MANUAL,
+                requireNonNull(gameOverVerifierFactory));
+    }
+
+
+    /**
+     * Sets the pairing system. The default is {@link Pairing#ROUND_ROBIN}.
+     *
+     * @param pairing The pairing system, must not be null.
+     */
+    public void setPairing(Pairing pairing) {
+        this.pairing = requireNonNull(pairing);
+    }
+
+    /**
+     * Sets the maximum number of rounds. The default is {@link #DEFAULT_MAX_ROUNDS}.
+     *
+     * @param maxRounds The maximum number of rounds, must be positive.
+     */
+    public void setMaxRounds(int maxRounds) {
+        if (maxRounds <= 0)
+            throw new AssertionError("maxRounds must be positive!");
+        this.maxRounds = maxRounds;
+    }
+
+    /**
+     * Sets the number of game pairs per pairing and round. The default is the number of cores.
+     *
+     * @param gamePairsPerRound The number of game pairs, must be positive.
+     */
+    public void setGamePairsPerRound(int gamePairsPerRound) {
+        if (gamePairsPerRound <= 0)
+            throw new AssertionError("gamePairsPerRound must be positive!");
+        this.gamePairsPerRound = gamePairsPerRound;
+    }
+
+    /**
+     * Sets the SPRT, which decides when a pairing is finished.
+     *
+     * @param sprt The SPRT or null, if all rounds should be played.
+     */
+    public void setSprt(Sprt sprt) {
+        this.sprt = sprt;
+    }
+
+    /**
+     * Sets the executor for the games. The common fork/join pool is used by default.
+     *
+     * @param executor The executor, must not be null.
+     */
+    public void setExecutor(ExecutorService executor) {
+        this.executor = requireNonNull(executor);
+    }
+
+
+    /**
+     * Sets the master seed for the random number generators of the games. A random seed is used by
+     * default.
+     *
+     * @param masterSeed The master seed.
+     */
+    public void setSeed(long masterSeed) {
+        this.seeds = new SeedSequence(masterSeed);
+    }
+
+
+    /**
+     * Plays the tournament.
+     *
+     * @return The result, never null.
+     */
+    public TournamentResult run() {
+        int n = entrants.size();
+        int[][][] results = new int[n][n][3];
+        Decision[][] decisions = null;
+        if (sprt != null) {
+            decisions = new Decision[n][n];
+            for (Decision[] row : decisions)
+                fill(row, CONTINUE);
+        }
+
+        int round = 0;
+        long gameIndex = 0;
+        boolean stoppedEarly = false;
+        while (round < maxRounds) {
+            List<int[]> pairs = (pairing == Pairing.ROUND_ROBIN) ?
+                    pairRoundRobin(decisions) : pairSwiss(results, decisions);
+            if (pairs.isEmpty()) {
+                stoppedEarly = true;
+                break;
+            }
+
+            gameIndex = playRound(round, gameIndex, pairs, results);
+            round++;
+
+            if (decisions != null)
+                for (int[] pair : pairs)
+                    updateDecisions(results, decisions, pair[0], pair[1]);
+        }
+
+        return new TournamentResult(entrants, results, decisions, round, stoppedEarly);
+    }
+
+    /* Returns all pairings, which are not decided. */
+    private List<int[]> pairRoundRobin(Decision[][] decisions) {
+        List<int[]> pairs = new ArrayList<>();
+        for (int i = 0; i < entrants.size(); i++)
+            for (int j = i + 1; j < entrants.size(); j++)
+                if (isOpen(decisions, i, j))
+                    pairs.add(new int[]{i, j});
+        return pairs;
+    }
+
+    /* Pairs the entrants in the order of their points. Every entrant is paired with the next
+       entrant, against which it played the fewest games and whose pairing is not decided. Entrants
+       with fewer games are paired first, so that an entrant without opponent doesn't sit out
+       twice in a row. */
+    private List<int[]> pairSwiss(int[][][] results, Decision[][] decisions) {
+        int n = entrants.size();
+        double[] points = new double[n];
+        int[] games = new int[n];
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                points[i] += results[i][j][0] + 0.5 * results[i][j][1];
+                games[i] += results[i][j][0] + results[i][j][1] + results[i][j][2];
+            }
+            order.add(i);
+        }
+        order.sort(Comparator.comparingDouble((Integer i) -> -points[i])
+                .thenComparingInt(i -> games[i])
+                .thenComparingInt(i -> i));
+
+        List<int[]> pairs = new ArrayList<>();
+        boolean[] paired = new boolean[n];
+        for (int a = 0; a < n; a++) {
+            int i = order.get(a);
+            if (paired[i])
+                continue;
+            int opponent = -1;
+            int minGames = Integer.MAX_VALUE;
+            for (int b = a + 1; b < n; b++) {
+                int j = order.get(b);
+                int gamesOfPairing = results[i][j][0] + results[i][j][1] + results[i][j][2];
+                if (!paired[j] && isOpen(decisions, i, j) && (gamesOfPairing < minGames)) {
+                    opponent = j;
+                    minGames = gamesOfPairing;
+                }
+            }
+            if (opponent < 0)
+                continue;
+            paired[i] = true;
+            paired[opponent] = true;
+            pairs.add(new int[]{i, opponent});
+        }
+        return pairs;
+    }
+
+    /* Returns true if the pairing is not decided by the SPRT for both entrants. */
+    private static boolean isOpen(Decision[][] decisions, int i, int j) {
+        return (decisions == null) || (decisions[i][j] == CONTINUE) || (decisions[j][i] == CONTINUE);
+    }
+
+    /* Tests the results of the pairing with the SPRT from the view of both entrants. */
+    private void updateDecisions(int[][][] results, Decision[][] decisions, int i, int j) {
+        int[] result = results[i][j];
+        decisions[i][j] = sprt.test(result[0], result[1], result[2]);
+        decisions[j][i] = sprt.test(result[2], result[1], result[0]);
+    }
+
+    /* Plays the games of a round in parallel and adds the results. Returns the index of the next
+       game. */
+    private long playRound(int round, long gameIndex, List<int[]> pairs, int[][][] results) {
+        List<Callable<int[]>> games = new ArrayList<>();
+        for (int[] pair : pairs) {
+            for (int k = 0; k < gamePairsPerRound; k++) {
+                boolean player1Starts = ((round * gamePairsPerRound + k) % 2) == 0;
+                long firstIndex = gameIndex++;
+                long secondIndex = gameIndex++;
+                games.add(() -> new int[]{pair[0], pair[1],
+                        playGame(pair[0], pair[1], player1Starts, firstIndex)});
+                games.add(() -> new int[]{pair[1], pair[0],
+                        playGame(pair[1], pair[0], player1Starts, secondIndex)});
+            }
+        }
+
+        try {
+            for (Future<int[]> future : executor.invokeAll(games)) {
+                int[] game = future.get();
+                int outcome = game[2];
+                results[game[0]][game[1]][1 - outcome]++;
+                results[game[1]][game[0]][1 + outcome]++;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Tournament was interrupted!", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Game failed!", e.getCause());
+        }
+        return gameIndex;
+    }
+
+    /* Plays a game. Returns 1 if the first entrant won, 0 for a draw and -1 if the second entrant
+       won. */
+    private int playGame(int first, int second, boolean player1Starts, long gameIndex) {
+        Player player1 = new Player(entrants.get(first).getName());
+        Player player2 = new Player(entrants.get(second).getName());
+        SplittableRandom random = seeds.getRandom(gameIndex);
+        GameLogic gameLogic = gamePool.lease(entrants.get(first).createPlayerLogic(player1, random.split()),
+                entrants.get(second).createPlayerLogic(player2, random.split()));
+
+        CompletableFuture<Integer> outcome = new CompletableFuture<>();
+        gameLogic.addGameLogicListener(new IGameLogicListener() {
+            @Override
+            public void onGameOver(Player winner) {
+                outcome.complete((winner == null) ? 0 : (winner == player1) ? 1 : -1);
+            }
+
+            @Override
+            public void onNewSquaresFound(Player player, Set<Square> squares) {
+                // Nothing to do.
+            }
+
+            @Override
+            public void onActivePlayerChanged(Player activePlayer) {
+                // Nothing to do.
+            }
+
+            @Override
+            public void onGameStarted(Player activePlayer) {
+                // Nothing to do.
+            }
+        });
+
+        try {
+            gameLogic.startGame(player1Starts ? player1 : player2);
+            return outcome.join();
+        } finally {
+            gamePool.release(gameLogic);
+        }
+    }
+
+}
@@ -0,0 +1,228 @@
+package de.tbressler.quadratum.tournament;
+
+import com.google.common.collect.ImmutableList;
+import de.tbressler.quadratum.tournament.Sprt.Decision;
+
+import java.util.List;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static java.util.Arrays.fill;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * The immutable result of a tournament with the ratings of the entrants and the results of all
+ * pairings. The ratings are Elo ratings relative to the average of all entrants, which are fitted
+ * to the results of all games (Bradley-Terry model).
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public final class TournamentResult {
+
+    /* The maximum number of iterations of the rating fit. */
+    private static final int MAX_ITERATIONS = 10000;
+
+    /* The precision of the rating fit. */
+    private static final double PRECISION = 1e-10;
+
+
+    /* The entrants. */
+    private final List<Entrant> entrants;
+
+    /* The wins, draws and losses of every pairing from the view of the first entrant. */
+    private final int[][][] results;
+
+    /* The SPRT decisions of the pairings or null, if the tournament had no SPRT. */
+    private final Decision[][] decisions;
+
+    /* The number of rounds. */
+    private final int roundCount;
+
+    /* True if the tournament was stopped, because all pairings were decided by the SPRT. */
+    private final boolean stoppedEarly;
+
+    /* The ratings of the entrants. */
+    private final double[] ratings;
+
+
+    /* Creates the result, the arrays must not be modified afterwards. */
+    TournamentResult(List<Entrant> entrants, int[][][] results, Decision[][] decisions, int roundCount,
+                     boolean stoppedEarly) {
+        this.entrants = ImmutableList.copyOf(entrants);
+        this.results = results;
+        this.decisions = decisions;
+        this.roundCount = roundCount;
+        this.stoppedEarly = stoppedEarly;
+        this.ratings = fitRatings();
+    }
+
+    /* Fits the ratings to the results. Every pairing, which has played, gets one virtual draw, so
+       that entrants without wins or losses get finite ratings. */
+    private double[] fitRatings() {
+        int n = entrants.size();
+        double[] strengths = new double[n];
+        fill(strengths, 1.0);
+
+        for (int iteration = 0; iteration < MAX_ITERATIONS; iteration++) {
+            double maxChange = 0;
+            for (int i = 0; i < n; i++) {
+                double points = 0;
+                double weight = 0;
+                for (int j = 0; j < n; j++) {
+                    int games = getGameCount(i, j);
+                    if ((i == j) || (games == 0))
+                        continue;
+                    points += results[i][j][0] + 0.5 * results[i][j][1] + 0.5;
+                    weight += (games + 1) / (strengths[i] + strengths[j]);
+                }
+                if (weight == 0)
+                    continue;
+                double strength = points / weight;
+                maxChange = Math.max(maxChange, Math.abs(strength - strengths[i]) / strengths[i]);
+                strengths[i] = strength;
+            }
+
+            // Normalize the geometric mean to 1:
+            double logMean = 0;
+            for (double strength : strengths)
+                logMean += Math.log(strength) / n;
+            for (int i = 0; i < n; i++)
+                strengths[i] /= Math.exp(logMean);
+
+            if (maxChange < PRECISION)
+                break;
+        }
+
+        double[] ratings = new double[n];
+        for (int i = 0; i < n; i++)
+            ratings[i] = 400.0 * Math.log10(strengths[i]);
+        return ratings;
+    }
+
+    /* Returns the number of games of the pairing. */
+    private int getGameCount(int i, int j) {
+        return results[i][j][0] + results[i][j][1] + results[i][j][2];
+    }
+
+
+    /**
+     * Returns the entrants.
+     *
+     * @return The entrants, never null.
+     */
+    public List<Entrant> getEntrants() {
+        return entrants;
+    }
+
+    /**
+     * Returns the Elo rating of the entrant relative to the average of all entrants.
+     *
+     * @param entrant The entrant, must not be null.
+     * @return The Elo rating.
+     */
+    public double getRating(Entrant entrant) {
+        return ratings[indexOf(entrant)];
+    }
+
+    /**
+     * Returns the error margin of the rating of the entrant with a confidence of 95%. The margin is
+     * computed from all games of the entrant.
+     *
+     * @param entrant The entrant, must not be null.
+     * @return The error margin or infinity, if the entrant hasn't played.
+     */
+    public double getErrorMargin(Entrant entrant) {
+        MatchStats total = getTotalStats(entrant);
+        return EloUtils.errorMargin(total.getWins(), total.getDraws(), total.getLosses());
+    }
+
+    /**
+     * Returns the results of all games of the entrant.
+     *
+     * @param entrant The entrant, must not be null.
+     * @return The results, never null.
+     */
+    public MatchStats getTotalStats(Entrant entrant) {
+        int i = indexOf(entrant);
+        int[] total = new int[3];
+        for (int j = 0; j < entrants.size(); j++)
+            for (int r = 0; r < 3; r++)
+                total[r] += results[i][j][r];
+        return new MatchStats(total[0], total[1], total[2]);
+    }
+
+    /**
+     * Returns the results of the games between two entrants.
+     *
+     * @param entrant The entrant, must not be null.
+     * @param opponent The opponent, must not be null.
+     * @return The results from the view of the entrant, never null.
+     */
+    public MatchStats getStats(Entrant entrant, Entrant opponent) {
+        int[] result = results[indexOf(entrant)][indexOf(opponent)];
+        return new MatchStats(result[0], result[1], result[2]);
+    }
+
+    /**
+     * Returns the SPRT decision for the pairing of two entrants.
+     *
+     * @param entrant The entrant, must not be null.
+     * @param opponent The opponent, must not be null.
+     * @return The decision from the view of the entrant or null, if the tournament had no SPRT.
+     */
+    public Decision getDecision(Entrant entrant, Entrant opponent) {
+        return (decisions == null) ? null : decisions[indexOf(entrant)][indexOf(opponent)];
+    }
+
+    /**
+     * Returns the number of games of the tournament.
+     *
+     * @return The number of games.
+     */
+    public int getGameCount() {
+        int games = 0;
+        for (int i = 0; i < entrants.size(); i++)
+            for (int j = i + 1; j < entrants.size(); j++)
+                games += getGameCount(i, j);
+        return games;
+    }
+
+    /**
+     * Returns the number of played rounds.
+     *
+     * @return The number of rounds.
+     */
+    public int getRoundCount() {
+        return roundCount;
+    }
+
+    /**
+     * Returns true, if the tournament was stopped before the maximum number of rounds, because the
+     * SPRT decided all pairings.
+     *
+     * @return True if the tournament was stopped early, otherwise false.
+     */
+    public boolean isStoppedEarly() {
+        return stoppedEarly;
+    }
+
+    /* Returns the index of the entrant. */
+    private int indexOf(Entrant entrant) {
+        int index = entrants.indexOf(requireNonNull(entrant));
+        if (index < 0)
+            throw new AssertionError("The entrant is unknown!");
+        return index;
+    }
+
+
+    @Override
+    public String toString() {
+        return toStringHelper(this)
+                .add("entrants", entrants)
+                .add("games", getGameCount())
+                .add("rounds", roundCount)
+                .add("stoppedEarly", stoppedEarly)
+                .toString();
+    }
+
+}
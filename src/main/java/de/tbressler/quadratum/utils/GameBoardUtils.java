@@ -1,13 +1,23 @@
 package de.tbressler.quadratum.utils;
 
 /**
- * Utils for the game board.
+ * Utils for the game board. All methods without a size parameter use the default board size of
+ * 8x8 fields.
  *
  * @author Tobias Bressler
  * @version 1.0
  */
 public class GameBoardUtils {
 
+    /** The default size of the game board (8x8 fields). */
+    public static final int DEFAULT_SIZE = 8;
+
+    /** The minimum size of the game board (4x4 fields). */
+    public static final int MIN_SIZE = 4;
+
+    /** The maximum size of the game board (16x16 fields). */
+    public static final int MAX_SIZE = 16;
+
 
     /* Private constructor. */
     private GameBoardUtils() {}
@@ -21,9 +31,22 @@ public class GameBoardUtils {
      * @return The corresponding index, between 0..63.
      */
     public static int toIndex(int x, int y) {
-        if ((x < 0) || (x > 7)) throw new AssertionError("x must be between 0..7!");
-        if ((y < 0) || (y > 7)) throw new AssertionError("y must be between 0..7!");
-        return (y * 8) + x;
+        return toIndex(DEFAULT_SIZE, x, y);
+    }
+
+    /**
+     * Converts the given x-y coordinates to the corresponding index on a game board with the given
+     * size.
+     *
+     * @param size The size of the game board.
+     * @param x The x coordinate, between 0..size-1.
+     * @param y The y coordinate, between 0..size-1.
+     * @return The corresponding index, between 0..size*size-1.
+     */
+    public static int toIndex(int size, int x, int y) {
+        if ((x < 0) || (x >= size)) throw new AssertionError("x must be between 0.." + (size - 1) + "!");
+        if ((y < 0) || (y >= size)) throw new AssertionError("y must be between 0.." + (size - 1) + "!");
+        return (y * size) + x;
     }
 
     /**
@@ -33,8 +56,20 @@ public class GameBoardUtils {
      * @return The corresponding x and y coordinates in the form {x, y}.
      */
     public static int[] toCoords(int index) {
-        assertIndex(index, "index must be between 0..63!");
-        return new int[]{(index % 8), (index - (index % 8)) / 8};
+        return toCoords(DEFAULT_SIZE, index);
+    }
+
+    /**
+     * Converts the given index to the corresponding x-y coordinates on a game board with the given
+     * size.
+     *
+     * @param size The size of the game board.
+     * @param index The index, between 0..size*size-1.
+     * @return The corresponding x and y coordinates in the form {x, y}.
+     */
+    public static int[] toCoords(int size, int index) {
+        checkIndex(size, index, "index");
+        return new int[]{(index % size), index / size};
     }
 
     /**
@@ -45,11 +80,21 @@ public class GameBoardUtils {
      * @return The difference of the x coordinates, between 0..7.
      */
     public static int difX(int index1, int index2) {
-        assertIndex(index1, "index1 must be between 0..63!");
-        assertIndex(index2, "index2 must be between 0..63!");
-        int[] c1 = toCoords(index1);
-        int[] c2 = toCoords(index2);
-        return c2[0] - c1[0];
+        return difX(DEFAULT_SIZE, index1, index2);
+    }
+
+    /**
+     * Returns the difference of the x coordinates on a game board with the given size.
+     *
+     * @param size The size of the game board.
+     * @param index1 The index of the first piece, between 0..size*size-1.
+     * @param index2 The index of the second piece, between 0..size*size-1.
+     * @return The difference of the x coordinates.
+     */
+    public static int difX(int size, int index1, int index2) {
+        checkIndex(size, index1, "index1");
+        checkIndex(size, index2, "index2");
+        return (index2 % size) - (index1 % size);
     }
 
     /**
@@ -60,11 +105,21 @@ public class GameBoardUtils {
      * @return The difference of the x coordinates, between 0..7.
      */
     public static int difY(int index1, int index2) {
-        assertIndex(index1, "index1 must be between 0..63!");
-        assertIndex(index2, "index2 must be between 0..63!");
-        int[] c1 = toCoords(index1);
-        int[] c2 = toCoords(index2);
-        return c2[1] - c1[1];
+        return difY(DEFAULT_SIZE, index1, index2);
+    }
+
+    /**
+     * Returns the difference of the y coordinates on a game board with the given size.
+     *
+     * @param size The size of the game board.
+     * @param index1 The index of the first piece, between 0..size*size-1.
+     * @param index2 The index of the second piece, between 0..size*size-1.
+     * @return The difference of the y coordinates.
+     */
+    public static int difY(int size, int index1, int index2) {
+        checkIndex(size, index1, "index1");
+        checkIndex(size, index2, "index2");
+        return (index2 / size) - (index1 / size);
     }
 
     /**
@@ -74,7 +129,34 @@ public class GameBoardUtils {
      * @param msg The error message.
      */
     public static void assertIndex(int index, String msg) {
-        if ((index < 0) || (index > 63)) throw new AssertionError(msg);
+        assertIndex(DEFAULT_SIZE, index, msg);
+    }
+
+    /**
+     * Asserts if index is between 0 and size*size-1.
+     *
+     * @param size The size of the game board.
+     * @param index The index.
+     * @param msg The error message.
+     */
+    public static void assertIndex(int size, int index, String msg) {
+        if ((index < 0) || (index >= size * size)) throw new AssertionError(msg);
+    }
+
+    /* Checks the index and creates the error message only if the index is out of range. */
+    private static void checkIndex(int size, int index, String name) {
+        if ((index < 0) || (index >= size * size))
+            throw new AssertionError(name + " must be between 0.." + (size * size - 1) + "!");
+    }
+
+    /**
+     * Asserts if the size of the game board is between {@link #MIN_SIZE} and {@link #MAX_SIZE}.
+     *
+     * @param size The size of the game board.
+     */
+    public static void assertSize(int size) {
+        if ((size < MIN_SIZE) || (size > MAX_SIZE))
+            throw new AssertionError("size must be between " + MIN_SIZE + ".." + MAX_SIZE + "!");
     }
 
 }
@@ -0,0 +1,85 @@
+package de.tbressler.quadratum.utils;
+
+import java.util.SplittableRandom;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+
+/**
+ * Derives the seeds of games from a master seed. The seed of a game depends only on the master seed
+ * and the index of the game, but not on the order in which the seeds are requested. So parallel
+ * simulations produce the same games regardless of the number of threads.
+ * <p>
+ * The sequence is immutable and thread-safe. The random number generators are not thread-safe and
+ * should be used by a single game.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public final class SeedSequence {
+
+    /* The odd increment between the seeds of consecutive games (golden ratio). */
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+
+    /* The master seed. */
+    private final long masterSeed;
+
+
+    /**
+     * Creates a sequence with the given master seed.
+     *
+     * @param masterSeed The master seed.
+     */
+    public SeedSequence(long masterSeed) {
+        this.masterSeed = masterSeed;
+    }
+
+
+    /**
+     * Returns the master seed.
+     *
+     * @return The master seed.
+     */
+    public long getMasterSeed() {
+        return masterSeed;
+    }
+
+    /**
+     * Returns the seed of the game with the given index.
+     *
+     * @param index The index of the game, must not be negative.
+     * @return The seed.
+     */
+    public long getSeed(long index) {
+        if (index < 0)
+            throw new AssertionError("index must not be negative!");
+        return mix64(masterSeed + (index + 1) * GOLDEN_GAMMA);
+    }
+
+    /**
+     * Returns a new random number generator for the game with the given index. Further generators
+     * for the game, e.g. one per player, can be created with {@link SplittableRandom#split()}.
+     *
+     * @param index The index of the game, must not be negative.
+     * @return The random number generator, never null.
+     */
+    public SplittableRandom getRandom(long index) {
+        return new SplittableRandom(getSeed(index));
+    }
+
+    /* Mixes the bits of the value (variant 13 of the MurmurHash3 finalizer). */
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+
+    @Override
+    public String toString() {
+        return toStringHelper(this)
+                .add("masterSeed", masterSeed)
+                .toString();
+    }
+
+}
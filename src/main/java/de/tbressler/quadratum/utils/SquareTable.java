@@ -0,0 +1,203 @@
+package de.tbressler.quadratum.utils;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static de.tbressler.quadratum.utils.GameBoardUtils.assertSize;
+import static de.tbressler.quadratum.utils.SquareUtils.getPossiblePieces;
+import static de.tbressler.quadratum.utils.SquareUtils.score;
+import static java.util.Arrays.sort;
+
+/**
+ * A precomputed table of all possible squares on a game board with a given size. Every square is
+ * contained exactly once and is identified by its square ID (between 0 and getSquareCount()-1).
+ * The tables are generated once per board size and are shared.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public final class SquareTable {
+
+    /* The generated tables, indexed by the size of the game board. */
+    private static final SquareTable[] TABLES = new SquareTable[GameBoardUtils.MAX_SIZE + 1];
+
+
+    /* The size of the game board. */
+    private final int size;
+
+    /* The sorted pieces of all squares (4 pieces per square). */
+    private final int[] pieces;
+
+    /* The scores of all squares. */
+    private final int[] scores;
+
+    /* The IDs of the squares that contain the field, indexed by field index. */
+    private final int[][] squaresOfField;
+
+
+    /**
+     * Returns the square table for a game board with the given size.
+     *
+     * @param size The size of the game board.
+     * @return The square table, never null.
+     */
+    public static SquareTable of(int size) {
+        assertSize(size);
+        synchronized (TABLES) {
+            if (TABLES[size] == null)
+                TABLES[size] = new SquareTable(size);
+            return TABLES[size];
+        }
+    }
+
+
+    /* Generates the square table. */
+    private SquareTable(int size) {
+        this.size = size;
+
+        int fields = size * size;
+        List<int[]> squares = new ArrayList<>();
+        Set<Long> keys = new HashSet<>();
+
+        int[] possible;
+        for (int i = 0; i < fields - 1; i++) {
+            for (int j = i + 1; j < fields; j++) {
+                possible = getPossiblePieces(size, i, j);
+                if (possible.length != 2)
+                    continue;
+                int[] square = new int[]{i, j, possible[0], possible[1]};
+                sort(square);
+                if (keys.add(keyOf(square)))
+                    squares.add(square);
+            }
+        }
+
+        this.pieces = new int[4 * squares.size()];
+        this.scores = new int[squares.size()];
+        int[] squaresPerField = new int[fields];
+        for (int s = 0; s < squares.size(); s++) {
+            int[] square = squares.get(s);
+            System.arraycopy(square, 0, pieces, 4 * s, 4);
+            scores[s] = score(size, square);
+            for (int piece : square)
+                squaresPerField[piece]++;
+        }
+
+        this.squaresOfField = new int[fields][];
+        for (int f = 0; f < fields; f++)
+            squaresOfField[f] = new int[squaresPerField[f]];
+        int[] next = new int[fields];
+        for (int s = 0; s < squares.size(); s++)
+            for (int piece : squares.get(s))
+                squaresOfField[piece][next[piece]++] = s;
+    }
+
+    /* Returns a unique key for the sorted pieces of a square. */
+    private static long keyOf(int[] square) {
+        return ((((long) square[0] << 16 | square[1]) << 16 | square[2]) << 16) | square[3];
+    }
+
+
+    /**
+     * Returns the size of the game board.
+     *
+     * @return The size of the game board.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the number of fields of the game board (size * size).
+     *
+     * @return The number of fields.
+     */
+    public int getFieldCount() {
+        return size * size;
+    }
+
+    /**
+     * Returns the number of possible squares on the game board.
+     *
+     * @return The number of squares.
+     */
+    public int getSquareCount() {
+        return scores.length;
+    }
+
+    /**
+     * Returns a field index of the given square. The pieces of a square are sorted in ascending
+     * order.
+     *
+     * @param square The square ID.
+     * @param piece The piece of the square, between 0..3.
+     * @return The field index of the piece.
+     */
+    public int getPiece(int square, int piece) {
+        return pieces[4 * square + piece];
+    }
+
+    /**
+     * Returns the pieces of all squares as flat array with 4 sorted pieces per square. The piece
+     * {@code p} of square {@code s} is stored at index {@code 4 * s + p}. The returned array is
+     * shared and must not be modified.
+     *
+     * @return The pieces of all squares, never null.
+     */
+    public int[] getPieces() {
+        return pieces;
+    }
+
+    /**
+     * Returns the score of the given square.
+     *
+     * @param square The square ID.
+     * @return The score of the square.
+     */
+    public int getScore(int square) {
+        return scores[square];
+    }
+
+    /**
+     * Returns the scores of all squares, indexed by square ID. The returned array is shared and
+     * must not be modified.
+     *
+     * @return The scores of all squares, never null.
+     */
+    public int[] getScores() {
+        return scores;
+    }
+
+    /**
+     * Returns the IDs of all squares that contain the given field. The returned array is shared and
+     * must not be modified.
+     *
+     * @param index The field index, between 0..size*size-1.
+     * @return The IDs of the squares, never null.
+     */
+    public int[] getSquaresOfField(int index) {
+        if ((index < 0) || (index >= getFieldCount()))
+            throw new AssertionError("Index must be between 0 and " + (getFieldCount() - 1) + "!");
+        return squaresOfField[index];
+    }
+
+    /**
+     * Returns the ID of the square with the given pieces or -1 if the pieces are not forming a
+     * square.
+     *
+     * @param sortedPieces The 4 pieces of the square in ascending order, must not be null.
+     * @return The square ID or -1.
+     */
+    public int findSquare(int[] sortedPieces) {
+        if ((sortedPieces[0] < 0) || (sortedPieces[0] >= getFieldCount()))
+            return -1;
+        for (int square : squaresOfField[sortedPieces[0]])
+            if ((getPiece(square, 0) == sortedPieces[0]) && (getPiece(square, 1) == sortedPieces[1])
+                    && (getPiece(square, 2) == sortedPieces[2]) && (getPiece(square, 3) == sortedPieces[3]))
+                return square;
+        return -1;
+    }
+
+}
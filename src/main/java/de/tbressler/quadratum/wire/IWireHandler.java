@@ -0,0 +1,61 @@
+package de.tbressler.quadratum.wire;
+
+/**
+ * Handler for the messages, which are decoded by a {@link WireDecoder}. The players are PLAYER1 or
+ * PLAYER2 of the game core.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public interface IWireHandler {
+
+    /**
+     * Is called for the full state of the game board. The arrays are reused by the decoder and must
+     * not be kept after the call.
+     *
+     * @param sequenceNumber The sequence number of the state.
+     * @param activePlayer The active player.
+     * @param player1Pieces The bitboard of player 1 (one bit per field and 64 fields per word).
+     * @param player2Pieces The bitboard of player 2 (one bit per field and 64 fields per word).
+     */
+    void onState(long sequenceNumber, int activePlayer, long[] player1Pieces, long[] player2Pieces);
+
+    /**
+     * Is called for a placed piece.
+     *
+     * @param sequenceNumber The sequence number of the move.
+     * @param index The field index.
+     * @param player The player of the piece.
+     */
+    void onMove(long sequenceNumber, int index, int player);
+
+    /**
+     * Is called for a removed piece, e.g. if a move was undone.
+     *
+     * @param sequenceNumber The sequence number of the undo.
+     * @param index The field index.
+     * @param player The player of the piece.
+     */
+    void onUndo(long sequenceNumber, int index, int player);
+
+    /**
+     * Is called for new squares. The array is reused by the decoder and must not be kept after the
+     * call.
+     *
+     * @param sequenceNumber The sequence number of the squares.
+     * @param player The player of the squares.
+     * @param squareIds The IDs of the squares in the square table.
+     * @param count The number of squares in the array.
+     */
+    void onSquares(long sequenceNumber, int player, int[] squareIds, int count);
+
+    /**
+     * Is called if a delta was lost. All deltas are skipped until the next full state, so the
+     * handler should request a full state.
+     *
+     * @param expectedSequenceNumber The expected sequence number.
+     * @param sequenceNumber The sequence number of the received delta.
+     */
+    default void onGap(long expectedSequenceNumber, long sequenceNumber) {}
+
+}
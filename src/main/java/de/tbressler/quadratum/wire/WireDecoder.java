@@ -0,0 +1,174 @@
+package de.tbressler.quadratum.wire;
+
+import java.nio.ByteBuffer;
+
+import static de.tbressler.quadratum.core.GameCore.PLAYER1;
+import static de.tbressler.quadratum.core.GameCore.PLAYER2;
+import static de.tbressler.quadratum.utils.GameBoardUtils.assertSize;
+import static de.tbressler.quadratum.wire.WireFormat.DELTA_LENGTH;
+import static de.tbressler.quadratum.wire.WireFormat.MAX_SQUARES;
+import static de.tbressler.quadratum.wire.WireFormat.MOVE;
+import static de.tbressler.quadratum.wire.WireFormat.SQUARES;
+import static de.tbressler.quadratum.wire.WireFormat.STATE;
+import static de.tbressler.quadratum.wire.WireFormat.UNDO;
+import static de.tbressler.quadratum.wire.WireFormat.words;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Decodes the messages of a {@link WireEncoder} and passes them to a handler. The decoder
+ * reconstructs the sequence numbers of the deltas from the last full state. If a delta was lost,
+ * the handler is notified and all deltas are skipped until the next full state. Deltas before the
+ * first full state are skipped, too. A loss of a multiple of 256 deltas can't be detected.
+ * <p>
+ * The decoder reuses its arrays, so it doesn't create objects while decoding. The decoder is not
+ * thread-safe.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public final class WireDecoder {
+
+    /* The number of words of a bitboard. */
+    private final int words;
+
+    /* The reused bitboards. */
+    private final long[] player1Pieces;
+    private final long[] player2Pieces;
+
+    /* The reused IDs of the squares. */
+    private final int[] squareIds = new int[MAX_SQUARES];
+
+    /* The sequence number of the last message. */
+    private long sequenceNumber = 0;
+
+    /* True if a full state was received and no delta was lost since then. */
+    private boolean synced = false;
+
+
+    /**
+     * Creates a decoder for a game board with the given size.
+     *
+     * @param size The size of the game board, between 4..16.
+     */
+    public WireDecoder(int size) {
+        assertSize(size);
+        this.words = words(size);
+        this.player1Pieces = new long[words];
+        this.player2Pieces = new long[words];
+    }
+
+
+    /**
+     * Decodes all complete messages in the buffer. An incomplete message at the end of the buffer
+     * is not consumed.
+     *
+     * @param buffer The buffer, must not be null.
+     * @param handler The handler, must not be null.
+     * @return The number of decoded messages.
+     */
+    public int decodeAll(ByteBuffer buffer, IWireHandler handler) {
+        int count = 0;
+        while (decode(buffer, handler))
+            count++;
+        return count;
+    }
+
+    /**
+     * Decodes the next message in the buffer.
+     *
+     * @param buffer The buffer, must not be null.
+     * @param handler The handler, must not be null.
+     * @return True if a message was decoded, false if the buffer doesn't contain a complete message.
+     */
+    public boolean decode(ByteBuffer buffer, IWireHandler handler) {
+        requireNonNull(handler);
+        if (!buffer.hasRemaining())
+            return false;
+
+        int start = buffer.position();
+        int header = buffer.get(start);
+        int type = (header >>> 4) & 0x0F;
+        int player = ((header & 1) == 0) ? PLAYER1 : PLAYER2;
+
+        switch (type) {
+            case STATE:
+                if (buffer.remaining() < 9 + 16 * words)
+                    return false;
+                buffer.position(start + 1);
+                sequenceNumber = buffer.getLong();
+                for (int w = 0; w < words; w++)
+                    player1Pieces[w] = buffer.getLong();
+                for (int w = 0; w < words; w++)
+                    player2Pieces[w] = buffer.getLong();
+                synced = true;
+                handler.onState(sequenceNumber, player, player1Pieces, player2Pieces);
+                return true;
+
+            case MOVE:
+            case UNDO:
+                if (buffer.remaining() < DELTA_LENGTH)
+                    return false;
+                buffer.position(start + 1);
+                int lowByte = buffer.get() & 0xFF;
+                int index = buffer.get() & 0xFF;
+                if (!nextSequenceNumber(lowByte, handler))
+                    return true;
+                if (type == MOVE)
+                    handler.onMove(sequenceNumber, index, player);
+                else
+                    handler.onUndo(sequenceNumber, index, player);
+                return true;
+
+            case SQUARES:
+                if ((buffer.remaining() < 3) || (buffer.remaining() < 3 + 2 * (buffer.get(start + 2) & 0xFF)))
+                    return false;
+                buffer.position(start + 1);
+                lowByte = buffer.get() & 0xFF;
+                int count = buffer.get() & 0xFF;
+                for (int i = 0; i < count; i++)
+                    squareIds[i] = buffer.getShort() & 0xFFFF;
+                if (nextSequenceNumber(lowByte, handler))
+                    handler.onSquares(sequenceNumber, player, squareIds, count);
+                return true;
+
+            default:
+                throw new IllegalStateException("Unknown message type: " + type + "!");
+        }
+    }
+
+    /* Reconstructs the sequence number of a delta. Returns false if the delta must be skipped. */
+    private boolean nextSequenceNumber(int lowByte, IWireHandler handler) {
+        if (!synced)
+            return false;
+
+        long expected = sequenceNumber + 1;
+        long received = expected + ((lowByte - expected) & 0xFF);
+        if (received != expected) {
+            synced = false;
+            handler.onGap(expected, received);
+            return false;
+        }
+        sequenceNumber = received;
+        return true;
+    }
+
+
+    /**
+     * Returns the sequence number of the last decoded message.
+     *
+     * @return The sequence number.
+     */
+    public long getSequenceNumber() {
+        return sequenceNumber;
+    }
+
+    /**
+     * Returns true if a full state was received and no delta was lost since then.
+     *
+     * @return True if the decoder is in sync, otherwise false.
+     */
+    public boolean isSynced() {
+        return synced;
+    }
+
+}
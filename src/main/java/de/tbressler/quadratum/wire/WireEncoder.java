@@ -0,0 +1,197 @@
+package de.tbressler.quadratum.wire;
+
+import de.tbressler.quadratum.core.Position;
+import de.tbressler.quadratum.model.Square;
+import de.tbressler.quadratum.utils.SquareTable;
+
+import java.nio.ByteBuffer;
+import java.util.Set;
+
+import static de.tbressler.quadratum.core.GameCore.PLAYER1;
+import static de.tbressler.quadratum.core.GameCore.PLAYER2;
+import static de.tbressler.quadratum.wire.WireFormat.DELTA_LENGTH;
+import static de.tbressler.quadratum.wire.WireFormat.MAX_SQUARES;
+import static de.tbressler.quadratum.wire.WireFormat.MOVE;
+import static de.tbressler.quadratum.wire.WireFormat.SQUARES;
+import static de.tbressler.quadratum.wire.WireFormat.STATE;
+import static de.tbressler.quadratum.wire.WireFormat.UNDO;
+import static de.tbressler.quadratum.wire.WireFormat.header;
+import static de.tbressler.quadratum.wire.WireFormat.words;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Encodes the state of a game board and its changes into a compact binary wire format. A full state
+ * consists of one bitboard per player (two 64-bit masks for a game board with 8x8 fields). Moves
+ * are sent as deltas of three bytes, which contain the lowest byte of the sequence number, so that
+ * the receiver can detect lost deltas. Squares are sent as their IDs in the square table.
+ * <p>
+ * The encoder writes directly into the buffer without intermediate objects. If the buffer has not
+ * enough space, a {@link java.nio.BufferOverflowException} is thrown. The encoder is stateless and
+ * thread-safe.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public final class WireEncoder {
+
+    /* The number of words of a bitboard. */
+    private final int words;
+
+    /* The square table for the IDs of the squares. */
+    private final SquareTable squareTable;
+
+
+    /**
+     * Creates an encoder for a game board with the given size.
+     *
+     * @param size The size of the game board, between 4..16.
+     */
+    public WireEncoder(int size) {
+        this.squareTable = SquareTable.of(size);
+        this.words = words(size);
+    }
+
+
+    /**
+     * Returns the number of bytes of a full state.
+     *
+     * @return The number of bytes.
+     */
+    public int getStateLength() {
+        return 1 + 8 + 2 * 8 * words;
+    }
+
+    /**
+     * Returns the number of bytes of a move or an undo.
+     *
+     * @return The number of bytes.
+     */
+    public int getDeltaLength() {
+        return DELTA_LENGTH;
+    }
+
+    /**
+     * Returns the number of bytes of a squares message.
+     *
+     * @param count The number of squares.
+     * @return The number of bytes.
+     */
+    public int getSquaresLength(int count) {
+        return 3 + 2 * count;
+    }
+
+
+    /**
+     * Encodes the full state of the game board.
+     *
+     * @param buffer The buffer, must not be null.
+     * @param sequenceNumber The sequence number of the state.
+     * @param activePlayer The active player, PLAYER1 or PLAYER2.
+     * @param player1Pieces The bitboard of player 1, must not be null and must have the words of the
+     *                      game board.
+     * @param player2Pieces The bitboard of player 2, must not be null and must have the words of the
+     *                      game board.
+     */
+    public void encodeState(ByteBuffer buffer, long sequenceNumber, int activePlayer,
+                            long[] player1Pieces, long[] player2Pieces) {
+        checkPlayer(activePlayer);
+        if ((player1Pieces.length != words) || (player2Pieces.length != words))
+            throw new AssertionError("The bitboards must have " + words + " words!");
+
+        buffer.put(header(STATE, activePlayer)).putLong(sequenceNumber);
+        for (int w = 0; w < words; w++)
+            buffer.putLong(player1Pieces[w]);
+        for (int w = 0; w < words; w++)
+            buffer.putLong(player2Pieces[w]);
+    }
+
+    /**
+     * Encodes the position as full state.
+     *
+     * @param buffer The buffer, must not be null.
+     * @param sequenceNumber The sequence number of the state.
+     * @param position The position, must not be null and must have the size of the encoder.
+     */
+    public void encodeState(ByteBuffer buffer, long sequenceNumber, Position position) {
+        if (requireNonNull(position).getSize() != squareTable.getSize())
+            throw new AssertionError("Size of position and encoder doesn't match!");
+        encodeState(buffer, sequenceNumber, position.getActivePlayer(),
+                position.getPieces(PLAYER1), position.getPieces(PLAYER2));
+    }
+
+    /**
+     * Encodes a placed piece.
+     *
+     * @param buffer The buffer, must not be null.
+     * @param sequenceNumber The sequence number of the move.
+     * @param index The field index.
+     * @param player The player, PLAYER1 or PLAYER2.
+     */
+    public void encodeMove(ByteBuffer buffer, long sequenceNumber, int index, int player) {
+        encodeDelta(buffer, MOVE, sequenceNumber, index, player);
+    }
+
+    /**
+     * Encodes a removed piece.
+     *
+     * @param buffer The buffer, must not be null.
+     * @param sequenceNumber The sequence number of the undo.
+     * @param index The field index.
+     * @param player The player, PLAYER1 or PLAYER2.
+     */
+    public void encodeUndo(ByteBuffer buffer, long sequenceNumber, int index, int player) {
+        encodeDelta(buffer, UNDO, sequenceNumber, index, player);
+    }
+
+    /* Encodes a move or an undo. */
+    private void encodeDelta(ByteBuffer buffer, int type, long sequenceNumber, int index, int player) {
+        checkPlayer(player);
+        if ((index < 0) || (index >= squareTable.getFieldCount()))
+            throw new AssertionError("Index must be between 0 and " + (squareTable.getFieldCount() - 1) + "!");
+        buffer.put(header(type, player)).put((byte) sequenceNumber).put((byte) index);
+    }
+
+    /**
+     * Encodes new squares.
+     *
+     * @param buffer The buffer, must not be null.
+     * @param sequenceNumber The sequence number of the squares.
+     * @param player The player, PLAYER1 or PLAYER2.
+     * @param squareIds The IDs of the squares in the square table, must not be null.
+     * @param count The number of squares, between 0..255.
+     */
+    public void encodeSquares(ByteBuffer buffer, long sequenceNumber, int player, int[] squareIds, int count) {
+        checkPlayer(player);
+        if ((count < 0) || (count > MAX_SQUARES) || (count > squareIds.length))
+            throw new AssertionError("count must be between 0 and " + MAX_SQUARES + "!");
+
+        buffer.put(header(SQUARES, player)).put((byte) sequenceNumber).put((byte) count);
+        for (int i = 0; i < count; i++)
+            buffer.putShort((short) squareIds[i]);
+    }
+
+    /**
+     * Encodes new squares.
+     *
+     * @param buffer The buffer, must not be null.
+     * @param sequenceNumber The sequence number of the squares.
+     * @param player The player, PLAYER1 or PLAYER2.
+     * @param squares The squares, must not be null and must not contain more than 255 squares.
+     */
+    public void encodeSquares(ByteBuffer buffer, long sequenceNumber, int player, Set<Square> squares) {
+        checkPlayer(player);
+        if (requireNonNull(squares).size() > MAX_SQUARES)
+            throw new AssertionError("Too many squares!");
+
+        buffer.put(header(SQUARES, player)).put((byte) sequenceNumber).put((byte) squares.size());
+        for (Square square : squares)
+            buffer.putShort((short) squareTable.findSquare(square.getSortedPieces()));
+    }
+
+    /* Checks if the player is PLAYER1 or PLAYER2. */
+    private static void checkPlayer(int player) {
+        if ((player != PLAYER1) && (player != PLAYER2))
+            throw new AssertionError("player must be PLAYER1 or PLAYER2!");
+    }
+
+}
@@ -0,0 +1,52 @@
+package de.tbressler.quadratum.wire;
+
+/**
+ * The constants of the wire format. Every message starts with a header byte, which contains the
+ * type in the upper four bits and the player in the lowest bit (0 for PLAYER1, 1 for PLAYER2):
+ * <ul>
+ *     <li>STATE: header (active player), sequence number (8 bytes), bitboard of player 1, bitboard
+ *     of player 2 (8 bytes per word).</li>
+ *     <li>MOVE, UNDO: header, lowest byte of the sequence number, field index (unsigned).</li>
+ *     <li>SQUARES: header, lowest byte of the sequence number, number of squares (unsigned), IDs of
+ *     the squares (2 bytes each).</li>
+ * </ul>
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+final class WireFormat {
+
+    /* The type of a full state. */
+    static final int STATE = 1;
+
+    /* The type of a placed piece. */
+    static final int MOVE = 2;
+
+    /* The type of a removed piece. */
+    static final int UNDO = 3;
+
+    /* The type of new squares. */
+    static final int SQUARES = 4;
+
+    /* The length of a move or undo message. */
+    static final int DELTA_LENGTH = 3;
+
+    /* The maximum number of squares in one message. */
+    static final int MAX_SQUARES = 255;
+
+
+    private WireFormat() {
+        // No instances.
+    }
+
+    /* Returns the header byte for the type and the player. */
+    static byte header(int type, int player) {
+        return (byte) ((type << 4) | (player & 1));
+    }
+
+    /* Returns the number of words of a bitboard. */
+    static int words(int size) {
+        return (size * size + 63) / 64;
+    }
+
+}
@@ -0,0 +1,128 @@
+package de.tbressler.quadratum;
+
+import de.tbressler.quadratum.logic.GameLogic;
+import de.tbressler.quadratum.logic.players.BotPlayerLogic;
+import de.tbressler.quadratum.model.GameBoard;
+import de.tbressler.quadratum.model.Player;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static de.tbressler.quadratum.logic.players.BotPlayerLogic.Strategy.LONG_TERM;
+import static de.tbressler.quadratum.logic.players.BotPlayerLogic.Strategy.SHORT_TERM;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Integration tests for the flight recorder events.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public class IntTestFlightRecorderEvents {
+
+    private static final String MOVE_APPLIED = "de.tbressler.quadratum.MoveApplied";
+    private static final String SQUARES_DETECTED = "de.tbressler.quadratum.SquaresDetected";
+    private static final String GAME_OVER_CHECK = "de.tbressler.quadratum.GameOverCheck";
+    private static final String BOT_DECISION = "de.tbressler.quadratum.BotDecision";
+    private static final String GAME_FINISHED = "de.tbressler.quadratum.GameFinished";
+
+    private Path recordingFile;
+
+
+    @Before
+    public void setUp() throws IOException {
+        recordingFile = Files.createTempFile("quadratum", ".jfr");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(recordingFile);
+    }
+
+
+    @Test
+    public void integrationTest_withEnabledEvents_recordsEventsOfBotGame() throws IOException {
+        Player player1 = new Player("player1");
+        Player player2 = new Player("player2");
+        GameLogic gameLogic = new GameLogic(new GameBoard(player1, player2),
+                new BotPlayerLogic(player1, LONG_TERM), new BotPlayerLogic(player2, SHORT_TERM));
+
+        try (Recording recording = new Recording()) {
+            recording.enable(MOVE_APPLIED);
+            recording.enable(SQUARES_DETECTED);
+            recording.enable(GAME_OVER_CHECK);
+            recording.enable(BOT_DECISION);
+            recording.enable(GAME_FINISHED);
+            recording.start();
+
+            gameLogic.startGame(player1);
+
+            recording.stop();
+            recording.dump(recordingFile);
+        }
+
+        List<RecordedEvent> moves = readEvents(MOVE_APPLIED);
+        List<RecordedEvent> botDecisions = readEvents(BOT_DECISION);
+        List<RecordedEvent> finishedGames = readEvents(GAME_FINISHED);
+
+        assertTrue(moves.size() > 0);
+        assertEquals(moves.size(), botDecisions.size());
+        assertEquals(moves.size(), readEvents(SQUARES_DETECTED).size());
+        assertEquals(moves.size(), readEvents(GAME_OVER_CHECK).size());
+        assertEquals(1, finishedGames.size());
+
+        RecordedEvent firstMove = moves.get(0);
+        assertEquals(gameLogic.getGameId(), firstMove.getLong("gameId"));
+        assertEquals(1, firstMove.getInt("moveNumber"));
+        assertEquals("player1", firstMove.getString("player"));
+
+        RecordedEvent firstDecision = botDecisions.get(0);
+        assertEquals("LONG_TERM", firstDecision.getString("strategy"));
+        assertEquals(64, firstDecision.getInt("candidateCount"));
+        assertEquals(firstMove.getInt("index"), firstDecision.getInt("chosenIndex"));
+
+        assertEquals(moves.size(), finishedGames.get(0).getInt("moves"));
+    }
+
+    @Test
+    public void integrationTest_withDisabledEvents_recordsNoEvents() throws IOException {
+        Player player1 = new Player("player1");
+        Player player2 = new Player("player2");
+        GameLogic gameLogic = new GameLogic(new GameBoard(player1, player2),
+                new BotPlayerLogic(player1, LONG_TERM), new BotPlayerLogic(player2, SHORT_TERM));
+
+        try (Recording recording = new Recording()) {
+            recording.disable(MOVE_APPLIED);
+            recording.disable(BOT_DECISION);
+            recording.start();
+
+            gameLogic.startGame(player1);
+
+            recording.stop();
+            recording.dump(recordingFile);
+        }
+
+        assertTrue(readEvents(MOVE_APPLIED).isEmpty());
+        assertTrue(readEvents(BOT_DECISION).isEmpty());
+    }
+
+    /* Reads all events with the given name from the recording file. */
+    private List<RecordedEvent> readEvents(String name) throws IOException {
+        List<RecordedEvent> events = new ArrayList<>();
+        for (RecordedEvent event : RecordingFile.readAllEvents(recordingFile))
+            if (event.getEventType().getName().equals(name))
+                events.add(event);
+        return events;
+    }
+
+}
@@ -1,8 +1,13 @@
 package de.tbressler.quadratum;
 
+import de.tbressler.quadratum.logic.GameClock;
 import de.tbressler.quadratum.logic.GameLogic;
+import de.tbressler.quadratum.logic.GameOverVerifier;
+import de.tbressler.quadratum.logic.GameSnapshot;
 import de.tbressler.quadratum.logic.IGameLogicListener;
+import de.tbressler.quadratum.logic.players.BotPlayerLogic;
 import de.tbressler.quadratum.logic.players.HumanPlayerLogic;
+import de.tbressler.quadratum.logic.players.SyncPlayerLogicAdapter;
 import de.tbressler.quadratum.model.GameBoard;
 import de.tbressler.quadratum.model.IGameBoardListener;
 import de.tbressler.quadratum.model.Player;
@@ -10,9 +15,15 @@ import de.tbressler.quadratum.model.Square;
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
 
+import java.time.Duration;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
+import static de.tbressler.quadratum.logic.GameOverVerifier.EarlyTermination.DISABLED;
+import static de.tbressler.quadratum.logic.players.BotPlayerLogic.Strategy.LONG_TERM;
+import static de.tbressler.quadratum.logic.players.BotPlayerLogic.Strategy.SHORT_TERM;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentCaptor.forClass;
@@ -83,6 +94,77 @@ public class IntTestLibrary {
         assertSetOfSquares(squaresFromLogic, player1, player2);
     }
 
+    @Test
+    public void integrationTest_withTwoBotPlayersOn12x12GameBoard() {
+
+        Player player1 = new Player("player1");
+        Player player2 = new Player("player2");
+
+        GameBoard gameBoard = new GameBoard(player1, player2, 12);
+        gameBoard.addGameBoardListener(boardListener);
+
+        BotPlayerLogic playerLogic1 = new BotPlayerLogic(player1, LONG_TERM, 12);
+        BotPlayerLogic playerLogic2 = new BotPlayerLogic(player2, SHORT_TERM, 12);
+        playerLogic1.setRandomizeMoves(false);
+        playerLogic2.setRandomizeMoves(false);
+
+        GameLogic gameLogic = new GameLogic(gameBoard, playerLogic1, playerLogic2,
+                new GameOverVerifier(150, 15, DISABLED, 12));
+        gameLogic.addGameLogicListener(logicListener);
+
+        gameLogic.startGame(player1);
+
+        verify(logicListener, times(1)).onGameOver(any(Player.class));
+        assertTrue(!gameLogic.getSquares().isEmpty());
+
+        // All squares must be inside the 12x12 game board:
+        for (Object s : gameLogic.getSquares())
+            for (int piece : ((Square) s).getSortedPieces())
+                assertTrue(piece >= 0 && piece < 144);
+    }
+
+    @Test
+    public void integrationTest_withUndoOfSquare() {
+
+        Player player1 = new Player("player1");
+        Player player2 = new Player("player2");
+
+        GameBoard gameBoard = new GameBoard(player1, player2);
+        gameBoard.addGameBoardListener(boardListener);
+
+        HumanPlayerLogic playerLogic1 = new HumanPlayerLogic(player1);
+        HumanPlayerLogic playerLogic2 = new HumanPlayerLogic(player2);
+
+        GameLogic gameLogic = new GameLogic(gameBoard, playerLogic1, playerLogic2);
+        gameLogic.addGameLogicListener(logicListener);
+        gameLogic.startGame(player1);
+
+        int[] movesOfPlayer1 = {0, 1, 8, 9};
+        int[] movesOfPlayer2 = {60, 61, 62};
+        for (int i = 0; i < movesOfPlayer2.length; i++) {
+            playerLogic1.placePiece(movesOfPlayer1[i]);
+            playerLogic2.placePiece(movesOfPlayer2[i]);
+        }
+        playerLogic1.placePiece(movesOfPlayer1[3]);
+        assertEquals(4, gameLogic.getScore(player1));
+        assertTrue(playerLogic2.isPlayerActive());
+
+        assertTrue(gameLogic.undoMove());
+
+        verify(boardListener, times(1)).onPieceRemoved(9, player1);
+        verify(logicListener, times(1)).onMoveUndone(eq(9), eq(player1), square.capture());
+        assertEquals(1, square.getValue().size());
+        assertEquals(0, gameLogic.getScore(player1));
+        assertTrue(gameLogic.getSquares().isEmpty());
+        assertTrue(playerLogic1.isPlayerActive());
+        assertTrue(!playerLogic2.isPlayerActive());
+
+        // Player 1 plays a different move and player 2 completes nothing:
+        playerLogic1.placePiece(10);
+        assertEquals(0, gameLogic.getScore(player1));
+        assertTrue(playerLogic2.isPlayerActive());
+    }
+
     /* Assert if the set of squares contains the correct squares. */
     private void assertSetOfSquares(Set squares, Player player1, Player player2) {
 
@@ -98,4 +180,98 @@ public class IntTestLibrary {
         assertTrue(squares.contains(new Square(new int[] {20, 34, 38, 52}, player2)));
     }
 
+    /**
+     * A human player, who never moves, against a bot with a game clock. The moves of the human
+     * player are made by the fallback policy when the deadlines expire, so the game is finished.
+     */
+    @Test
+    public void integrationTest_withGameClockAndInactiveHumanPlayer() {
+        Player player1 = new Player("player1");
+        Player player2 = new Player("player2");
+
+        GameBoard gameBoard = new GameBoard(player1, player2);
+
+        HumanPlayerLogic playerLogic1 = new HumanPlayerLogic(player1);
+        BotPlayerLogic playerLogic2 = new BotPlayerLogic(player2, LONG_TERM);
+
+        GameLogic gameLogic = new GameLogic(gameBoard, playerLogic1, playerLogic2);
+        gameLogic.setGameClock(new GameClock(Duration.ofMillis(5), Duration.ZERO));
+        gameLogic.addGameLogicListener(logicListener);
+
+        gameLogic.startGame(player1);
+
+        verify(logicListener, timeout(10000)).onGameOver(any(Player.class));
+        assertTrue(gameLogic.getGameClock().getRemainingNanos(player1) <= 0);
+        assertTrue(gameBoard.getPieceCount() > 0);
+    }
+
+    /**
+     * Two bots, which compute their moves on a shared executor, play a complete game.
+     */
+    @Test
+    public void integrationTest_withTwoAsyncBotPlayersOnSharedExecutor() {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Player player1 = new Player("player1");
+            Player player2 = new Player("player2");
+
+            GameBoard gameBoard = new GameBoard(player1, player2);
+
+            GameLogic gameLogic = new GameLogic(gameBoard,
+                    new SyncPlayerLogicAdapter(new BotPlayerLogic(player1, LONG_TERM), executor),
+                    new SyncPlayerLogicAdapter(new BotPlayerLogic(player2, SHORT_TERM), executor));
+            gameLogic.addGameLogicListener(logicListener);
+
+            gameLogic.startGame(player1);
+
+            verify(logicListener, timeout(10000)).onGameOver(any(Player.class));
+            assertTrue(gameBoard.getPieceCount() > 0);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+
+    /**
+     * A game is migrated to another game logic with a snapshot in its binary form and finished
+     * there. The restored game must have the same squares and scores.
+     */
+    @Test
+    public void integrationTest_withMigrationOfGameBySnapshot() {
+        Player player1 = new Player("player1");
+        Player player2 = new Player("player2");
+
+        GameBoard gameBoard = new GameBoard(player1, player2);
+        HumanPlayerLogic playerLogic1 = new HumanPlayerLogic(player1);
+        HumanPlayerLogic playerLogic2 = new HumanPlayerLogic(player2);
+        GameLogic gameLogic = new GameLogic(gameBoard, playerLogic1, playerLogic2);
+
+        gameLogic.startGame(player1);
+        int[] moves = {0, 20, 1, 30, 8, 40, 9, 50, 62};
+        for (int i = 0; i < moves.length; i++)
+            ((i % 2 == 0) ? playerLogic1 : playerLogic2).placePiece(moves[i]);
+
+        byte[] bytes = gameLogic.snapshot().toBytes();
+
+        GameBoard otherGameBoard = new GameBoard(player1, player2);
+        otherGameBoard.addGameBoardListener(boardListener);
+        HumanPlayerLogic otherPlayerLogic1 = new HumanPlayerLogic(player1);
+        HumanPlayerLogic otherPlayerLogic2 = new HumanPlayerLogic(player2);
+        GameLogic otherGameLogic = new GameLogic(otherGameBoard, otherPlayerLogic1, otherPlayerLogic2);
+        otherGameLogic.addGameLogicListener(logicListener);
+
+        otherGameLogic.restore(GameSnapshot.fromBytes(bytes));
+
+        verify(boardListener, times(1)).onGameBoardRestored();
+        verify(boardListener, never()).onPiecePlaced(anyInt(), any(Player.class));
+        verify(logicListener, times(1)).onGameRestored(player2);
+        assertEquals(gameLogic.getSquares(), otherGameLogic.getSquares());
+        assertEquals(gameLogic.getScore(player1), otherGameLogic.getScore(player1));
+        assertEquals(moves.length, otherGameBoard.getPieceCount());
+        assertTrue(otherPlayerLogic2.isPlayerActive());
+
+        otherPlayerLogic2.placePiece(10);
+        assertTrue(otherPlayerLogic1.isPlayerActive());
+    }
+
 }
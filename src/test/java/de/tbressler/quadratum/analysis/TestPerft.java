@@ -0,0 +1,164 @@
+package de.tbressler.quadratum.analysis;
+
+import de.tbressler.quadratum.analysis.Perft.Representation;
+import de.tbressler.quadratum.core.Position;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static de.tbressler.quadratum.analysis.Perft.Representation.GAME_CORE;
+import static de.tbressler.quadratum.analysis.Perft.Representation.MOVE_ANALYZER;
+import static de.tbressler.quadratum.analysis.Perft.Representation.SQUARE_COLLECTOR;
+import static de.tbressler.quadratum.core.GameCore.PLAYER1;
+import static de.tbressler.quadratum.logic.GameOverVerifier.GameOverState.NOT_OVER;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for class Perft.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public class TestPerft {
+
+    // Class under test:
+    private Perft perft;
+
+    // A 4x4 position with 8 pieces and no square:
+    private Position midgame;
+
+
+    @Before
+    public void setUp() {
+        perft = new Perft(150, 15);
+        midgame = Position.ofGame(4, PLAYER1, new int[]{0, 3, 5, 6, 10, 9, 15, 12})[8];
+    }
+
+
+    @Test(expected = AssertionError.class)
+    public void new_withMinScore0_throwsException() {
+        new Perft(0, 15);
+    }
+
+    @Test(expected = AssertionError.class)
+    public void new_withMinDifference0_throwsException() {
+        new Perft(150, 0);
+    }
+
+    @Test(expected = AssertionError.class)
+    public void setSplitDepth_withNegativeDepth_throwsException() {
+        perft.setSplitDepth(-1);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void setForkJoinPool_withNull_throwsException() {
+        perft.setForkJoinPool(null);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void run_withNullPosition_throwsException() {
+        perft.run(null, 1);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void run_withNullRepresentation_throwsException() {
+        perft.run(midgame, 1, null);
+    }
+
+    @Test(expected = AssertionError.class)
+    public void run_withNegativeDepth_throwsException() {
+        perft.run(midgame, -1);
+    }
+
+    /**
+     * Checks if depth 0 counts the start position only.
+     */
+    @Test
+    public void run_withDepth0_returnsOneNode() {
+        PerftResult result = perft.run(midgame, 0);
+
+        assertEquals(1, result.getNodes());
+        assertEquals(0, result.getSquares());
+        assertEquals(0, result.getTerminals());
+    }
+
+    /**
+     * Checks if the first plies of an empty board have one node per move sequence.
+     */
+    @Test
+    public void run_onEmptyBoard_returnsAllMoveSequences() {
+        Position empty = Position.ofGame(8, PLAYER1, new int[0])[0];
+
+        assertEquals(64, perft.run(empty, 1).getNodes());
+        assertEquals(64 * 63, perft.run(empty, 2).getNodes());
+        assertEquals(64 * 63 * 62, perft.run(empty, 3).getNodes());
+        assertEquals(0, perft.run(empty, 3).getSquares());
+    }
+
+    /**
+     * Checks if a move, which completes a square, is counted.
+     */
+    @Test
+    public void run_withOpenSquare_countsSquares() {
+        // Player 1 has the fields 0, 1 and 8, player 1 is active:
+        Position position = Position.ofGame(8, PLAYER1, new int[]{0, 63, 1, 62, 8, 61})[6];
+
+        PerftResult result = perft.run(position, 1);
+
+        assertEquals(58, result.getNodes());
+        assertEquals(1, result.getSquares());
+        assertEquals(0, result.getTerminals());
+        assertNotNull(result.toString());
+    }
+
+    /**
+     * Checks if a finished game has no moves.
+     */
+    @Test
+    public void run_withGameOverPosition_returnsNoNodes() {
+        PerftResult result = perft.run(midgame, 8);
+        Position[] positions = Position.ofGame(4, PLAYER1,
+                new int[]{0, 3, 5, 6, 10, 9, 15, 12, 1, 2, 4, 7, 8, 11, 13, 14});
+
+        assertTrue(result.getTerminals() > 0);
+        assertEquals(0, result.getGameOvers(NOT_OVER));
+        assertEquals(new PerftResult(), perft.run(positions[16], 1));
+    }
+
+    /**
+     * Checks if all board representations return the same result on a small board up to the end
+     * of the game.
+     */
+    @Test
+    public void run_withAllRepresentations_returnsSameResult() {
+        Perft small = new Perft(12, 4);
+        PerftResult expected = perft.run(midgame, 8, SQUARE_COLLECTOR);
+        PerftResult expectedSmall = small.run(midgame, 8, SQUARE_COLLECTOR);
+
+        for (Representation representation : new Representation[]{GAME_CORE, MOVE_ANALYZER}) {
+            assertEquals(expected, perft.run(midgame, 8, representation));
+            assertEquals(expectedSmall, small.run(midgame, 8, representation));
+        }
+        assertTrue(expected.getSquares() > 0);
+        assertTrue(expectedSmall.getTerminals() > expected.getTerminals() / 2);
+    }
+
+    /**
+     * Checks if the parallel enumeration returns the same result as the enumeration in one task.
+     */
+    @Test
+    public void run_inParallel_returnsSameResultAsSequential() {
+        perft.setSplitDepth(0);
+        PerftResult sequential = perft.run(midgame, 6);
+
+        perft.setForkJoinPool(new ForkJoinPool(4));
+        for (int splitDepth = 1; splitDepth <= 7; splitDepth++) {
+            perft.setSplitDepth(splitDepth);
+            assertEquals(sequential, perft.run(midgame, 6));
+        }
+    }
+
+}
@@ -0,0 +1,214 @@
+package de.tbressler.quadratum.analysis;
+
+import de.tbressler.quadratum.core.GameCore;
+import de.tbressler.quadratum.core.Position;
+import de.tbressler.quadratum.logic.players.BotPlayerLogic;
+import de.tbressler.quadratum.logic.players.BotPlayerLogic.Strategy;
+import de.tbressler.quadratum.model.GameBoard;
+import de.tbressler.quadratum.model.Player;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static de.tbressler.quadratum.core.GameCore.PLAYER1;
+import static de.tbressler.quadratum.core.GameCore.PLAYER2;
+import static de.tbressler.quadratum.logic.GameOverVerifier.GameOverState.NOT_OVER;
+import static de.tbressler.quadratum.logic.players.BotPlayerLogic.Strategy.LONG_TERM;
+import static de.tbressler.quadratum.logic.players.BotPlayerLogic.Strategy.SHORT_TERM;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for class PositionEvaluator.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public class TestPositionEvaluator {
+
+    // Class under test:
+    private PositionEvaluator positionEvaluator;
+
+    // Players:
+    private Player player1 = new Player("player1");
+    private Player player2 = new Player("player2");
+
+
+    @Before
+    public void setUp() {
+        positionEvaluator = new PositionEvaluator(LONG_TERM);
+    }
+
+
+    @Test(expected = NullPointerException.class)
+    public void new_withNullStrategy_throwsException() {
+        new PositionEvaluator(null);
+    }
+
+    @Test(expected = AssertionError.class)
+    public void setChunkSize_with0_throwsException() {
+        positionEvaluator.setChunkSize(0);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void setForkJoinPool_withNull_throwsException() {
+        positionEvaluator.setForkJoinPool(null);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void evaluateAll_withNullPosition_throwsException() {
+        positionEvaluator.evaluateAll(new Position[]{null});
+    }
+
+    @Test
+    public void evaluate_withEmptyGameBoard_returnsMoveOfBotAndNoScores() {
+        PositionEvaluation evaluation = positionEvaluator.evaluate(Position.ofGame(8, PLAYER1, new int[0])[0]);
+
+        assertEquals(botMove(LONG_TERM, evaluation.getPosition()), evaluation.getBestMove());
+        assertEquals(0, evaluation.getScore(PLAYER1));
+        assertEquals(0, evaluation.getScore(PLAYER2));
+        assertEquals(NOT_OVER, evaluation.getState());
+        assertArrayEquals(evaluation.getHeatMap(PLAYER1), evaluation.getHeatMap(PLAYER2));
+    }
+
+    @Test
+    public void evaluate_withSquareOfPlayer1_returnsScoreAndClearsOccupiedFields() {
+        PositionEvaluation evaluation = positionEvaluator.evaluate(
+                Position.ofGame(8, PLAYER1, new int[]{0, 20, 1, 30, 8, 40, 9})[7]);
+
+        assertEquals(4, evaluation.getScore(PLAYER1));
+        assertEquals(0, evaluation.getScore(PLAYER2));
+        assertEquals(0, evaluation.getHeatMapValue(PLAYER1, 0));
+        assertEquals(0, evaluation.getHeatMapValue(PLAYER2, 20));
+        assertEquals(PLAYER2, evaluation.getPosition().getActivePlayer());
+    }
+
+    @Test
+    public void evaluate_withFullGameBoard_returnsNoMove() {
+        int[] moves = new int[16];
+        for (int i = 0; i < moves.length; i++)
+            moves[i] = i;
+        PositionEvaluation evaluation = positionEvaluator.evaluate(Position.ofGame(4, PLAYER1, moves)[16]);
+
+        assertEquals(-1, evaluation.getBestMove());
+        assertEquals(-1, evaluation.getBestMoveValue());
+        assertTrue(evaluation.getState() != NOT_OVER);
+    }
+
+    @Test
+    public void evaluate_withRandomPositions_returnsMoveOfBotAndStateOfGameCore() {
+        for (Strategy strategy : Strategy.values()) {
+            PositionEvaluator evaluator = new PositionEvaluator(strategy);
+            for (Position position : randomPositions(8, 40, 3L)) {
+                PositionEvaluation evaluation = evaluator.evaluate(position);
+
+                assertEquals(position.toString(), botMove(strategy, position), evaluation.getBestMove());
+
+                GameCore core = new GameCore(8, 150, 15);
+                core.setPosition(position);
+                assertEquals(core.getState(), evaluation.getState());
+                assertEquals(core.getScore(PLAYER1), evaluation.getScore(PLAYER1));
+                assertEquals(core.getScore(PLAYER2), evaluation.getScore(PLAYER2));
+            }
+        }
+    }
+
+    @Test
+    public void evaluateAll_withSmallChunks_returnsSameEvaluationsAsEvaluate() {
+        Position[] positions = randomPositions(8, 30, 5L);
+        positions[3] = randomPositions(12, 1, 6L)[0];
+        positionEvaluator = new PositionEvaluator(SHORT_TERM);
+        positionEvaluator.setChunkSize(7);
+        positionEvaluator.setForkJoinPool(new ForkJoinPool(3));
+
+        PositionEvaluation[] evaluations = positionEvaluator.evaluateAll(positions);
+
+        assertEquals(positions.length, evaluations.length);
+        for (int i = 0; i < positions.length; i++) {
+            PositionEvaluation expected = positionEvaluator.evaluate(positions[i]);
+            assertSame(positions[i], evaluations[i].getPosition());
+            assertEquals(expected.getBestMove(), evaluations[i].getBestMove());
+            assertEquals(expected.getState(), evaluations[i].getState());
+            assertArrayEquals(expected.getHeatMap(PLAYER1), evaluations[i].getHeatMap(PLAYER1));
+            assertArrayEquals(expected.getHeatMap(PLAYER2), evaluations[i].getHeatMap(PLAYER2));
+        }
+    }
+
+    @Test
+    public void evaluateAll_withStream_returnsEvaluationsInOrder() {
+        Position[] positions = randomPositions(8, 10, 9L);
+
+        PositionEvaluation[] evaluations = positionEvaluator.evaluateAll(Arrays.stream(positions));
+
+        assertEquals(positions.length, evaluations.length);
+        for (int i = 0; i < positions.length; i++)
+            assertSame(positions[i], evaluations[i].getPosition());
+    }
+
+    @Test
+    public void getBestMoves_returnsMovesByDescendingValueAndBestMoveFirst() {
+        for (Position position : randomPositions(8, 20, 13L)) {
+            PositionEvaluation evaluation = positionEvaluator.evaluate(position);
+            int[] bestMoves = evaluation.getBestMoves(5);
+
+            assertEquals(Math.min(5, 64 - position.getPieceCount()), bestMoves.length);
+            if (bestMoves.length == 0)
+                continue;
+            assertEquals(evaluation.getBestMove(), bestMoves[0]);
+            // The best move can be a forced move, the other moves are ordered by value:
+            for (int i = 2; i < bestMoves.length; i++)
+                assertTrue(evaluation.getMoveValue(bestMoves[i - 1]) >= evaluation.getMoveValue(bestMoves[i]));
+        }
+    }
+
+    @Test
+    public void evaluateAll_withNoPositions_returnsEmptyArray() {
+        assertEquals(0, positionEvaluator.evaluateAll(new Position[0]).length);
+    }
+
+
+    /* Returns the positions of random games, one position per game. */
+    private Position[] randomPositions(int size, int count, long seed) {
+        Random random = new Random(seed);
+        Position[] positions = new Position[count];
+        for (int n = 0; n < count; n++) {
+            GameCore core = new GameCore(size, Integer.MAX_VALUE, 0);
+            int moves = random.nextInt(size * size);
+            int[] emptyFields = new int[size * size];
+            for (int m = 0; m < moves; m++) {
+                int emptyFieldCount = core.getEmptyFields(emptyFields);
+                core.makeMoveUnchecked(emptyFields[random.nextInt(emptyFieldCount)]);
+            }
+            positions[n] = core.toPosition();
+        }
+        return positions;
+    }
+
+    /* Returns the move of a bot without randomization. */
+    private int botMove(Strategy strategy, Position position) {
+        GameBoard gameBoard = new GameBoard(player1, player2, position.getSize());
+        for (int i = 0; i < position.getSize() * position.getSize(); i++) {
+            if (position.getPiece(i) == PLAYER1)
+                gameBoard.placePiece(i, player1);
+            else if (position.getPiece(i) == PLAYER2)
+                gameBoard.placePiece(i, player2);
+        }
+
+        Player activePlayer = (position.getActivePlayer() == PLAYER1) ? player1 : player2;
+        BotPlayerLogic botPlayerLogic = new BotPlayerLogic(activePlayer, strategy, position.getSize());
+        botPlayerLogic.setRandomizeMoves(false);
+
+        int[] move = {-1};
+        botPlayerLogic.requestMove(gameBoard, (index, player) -> {
+            move[0] = index;
+            return true;
+        });
+        return move[0];
+    }
+
+}
@@ -0,0 +1,122 @@
+package de.tbressler.quadratum.benchmark;
+
+import de.tbressler.quadratum.logic.GameOverVerifier;
+import de.tbressler.quadratum.logic.ILogicCallback;
+import de.tbressler.quadratum.logic.SquareCollector;
+import de.tbressler.quadratum.logic.players.BotPlayerLogic;
+import de.tbressler.quadratum.model.GameBoard;
+import de.tbressler.quadratum.model.Player;
+import de.tbressler.quadratum.utils.SquareTable;
+
+import java.util.Random;
+
+import static de.tbressler.quadratum.logic.GameOverVerifier.EarlyTermination.DISABLED;
+import static de.tbressler.quadratum.logic.players.BotPlayerLogic.Strategy.LONG_TERM;
+
+/**
+ * Benchmark for the cost of square detection, game over verification and bot moves on game boards
+ * of different sizes. Every operation is measured on random positions where half of the fields are
+ * occupied.
+ * <p>
+ * Usage: {@code BoardSizeBenchmark [positions] [seed] [sizes...]}
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public class BoardSizeBenchmark {
+
+    /* The number of rounds without measurement. */
+    private static final int WARMUP_ROUNDS = 2;
+
+
+    public static void main(String[] args) {
+        int positions = (args.length > 0) ? Integer.parseInt(args[0]) : 500;
+        long seed = (args.length > 1) ? Long.parseLong(args[1]) : 42L;
+        int[] sizes = {8, 10, 12};
+        if (args.length > 2) {
+            sizes = new int[args.length - 2];
+            for (int i = 2; i < args.length; i++)
+                sizes[i - 2] = Integer.parseInt(args[i]);
+        }
+
+        System.out.printf("Positions: %d%n", positions);
+        System.out.printf("%n%5s %8s %14s %14s %14s%n", "size", "squares", "detect (us)", "verify (us)", "bot (us)");
+
+        for (int size : sizes) {
+            GameBoard[] boards = createPositions(size, positions, new Random(seed));
+            for (int round = 0; round < WARMUP_ROUNDS; round++)
+                measure(size, boards);
+            double[] result = measure(size, boards);
+            System.out.printf("%5d %8d %14.2f %14.2f %14.2f%n", size, SquareTable.of(size).getSquareCount(),
+                    result[0], result[1], result[2]);
+        }
+    }
+
+    /* Measures the average time per position in microseconds for detection, verification and bot. */
+    private static double[] measure(int size, GameBoard[] boards) {
+        Player player1 = boards[0].getPlayer1();
+        Player player2 = boards[0].getPlayer2();
+
+        SquareCollector squareCollector = new SquareCollector(size);
+        GameOverVerifier gameOverVerifier = new GameOverVerifier(150, 15, DISABLED, size);
+        BotPlayerLogic bot = new BotPlayerLogic(player1, LONG_TERM, size);
+        bot.setRandomizeMoves(false);
+
+        long nanosDetect = 0;
+        long nanosVerify = 0;
+        long nanosBot = 0;
+        int[] checksum = new int[1];
+        ILogicCallback callback = (index, player) -> {
+            checksum[0] += index;
+            return true;
+        };
+
+        for (GameBoard board : boards) {
+            squareCollector.reset();
+
+            long start = System.nanoTime();
+            squareCollector.detect(board, player1);
+            squareCollector.detect(board, player2);
+            nanosDetect += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            gameOverVerifier.isGameOver(board, squareCollector);
+            nanosVerify += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            bot.requestMove(board, callback);
+            nanosBot += System.nanoTime() - start;
+        }
+
+        if (checksum[0] == -1)
+            System.out.println();
+
+        return new double[] {
+                nanosDetect / 1000.0 / boards.length,
+                nanosVerify / 1000.0 / boards.length,
+                nanosBot / 1000.0 / boards.length
+        };
+    }
+
+    /* Creates random positions where half of the fields are occupied by alternating players. */
+    private static GameBoard[] createPositions(int size, int count, Random random) {
+        Player player1 = new Player("player1");
+        Player player2 = new Player("player2");
+
+        GameBoard[] boards = new GameBoard[count];
+        for (int i = 0; i < count; i++) {
+            GameBoard board = new GameBoard(player1, player2, size);
+            int pieces = (size * size) / 2;
+            for (int p = 0; p < pieces; p++) {
+                int index;
+                do {
+                    index = random.nextInt(size * size);
+                } while (!board.isFieldEmpty(index));
+                board.placePiece(index, (p % 2 == 0) ? player1 : player2);
+            }
+            boards[i] = board;
+        }
+        return boards;
+    }
+
+}
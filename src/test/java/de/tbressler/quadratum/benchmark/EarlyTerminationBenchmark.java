@@ -0,0 +1,224 @@
+package de.tbressler.quadratum.benchmark;
+
+import de.tbressler.quadratum.logic.GameLogic;
+import de.tbressler.quadratum.logic.GameOverVerifier;
+import de.tbressler.quadratum.logic.IGameLogicListener;
+import de.tbressler.quadratum.logic.ILogicCallback;
+import de.tbressler.quadratum.logic.IPlayerLogic;
+import de.tbressler.quadratum.logic.players.AbstractPlayerLogic;
+import de.tbressler.quadratum.logic.players.BotPlayerLogic;
+import de.tbressler.quadratum.model.GameBoard;
+import de.tbressler.quadratum.model.IGameBoardListener;
+import de.tbressler.quadratum.model.IReadOnlyGameBoard;
+import de.tbressler.quadratum.model.Player;
+import de.tbressler.quadratum.model.Square;
+
+import java.util.Objects;
+import java.util.Random;
+import java.util.Set;
+
+import static de.tbressler.quadratum.logic.GameOverVerifier.EarlyTermination.DISABLED;
+import static de.tbressler.quadratum.logic.GameOverVerifier.EarlyTermination.WHEN_DECIDED;
+import static de.tbressler.quadratum.logic.players.BotPlayerLogic.Strategy.LONG_TERM;
+import static de.tbressler.quadratum.logic.players.BotPlayerLogic.Strategy.SHORT_TERM;
+
+/**
+ * Self-play benchmark for the early termination of the game over verifier. Every game is played
+ * twice by the same players, once without and once with early termination, and the number of moves
+ * per game is compared. The bots play deterministically after a random opening, the random players
+ * use the same seed in both games.
+ * <p>
+ * Usage: {@code EarlyTerminationBenchmark [games] [minScore] [seed]}
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public class EarlyTerminationBenchmark {
+
+    /* The number of random opening moves per player. */
+    private static final int OPENING_MOVES = 3;
+
+
+    public static void main(String[] args) {
+        int games = (args.length > 0) ? Integer.parseInt(args[0]) : 1000;
+        int minScore = (args.length > 1) ? Integer.parseInt(args[1]) : 150;
+        long seed = (args.length > 2) ? Long.parseLong(args[2]) : 42L;
+
+        System.out.printf("Games: %d, minScore: %d, minDifference: 15%n", games, minScore);
+
+        runMatchup("bot vs. bot", games, minScore, seed, false);
+        runMatchup("random vs. random", games, minScore, seed, true);
+    }
+
+    /* Plays all games of a matchup with and without early termination and prints the results. */
+    private static void runMatchup(String name, int games, int minScore, long seed, boolean randomPlayers) {
+        Random random = new Random(seed);
+
+        long movesWithout = 0;
+        long movesWith = 0;
+        long nanosWithout = 0;
+        long nanosWith = 0;
+        int terminatedGames = 0;
+        int differentWinners = 0;
+
+        for (int game = 0; game < games; game++) {
+            int[] opening = createOpening(random);
+            long gameSeed = random.nextLong();
+
+            long start = System.nanoTime();
+            Result without = playGame(opening, gameSeed, randomPlayers, new GameOverVerifier(minScore, 15, DISABLED));
+            nanosWithout += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            Result with = playGame(opening, gameSeed, randomPlayers, new GameOverVerifier(minScore, 15, WHEN_DECIDED));
+            nanosWith += System.nanoTime() - start;
+
+            movesWithout += without.moves;
+            movesWith += with.moves;
+            if (with.moves < without.moves)
+                terminatedGames++;
+            if (!Objects.equals(without.winner, with.winner))
+                differentWinners++;
+        }
+
+        System.out.printf("%n%s%n", name);
+        System.out.printf("  Moves/game without termination: %.2f%n", (double) movesWithout / games);
+        System.out.printf("  Moves/game with termination:    %.2f%n", (double) movesWith / games);
+        System.out.printf("  Saved moves/game:               %.2f (%.1f%%)%n",
+                (double) (movesWithout - movesWith) / games,
+                100.0 * (movesWithout - movesWith) / movesWithout);
+        System.out.printf("  Games terminated early:         %d%n", terminatedGames);
+        System.out.printf("  Time/game without termination:  %.1f us%n", nanosWithout / 1000.0 / games);
+        System.out.printf("  Time/game with termination:     %.1f us%n", nanosWith / 1000.0 / games);
+        System.out.printf("  Games with different winner:    %d%n", differentWinners);
+    }
+
+    /* Creates random and distinct opening moves, alternating between player 1 and 2. */
+    private static int[] createOpening(Random random) {
+        int[] opening = new int[2 * OPENING_MOVES];
+        boolean[] used = new boolean[64];
+        for (int i = 0; i < opening.length; i++) {
+            int index;
+            do {
+                index = random.nextInt(64);
+            } while (used[index]);
+            used[index] = true;
+            opening[i] = index;
+        }
+        return opening;
+    }
+
+    /* Plays a single game and returns the result. */
+    private static Result playGame(int[] opening, long seed, boolean randomPlayers, GameOverVerifier gameOverVerifier) {
+        Player player1 = new Player("player1");
+        Player player2 = new Player("player2");
+
+        GameBoard gameBoard = new GameBoard(player1, player2);
+
+        IPlayerLogic playerLogic1;
+        IPlayerLogic playerLogic2;
+        if (randomPlayers) {
+            Random random = new Random(seed);
+            playerLogic1 = new RandomPlayerLogic(player1, random);
+            playerLogic2 = new RandomPlayerLogic(player2, random);
+        } else {
+            playerLogic1 = new OpeningPlayerLogic(player1, opening, 0, LONG_TERM);
+            playerLogic2 = new OpeningPlayerLogic(player2, opening, 1, SHORT_TERM);
+        }
+
+        GameLogic gameLogic = new GameLogic(gameBoard, playerLogic1, playerLogic2, gameOverVerifier);
+
+        Result result = new Result();
+        gameBoard.addGameBoardListener(result);
+        gameLogic.addGameLogicListener(result);
+
+        gameLogic.startGame(player1);
+
+        return result;
+    }
+
+
+    /* Player logic that plays the given opening moves first and then uses a bot. */
+    private static class OpeningPlayerLogic extends AbstractPlayerLogic {
+
+        private final int[] opening;
+        private final BotPlayerLogic bot;
+        private int nextOpeningMove;
+
+        OpeningPlayerLogic(Player player, int[] opening, int firstOpeningMove, BotPlayerLogic.Strategy strategy) {
+            super(player);
+            this.opening = opening;
+            this.nextOpeningMove = firstOpeningMove;
+            this.bot = new BotPlayerLogic(player, strategy);
+            this.bot.setRandomizeMoves(false);
+        }
+
+        @Override
+        public void requestMove(IReadOnlyGameBoard gameBoard, ILogicCallback callback) {
+            if (nextOpeningMove < opening.length) {
+                int index = opening[nextOpeningMove];
+                nextOpeningMove += 2;
+                callback.makeMove(index, getPlayer());
+            } else {
+                bot.requestMove(gameBoard, callback);
+            }
+        }
+
+    }
+
+
+    /* Player logic that places its pieces on random empty fields. */
+    private static class RandomPlayerLogic extends AbstractPlayerLogic {
+
+        private final Random random;
+
+        RandomPlayerLogic(Player player, Random random) {
+            super(player);
+            this.random = random;
+        }
+
+        @Override
+        public void requestMove(IReadOnlyGameBoard gameBoard, ILogicCallback callback) {
+            int index;
+            do {
+                index = random.nextInt(64);
+            } while (!gameBoard.isFieldEmpty(index));
+            callback.makeMove(index, getPlayer());
+        }
+
+    }
+
+
+    /* Collects the result of a game. */
+    private static class Result implements IGameBoardListener, IGameLogicListener {
+
+        private int moves;
+        private String winner;
+
+        @Override
+        public void onPiecePlaced(int index, Player player) {
+            moves++;
+        }
+
+        @Override
+        public void onGameBoardCleared() {
+            moves = 0;
+        }
+
+        @Override
+        public void onGameOver(Player winner) {
+            this.winner = (winner == null) ? null : winner.getName();
+        }
+
+        @Override
+        public void onNewSquaresFound(Player player, Set<Square> squares) {}
+
+        @Override
+        public void onActivePlayerChanged(Player activePlayer) {}
+
+        @Override
+        public void onGameStarted(Player activePlayer) {}
+
+    }
+
+}
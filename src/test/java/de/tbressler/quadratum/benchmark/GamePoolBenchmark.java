@@ -0,0 +1,130 @@
+package de.tbressler.quadratum.benchmark;
+
+import de.tbressler.quadratum.logic.GameLogic;
+import de.tbressler.quadratum.logic.GamePool;
+import de.tbressler.quadratum.logic.ILogicCallback;
+import de.tbressler.quadratum.logic.players.AbstractPlayerLogic;
+import de.tbressler.quadratum.model.GameBoard;
+import de.tbressler.quadratum.model.IReadOnlyGameBoard;
+import de.tbressler.quadratum.model.Player;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+import static de.tbressler.quadratum.logic.GamePool.ReleasePolicy.ON_GAME_OVER;
+
+/**
+ * Benchmark for the allocation per match with and without a game pool. Every match is played by
+ * two new players with random moves. The allocated bytes are measured for the current thread.
+ * <p>
+ * Usage: {@code GamePoolBenchmark [matches] [seed]}
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public class GamePoolBenchmark {
+
+    /* The number of rounds without measurement. */
+    private static final int WARMUP_ROUNDS = 3;
+
+    /* The thread bean for the allocated bytes. */
+    private static final com.sun.management.ThreadMXBean THREAD_BEAN =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+
+    public static void main(String[] args) {
+        int matches = (args.length > 0) ? Integer.parseInt(args[0]) : 20000;
+        long seed = (args.length > 1) ? Long.parseLong(args[1]) : 42L;
+
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            playWithoutPool(matches, seed);
+            playWithPool(matches, seed);
+        }
+
+        long[] without = playWithoutPool(matches, seed);
+        long[] with = playWithPool(matches, seed);
+
+        System.out.printf("Matches: %d%n", matches);
+        System.out.printf("%n%-14s %18s %18s %12s%n", "path", "setup bytes/match", "total bytes/match", "us/match");
+        print("new objects", without, matches);
+        print("game pool", with, matches);
+    }
+
+    /* Prints a result line. */
+    private static void print(String name, long[] result, int matches) {
+        System.out.printf("%-14s %18.0f %18.0f %12.2f%n", name, (double) result[0] / matches,
+                (double) result[1] / matches, result[2] / 1000.0 / matches);
+    }
+
+    /* Plays all matches with new game objects. Returns setup bytes, total bytes and nanos. */
+    private static long[] playWithoutPool(int matches, long seed) {
+        Random random = new Random(seed);
+        long setupBytes = 0;
+        long start = System.nanoTime();
+        long startBytes = allocatedBytes();
+
+        for (int match = 0; match < matches; match++) {
+            RandomPlayerLogic playerLogic1 = new RandomPlayerLogic(new Player("player1"), random);
+            RandomPlayerLogic playerLogic2 = new RandomPlayerLogic(new Player("player2"), random);
+
+            long before = allocatedBytes();
+            GameBoard gameBoard = new GameBoard(playerLogic1.getPlayer(), playerLogic2.getPlayer());
+            GameLogic gameLogic = new GameLogic(gameBoard, playerLogic1, playerLogic2);
+            setupBytes += allocatedBytes() - before;
+
+            gameLogic.startGame(playerLogic1.getPlayer());
+        }
+
+        return new long[]{setupBytes, allocatedBytes() - startBytes, System.nanoTime() - start};
+    }
+
+    /* Plays all matches with pooled game objects. Returns setup bytes, total bytes and nanos. */
+    private static long[] playWithPool(int matches, long seed) {
+        Random random = new Random(seed);
+        GamePool gamePool = new GamePool(16, ON_GAME_OVER);
+        long setupBytes = 0;
+        long start = System.nanoTime();
+        long startBytes = allocatedBytes();
+
+        for (int match = 0; match < matches; match++) {
+            RandomPlayerLogic playerLogic1 = new RandomPlayerLogic(new Player("player1"), random);
+            RandomPlayerLogic playerLogic2 = new RandomPlayerLogic(new Player("player2"), random);
+
+            long before = allocatedBytes();
+            GameLogic gameLogic = gamePool.lease(playerLogic1, playerLogic2);
+            setupBytes += allocatedBytes() - before;
+
+            gameLogic.startGame(playerLogic1.getPlayer());
+        }
+
+        return new long[]{setupBytes, allocatedBytes() - startBytes, System.nanoTime() - start};
+    }
+
+    /* Returns the allocated bytes of the current thread. */
+    private static long allocatedBytes() {
+        return THREAD_BEAN.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+
+    /* Player logic that places its pieces on random empty fields. */
+    private static class RandomPlayerLogic extends AbstractPlayerLogic {
+
+        private final Random random;
+
+        RandomPlayerLogic(Player player, Random random) {
+            super(player);
+            this.random = random;
+        }
+
+        @Override
+        public void requestMove(IReadOnlyGameBoard gameBoard, ILogicCallback callback) {
+            int index;
+            do {
+                index = random.nextInt(64);
+            } while (!gameBoard.isFieldEmpty(index));
+            callback.makeMove(index, getPlayer());
+        }
+
+    }
+
+}
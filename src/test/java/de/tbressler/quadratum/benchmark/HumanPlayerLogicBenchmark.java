@@ -0,0 +1,141 @@
+package de.tbressler.quadratum.benchmark;
+
+import de.tbressler.quadratum.logic.ILogicCallback;
+import de.tbressler.quadratum.logic.players.HumanPlayerLogic;
+import de.tbressler.quadratum.model.GameBoard;
+import de.tbressler.quadratum.model.Player;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntPredicate;
+
+/**
+ * Benchmark for concurrent calls of placePiece, e.g. by retries of a network client. Several
+ * threads place pieces for the same player, the callback requests the next move immediately. The
+ * lock-free human player logic is compared with the previous implementation with a fair lock. The
+ * number of submitted moves must be equal to the number of successful calls.
+ * <p>
+ * Usage: {@code HumanPlayerLogicBenchmark [maxThreads] [millis]}
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public class HumanPlayerLogicBenchmark {
+
+    /* The players. */
+    private static final Player PLAYER_1 = new Player("player1");
+    private static final Player PLAYER_2 = new Player("player2");
+
+
+    public static void main(String[] args) throws InterruptedException {
+        int maxThreads = (args.length > 0) ? Integer.parseInt(args[0]) : 8;
+        long millis = (args.length > 1) ? Long.parseLong(args[1]) : 1000L;
+        GameBoard gameBoard = new GameBoard(PLAYER_1, PLAYER_2);
+
+        System.out.printf("Cores: %d%n", Runtime.getRuntime().availableProcessors());
+        System.out.printf("%n%-12s %8s %14s %14s %10s%n", "logic", "threads", "calls/s", "moves/s", "exactly");
+
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            // Warm-up and measurement of the fair lock:
+            FairLockPlayerLogic fairLock = new FairLockPlayerLogic();
+            LongAdder fairLockMoves = new LongAdder();
+            ILogicCallback fairLockCallback = new ILogicCallback() {
+                @Override
+                public boolean makeMove(int index, Player player) {
+                    fairLockMoves.increment();
+                    fairLock.requestMove(this);
+                    return true;
+                }
+            };
+            fairLock.requestMove(fairLockCallback);
+            run(fairLock::placePiece, threads, millis / 4);
+            fairLockMoves.reset();
+            print("fair lock", threads, millis, run(fairLock::placePiece, threads, millis), fairLockMoves);
+
+            HumanPlayerLogic lockFree = new HumanPlayerLogic(PLAYER_1);
+            LongAdder lockFreeMoves = new LongAdder();
+            ILogicCallback lockFreeCallback = new ILogicCallback() {
+                @Override
+                public boolean makeMove(int index, Player player) {
+                    lockFreeMoves.increment();
+                    lockFree.requestMove(gameBoard, this);
+                    return true;
+                }
+            };
+            lockFree.requestMove(gameBoard, lockFreeCallback);
+            run(lockFree::placePiece, threads, millis / 4);
+            lockFreeMoves.reset();
+            print("lock-free", threads, millis, run(lockFree::placePiece, threads, millis), lockFreeMoves);
+        }
+    }
+
+    /* Prints a result line. */
+    private static void print(String name, int threads, long millis, long[] result, LongAdder moves) {
+        System.out.printf("%-12s %8d %14.0f %14.0f %10s%n", name, threads, result[0] * 1e3 / millis,
+                result[1] * 1e3 / millis, result[1] == moves.sum());
+    }
+
+    /* Calls placePiece in parallel for the given time. Returns the number of calls and the number
+       of successful calls. */
+    private static long[] run(IntPredicate placePiece, int threads, long millis) throws InterruptedException {
+        AtomicBoolean running = new AtomicBoolean(true);
+        LongAdder calls = new LongAdder();
+        LongAdder successes = new LongAdder();
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                int index = 0;
+                while (running.get()) {
+                    if (placePiece.test(index))
+                        successes.increment();
+                    calls.increment();
+                    index = (index + 1) & 63;
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        Thread.sleep(millis);
+        running.set(false);
+        for (Thread worker : workers)
+            worker.join();
+        return new long[]{calls.sum(), successes.sum()};
+    }
+
+
+    /* The move request of the human player logic with a fair lock, as it was implemented before
+       the lock-free state machine. */
+    private static class FairLockPlayerLogic {
+
+        private final ReentrantLock lock = new ReentrantLock(true);
+        private boolean isPlayerActive = false;
+        private ILogicCallback logicCallback = null;
+
+        void requestMove(ILogicCallback callback) {
+            try {
+                lock.lock();
+                logicCallback = callback;
+                isPlayerActive = true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        boolean placePiece(int index) {
+            try {
+                lock.lock();
+                if (!isPlayerActive)
+                    return false;
+                isPlayerActive = false;
+                return logicCallback.makeMove(index, PLAYER_1);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,95 @@
+package de.tbressler.quadratum.benchmark;
+
+import de.tbressler.quadratum.evaluation.GameRecord;
+import de.tbressler.quadratum.evaluation.ModelTrainer;
+import de.tbressler.quadratum.evaluation.PositionModel;
+import de.tbressler.quadratum.evaluation.SelfPlay;
+import de.tbressler.quadratum.logic.players.BotPlayerLogic;
+import de.tbressler.quadratum.logic.players.ModelBotPlayerLogic;
+import de.tbressler.quadratum.metrics.InMemoryMetricsRecorder;
+import de.tbressler.quadratum.tournament.Entrant;
+import de.tbressler.quadratum.tournament.MatchStats;
+import de.tbressler.quadratum.tournament.Tournament;
+import de.tbressler.quadratum.tournament.TournamentResult;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static de.tbressler.quadratum.logic.players.BotPlayerLogic.Strategy.LONG_TERM;
+import static de.tbressler.quadratum.metrics.IMetricsRecorder.Latency.BOT_MOVE;
+import static java.util.Arrays.asList;
+
+/**
+ * Benchmark for the learned position models. Self-play games of the long term bot are generated,
+ * a linear model and a model with hidden units are trained on them and both models play against
+ * the long term bot. The score against the bot and the CPU time per move are printed.
+ * <p>
+ * The models don't beat the long term bot with forced moves across seeds yet, so run the benchmark
+ * with several seeds.
+ * <p>
+ * Usage: {@code LearnedModelBenchmark [training games] [game pairs] [seed]}
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public class LearnedModelBenchmark {
+
+    /* The number of hidden units of the larger model. */
+    private static final int HIDDEN_SIZE = 16;
+
+
+    public static void main(String[] args) {
+        int trainingGames = (args.length > 0) ? Integer.parseInt(args[0]) : 2000;
+        int gamePairs = (args.length > 1) ? Integer.parseInt(args[1]) : 100;
+        long seed = (args.length > 2) ? Long.parseLong(args[2]) : 42L;
+
+        SelfPlay selfPlay = new SelfPlay(LONG_TERM);
+        selfPlay.setSeed(seed);
+        long start = System.nanoTime();
+        List<GameRecord> records = selfPlay.play(trainingGames);
+        System.out.printf("self-play: %d games in %.1f s%n", records.size(), (System.nanoTime() - start) / 1e9);
+
+        System.out.printf("%-12s %8s %10s %8s %12s %12s%n", "model", "error", "score", "elo", "us/move", "bot us/move");
+        for (int hiddenSize : new int[]{0, HIDDEN_SIZE}) {
+            ModelTrainer trainer = new ModelTrainer(8, hiddenSize);
+            trainer.setSeed(seed);
+            PositionModel model = trainer.train(records);
+            double error = trainer.getError(model, records);
+
+            InMemoryMetricsRecorder modelMetrics = new InMemoryMetricsRecorder();
+            InMemoryMetricsRecorder botMetrics = new InMemoryMetricsRecorder();
+            Entrant modelBot = new Entrant("model", player -> {
+                ModelBotPlayerLogic modelBotPlayerLogic = new ModelBotPlayerLogic(player, model);
+                modelBotPlayerLogic.setMetricsRecorder(modelMetrics);
+                return modelBotPlayerLogic;
+            });
+            Entrant longTermBot = new Entrant("long term", (player, random) -> {
+                BotPlayerLogic botPlayerLogic = new BotPlayerLogic(player, LONG_TERM);
+                botPlayerLogic.setRandom(random);
+                botPlayerLogic.setMetricsRecorder(botMetrics);
+                return botPlayerLogic;
+            });
+
+            ExecutorService executor = Executors.newSingleThreadExecutor();
+            try {
+                Tournament tournament = new Tournament(asList(modelBot, longTermBot));
+                tournament.setExecutor(executor);
+                tournament.setSeed(seed);
+                tournament.setMaxRounds(1);
+                tournament.setGamePairsPerRound(gamePairs);
+                TournamentResult result = tournament.run();
+                MatchStats stats = result.getStats(modelBot, longTermBot);
+
+                System.out.printf("%-12s %8.4f %10s %8.0f %12.1f %12.1f%n",
+                        (hiddenSize == 0) ? "linear" : "mlp-" + hiddenSize, error,
+                        String.format("%.3f", stats.getScore()), stats.getEloDifference(),
+                        modelMetrics.getLatency(BOT_MOVE).getMean() / 1000.0,
+                        botMetrics.getLatency(BOT_MOVE).getMean() / 1000.0);
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,162 @@
+package de.tbressler.quadratum.benchmark;
+
+import de.tbressler.quadratum.core.GameCore;
+import de.tbressler.quadratum.logic.GameLogic;
+import de.tbressler.quadratum.logic.ILogicCallback;
+import de.tbressler.quadratum.logic.players.AbstractPlayerLogic;
+import de.tbressler.quadratum.model.GameBoard;
+import de.tbressler.quadratum.model.IGameBoardListener;
+import de.tbressler.quadratum.model.IReadOnlyGameBoard;
+import de.tbressler.quadratum.model.Player;
+
+import java.util.Random;
+
+import static de.tbressler.quadratum.logic.GameOverVerifier.GameOverState.NOT_OVER;
+
+/**
+ * Benchmark for the number of moves per second of the validated game logic and the unchecked game
+ * core. Both paths play the same random games until the game is over, the number of played moves
+ * must be equal.
+ * <p>
+ * Usage: {@code MovesPerSecondBenchmark [games] [size] [seed]}
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public class MovesPerSecondBenchmark {
+
+    /* The number of rounds without measurement. */
+    private static final int WARMUP_ROUNDS = 3;
+
+
+    public static void main(String[] args) {
+        int games = (args.length > 0) ? Integer.parseInt(args[0]) : 2000;
+        int size = (args.length > 1) ? Integer.parseInt(args[1]) : 8;
+        long seed = (args.length > 2) ? Long.parseLong(args[2]) : 42L;
+
+        int[][] sequences = createSequences(games, size, new Random(seed));
+
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            playWithGameLogic(size, sequences);
+            playWithGameCore(size, sequences);
+        }
+
+        long start = System.nanoTime();
+        long movesLogic = playWithGameLogic(size, sequences);
+        long nanosLogic = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        long movesCore = playWithGameCore(size, sequences);
+        long nanosCore = System.nanoTime() - start;
+
+        System.out.printf("Games: %d, size: %d%n", games, size);
+        System.out.printf("%n%-24s %12s %16s%n", "path", "moves", "moves/s");
+        System.out.printf("%-24s %12d %16.0f%n", "GameLogic (validated)", movesLogic, movesLogic * 1e9 / nanosLogic);
+        System.out.printf("%-24s %12d %16.0f%n", "GameCore (unchecked)", movesCore, movesCore * 1e9 / nanosCore);
+        System.out.printf("%nSpeedup: %.1fx%n", (movesCore * 1e9 / nanosCore) / (movesLogic * 1e9 / nanosLogic));
+
+        if (movesLogic != movesCore)
+            System.out.println("WARNING: The paths played a different number of moves!");
+    }
+
+    /* Creates a random order of the fields per game. */
+    private static int[][] createSequences(int games, int size, Random random) {
+        int[][] sequences = new int[games][size * size];
+        for (int[] sequence : sequences) {
+            for (int i = 0; i < sequence.length; i++)
+                sequence[i] = i;
+            for (int i = sequence.length - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int tmp = sequence[i];
+                sequence[i] = sequence[j];
+                sequence[j] = tmp;
+            }
+        }
+        return sequences;
+    }
+
+    /* Plays all games with the game logic and returns the number of moves. */
+    private static long playWithGameLogic(int size, int[][] sequences) {
+        Player player1 = new Player("player1");
+        Player player2 = new Player("player2");
+
+        GameBoard gameBoard = new GameBoard(player1, player2, size);
+        SequencePlayerLogic playerLogic1 = new SequencePlayerLogic(player1);
+        SequencePlayerLogic playerLogic2 = new SequencePlayerLogic(player2);
+        GameLogic gameLogic = new GameLogic(gameBoard, playerLogic1, playerLogic2);
+
+        MoveCounter counter = new MoveCounter();
+        gameBoard.addGameBoardListener(counter);
+
+        for (int[] sequence : sequences) {
+            Cursor cursor = new Cursor(sequence);
+            playerLogic1.cursor = cursor;
+            playerLogic2.cursor = cursor;
+            gameLogic.startGame(player1);
+        }
+        return counter.moves;
+    }
+
+    /* Plays all games with the game core and returns the number of moves. */
+    private static long playWithGameCore(int size, int[][] sequences) {
+        GameCore emptyCore = new GameCore(size, 150, 15);
+        GameCore core = new GameCore(size, 150, 15);
+
+        long moves = 0;
+        for (int[] sequence : sequences) {
+            core.copyFrom(emptyCore);
+            for (int i = 0; (i < sequence.length) && (core.getState() == NOT_OVER); i++) {
+                core.makeMoveUnchecked(sequence[i]);
+                moves++;
+            }
+        }
+        return moves;
+    }
+
+
+    /* The position in the move sequence of a game, shared by both players. */
+    private static class Cursor {
+
+        private final int[] sequence;
+        private int next;
+
+        Cursor(int[] sequence) {
+            this.sequence = sequence;
+        }
+
+    }
+
+
+    /* Player logic that plays the next move of the sequence. */
+    private static class SequencePlayerLogic extends AbstractPlayerLogic {
+
+        private Cursor cursor;
+
+        SequencePlayerLogic(Player player) {
+            super(player);
+        }
+
+        @Override
+        public void requestMove(IReadOnlyGameBoard gameBoard, ILogicCallback callback) {
+            callback.makeMove(cursor.sequence[cursor.next++], getPlayer());
+        }
+
+    }
+
+
+    /* Counts the placed pieces. */
+    private static class MoveCounter implements IGameBoardListener {
+
+        private long moves;
+
+        @Override
+        public void onPiecePlaced(int index, Player player) {
+            moves++;
+        }
+
+        @Override
+        public void onGameBoardCleared() {}
+
+    }
+
+}
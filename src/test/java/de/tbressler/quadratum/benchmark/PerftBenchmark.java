@@ -0,0 +1,71 @@
+package de.tbressler.quadratum.benchmark;
+
+import de.tbressler.quadratum.analysis.Perft;
+import de.tbressler.quadratum.analysis.Perft.Representation;
+import de.tbressler.quadratum.analysis.PerftResult;
+import de.tbressler.quadratum.core.GameCore;
+import de.tbressler.quadratum.core.Position;
+
+import java.util.Random;
+
+import static de.tbressler.quadratum.core.GameCore.PLAYER1;
+
+/**
+ * Benchmark for the board representations. A perft enumeration runs from a random position on
+ * every representation and the results are compared with the reference square collector.
+ * <p>
+ * Usage: {@code PerftBenchmark [depth] [pieces] [seed]}
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public class PerftBenchmark {
+
+    /* The number of rounds without measurement. */
+    private static final int WARMUP_ROUNDS = 2;
+
+
+    public static void main(String[] args) {
+        int depth = (args.length > 0) ? Integer.parseInt(args[0]) : 3;
+        int pieces = (args.length > 1) ? Integer.parseInt(args[1]) : 24;
+        long seed = (args.length > 2) ? Long.parseLong(args[2]) : 42L;
+
+        Position position = createPosition(pieces, seed);
+        Perft perft = new Perft(150, 15);
+
+        for (int round = 0; round < WARMUP_ROUNDS; round++)
+            for (Representation representation : Representation.values())
+                perft.run(position, depth, representation);
+
+        System.out.printf("Depth: %d, pieces: %d, cores: %d%n", depth, pieces,
+                Runtime.getRuntime().availableProcessors());
+        System.out.printf("%n%-18s %14s %14s %12s %10s %8s%n", "representation", "nodes/s", "nodes",
+                "squares", "terminals", "matches");
+
+        PerftResult reference = perft.run(position, depth, Representation.SQUARE_COLLECTOR);
+        for (Representation representation : Representation.values()) {
+            long start = System.nanoTime();
+            PerftResult result = perft.run(position, depth, representation);
+            long nanos = System.nanoTime() - start;
+
+            System.out.printf("%-18s %14.0f %14d %12d %10d %8s%n", representation,
+                    result.getNodes() * 1e9 / nanos, result.getNodes(), result.getSquares(),
+                    result.getTerminals(), result.equals(reference));
+        }
+    }
+
+    /* Returns the position after random moves on an 8x8 board. */
+    private static Position createPosition(int pieces, long seed) {
+        Random random = new Random(seed);
+        GameCore core = new GameCore(8, Integer.MAX_VALUE, 0);
+        int[] moves = new int[pieces];
+        int[] emptyFields = new int[64];
+        for (int m = 0; m < pieces; m++) {
+            int emptyFieldCount = core.getEmptyFields(emptyFields);
+            moves[m] = emptyFields[random.nextInt(emptyFieldCount)];
+            core.makeMoveUnchecked(moves[m]);
+        }
+        return Position.ofGame(8, PLAYER1, moves)[pieces];
+    }
+
+}
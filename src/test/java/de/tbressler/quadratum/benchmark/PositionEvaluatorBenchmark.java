@@ -0,0 +1,140 @@
+package de.tbressler.quadratum.benchmark;
+
+import de.tbressler.quadratum.analysis.PositionEvaluation;
+import de.tbressler.quadratum.analysis.PositionEvaluator;
+import de.tbressler.quadratum.core.GameCore;
+import de.tbressler.quadratum.core.Position;
+import de.tbressler.quadratum.logic.players.BotPlayerLogic;
+import de.tbressler.quadratum.model.GameBoard;
+import de.tbressler.quadratum.model.Player;
+
+import java.util.Random;
+
+import static de.tbressler.quadratum.core.GameCore.PLAYER1;
+import static de.tbressler.quadratum.core.GameCore.PLAYER2;
+import static de.tbressler.quadratum.logic.players.BotPlayerLogic.Strategy.LONG_TERM;
+
+/**
+ * Benchmark for the evaluation of positions. The positions of random games are evaluated by a bot
+ * on a game board (one position after another) and by the position evaluator (single-threaded and
+ * in parallel).
+ * <p>
+ * Usage: {@code PositionEvaluatorBenchmark [games] [seed]}
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public class PositionEvaluatorBenchmark {
+
+    /* The number of rounds without measurement. */
+    private static final int WARMUP_ROUNDS = 3;
+
+    /* The players. */
+    private static final Player PLAYER_1 = new Player("player1");
+    private static final Player PLAYER_2 = new Player("player2");
+
+
+    public static void main(String[] args) {
+        int games = (args.length > 0) ? Integer.parseInt(args[0]) : 2000;
+        long seed = (args.length > 1) ? Long.parseLong(args[1]) : 42L;
+
+        Position[] positions = createPositions(games, seed);
+        PositionEvaluator evaluator = new PositionEvaluator(LONG_TERM);
+
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            evaluateWithBot(positions);
+            evaluateSequential(evaluator, positions);
+            evaluator.evaluateAll(positions);
+        }
+
+        long start = System.nanoTime();
+        long checksumBot = evaluateWithBot(positions);
+        long nanosBot = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        long checksumSequential = evaluateSequential(evaluator, positions);
+        long nanosSequential = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        long checksumParallel = checksum(evaluator.evaluateAll(positions));
+        long nanosParallel = System.nanoTime() - start;
+
+        System.out.printf("Positions: %d, cores: %d%n", positions.length, Runtime.getRuntime().availableProcessors());
+        System.out.printf("%n%-22s %14s %14s%n", "path", "positions/s", "checksum");
+        print("bot on game board", positions.length, nanosBot, checksumBot);
+        print("evaluator (1 thread)", positions.length, nanosSequential, checksumSequential);
+        print("evaluator (parallel)", positions.length, nanosParallel, checksumParallel);
+    }
+
+    /* Prints a result line. */
+    private static void print(String name, int positions, long nanos, long checksum) {
+        System.out.printf("%-22s %14.0f %14d%n", name, positions * 1e9 / nanos, checksum);
+    }
+
+    /* Returns all positions of random games. */
+    private static Position[] createPositions(int games, long seed) {
+        Random random = new Random(seed);
+        int[] moves = new int[64];
+        int[] emptyFields = new int[64];
+        Position[] positions = new Position[games * 64];
+        int count = 0;
+
+        for (int game = 0; game < games; game++) {
+            GameCore core = new GameCore(8, Integer.MAX_VALUE, 0);
+            for (int m = 0; m < 64; m++) {
+                int emptyFieldCount = core.getEmptyFields(emptyFields);
+                moves[m] = emptyFields[random.nextInt(emptyFieldCount)];
+                core.makeMoveUnchecked(moves[m]);
+            }
+            Position[] gamePositions = Position.ofGame(8, PLAYER1, moves);
+            System.arraycopy(gamePositions, 0, positions, count, 64);
+            count += 64;
+        }
+        return positions;
+    }
+
+    /* Evaluates the positions with a bot on a game board. Returns the sum of the best moves. */
+    private static long evaluateWithBot(Position[] positions) {
+        BotPlayerLogic bot1 = new BotPlayerLogic(PLAYER_1, LONG_TERM);
+        BotPlayerLogic bot2 = new BotPlayerLogic(PLAYER_2, LONG_TERM);
+        bot1.setRandomizeMoves(false);
+        bot2.setRandomizeMoves(false);
+
+        long checksum = 0;
+        int[] move = new int[1];
+        for (Position position : positions) {
+            GameBoard gameBoard = new GameBoard(PLAYER_1, PLAYER_2);
+            for (int i = 0; i < 64; i++) {
+                int piece = position.getPiece(i);
+                if (piece == PLAYER1)
+                    gameBoard.placePiece(i, PLAYER_1);
+                else if (piece == PLAYER2)
+                    gameBoard.placePiece(i, PLAYER_2);
+            }
+            BotPlayerLogic bot = (position.getActivePlayer() == PLAYER1) ? bot1 : bot2;
+            bot.requestMove(gameBoard, (index, player) -> {
+                move[0] = index;
+                return true;
+            });
+            checksum += move[0];
+        }
+        return checksum;
+    }
+
+    /* Evaluates the positions one after another. Returns the sum of the best moves. */
+    private static long evaluateSequential(PositionEvaluator evaluator, Position[] positions) {
+        long checksum = 0;
+        for (Position position : positions)
+            checksum += evaluator.evaluate(position).getBestMove();
+        return checksum;
+    }
+
+    /* Returns the sum of the best moves. */
+    private static long checksum(PositionEvaluation[] evaluations) {
+        long checksum = 0;
+        for (PositionEvaluation evaluation : evaluations)
+            checksum += evaluation.getBestMove();
+        return checksum;
+    }
+
+}
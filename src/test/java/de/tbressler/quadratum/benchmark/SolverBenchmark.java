@@ -0,0 +1,69 @@
+package de.tbressler.quadratum.benchmark;
+
+import de.tbressler.quadratum.core.GameCore;
+import de.tbressler.quadratum.core.Position;
+import de.tbressler.quadratum.solver.Solution;
+import de.tbressler.quadratum.solver.Solver;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static de.tbressler.quadratum.logic.GameOverVerifier.GameOverState.NOT_OVER;
+
+/**
+ * Benchmark for the scaling of the solver. A position after random moves is solved with 1, 2, 4,
+ * ... threads and an empty transposition table. The default solves the empty 4x4 game board.
+ * <p>
+ * Usage: {@code SolverBenchmark [size] [pieces] [maxThreads] [tableBits] [seed]}
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public class SolverBenchmark {
+
+    public static void main(String[] args) {
+        int size = (args.length > 0) ? Integer.parseInt(args[0]) : 4;
+        int pieces = (args.length > 1) ? Integer.parseInt(args[1]) : 0;
+        int maxThreads = (args.length > 2) ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        int tableBits = (args.length > 3) ? Integer.parseInt(args[3]) : 22;
+        long seed = (args.length > 4) ? Long.parseLong(args[4]) : 42L;
+
+        Position position = createPosition(size, pieces, seed);
+        System.out.printf("Position: %s, cores: %d%n", position, Runtime.getRuntime().availableProcessors());
+        System.out.printf("%n%8s %10s %14s %14s %8s  %s%n", "threads", "ms", "nodes", "nodes/s", "speedup", "solution");
+
+        double baseMillis = 0;
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            Solver solver = new Solver(size, 150, 15);
+            solver.setTableBits(tableBits);
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            solver.setForkJoinPool(pool);
+
+            long start = System.nanoTime();
+            Solution solution = solver.solve(position);
+            double millis = (System.nanoTime() - start) / 1e6;
+            pool.shutdown();
+
+            if (threads == 1)
+                baseMillis = millis;
+            System.out.printf("%8d %10.0f %14d %14.0f %8.2f  %s %d optimal moves%n", threads, millis,
+                    solution.getNodes(), solution.getNodes() * 1e3 / millis, baseMillis / millis,
+                    solution.getValue(), solution.getOptimalMoves().length);
+        }
+    }
+
+    /* Returns the position after random moves, which don't end the game. */
+    private static Position createPosition(int size, int pieces, long seed) {
+        Random random = new Random(seed);
+        GameCore core = new GameCore(size, 150, 15);
+        int[] emptyFields = new int[size * size];
+        for (int m = 0; m < pieces; m++) {
+            int move = emptyFields[random.nextInt(core.getEmptyFields(emptyFields))];
+            core.makeMoveUnchecked(move);
+            if (core.getState() != NOT_OVER)
+                core.unmakeMoveUnchecked(move);
+        }
+        return core.toPosition();
+    }
+
+}
@@ -0,0 +1,208 @@
+package de.tbressler.quadratum.benchmark;
+
+import de.tbressler.quadratum.model.GameBoard;
+import de.tbressler.quadratum.model.Player;
+import de.tbressler.quadratum.wire.IWireHandler;
+import de.tbressler.quadratum.wire.WireDecoder;
+import de.tbressler.quadratum.wire.WireEncoder;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import static de.tbressler.quadratum.core.GameCore.PLAYER1;
+import static de.tbressler.quadratum.core.GameCore.PLAYER2;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Benchmark for the wire format. The full state of a game board is encoded as JSON with one entry
+ * per field (the former format) and as two 64-bit masks. The moves of random games are encoded
+ * and decoded as deltas.
+ * <p>
+ * Usage: {@code WireCodecBenchmark [iterations] [seed]}
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public class WireCodecBenchmark {
+
+    /* The number of rounds without measurement. */
+    private static final int WARMUP_ROUNDS = 3;
+
+    /* The players. */
+    private static final Player PLAYER_1 = new Player("player1");
+    private static final Player PLAYER_2 = new Player("player2");
+
+
+    public static void main(String[] args) {
+        int iterations = (args.length > 0) ? Integer.parseInt(args[0]) : 1_000_000;
+        long seed = (args.length > 1) ? Long.parseLong(args[1]) : 42L;
+
+        GameBoard gameBoard = createGameBoard(seed);
+        int[] moves = createMoves(seed);
+        WireEncoder encoder = new WireEncoder(8);
+        WireDecoder decoder = new WireDecoder(8);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(64 * 1024);
+        CountingHandler handler = new CountingHandler();
+
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            encodeJson(gameBoard, iterations / 10);
+            encodeStates(gameBoard, encoder, buffer, iterations);
+            encodeAndDecodeStates(gameBoard, encoder, decoder, buffer, handler, iterations);
+            encodeAndDecodeMoves(moves, encoder, decoder, buffer, handler, iterations / 64);
+        }
+
+        long start = System.nanoTime();
+        long bytesJson = encodeJson(gameBoard, iterations / 10);
+        long nanosJson = (System.nanoTime() - start) * 10;
+
+        start = System.nanoTime();
+        long bytesState = encodeStates(gameBoard, encoder, buffer, iterations);
+        long nanosState = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        encodeAndDecodeStates(gameBoard, encoder, decoder, buffer, handler, iterations);
+        long nanosStateRoundTrip = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        long messages = encodeAndDecodeMoves(moves, encoder, decoder, buffer, handler, iterations / 64);
+        long nanosMoves = System.nanoTime() - start;
+
+        System.out.printf("%-28s %14s %10s%n", "path", "messages/s", "bytes");
+        print("state as JSON (encode)", iterations, nanosJson, bytesJson / (iterations / 10));
+        print("state as masks (encode)", iterations, nanosState, bytesState / iterations);
+        print("state as masks (round trip)", iterations, nanosStateRoundTrip, encoder.getStateLength());
+        print("move deltas (round trip)", messages, nanosMoves, encoder.getDeltaLength());
+        System.out.printf("%nchecksum: %d%n", handler.checksum);
+    }
+
+    /* Prints a result line. */
+    private static void print(String name, long messages, long nanos, long bytes) {
+        System.out.printf("%-28s %14.0f %10d%n", name, messages * 1e9 / nanos, bytes);
+    }
+
+    /* Returns a game board with 32 random pieces. */
+    private static GameBoard createGameBoard(long seed) {
+        GameBoard gameBoard = new GameBoard(PLAYER_1, PLAYER_2);
+        Random random = new Random(seed);
+        for (int i = 0; i < 32; i++) {
+            int index;
+            do {
+                index = random.nextInt(64);
+            } while (!gameBoard.isFieldEmpty(index));
+            gameBoard.placePiece(index, (i % 2 == 0) ? PLAYER_1 : PLAYER_2);
+        }
+        return gameBoard;
+    }
+
+    /* Returns the 64 moves of a random game. */
+    private static int[] createMoves(long seed) {
+        int[] moves = new int[64];
+        for (int i = 0; i < 64; i++)
+            moves[i] = i;
+        Random random = new Random(seed);
+        for (int i = 63; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = moves[i];
+            moves[i] = moves[j];
+            moves[j] = swap;
+        }
+        return moves;
+    }
+
+    /* Encodes the game board as JSON array with one entry per field. Returns the number of bytes. */
+    private static long encodeJson(GameBoard gameBoard, int iterations) {
+        long bytes = 0;
+        for (int n = 0; n < iterations; n++) {
+            StringBuilder json = new StringBuilder("{\"fields\":[");
+            for (int i = 0; i < 64; i++) {
+                if (i > 0)
+                    json.append(',');
+                Player piece = gameBoard.getPiece(i);
+                json.append((piece == null) ? "null" : '"' + piece.getName() + '"');
+            }
+            bytes += json.append("]}").toString().getBytes(UTF_8).length;
+        }
+        return bytes;
+    }
+
+    /* Encodes the game board as two masks. Returns the number of bytes. */
+    private static long encodeStates(GameBoard gameBoard, WireEncoder encoder, ByteBuffer buffer, int iterations) {
+        long[] player1Pieces = gameBoard.getPieces(PLAYER_1);
+        long[] player2Pieces = gameBoard.getPieces(PLAYER_2);
+        long bytes = 0;
+        for (int n = 0; n < iterations; n++) {
+            if (buffer.remaining() < encoder.getStateLength()) {
+                bytes += buffer.position();
+                buffer.clear();
+            }
+            encoder.encodeState(buffer, n, PLAYER1, player1Pieces, player2Pieces);
+        }
+        bytes += buffer.position();
+        buffer.clear();
+        return bytes;
+    }
+
+    /* Encodes and decodes the game board as two masks in batches. */
+    private static void encodeAndDecodeStates(GameBoard gameBoard, WireEncoder encoder, WireDecoder decoder,
+                                              ByteBuffer buffer, IWireHandler handler, int iterations) {
+        long[] player1Pieces = gameBoard.getPieces(PLAYER_1);
+        long[] player2Pieces = gameBoard.getPieces(PLAYER_2);
+        for (int n = 0; n < iterations; n++) {
+            if (buffer.remaining() < encoder.getStateLength()) {
+                buffer.flip();
+                decoder.decodeAll(buffer, handler);
+                buffer.clear();
+            }
+            encoder.encodeState(buffer, n, PLAYER1, player1Pieces, player2Pieces);
+        }
+        buffer.flip();
+        decoder.decodeAll(buffer, handler);
+        buffer.clear();
+    }
+
+    /* Encodes and decodes the moves of games as deltas after a full state. Returns the number of
+       messages. */
+    private static long encodeAndDecodeMoves(int[] moves, WireEncoder encoder, WireDecoder decoder,
+                                             ByteBuffer buffer, IWireHandler handler, int games) {
+        long[] empty = new long[1];
+        long messages = 0;
+        for (int game = 0; game < games; game++) {
+            encoder.encodeState(buffer, 0, PLAYER1, empty, empty);
+            for (int m = 0; m < moves.length; m++)
+                encoder.encodeMove(buffer, m + 1, moves[m], (m % 2 == 0) ? PLAYER1 : PLAYER2);
+            buffer.flip();
+            messages += decoder.decodeAll(buffer, handler);
+            buffer.clear();
+        }
+        return messages;
+    }
+
+
+    /* Handler, which sums up the decoded values. */
+    private static class CountingHandler implements IWireHandler {
+
+        private long checksum = 0;
+
+        @Override
+        public void onState(long sequenceNumber, int activePlayer, long[] player1Pieces, long[] player2Pieces) {
+            checksum += player1Pieces[0] ^ player2Pieces[0];
+        }
+
+        @Override
+        public void onMove(long sequenceNumber, int index, int player) {
+            checksum += index;
+        }
+
+        @Override
+        public void onUndo(long sequenceNumber, int index, int player) {
+            checksum -= index;
+        }
+
+        @Override
+        public void onSquares(long sequenceNumber, int player, int[] squareIds, int count) {
+            checksum += count;
+        }
+
+    }
+
+}
@@ -0,0 +1,375 @@
+package de.tbressler.quadratum.core;
+
+import de.tbressler.quadratum.logic.GameOverVerifier;
+import de.tbressler.quadratum.logic.SquareCollector;
+import de.tbressler.quadratum.model.GameBoard;
+import de.tbressler.quadratum.model.Player;
+import de.tbressler.quadratum.utils.SquareTable;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static de.tbressler.quadratum.core.GameCore.NO_PLAYER;
+import static de.tbressler.quadratum.core.GameCore.PLAYER1;
+import static de.tbressler.quadratum.core.GameCore.PLAYER2;
+import static de.tbressler.quadratum.logic.GameOverVerifier.EarlyTermination.DISABLED;
+import static de.tbressler.quadratum.logic.GameOverVerifier.GameOverState.NOT_OVER;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for class GameCore.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public class TestGameCore {
+
+    // Class under test:
+    private GameCore gameCore;
+
+    // Players:
+    private Player player1 = new Player("player1");
+    private Player player2 = new Player("player2");
+
+
+    @Before
+    public void setUp() {
+        gameCore = new GameCore(8, 150, 15);
+    }
+
+
+    @Test(expected = AssertionError.class)
+    public void new_withSizeLowerThan4_throwsException() {
+        new GameCore(3, 150, 15);
+    }
+
+    @Test
+    public void new_returnsEmptyGameCore() {
+        assertEquals(64, gameCore.getFieldCount());
+        assertEquals(64, gameCore.getEmptyFieldCount());
+        assertEquals(PLAYER1, gameCore.getActivePlayer());
+        assertEquals(NOT_OVER, gameCore.getState());
+    }
+
+    @Test(expected = AssertionError.class)
+    public void makeMove_withIndexLowerThan0_throwsException() {
+        gameCore.makeMove(-1);
+    }
+
+    @Test(expected = AssertionError.class)
+    public void makeMove_withIndexGreaterThan63_throwsException() {
+        gameCore.makeMove(64);
+    }
+
+    @Test(expected = AssertionError.class)
+    public void makeMove_withOccupiedField_throwsException() {
+        gameCore.makeMove(10);
+        gameCore.makeMove(10);
+    }
+
+    @Test
+    public void makeMove_switchesActivePlayer() {
+        gameCore.makeMove(10);
+        assertEquals(PLAYER2, gameCore.getActivePlayer());
+        assertEquals(PLAYER1, gameCore.getPieceUnchecked(10));
+        assertEquals(NO_PLAYER, gameCore.getPieceUnchecked(11));
+        assertEquals(1, gameCore.getMoveCount());
+    }
+
+    @Test
+    public void makeMoveUnchecked_withCompletedSquare_returnsScore() {
+        assertEquals(0, gameCore.makeMoveUnchecked(0));
+        gameCore.makeMoveUnchecked(63);
+        assertEquals(0, gameCore.makeMoveUnchecked(1));
+        gameCore.makeMoveUnchecked(62);
+        assertEquals(0, gameCore.makeMoveUnchecked(8));
+        gameCore.makeMoveUnchecked(61);
+        assertEquals(4, gameCore.makeMoveUnchecked(9));
+
+        assertEquals(4, gameCore.getScore(PLAYER1));
+        assertEquals(1, gameCore.getSquareCount(PLAYER1));
+        assertEquals(0, gameCore.getScore(PLAYER2));
+    }
+
+    @Test(expected = AssertionError.class)
+    public void makeMove_ifGameIsOver_throwsException() {
+        GameCore core = new GameCore(4, 150, 15);
+        for (int i = 0; i < 16; i++)
+            core.makeMoveUnchecked(i);
+        core.makeMove(0);
+    }
+
+    @Test
+    public void getState_withFullGameBoard_returnsGameOver() {
+        GameCore core = new GameCore(4, 150, 15);
+        core.replay(new int[]{0, 4, 1, 5, 2, 6, 3, 7, 8, 12, 9, 13, 10, 14, 11, 15});
+        assertEquals(0, core.getEmptyFieldCount());
+        assertTrue(core.getState() != NOT_OVER);
+    }
+
+    @Test(expected = AssertionError.class)
+    public void replay_withDuplicateMove_throwsException() {
+        gameCore.replay(new int[]{1, 2, 1});
+    }
+
+    @Test
+    public void replay_withInvalidMove_doesNotChangeGameCore() {
+        try {
+            gameCore.replay(new int[]{1, 2, 64});
+        } catch (AssertionError e) {
+            // expected
+        }
+        assertEquals(0, gameCore.getMoveCount());
+    }
+
+    @Test
+    public void of_withGameBoard_returnsGameCoreWithPieces() {
+        GameBoard gameBoard = new GameBoard(player1, player2, 10);
+        gameBoard.placePiece(0, player1);
+        gameBoard.placePiece(1, player1);
+        gameBoard.placePiece(10, player1);
+        gameBoard.placePiece(11, player1);
+        gameBoard.placePiece(99, player2);
+
+        GameCore core = GameCore.of(gameBoard, player2, 150, 15);
+
+        assertEquals(10, core.getSize());
+        assertEquals(PLAYER2, core.getActivePlayer());
+        assertEquals(5, core.getMoveCount());
+        assertEquals(PLAYER2, core.getPieceUnchecked(99));
+        assertEquals(4, core.getScore(PLAYER1));
+    }
+
+    @Test(expected = AssertionError.class)
+    public void of_withUnknownPlayer_throwsException() {
+        GameCore.of(new GameBoard(player1, player2), new Player("player3"), 150, 15);
+    }
+
+    @Test
+    public void copy_returnsIndependentGameCore() {
+        gameCore.makeMove(5);
+        GameCore copy = gameCore.copy();
+        copy.makeMove(6);
+
+        assertEquals(1, gameCore.getMoveCount());
+        assertTrue(gameCore.isFieldEmptyUnchecked(6));
+        assertEquals(2, copy.getMoveCount());
+        assertFalse(copy.isFieldEmptyUnchecked(6));
+    }
+
+    @Test(expected = AssertionError.class)
+    public void copyFrom_withDifferentSize_throwsException() {
+        gameCore.copyFrom(new GameCore(10, 150, 15));
+    }
+
+    @Test
+    public void getEmptyFields_returnsEmptyFieldsInAscendingOrder() {
+        GameCore core = new GameCore(10, 150, 15);
+        for (int i = 0; i < 99; i++)
+            if (i != 7 && i != 64)
+                core.makeMoveUnchecked(i);
+
+        int[] fields = new int[core.getEmptyFieldCount()];
+        assertEquals(3, core.getEmptyFields(fields));
+        assertEquals(7, fields[0]);
+        assertEquals(64, fields[1]);
+        assertEquals(99, fields[2]);
+    }
+
+    @Test
+    public void makeMoveUnchecked_withRandomGames_matchesSquareCollectorAndGameOverVerifier() {
+        Random random = new Random(7L);
+        for (int size : new int[]{5, 8, 10}) {
+            for (int game = 0; game < 20; game++) {
+                GameBoard gameBoard = new GameBoard(player1, player2, size);
+                SquareCollector squareCollector = new SquareCollector(size);
+                GameOverVerifier gameOverVerifier = new GameOverVerifier(150, 15, DISABLED, size);
+                GameCore core = new GameCore(size, 150, 15);
+
+                int[] fields = new int[size * size];
+                while (core.getEmptyFieldCount() > 0) {
+                    int count = core.getEmptyFields(fields);
+                    int index = fields[random.nextInt(count)];
+                    Player player = (core.getActivePlayer() == PLAYER1) ? player1 : player2;
+
+                    gameBoard.placePiece(index, player);
+                    squareCollector.detect(gameBoard, player);
+                    core.makeMoveUnchecked(index);
+
+                    assertEquals(squareCollector.getScore(player1), core.getScore(PLAYER1));
+                    assertEquals(squareCollector.getScore(player2), core.getScore(PLAYER2));
+                    assertEquals(squareCollector.getSquareCount(player1), core.getSquareCount(PLAYER1));
+                    assertEquals(gameOverVerifier.isGameOver(gameBoard, squareCollector), core.getState());
+                }
+            }
+        }
+    }
+
+    @Test(expected = AssertionError.class)
+    public void unmakeMove_withEmptyField_throwsException() {
+        gameCore.unmakeMove(5);
+    }
+
+    @Test
+    public void unmakeMove_withCompletedSquare_restoresState() {
+        gameCore.replay(new int[]{0, 63, 1, 62, 8, 61});
+        GameCore before = gameCore.copy();
+        gameCore.makeMove(9);
+
+        assertEquals(4, gameCore.unmakeMove(9));
+
+        assertEquals(0, gameCore.getScore(PLAYER1));
+        assertEquals(0, gameCore.getSquareCount(PLAYER1));
+        assertEquals(PLAYER1, gameCore.getActivePlayer());
+        assertEquals(before.toString(), gameCore.toString());
+    }
+
+    @Test
+    public void unmakeMoveUnchecked_withRandomGames_restoresAllCounters() {
+        Random random = new Random(11L);
+        for (int size : new int[]{6, 8, 12}) {
+            GameCore core = new GameCore(size, 150, 15);
+            int[] fields = new int[size * size];
+            int[] moves = new int[size * size];
+            int count = 0;
+            while (core.getEmptyFieldCount() > 0) {
+                int empty = core.getEmptyFields(fields);
+                moves[count++] = fields[random.nextInt(empty)];
+                core.makeMoveUnchecked(moves[count - 1]);
+            }
+
+            // Take back the moves in a random order and compare with a replayed game core:
+            for (int i = count - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int tmp = moves[i];
+                moves[i] = moves[j];
+                moves[j] = tmp;
+            }
+            while (count > 0) {
+                core.unmakeMoveUnchecked(moves[--count]);
+                assertSameCounters(GameCore.of(toGameBoard(core), player1, 150, 15), core);
+            }
+        }
+    }
+
+    /**
+     * Checks if the threats are updated incrementally by make and unmake and match the threats,
+     * which are computed from the pieces of all squares.
+     */
+    @Test
+    public void getThreatMask_withRandomGames_matchesThreatsOfSquares() {
+        Random random = new Random(47L);
+        for (int size : new int[]{4, 8, 9}) {
+            GameCore core = new GameCore(size, Integer.MAX_VALUE, 0);
+            int[] fields = new int[size * size];
+            for (int game = 0; game < 5; game++) {
+                core.clear();
+                assertThreats(core);
+                while (core.getEmptyFieldCount() > 0) {
+                    int empty = core.getEmptyFields(fields);
+                    int move = fields[random.nextInt(empty)];
+                    core.makeMoveUnchecked(move);
+                    assertThreats(core);
+                    if (random.nextInt(4) == 0) {
+                        core.unmakeMoveUnchecked(move);
+                        assertThreats(core);
+                        core.makeMoveUnchecked(move);
+                    }
+                }
+                assertThreats(core.copy());
+            }
+        }
+    }
+
+    /**
+     * Checks if the forced move blocks the bigger threat of the opponent and takes the own threat
+     * otherwise.
+     */
+    @Test
+    public void getForcedMove_withThreats_takesOrBlocksBiggestThreat() {
+        assertEquals(-1, gameCore.getForcedMove(PLAYER1));
+
+        // Player 2 has three corners of the game board, player 1 three fields of a small square:
+        for (int index : new int[]{0, 7, 63})
+            gameCore.placePieceUnchecked(index, PLAYER2);
+        for (int index : new int[]{18, 19, 26})
+            gameCore.placePieceUnchecked(index, PLAYER1);
+
+        assertTrue(gameCore.hasThreats(PLAYER1));
+        assertTrue(gameCore.hasThreats(PLAYER2));
+        assertEquals(27, gameCore.getBiggestThreat(PLAYER1));
+        assertEquals(56, gameCore.getBiggestThreat(PLAYER2));
+        assertEquals(4, gameCore.getThreatValue(PLAYER1, 27));
+        assertEquals(64, gameCore.getThreatValue(PLAYER2, 56));
+        assertEquals(1L << 27, gameCore.getThreatMask(PLAYER1, 0));
+        assertEquals(56, gameCore.getForcedMove(PLAYER1));
+        assertEquals(56, gameCore.getForcedMove(PLAYER2));
+    }
+
+    /**
+     * Checks if the ordered moves contain all empty fields, with the threats of the active player
+     * first and the threats of the opponent second.
+     */
+    @Test
+    public void getOrderedMoves_withThreats_returnsThreatsFirst() {
+        gameCore.replay(new int[]{0, 20, 1, 21, 8, 28});
+        int[] moves = new int[64];
+
+        int count = gameCore.getOrderedMoves(moves);
+
+        assertEquals(58, count);
+        assertEquals(9, moves[0]);
+        assertEquals(29, moves[1]);
+        boolean[] seen = new boolean[64];
+        for (int i = 0; i < count; i++) {
+            assertTrue(gameCore.isFieldEmptyUnchecked(moves[i]));
+            assertFalse(seen[moves[i]]);
+            seen[moves[i]] = true;
+        }
+        for (int i = 3; i < count; i++)
+            assertTrue(moves[i - 1] < moves[i]);
+    }
+
+    /* Returns a game board with the pieces of the game core. */
+    private GameBoard toGameBoard(GameCore core) {
+        GameBoard gameBoard = new GameBoard(player1, player2, core.getSize());
+        for (int i = 0; i < core.getFieldCount(); i++) {
+            int piece = core.getPieceUnchecked(i);
+            if (piece != NO_PLAYER)
+                gameBoard.placePiece(i, (piece == PLAYER1) ? player1 : player2);
+        }
+        return gameBoard;
+    }
+
+    /* Asserts that the threats of the game core match the pieces of the squares. */
+    private void assertThreats(GameCore core) {
+        SquareTable squareTable = core.getSquareTable();
+        for (int player = PLAYER1; player <= PLAYER2; player++) {
+            int[] expected = new int[core.getFieldCount()];
+            for (int s = 0; s < squareTable.getSquareCount(); s++) {
+                if ((core.getPiecesInSquare(player, s) != 3) || (core.getPiecesInSquare(player ^ 1, s) != 0))
+                    continue;
+                for (int m = 0; m < 4; m++)
+                    if (core.isFieldEmptyUnchecked(squareTable.getPiece(s, m)))
+                        expected[squareTable.getPiece(s, m)] += squareTable.getScore(s);
+            }
+            for (int i = 0; i < core.getFieldCount(); i++) {
+                assertEquals(expected[i], core.getThreatValue(player, i));
+                assertEquals(expected[i] > 0, ((core.getThreatMask(player, i >>> 6) >>> i) & 1L) != 0);
+            }
+        }
+    }
+
+    /* Asserts that both game cores have the same scores, squares and state. */
+    private void assertSameCounters(GameCore expected, GameCore actual) {
+        assertEquals(expected.getScore(PLAYER1), actual.getScore(PLAYER1));
+        assertEquals(expected.getScore(PLAYER2), actual.getScore(PLAYER2));
+        assertEquals(expected.getSquareCount(PLAYER1), actual.getSquareCount(PLAYER1));
+        assertEquals(expected.getSquareCount(PLAYER2), actual.getSquareCount(PLAYER2));
+        assertEquals(expected.getState(), actual.getState());
+    }
+
+}
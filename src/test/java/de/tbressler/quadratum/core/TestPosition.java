@@ -0,0 +1,132 @@
+package de.tbressler.quadratum.core;
+
+import de.tbressler.quadratum.model.GameBoard;
+import de.tbressler.quadratum.model.Player;
+import org.junit.Test;
+
+import static de.tbressler.quadratum.core.GameCore.NO_PLAYER;
+import static de.tbressler.quadratum.core.GameCore.PLAYER1;
+import static de.tbressler.quadratum.core.GameCore.PLAYER2;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+/**
+ * Tests for class Position.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public class TestPosition {
+
+    // Players:
+    private Player player1 = new Player("player1");
+    private Player player2 = new Player("player2");
+
+
+    @Test(expected = NullPointerException.class)
+    public void new_withNullBitboard_throwsException() {
+        new Position(8, null, new long[1], PLAYER1);
+    }
+
+    @Test(expected = AssertionError.class)
+    public void new_withInvalidSize_throwsException() {
+        new Position(3, new long[1], new long[1], PLAYER1);
+    }
+
+    @Test(expected = AssertionError.class)
+    public void new_withInvalidActivePlayer_throwsException() {
+        new Position(8, new long[1], new long[1], NO_PLAYER);
+    }
+
+    @Test(expected = AssertionError.class)
+    public void new_withWrongNumberOfWords_throwsException() {
+        new Position(8, new long[2], new long[2], PLAYER1);
+    }
+
+    @Test(expected = AssertionError.class)
+    public void new_withFieldOfBothPlayers_throwsException() {
+        new Position(8, new long[]{1L}, new long[]{1L}, PLAYER1);
+    }
+
+    @Test(expected = AssertionError.class)
+    public void new_withPieceOutsideOfGameBoard_throwsException() {
+        new Position(6, new long[]{1L << 36}, new long[1], PLAYER1);
+    }
+
+    @Test
+    public void new_copiesBitboards() {
+        long[] pieces = {1L};
+        Position position = new Position(8, pieces, new long[1], PLAYER2);
+        pieces[0] = 2L;
+
+        assertEquals(PLAYER1, position.getPiece(0));
+        assertEquals(NO_PLAYER, position.getPiece(1));
+        assertEquals(PLAYER2, position.getActivePlayer());
+        assertEquals(1, position.getPieceCount());
+    }
+
+    @Test(expected = AssertionError.class)
+    public void getPiece_withIndexOutsideOfGameBoard_throwsException() {
+        new Position(8, new long[1], new long[1], PLAYER1).getPiece(64);
+    }
+
+    @Test
+    public void of_returnsPiecesOfGameBoard() {
+        GameBoard gameBoard = new GameBoard(player1, player2, 12);
+        gameBoard.placePiece(0, player1);
+        gameBoard.placePiece(143, player2);
+
+        Position position = Position.of(gameBoard, player2);
+
+        assertEquals(12, position.getSize());
+        assertEquals(PLAYER2, position.getActivePlayer());
+        assertEquals(PLAYER1, position.getPiece(0));
+        assertEquals(PLAYER2, position.getPiece(143));
+        assertEquals(2, position.getPieceCount());
+    }
+
+    @Test
+    public void ofGame_returnsPositionBeforeEveryMoveAndFinalPosition() {
+        Position[] positions = Position.ofGame(8, PLAYER2, new int[]{10, 20, 30});
+
+        assertEquals(4, positions.length);
+        assertEquals(0, positions[0].getPieceCount());
+        assertEquals(PLAYER2, positions[0].getActivePlayer());
+        assertEquals(PLAYER2, positions[1].getPiece(10));
+        assertEquals(PLAYER1, positions[1].getActivePlayer());
+        assertEquals(PLAYER1, positions[3].getPiece(20));
+        assertEquals(PLAYER2, positions[3].getPiece(30));
+        assertEquals(PLAYER1, positions[3].getActivePlayer());
+    }
+
+    @Test(expected = AssertionError.class)
+    public void ofGame_withDuplicateMove_throwsException() {
+        Position.ofGame(8, PLAYER1, new int[]{10, 20, 10});
+    }
+
+    @Test
+    public void setPosition_toPosition_returnsEqualPosition() {
+        Position[] positions = Position.ofGame(8, PLAYER1, new int[]{0, 1, 8, 9, 63});
+        GameCore core = new GameCore(8, 150, 15);
+
+        core.setPosition(positions[5]);
+
+        assertEquals(positions[5], core.toPosition());
+        assertEquals(5, core.getMoveCount());
+        assertEquals(PLAYER2, core.getActivePlayer());
+    }
+
+    @Test
+    public void equals_comparesPiecesAndActivePlayer() {
+        Position position1 = new Position(8, new long[]{1L}, new long[]{2L}, PLAYER1);
+        Position position2 = new Position(8, new long[]{1L}, new long[]{2L}, PLAYER1);
+        Position position3 = new Position(8, new long[]{1L}, new long[]{2L}, PLAYER2);
+
+        assertEquals(position1, position2);
+        assertEquals(position1.hashCode(), position2.hashCode());
+        assertNotEquals(position1, position3);
+        assertArrayEquals(new long[]{2L}, position1.getPieces(PLAYER2));
+    }
+
+}
@@ -0,0 +1,128 @@
+package de.tbressler.quadratum.evaluation;
+
+import de.tbressler.quadratum.core.GameCore;
+import de.tbressler.quadratum.utils.SquareTable;
+import org.junit.Before;
+import org.junit.Test;
+
+import static de.tbressler.quadratum.evaluation.FeatureExtractor.FEATURE_COUNT;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for class FeatureExtractor.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public class TestFeatureExtractor {
+
+    // Class under test:
+    private FeatureExtractor featureExtractor;
+
+
+    private GameCore core;
+    private SquareTable squareTable = SquareTable.of(8);
+    private float[] features = new float[64 * FEATURE_COUNT];
+
+
+    @Before
+    public void setUp() {
+        featureExtractor = new FeatureExtractor(8);
+        core = new GameCore(8, 150, 15);
+    }
+
+
+    @Test(expected = AssertionError.class)
+    public void new_withInvalidSize_throwsException() {
+        new FeatureExtractor(3);
+    }
+
+    @Test(expected = AssertionError.class)
+    public void extract_withOtherSize_throwsException() {
+        featureExtractor.extract(new GameCore(6, 150, 15), new int[]{0}, 1, features);
+    }
+
+    /**
+     * Checks the features after the first move: the squares of the field have one piece of the
+     * player, all other squares are empty.
+     */
+    @Test
+    public void extract_onEmptyBoard_returnsFeaturesOfFirstMove() {
+        featureExtractor.extract(core, new int[]{0}, 1, features);
+
+        float total = sumOfScores(allSquares());
+        float ofField = sumOfScores(squareTable.getSquaresOfField(0));
+
+        assertEquals(1, features[0], 0);
+        assertEquals(0, features[1], 1e-6);
+        assertEquals(ofField / total, features[2], 1e-6);
+        assertEquals(0, features[3], 0);
+        assertEquals(0, features[5], 0);
+        assertEquals((total - ofField) / total, features[8], 1e-5);
+        assertEquals(1 / 64f, features[9], 1e-6);
+    }
+
+    /**
+     * Checks if the player gets the score of a completed square and the opponent loses the score of
+     * a blocked square.
+     */
+    @Test
+    public void extract_withCompletingMove_returnsScoreDifference() {
+        // Player 1 has 0, 1 and 8, player 2 has 62 and 63:
+        core.replay(new int[]{0, 62, 1, 63, 8});
+        core.makeMoveUnchecked(55);
+
+        // Player 1 completes the square 0, 1, 8, 9:
+        featureExtractor.extract(core, new int[]{9}, 1, features);
+
+        int square = squareTable.findSquare(new int[]{0, 1, 8, 9});
+        assertEquals(squareTable.getScore(square) * 0.01f, features[1], 1e-6);
+    }
+
+    /**
+     * Checks if the features of a batch are the features of the single moves.
+     */
+    @Test
+    public void extract_withBatch_returnsSameFeaturesAsSingleMoves() {
+        core.replay(new int[]{27, 28, 35, 36, 0});
+        int[] moves = new int[64];
+        int count = core.getEmptyFields(moves);
+
+        featureExtractor.extract(core, moves, count, features);
+
+        float[] single = new float[FEATURE_COUNT];
+        for (int i = 0; i < count; i++) {
+            featureExtractor.extract(core, new int[]{moves[i]}, 1, single);
+            float[] row = new float[FEATURE_COUNT];
+            System.arraycopy(features, i * FEATURE_COUNT, row, 0, FEATURE_COUNT);
+            assertArrayEquals(single, row, 0);
+        }
+    }
+
+    @Test
+    public void extract_doesNotModifyGameCore() {
+        core.replay(new int[]{27, 28});
+        featureExtractor.extract(core, new int[]{0, 1}, 2, features);
+        assertEquals(2, core.getMoveCount());
+        assertEquals(GameCore.PLAYER1, core.getActivePlayer());
+    }
+
+
+    /* Returns the IDs of all squares. */
+    private int[] allSquares() {
+        int[] squares = new int[squareTable.getSquareCount()];
+        for (int i = 0; i < squares.length; i++)
+            squares[i] = i;
+        return squares;
+    }
+
+    /* Returns the sum of the scores of the squares. */
+    private float sumOfScores(int[] squares) {
+        float sum = 0;
+        for (int square : squares)
+            sum += squareTable.getScore(square);
+        return sum;
+    }
+
+}
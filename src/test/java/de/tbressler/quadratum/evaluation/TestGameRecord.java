@@ -0,0 +1,61 @@
+package de.tbressler.quadratum.evaluation;
+
+import org.junit.Test;
+
+import static de.tbressler.quadratum.core.GameCore.NO_PLAYER;
+import static de.tbressler.quadratum.core.GameCore.PLAYER1;
+import static de.tbressler.quadratum.core.GameCore.PLAYER2;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+/**
+ * Tests for class GameRecord.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public class TestGameRecord {
+
+    // Class under test:
+    private GameRecord gameRecord = new GameRecord(8, new int[]{1, 2, 3}, PLAYER2);
+
+
+    @Test(expected = NullPointerException.class)
+    public void new_withNullMoves_throwsException() {
+        new GameRecord(8, null, PLAYER1);
+    }
+
+    @Test(expected = AssertionError.class)
+    public void new_withInvalidWinner_throwsException() {
+        new GameRecord(8, new int[0], 2);
+    }
+
+    @Test(expected = AssertionError.class)
+    public void new_withInvalidSize_throwsException() {
+        new GameRecord(17, new int[0], PLAYER1);
+    }
+
+    @Test
+    public void getMoves_returnsCopy() {
+        gameRecord.getMoves()[0] = 9;
+        assertArrayEquals(new int[]{1, 2, 3}, gameRecord.getMoves());
+        assertEquals(3, gameRecord.getMoveCount());
+    }
+
+    @Test
+    public void getOutcome_returnsOutcomeForPlayer() {
+        assertEquals(-1, gameRecord.getOutcome(PLAYER1));
+        assertEquals(1, gameRecord.getOutcome(PLAYER2));
+        assertEquals(0, new GameRecord(8, new int[0], NO_PLAYER).getOutcome(PLAYER1));
+    }
+
+    @Test
+    public void equals_withSameRecord_returnsTrue() {
+        GameRecord other = new GameRecord(8, new int[]{1, 2, 3}, PLAYER2);
+        assertEquals(gameRecord, other);
+        assertEquals(gameRecord.hashCode(), other.hashCode());
+        assertNotNull(gameRecord.toString());
+    }
+
+}
@@ -0,0 +1,93 @@
+package de.tbressler.quadratum.evaluation;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+import static de.tbressler.quadratum.evaluation.FeatureExtractor.FEATURE_COUNT;
+import static de.tbressler.quadratum.logic.players.BotPlayerLogic.Strategy.LONG_TERM;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for class ModelTrainer.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public class TestModelTrainer {
+
+    // The self-play records:
+    private static List<GameRecord> records;
+
+
+    @BeforeClass
+    public static void setUpClass() {
+        SelfPlay selfPlay = new SelfPlay(LONG_TERM);
+        selfPlay.setSeed(42);
+        records = selfPlay.play(200);
+    }
+
+
+    @Test(expected = AssertionError.class)
+    public void new_withNegativeHiddenSize_throwsException() {
+        new ModelTrainer(8, -1);
+    }
+
+    @Test(expected = AssertionError.class)
+    public void setEpochs_with0_throwsException() {
+        new ModelTrainer(8, 0).setEpochs(0);
+    }
+
+    @Test(expected = AssertionError.class)
+    public void setLearningRate_with0_throwsException() {
+        new ModelTrainer(8, 0).setLearningRate(0);
+    }
+
+    @Test(expected = AssertionError.class)
+    public void train_withoutMoves_throwsException() {
+        new ModelTrainer(8, 0).train(Collections.emptyList());
+    }
+
+    @Test(expected = AssertionError.class)
+    public void train_withOtherSize_throwsException() {
+        new ModelTrainer(6, 0).train(records);
+    }
+
+    /**
+     * Checks if the trained linear model has a lower error than a model, which predicts a draw for
+     * every position.
+     */
+    @Test
+    public void train_withLinearModel_reducesError() {
+        ModelTrainer trainer = new ModelTrainer(8, 0);
+        double errorOfDraws = trainer.getError(new PositionModel(0, new float[FEATURE_COUNT]), records);
+
+        PositionModel model = trainer.train(records);
+
+        assertTrue(trainer.getError(model, records) < errorOfDraws);
+    }
+
+    @Test
+    public void train_withHiddenUnits_reducesError() {
+        ModelTrainer trainer = new ModelTrainer(8, 8);
+        trainer.setEpochs(5);
+        double errorOfDraws = new ModelTrainer(8, 0).getError(new PositionModel(0, new float[FEATURE_COUNT]), records);
+
+        PositionModel model = trainer.train(records);
+
+        assertEquals(8, model.getHiddenSize());
+        assertTrue(trainer.getError(model, records) < errorOfDraws);
+    }
+
+    @Test
+    public void train_withSameSeed_returnsSameModel() {
+        ModelTrainer trainer = new ModelTrainer(8, 4);
+        trainer.setEpochs(2);
+        trainer.setSeed(7);
+        assertEquals(trainer.train(records), trainer.train(records));
+    }
+
+}
@@ -0,0 +1,120 @@
+package de.tbressler.quadratum.evaluation;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static de.tbressler.quadratum.evaluation.FeatureExtractor.FEATURE_COUNT;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+/**
+ * Tests for class PositionModel.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public class TestPositionModel {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+
+    @Test(expected = AssertionError.class)
+    public void new_withNegativeHiddenSize_throwsException() {
+        new PositionModel(-1, new float[FEATURE_COUNT]);
+    }
+
+    @Test(expected = AssertionError.class)
+    public void new_withWrongNumberOfParameters_throwsException() {
+        new PositionModel(2, new float[FEATURE_COUNT]);
+    }
+
+    @Test(expected = AssertionError.class)
+    public void new_withNaN_throwsException() {
+        float[] parameters = new float[FEATURE_COUNT];
+        parameters[3] = Float.NaN;
+        new PositionModel(0, parameters);
+    }
+
+    @Test
+    public void getParameterCount_returnsNumberOfParameters() {
+        assertEquals(FEATURE_COUNT, PositionModel.getParameterCount(0));
+        assertEquals(4 * FEATURE_COUNT + 4 + 1, PositionModel.getParameterCount(4));
+    }
+
+    @Test
+    public void predict_withLinearModel_returnsDotProducts() {
+        float[] parameters = new float[FEATURE_COUNT];
+        parameters[0] = 0.5f;
+        parameters[1] = 2f;
+        PositionModel model = new PositionModel(0, parameters);
+
+        float[] features = new float[2 * FEATURE_COUNT];
+        features[0] = 1;
+        features[1] = 0.25f;
+        features[FEATURE_COUNT] = 1;
+        features[FEATURE_COUNT + 1] = -1;
+        float[] outputs = new float[2];
+
+        model.predict(features, 2, outputs, new float[0]);
+
+        assertArrayEquals(new float[]{1f, -1.5f}, outputs, 1e-6f);
+    }
+
+    /**
+     * Checks the prediction of a model with two hidden units, one of them is not active.
+     */
+    @Test
+    public void predict_withHiddenUnits_returnsRectifiedPrediction() {
+        float[] parameters = new float[PositionModel.getParameterCount(2)];
+        parameters[0] = 1f;                     // hidden unit 1 = bias feature
+        parameters[FEATURE_COUNT] = -1f;        // hidden unit 2 = -bias feature, rectified to 0
+        parameters[2 * FEATURE_COUNT] = 0.5f;   // output weight of unit 1
+        parameters[2 * FEATURE_COUNT + 1] = 3f; // output weight of unit 2
+        parameters[2 * FEATURE_COUNT + 2] = 0.25f;
+        PositionModel model = new PositionModel(2, parameters);
+
+        float[] features = new float[FEATURE_COUNT];
+        features[0] = 1;
+        float[] outputs = new float[1];
+
+        model.predict(features, 1, outputs, new float[2]);
+
+        assertEquals(0.75f, outputs[0], 1e-6f);
+    }
+
+    @Test
+    public void save_andLoad_returnsEqualModel() throws IOException {
+        float[] parameters = new float[PositionModel.getParameterCount(3)];
+        for (int i = 0; i < parameters.length; i++)
+            parameters[i] = i * 0.1f;
+        PositionModel model = new PositionModel(3, parameters);
+        Path path = temporaryFolder.newFile("model.bin").toPath();
+
+        model.save(path);
+
+        assertEquals(model, PositionModel.load(path));
+    }
+
+    @Test(expected = IOException.class)
+    public void load_withOtherFile_throwsException() throws IOException {
+        Path path = temporaryFolder.newFile("model.bin").toPath();
+        Files.write(path, new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+        PositionModel.load(path);
+    }
+
+    @Test
+    public void getParameters_returnsCopy() {
+        PositionModel model = new PositionModel(0, new float[FEATURE_COUNT]);
+        model.getParameters()[0] = 1;
+        assertEquals(0, model.getParameters()[0], 0);
+        assertNotNull(model.toString());
+    }
+
+}
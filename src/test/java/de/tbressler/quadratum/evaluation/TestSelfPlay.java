@@ -0,0 +1,74 @@
+package de.tbressler.quadratum.evaluation;
+
+import de.tbressler.quadratum.core.GameCore;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+import static de.tbressler.quadratum.logic.GameOverVerifier.GameOverState.NOT_OVER;
+import static de.tbressler.quadratum.logic.players.BotPlayerLogic.Strategy.LONG_TERM;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for class SelfPlay.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public class TestSelfPlay {
+
+    // Class under test:
+    private SelfPlay selfPlay;
+
+
+    @Before
+    public void setUp() {
+        selfPlay = new SelfPlay(LONG_TERM);
+        selfPlay.setSeed(42);
+    }
+
+
+    @Test(expected = NullPointerException.class)
+    public void new_withNullStrategy_throwsException() {
+        new SelfPlay(null);
+    }
+
+    @Test(expected = AssertionError.class)
+    public void setRandomMoves_withNegativeValue_throwsException() {
+        selfPlay.setRandomMoves(-1);
+    }
+
+    @Test(expected = AssertionError.class)
+    public void play_withNegativeGames_throwsException() {
+        selfPlay.play(-1);
+    }
+
+    @Test
+    public void play_returnsFinishedGames() {
+        List<GameRecord> records = selfPlay.play(10);
+
+        assertEquals(10, records.size());
+        for (GameRecord record : records) {
+            GameCore core = new GameCore(8, 150, 15);
+            core.replay(record.getMoves());
+            assertTrue(core.getState() != NOT_OVER);
+        }
+    }
+
+    @Test
+    public void play_withSameSeed_returnsSameGames() {
+        SelfPlay other = new SelfPlay(LONG_TERM);
+        other.setSeed(42);
+        assertEquals(selfPlay.play(5), other.play(5));
+    }
+
+    @Test
+    public void play_withRandomMoves_returnsDifferentGames() {
+        List<GameRecord> records = selfPlay.play(2);
+        assertNotEquals(records.get(0), records.get(1));
+    }
+
+}
@@ -0,0 +1,127 @@
+package de.tbressler.quadratum.evaluation;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static de.tbressler.quadratum.evaluation.WeightedEvaluator.Feature.BLOCKING;
+import static de.tbressler.quadratum.evaluation.WeightedEvaluator.Feature.PIECES;
+import static de.tbressler.quadratum.evaluation.WeightedEvaluator.Feature.SQUARE;
+import static de.tbressler.quadratum.evaluation.WeightedEvaluator.Feature.THREAT;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+
+/**
+ * Tests for class WeightedEvaluator.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public class TestWeightedEvaluator {
+
+    // Class under test:
+    private WeightedEvaluator weightedEvaluator = new WeightedEvaluator(1.0, 0.5, 2.0, 0.25);
+
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+
+    @Test(expected = NullPointerException.class)
+    public void new_withNull_throwsException() {
+        new WeightedEvaluator((double[]) null);
+    }
+
+    @Test(expected = AssertionError.class)
+    public void new_withTooFewWeights_throwsException() {
+        new WeightedEvaluator(1.0, 1.0, 1.0);
+    }
+
+    @Test(expected = AssertionError.class)
+    public void new_withNegativeWeight_throwsException() {
+        new WeightedEvaluator(1.0, -1.0, 1.0, 1.0);
+    }
+
+    @Test(expected = AssertionError.class)
+    public void new_withNaN_throwsException() {
+        new WeightedEvaluator(1.0, Double.NaN, 1.0, 1.0);
+    }
+
+    /**
+     * Checks if the default evaluator is the classic evaluation score * (pieces + 1).
+     */
+    @Test
+    public void default_returnsClassicEvaluation() {
+        for (int pieces = 0; pieces < 4; pieces++) {
+            assertEquals(9 * (pieces + 1), WeightedEvaluator.DEFAULT.evaluatePlayerSquare(9, pieces));
+            assertEquals(9 * (pieces + 1), WeightedEvaluator.DEFAULT.evaluateOpponentSquare(9, pieces));
+        }
+    }
+
+    @Test
+    public void evaluatePlayerSquare_returnsWeightedValue() {
+        assertEquals(4, weightedEvaluator.evaluatePlayerSquare(4, 0));
+        assertEquals(10, weightedEvaluator.evaluatePlayerSquare(4, 3));
+    }
+
+    @Test
+    public void evaluateOpponentSquare_returnsWeightedValue() {
+        assertEquals(9, weightedEvaluator.evaluateOpponentSquare(4, 1));
+        assertEquals(11, weightedEvaluator.evaluateOpponentSquare(4, 3));
+    }
+
+    @Test
+    public void getWeight_returnsWeightOfFeature() {
+        assertEquals(1.0, weightedEvaluator.getWeight(SQUARE), 0);
+        assertEquals(0.5, weightedEvaluator.getWeight(PIECES), 0);
+        assertEquals(2.0, weightedEvaluator.getWeight(BLOCKING), 0);
+        assertEquals(0.25, weightedEvaluator.getWeight(THREAT), 0);
+    }
+
+    @Test
+    public void getWeights_returnsCopy() {
+        weightedEvaluator.getWeights()[0] = 5.0;
+        assertArrayEquals(new double[]{1.0, 0.5, 2.0, 0.25}, weightedEvaluator.getWeights(), 0);
+    }
+
+    @Test
+    public void save_andLoad_returnsEqualEvaluator() throws IOException {
+        Path path = temporaryFolder.newFile("weights.properties").toPath();
+        weightedEvaluator.save(path);
+        assertEquals(weightedEvaluator, WeightedEvaluator.load(path));
+    }
+
+    @Test
+    public void load_withMissingFeature_usesDefaultWeight() throws IOException {
+        Path path = temporaryFolder.newFile("weights.properties").toPath();
+        Files.write(path, singletonList("THREAT=1.5"), UTF_8);
+        assertEquals(new WeightedEvaluator(1.0, 1.0, 1.0, 1.5), WeightedEvaluator.load(path));
+    }
+
+    @Test(expected = IOException.class)
+    public void load_withInvalidWeight_throwsException() throws IOException {
+        Path path = temporaryFolder.newFile("weights.properties").toPath();
+        Files.write(path, singletonList("THREAT=high"), UTF_8);
+        WeightedEvaluator.load(path);
+    }
+
+    @Test
+    public void equals_withOtherWeights_returnsFalse() {
+        assertNotEquals(WeightedEvaluator.DEFAULT, weightedEvaluator);
+        assertEquals(new WeightedEvaluator(1.0, 1.0, 1.0, 1.0).hashCode(), WeightedEvaluator.DEFAULT.hashCode());
+    }
+
+    @Test
+    public void toString_returnsString() {
+        assertNotNull(weightedEvaluator.toString());
+    }
+
+}
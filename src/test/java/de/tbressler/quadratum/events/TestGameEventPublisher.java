@@ -0,0 +1,298 @@
+package de.tbressler.quadratum.events;
+
+import de.tbressler.quadratum.logic.GameLogic;
+import de.tbressler.quadratum.logic.GameSnapshot;
+import de.tbressler.quadratum.logic.players.HumanPlayerLogic;
+import de.tbressler.quadratum.model.GameBoard;
+import de.tbressler.quadratum.model.Player;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+
+import static de.tbressler.quadratum.events.GameEventPublisher.OverflowPolicy.BLOCK;
+import static de.tbressler.quadratum.events.GameEventPublisher.OverflowPolicy.DROP;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for class GameEventPublisher.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public class TestGameEventPublisher {
+
+    // Class under test:
+    private GameEventPublisher gameEventPublisher;
+
+
+    // Players:
+    private Player player1 = new Player("player1");
+    private Player player2 = new Player("player2");
+
+    private HumanPlayerLogic playerLogic1 = new HumanPlayerLogic(player1);
+    private HumanPlayerLogic playerLogic2 = new HumanPlayerLogic(player2);
+
+    private GameBoard gameBoard = new GameBoard(player1, player2);
+    private GameLogic gameLogic = new GameLogic(gameBoard, playerLogic1, playerLogic2);
+
+
+    @Before
+    public void setUp() {
+        gameEventPublisher = new GameEventPublisher(gameLogic, Runnable::run, 16, BLOCK);
+    }
+
+
+    @Test(expected = NullPointerException.class)
+    public void new_withNullGameLogic_throwsException() {
+        new GameEventPublisher(null);
+    }
+
+    @Test(expected = AssertionError.class)
+    public void new_withBufferCapacity0_throwsException() {
+        new GameEventPublisher(gameLogic, Runnable::run, 0, BLOCK);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void subscribe_withNull_throwsException() {
+        gameEventPublisher.subscribe(null);
+    }
+
+    /**
+     * Checks if the events of a move are published in order with contiguous sequence numbers.
+     */
+    @Test
+    public void subscribe_receivesEventsOfGameInOrder() {
+        TestSubscriber subscriber = new TestSubscriber(Long.MAX_VALUE);
+        gameEventPublisher.subscribe(subscriber);
+
+        gameLogic.startGame(player1);
+        playerLogic1.placePiece(10);
+
+        List<GameEvent> events = subscriber.events;
+        assertEquals(5, events.size());
+        assertTrue(events.get(0) instanceof GameBoardClearedEvent);
+        assertTrue(events.get(1) instanceof GameStartedEvent);
+        assertTrue(events.get(2) instanceof ActivePlayerChangedEvent);
+        assertEquals(10, ((PiecePlacedEvent) events.get(3)).getIndex());
+        assertEquals(player1, ((PiecePlacedEvent) events.get(3)).getPlayer());
+        assertEquals(player2, ((ActivePlayerChangedEvent) events.get(4)).getActivePlayer());
+
+        for (int i = 0; i < events.size(); i++)
+            assertEquals(i + 1, events.get(i).getSequenceNumber());
+        assertEquals(gameLogic.getGameId(), events.get(3).getGameId());
+        assertEquals(1, events.get(3).getMoveNumber());
+        assertEquals(5, gameEventPublisher.getLastSequenceNumber());
+    }
+
+    @Test
+    public void subscribe_withSquare_receivesSquaresFoundEvent() {
+        TestSubscriber subscriber = new TestSubscriber(Long.MAX_VALUE);
+        gameEventPublisher.subscribe(subscriber);
+
+        gameLogic.startGame(player1);
+        playMoves(0, 20, 1, 30, 8, 40, 9);
+
+        SquaresFoundEvent event = (SquaresFoundEvent) subscriber.events.stream()
+                .filter(e -> e instanceof SquaresFoundEvent).findFirst().get();
+        assertEquals(player1, event.getPlayer());
+        assertEquals(1, event.getSquares().size());
+        assertEquals(7, event.getMoveNumber());
+    }
+
+    @Test
+    public void subscribe_withUndo_receivesRemovedPieceAndUndoneMove() {
+        TestSubscriber subscriber = new TestSubscriber(Long.MAX_VALUE);
+        gameEventPublisher.subscribe(subscriber);
+
+        gameLogic.startGame(player1);
+        playMoves(5);
+        gameLogic.undoMove();
+
+        List<GameEvent> events = subscriber.events;
+        assertTrue(events.get(5) instanceof PieceRemovedEvent);
+        assertEquals(5, ((MoveUndoneEvent) events.get(6)).getIndex());
+        assertEquals(0, events.get(6).getMoveNumber());
+    }
+
+    @Test
+    public void subscribe_withRestore_receivesOneRestoredEvent() {
+        gameLogic.startGame(player1);
+        playMoves(5, 6, 7);
+        GameSnapshot snapshot = gameLogic.snapshot();
+        TestSubscriber subscriber = new TestSubscriber(Long.MAX_VALUE);
+        gameEventPublisher.subscribe(subscriber);
+
+        gameLogic.restore(snapshot);
+
+        assertEquals(1, subscriber.events.size());
+        GameRestoredEvent event = (GameRestoredEvent) subscriber.events.get(0);
+        assertEquals(player2, event.getActivePlayer());
+        assertEquals(snapshot, event.getSnapshot());
+        assertEquals(3, event.getMoveNumber());
+    }
+
+    /**
+     * Checks if a subscriber receives only the requested events.
+     */
+    @Test
+    public void subscribe_withLimitedDemand_receivesRequestedEvents() {
+        TestSubscriber subscriber = new TestSubscriber(2);
+        gameEventPublisher.subscribe(subscriber);
+
+        gameLogic.startGame(player1);
+        assertEquals(2, subscriber.events.size());
+
+        subscriber.subscription.request(10);
+        assertEquals(3, subscriber.events.size());
+    }
+
+    /**
+     * Checks if events are dropped for a slow subscriber with the DROP policy and the gap is
+     * visible in the sequence numbers. A fast subscriber receives all events.
+     */
+    @Test
+    public void subscribe_withDropPolicyAndFullBuffer_dropsEventsOfSlowSubscriber() {
+        gameEventPublisher = new GameEventPublisher(gameLogic, Runnable::run, 1, DROP);
+        TestSubscriber slowSubscriber = new TestSubscriber(0);
+        TestSubscriber fastSubscriber = new TestSubscriber(Long.MAX_VALUE);
+        gameEventPublisher.subscribe(slowSubscriber);
+        gameEventPublisher.subscribe(fastSubscriber);
+
+        gameLogic.startGame(player1);
+        playMoves(10, 20);
+        slowSubscriber.subscription.request(Long.MAX_VALUE);
+        playMoves(30);
+
+        assertEquals(gameEventPublisher.getLastSequenceNumber(), fastSubscriber.events.size());
+        assertTrue(gameEventPublisher.getDroppedCount() > 0);
+        List<GameEvent> events = slowSubscriber.events;
+        assertEquals(events.size() + gameEventPublisher.getDroppedCount(), gameEventPublisher.getLastSequenceNumber());
+        assertTrue(events.get(events.size() - 1).getSequenceNumber() > events.size());
+    }
+
+    /**
+     * Checks if a subscriber can read the counters, while the game logic is blocked by the full
+     * buffer of the subscriber.
+     */
+    @Test
+    public void subscribe_withBlockPolicyAndFullBuffer_subscriberCanReadCounters() throws InterruptedException {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            gameEventPublisher = new GameEventPublisher(gameLogic, executor, 1, BLOCK);
+            long[] counters = new long[2];
+            gameEventPublisher.subscribe(new Flow.Subscriber<GameEvent>() {
+                private Flow.Subscription subscription;
+
+                @Override
+                public void onSubscribe(Flow.Subscription subscription) {
+                    this.subscription = subscription;
+                    subscription.request(1);
+                }
+
+                @Override
+                public void onNext(GameEvent item) {
+                    // Wait until the game logic is blocked:
+                    try {
+                        Thread.sleep(20);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    counters[0] = gameEventPublisher.getLastSequenceNumber();
+                    counters[1] = gameEventPublisher.getDroppedCount();
+                    subscription.request(1);
+                }
+
+                @Override
+                public void onError(Throwable throwable) {
+                    throw new AssertionError(throwable);
+                }
+
+                @Override
+                public void onComplete() {
+                    // Nothing to do.
+                }
+            });
+
+            Thread game = new Thread(() -> {
+                gameLogic.startGame(player1);
+                playMoves(10, 20);
+            });
+            game.start();
+            game.join(10000);
+
+            assertFalse(game.isAlive());
+            assertTrue(counters[0] > 0);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void close_completesSubscribersAndRemovesListeners() {
+        TestSubscriber subscriber = new TestSubscriber(Long.MAX_VALUE);
+        gameEventPublisher.subscribe(subscriber);
+
+        gameEventPublisher.close();
+        gameLogic.startGame(player1);
+
+        assertTrue(subscriber.completed);
+        assertEquals(0, subscriber.events.size());
+        assertEquals(0, gameEventPublisher.getLastSequenceNumber());
+    }
+
+
+    /* Plays the moves alternately for player 1 and 2. */
+    private void playMoves(int... moves) {
+        for (int i = 0; i < moves.length; i++) {
+            if (i % 2 == 0)
+                playerLogic1.placePiece(moves[i]);
+            else
+                playerLogic2.placePiece(moves[i]);
+        }
+    }
+
+
+    /* Subscriber, which collects the events. */
+    private static class TestSubscriber implements Flow.Subscriber<GameEvent> {
+
+        private final long initialDemand;
+        private final List<GameEvent> events = new ArrayList<>();
+        private Flow.Subscription subscription;
+        private boolean completed = false;
+
+        TestSubscriber(long initialDemand) {
+            this.initialDemand = initialDemand;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (initialDemand > 0)
+                subscription.request(initialDemand);
+        }
+
+        @Override
+        public void onNext(GameEvent item) {
+            events.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            throw new AssertionError(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+
+    }
+
+}
@@ -0,0 +1,292 @@
+package de.tbressler.quadratum.events;
+
+import de.tbressler.quadratum.core.Position;
+import de.tbressler.quadratum.logic.GameLogic;
+import de.tbressler.quadratum.logic.GameSnapshot;
+import de.tbressler.quadratum.logic.players.HumanPlayerLogic;
+import de.tbressler.quadratum.model.GameBoard;
+import de.tbressler.quadratum.model.Player;
+import de.tbressler.quadratum.utils.SquareTable;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static de.tbressler.quadratum.core.GameCore.PLAYER1;
+import static de.tbressler.quadratum.core.GameCore.PLAYER2;
+import static de.tbressler.quadratum.events.SpectatorFrame.Type.ACTIVE_PLAYER_CHANGED;
+import static de.tbressler.quadratum.events.SpectatorFrame.Type.GAME_STARTED;
+import static de.tbressler.quadratum.events.SpectatorFrame.Type.PIECE_PLACED;
+import static de.tbressler.quadratum.events.SpectatorFrame.Type.PIECE_REMOVED;
+import static de.tbressler.quadratum.events.SpectatorFrame.Type.SNAPSHOT;
+import static de.tbressler.quadratum.events.SpectatorFrame.Type.SQUARES_FOUND;
+import static de.tbressler.quadratum.events.SpectatorFrame.Type.SQUARES_REMOVED;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for class SpectatorHub.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public class TestSpectatorHub {
+
+    // Class under test:
+    private SpectatorHub spectatorHub;
+
+
+    // Players:
+    private Player player1 = new Player("player1");
+    private Player player2 = new Player("player2");
+
+    private HumanPlayerLogic playerLogic1 = new HumanPlayerLogic(player1);
+    private HumanPlayerLogic playerLogic2 = new HumanPlayerLogic(player2);
+
+    private GameBoard gameBoard = new GameBoard(player1, player2);
+    private GameLogic gameLogic = new GameLogic(gameBoard, playerLogic1, playerLogic2);
+
+
+    @Before
+    public void setUp() {
+        spectatorHub = new SpectatorHub(gameLogic, 16, 8);
+    }
+
+
+    @Test(expected = NullPointerException.class)
+    public void new_withNullGameLogic_throwsException() {
+        new SpectatorHub(null);
+    }
+
+    @Test(expected = AssertionError.class)
+    public void new_withKeyFrameInterval0_throwsException() {
+        new SpectatorHub(gameLogic, 16, 0);
+    }
+
+    @Test(expected = AssertionError.class)
+    public void new_withQueueCapacityNotGreaterThanKeyFrameInterval_throwsException() {
+        new SpectatorHub(gameLogic, 8, 8);
+    }
+
+    @Test
+    public void join_beforeGame_receivesSnapshot() {
+        Spectator spectator = spectatorHub.join();
+
+        SpectatorFrame frame = spectator.poll();
+        assertEquals(SNAPSHOT, frame.getType());
+        assertEquals(0, frame.getSequenceNumber());
+        assertNull(spectator.poll());
+        assertEquals(1, spectatorHub.getSpectatorCount());
+    }
+
+    /**
+     * Checks if the events of the game are encoded in order with contiguous sequence numbers.
+     */
+    @Test
+    public void startGame_withSpectator_receivesFramesOfGame() {
+        Spectator spectator = spectatorHub.join();
+        spectator.poll();
+
+        gameLogic.startGame(player1);
+        playerLogic1.placePiece(42);
+
+        List<SpectatorFrame> frames = new ArrayList<>();
+        spectator.drainTo(frames);
+        assertEquals(5, frames.size());
+        assertEquals(SNAPSHOT, frames.get(0).getType());
+        assertEquals(GAME_STARTED, frames.get(1).getType());
+        assertEquals(ACTIVE_PLAYER_CHANGED, frames.get(2).getType());
+        assertEquals(PIECE_PLACED, frames.get(3).getType());
+        assertEquals(ACTIVE_PLAYER_CHANGED, frames.get(4).getType());
+        for (int i = 0; i < frames.size(); i++)
+            assertEquals(i + 1, frames.get(i).getSequenceNumber());
+
+        ByteBuffer payload = frames.get(3).getPayload();
+        assertEquals(42, payload.get() & 0xFF);
+        assertEquals(0, payload.get());
+        assertEquals(1, frames.get(4).getPayload().get());
+        assertEquals(5, spectatorHub.getLastSequenceNumber());
+    }
+
+    /**
+     * Checks if the frames are encoded once and shared by all spectators.
+     */
+    @Test
+    public void startGame_withTwoSpectators_sharesFrames() {
+        Spectator spectator1 = spectatorHub.join();
+        Spectator spectator2 = spectatorHub.join();
+
+        gameLogic.startGame(player1);
+
+        for (int i = 0; i < 4; i++)
+            assertSame(spectator1.poll(), spectator2.poll());
+    }
+
+    @Test
+    public void placePiece_withSquare_receivesSquaresFoundFrameWithSquareId() {
+        gameLogic.startGame(player1);
+        playMoves(0, 20, 1, 30, 8, 40);
+        Spectator spectator = spectatorHub.join();
+        spectator.drainTo(new ArrayList<>());
+
+        playerLogic1.placePiece(9);
+
+        spectator.poll();
+        SpectatorFrame frame = spectator.poll();
+        assertEquals(SQUARES_FOUND, frame.getType());
+        ByteBuffer payload = frame.getPayload();
+        assertEquals(0, payload.get());
+        assertEquals(1, payload.get());
+        assertEquals(SquareTable.of(8).findSquare(new int[]{0, 1, 8, 9}), payload.getShort());
+    }
+
+    @Test
+    public void undoMove_withSquare_receivesRemovedPieceAndSquares() {
+        gameLogic.startGame(player1);
+        playMoves(0, 20, 1, 30, 8, 40, 9);
+        Spectator spectator = spectatorHub.join();
+        spectator.drainTo(new ArrayList<>());
+
+        gameLogic.undoMove();
+
+        assertEquals(PIECE_REMOVED, spectator.poll().getType());
+        assertEquals(SQUARES_REMOVED, spectator.poll().getType());
+    }
+
+    /**
+     * Checks if a late joiner can reconstruct the game board from the key frame and the frames
+     * since the key frame.
+     */
+    @Test
+    public void join_duringGame_receivesKeyFrameAndFramesSinceThen() {
+        gameLogic.startGame(player1);
+        playMoves(0, 20, 1, 30, 8, 40, 9, 50, 11);
+
+        Spectator spectator = spectatorHub.join();
+        List<SpectatorFrame> frames = new ArrayList<>();
+        spectator.drainTo(frames);
+
+        assertEquals(SNAPSHOT, frames.get(0).getType());
+        assertTrue(frames.size() <= 9);
+        long[][] pieces = replay(frames);
+        assertEquals(gameBoard.getPieces(player1)[0], pieces[PLAYER1][0]);
+        assertEquals(gameBoard.getPieces(player2)[0], pieces[PLAYER2][0]);
+    }
+
+    /**
+     * Checks if a spectator with a full queue is resynchronized with a snapshot.
+     */
+    @Test
+    public void placePiece_withFullQueue_resynchronizesSpectator() {
+        Spectator spectator = spectatorHub.join();
+        gameLogic.startGame(player1);
+        playMoves(0, 20, 1, 30, 8, 40, 9, 50, 11);
+
+        assertTrue(spectator.getResyncCount() > 0);
+        List<SpectatorFrame> frames = new ArrayList<>();
+        spectator.drainTo(frames);
+        assertEquals(SNAPSHOT, frames.get(0).getType());
+        long[][] pieces = replay(frames);
+        assertEquals(gameBoard.getPieces(player1)[0], pieces[PLAYER1][0]);
+        assertEquals(gameBoard.getPieces(player2)[0], pieces[PLAYER2][0]);
+    }
+
+    @Test
+    public void restore_withSpectator_receivesSnapshot() {
+        Spectator spectator = spectatorHub.join();
+        spectator.poll();
+
+        gameLogic.restore(new GameSnapshot(new Position(8, new long[]{1L}, new long[]{2L}, PLAYER1), true));
+
+        SpectatorFrame frame = spectator.poll();
+        assertEquals(SNAPSHOT, frame.getType());
+        assertEquals(1, frame.getSequenceNumber());
+    }
+
+    @Test
+    public void close_withSpectator_closesSpectatorAndStopsFrames() {
+        Spectator spectator = spectatorHub.join();
+        spectator.poll();
+
+        spectatorHub.close();
+        gameLogic.startGame(player1);
+
+        assertTrue(spectator.isClosed());
+        assertNull(spectator.poll());
+        assertEquals(0, spectatorHub.getSpectatorCount());
+    }
+
+    @Test(expected = AssertionError.class)
+    public void join_afterClose_throwsException() {
+        spectatorHub.close();
+        spectatorHub.join();
+    }
+
+    @Test
+    public void close_ofSpectator_leavesHub() {
+        Spectator spectator = spectatorHub.join();
+        spectator.close();
+
+        gameLogic.startGame(player1);
+
+        assertTrue(spectator.isClosed());
+        assertEquals(1, spectator.getBufferedCount());
+        assertEquals(0, spectatorHub.getSpectatorCount());
+    }
+
+    @Test
+    public void of_withEncodedFrame_returnsEqualFrame() {
+        Spectator spectator = spectatorHub.join();
+        SpectatorFrame frame = spectator.poll();
+        byte[] bytes = new byte[frame.getLength()];
+        frame.asByteBuffer().get(bytes);
+
+        SpectatorFrame decoded = SpectatorFrame.of(bytes);
+
+        assertEquals(SNAPSHOT, decoded.getType());
+        assertEquals(frame.getSequenceNumber(), decoded.getSequenceNumber());
+        assertFalse(decoded.asByteBuffer().hasArray());
+    }
+
+    @Test(expected = AssertionError.class)
+    public void of_withUnknownType_throwsException() {
+        SpectatorFrame.of(new byte[]{99, 0, 0, 0, 0, 0, 0, 0, 0});
+    }
+
+
+    /* Plays the moves alternately for player 1 and 2. */
+    private void playMoves(int... moves) {
+        for (int i = 0; i < moves.length; i++)
+            ((i % 2 == 0) ? playerLogic1 : playerLogic2).placePiece(moves[i]);
+    }
+
+    /* Reconstructs the pieces from the frames, frames before the last snapshot are ignored. */
+    private long[][] replay(List<SpectatorFrame> frames) {
+        long[][] pieces = new long[2][];
+        long sequenceNumber = -1;
+        for (SpectatorFrame frame : frames) {
+            ByteBuffer payload = frame.getPayload();
+            if (frame.getType() == SNAPSHOT) {
+                byte[] bytes = new byte[payload.remaining()];
+                payload.get(bytes);
+                Position position = GameSnapshot.fromBytes(bytes).getPosition();
+                pieces[PLAYER1] = position.getPieces(PLAYER1);
+                pieces[PLAYER2] = position.getPieces(PLAYER2);
+            } else if (frame.getSequenceNumber() <= sequenceNumber) {
+                continue;
+            } else if (frame.getType() == PIECE_PLACED) {
+                int index = payload.get() & 0xFF;
+                pieces[payload.get()][index >>> 6] |= 1L << index;
+            }
+            assertTrue(frame.getSequenceNumber() >= sequenceNumber);
+            sequenceNumber = frame.getSequenceNumber();
+        }
+        return pieces;
+    }
+
+}
@@ -0,0 +1,128 @@
+package de.tbressler.quadratum.logic;
+
+import de.tbressler.quadratum.model.Player;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Duration;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Tests for class GameClock.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public class TestGameClock {
+
+    // Class under test:
+    private GameClock gameClock;
+
+    // Players:
+    private Player player1 = new Player("player1");
+    private Player player2 = new Player("player2");
+
+    // The time in nanoseconds:
+    private long now = 1_000L;
+
+
+    @Before
+    public void setUp() {
+        gameClock = new GameClock(Duration.ofNanos(100), Duration.ofNanos(10));
+        gameClock.setNanoTime(() -> now);
+    }
+
+
+    @Test(expected = NullPointerException.class)
+    public void new_withNullBudget_throwsException() {
+        new GameClock(null, Duration.ZERO);
+    }
+
+    @Test(expected = AssertionError.class)
+    public void new_withNegativeIncrement_throwsException() {
+        new GameClock(Duration.ZERO, Duration.ofNanos(-1));
+    }
+
+    @Test
+    public void getRemainingNanos_afterNew_returnsBudget() {
+        assertEquals(100, gameClock.getRemainingNanos(player1));
+        assertNull(gameClock.getRunningPlayer());
+    }
+
+    @Test
+    public void startMove_returnsDeadline() {
+        assertEquals(1_100L, gameClock.startMove(player1));
+        assertEquals(player1, gameClock.getRunningPlayer());
+    }
+
+    @Test
+    public void getRemainingNanos_whileMoveIsRunning_includesElapsedTime() {
+        gameClock.startMove(player1);
+        now += 30;
+
+        assertEquals(70, gameClock.getRemainingNanos(player1));
+        assertEquals(100, gameClock.getRemainingNanos(player2));
+    }
+
+    @Test
+    public void stopMove_chargesElapsedTimeAndAddsIncrement() {
+        gameClock.startMove(player1);
+        now += 30;
+
+        assertEquals(30, gameClock.stopMove());
+        assertEquals(80, gameClock.getRemainingNanos(player1));
+        assertNull(gameClock.getRunningPlayer());
+    }
+
+    @Test
+    public void stopMove_withoutRunningClock_returns0() {
+        assertEquals(0, gameClock.stopMove());
+    }
+
+    @Test
+    public void abortMove_chargesElapsedTimeWithoutIncrement() {
+        gameClock.startMove(player1);
+        now += 30;
+
+        assertEquals(30, gameClock.abortMove());
+        assertEquals(70, gameClock.getRemainingNanos(player1));
+    }
+
+    @Test
+    public void startMove_withExceededBudget_returnsCurrentTimeAsDeadline() {
+        gameClock.startMove(player1);
+        now += 150;
+        gameClock.stopMove();
+
+        assertEquals(-40, gameClock.getRemainingNanos(player1));
+        assertEquals(now, gameClock.startMove(player1));
+    }
+
+    @Test
+    public void setBudget_usesBudgetAndIncrementOfPlayer() {
+        gameClock.setBudget(player2, Duration.ofNanos(50), Duration.ofNanos(5));
+        gameClock.startMove(player2);
+        now += 20;
+        gameClock.stopMove();
+
+        assertEquals(35, gameClock.getRemainingNanos(player2));
+        assertEquals(100, gameClock.getRemainingNanos(player1));
+    }
+
+    @Test
+    public void reset_restoresBudgetsAndStopsClock() {
+        gameClock.startMove(player1);
+        now += 30;
+        gameClock.stopMove();
+        gameClock.startMove(player2);
+
+        gameClock.reset();
+
+        assertEquals(100, gameClock.getRemainingNanos(player1));
+        assertEquals(100, gameClock.getRemainingNanos(player2));
+        assertNull(gameClock.getRunningPlayer());
+    }
+
+}
@@ -1,12 +1,36 @@
 package de.tbressler.quadratum.logic;
 
+import de.tbressler.quadratum.core.Position;
+import de.tbressler.quadratum.metrics.IMetricsRecorder;
 import de.tbressler.quadratum.model.GameBoard;
+import de.tbressler.quadratum.model.IReadOnlyGameBoard;
 import de.tbressler.quadratum.model.Player;
+import de.tbressler.quadratum.model.Square;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
-
+import org.mockito.InOrder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static de.tbressler.quadratum.core.GameCore.PLAYER1;
+import static de.tbressler.quadratum.core.GameCore.PLAYER2;
+import static de.tbressler.quadratum.logic.GameLogic.FallbackMove.FIRST_EMPTY_FIELD;
 import static de.tbressler.quadratum.logic.GameOverVerifier.GameOverState.*;
+import static de.tbressler.quadratum.metrics.IMetricsRecorder.Counter.GAMES_FINISHED;
+import static de.tbressler.quadratum.metrics.IMetricsRecorder.Counter.MOVES;
+import static de.tbressler.quadratum.metrics.IMetricsRecorder.Counter.MOVE_TIMEOUTS;
+import static java.util.Collections.singleton;
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.junit.Assert.*;
 import static org.mockito.ArgumentCaptor.forClass;
 import static org.mockito.Mockito.*;
@@ -38,6 +62,10 @@ public class TestGameLogic {
 
     private GameOverVerifier gameOverVerifier = mock(GameOverVerifier.class, "gameOverVerifier");
 
+    private MoveAnalyzer moveAnalyzer = mock(MoveAnalyzer.class, "moveAnalyzer");
+
+    private MoveAnalysis moveAnalysis = new MoveAnalysis();
+
 
     // Capture:
     private ArgumentCaptor<ILogicCallback> callback = forClass(ILogicCallback.class);
@@ -46,17 +74,22 @@ public class TestGameLogic {
 
     @Before
     public void setUp() {
+        when(gameBoard.getSize()).thenReturn(8);
         when(gameBoard.getPlayer1()).thenReturn(player1);
         when(gameBoard.getPlayer2()).thenReturn(player2);
 
         when(playerLogic1.getPlayer()).thenReturn(player1);
         when(playerLogic2.getPlayer()).thenReturn(player2);
 
+        when(squareCollector.getSize()).thenReturn(8);
+        when(gameOverVerifier.getSize()).thenReturn(8);
         when(gameOverVerifier.isGameOver(gameBoard, squareCollector)).thenReturn(NOT_OVER);
+        when(moveAnalyzer.analyze(eq(gameBoard), any(Player.class))).thenReturn(moveAnalysis);
 
         gameLogic = new GameLogic(gameBoard, playerLogic1, playerLogic2);
         gameLogic.setSquareCollector(squareCollector);
         gameLogic.setGameOverVerifier(gameOverVerifier);
+        gameLogic.setMoveAnalyzer(moveAnalyzer);
         gameLogic.addGameLogicListener(listener);
     }
 
@@ -87,6 +120,14 @@ public class TestGameLogic {
         new GameLogic(gameBoard, playerLogic1, null);
     }
 
+    /**
+     * Checks if an exception is thrown if the game over verifier is null.
+     */
+    @Test(expected = NullPointerException.class)
+    public void new_withNullGameOverVerifier_throwsException() {
+        new GameLogic(gameBoard, playerLogic1, playerLogic2, null);
+    }
+
     /**
      * Checks if an exception is thrown if player logic 1 and 2 share the same player.
      */
@@ -406,7 +447,7 @@ public class TestGameLogic {
     public void startGame_withPlayer1MakesMoveAndPlayer1Won_notifiesListeners() {
         gameLogic.startGame(player1);
         verify(playerLogic1, times(1)).requestMove(eq(gameBoard), callback.capture());
-        when(gameOverVerifier.isGameOver(gameBoard, squareCollector)).thenReturn(PLAYER1_WON);
+        moveAnalysis.state = PLAYER1_WON;
         when(gameBoard.isFieldEmpty(1)).thenReturn(true);
 
         callback.getValue().makeMove(1, player1);
@@ -423,7 +464,7 @@ public class TestGameLogic {
     public void startGame_withPlayer1MakesMoveAndPlayer2Won_notifiesListeners() {
         gameLogic.startGame(player1);
         verify(playerLogic1, times(1)).requestMove(eq(gameBoard), callback.capture());
-        when(gameOverVerifier.isGameOver(gameBoard, squareCollector)).thenReturn(PLAYER2_WON);
+        moveAnalysis.state = PLAYER2_WON;
         when(gameBoard.isFieldEmpty(1)).thenReturn(true);
 
         callback.getValue().makeMove(1, player1);
@@ -440,7 +481,7 @@ public class TestGameLogic {
     public void startGame_withPlayer1MakesMoveAndGameDraw_notifiesListeners() {
         gameLogic.startGame(player1);
         verify(playerLogic1, times(1)).requestMove(eq(gameBoard), callback.capture());
-        when(gameOverVerifier.isGameOver(gameBoard, squareCollector)).thenReturn(GAME_DRAW);
+        moveAnalysis.state = GAME_DRAW;
         when(gameBoard.isFieldEmpty(1)).thenReturn(true);
 
         callback.getValue().makeMove(1, player1);
@@ -457,7 +498,7 @@ public class TestGameLogic {
     public void startGame_withPlayer1MakesMoveAndGameNotOver_doesNotNotifyListeners() {
         gameLogic.startGame(player1);
         verify(playerLogic1, times(1)).requestMove(eq(gameBoard), callback.capture());
-        when(gameOverVerifier.isGameOver(gameBoard, squareCollector)).thenReturn(NOT_OVER);
+        moveAnalysis.state = NOT_OVER;
         when(gameBoard.isFieldEmpty(1)).thenReturn(true);
 
         callback.getValue().makeMove(1, player1);
@@ -467,6 +508,23 @@ public class TestGameLogic {
         verify(playerLogic2, times(1)).requestMove(eq(gameBoard), callback.capture());
     }
 
+    /**
+     * Checks if listeners get notified about the new squares of the move analysis.
+     */
+    @Test
+    public void startGame_withPlayer1MakesMoveWithNewSquares_notifiesListeners() {
+        Set<Square> squares = singleton(new Square(new int[]{0, 1, 8, 9}, player1));
+        moveAnalysis.newSquares = squares;
+        gameLogic.startGame(player1);
+        verify(playerLogic1, times(1)).requestMove(eq(gameBoard), callback.capture());
+        when(gameBoard.isFieldEmpty(1)).thenReturn(true);
+
+        callback.getValue().makeMove(1, player1);
+
+        verify(moveAnalyzer, times(1)).analyze(gameBoard, player1);
+        verify(listener, times(1)).onNewSquaresFound(player1, squares);
+    }
+
 
     /**
      * Checks if the active player is null after the initialization of the game logic, because
@@ -599,4 +657,535 @@ public class TestGameLogic {
         gameLogic.removeGameLogicListener(null);
     }
 
+
+    @Test(expected = NullPointerException.class)
+    public void setMetricsRecorder_withNull_throwsException() {
+        gameLogic.setMetricsRecorder(null);
+    }
+
+    @Test
+    public void setMetricsRecorder_setsRecorderAtSquareCollectorAndGameOverVerifier() {
+        IMetricsRecorder metricsRecorder = mock(IMetricsRecorder.class, "metricsRecorder");
+        gameLogic.setMetricsRecorder(metricsRecorder);
+        verify(squareCollector, times(1)).setMetricsRecorder(metricsRecorder);
+        verify(gameOverVerifier, times(1)).setMetricsRecorder(metricsRecorder);
+        verify(moveAnalyzer, times(1)).setMetricsRecorder(metricsRecorder);
+    }
+
+    @Test
+    public void makeMove_withMetricsRecorder_countsMoveAndFinishedGame() {
+        IMetricsRecorder metricsRecorder = mock(IMetricsRecorder.class, "metricsRecorder");
+        gameLogic.setMetricsRecorder(metricsRecorder);
+        gameLogic.startGame(player1);
+        verify(playerLogic1, times(1)).requestMove(eq(gameBoard), callback.capture());
+        moveAnalysis.state = PLAYER1_WON;
+        when(gameBoard.isFieldEmpty(1)).thenReturn(true);
+
+        callback.getValue().makeMove(1, player1);
+
+        verify(metricsRecorder, times(1)).incrementCounter(MOVES, 1);
+        verify(metricsRecorder, times(1)).incrementCounter(GAMES_FINISHED, 1);
+    }
+
+    /**
+     * Checks if the game board and the squares are rebound to the new players.
+     */
+    @Test
+    public void rebindPlayers_bindsGameToNewPlayers() {
+        Player player3 = mock(Player.class, "player3");
+        Player player4 = mock(Player.class, "player4");
+        IPlayerLogic playerLogic3 = mock(IPlayerLogic.class, "playerLogic3");
+        IPlayerLogic playerLogic4 = mock(IPlayerLogic.class, "playerLogic4");
+        when(playerLogic3.getPlayer()).thenReturn(player3);
+        when(playerLogic4.getPlayer()).thenReturn(player4);
+
+        gameLogic.startGame(player1);
+        gameLogic.rebindPlayers(playerLogic3, playerLogic4);
+
+        verify(gameBoard, times(1)).rebindPlayers(player3, player4);
+        verify(squareCollector, times(2)).reset();
+        assertFalse(gameLogic.isStarted());
+        assertNull(gameLogic.getActivePlayer());
+        assertEquals(0, gameLogic.getGameId());
+
+        gameLogic.startGame(player4);
+        verify(playerLogic4, times(1)).requestMove(eq(gameBoard), any(ILogicCallback.class));
+    }
+
+    /**
+     * Checks if an exception is thrown if the new player logics share the same player.
+     */
+    @Test(expected = AssertionError.class)
+    public void rebindPlayers_withSamePlayer_throwsException() {
+        gameLogic.rebindPlayers(playerLogic2, playerLogic2);
+    }
+
+    /**
+     * Checks if the pending move request of the old active player logic is cancelled.
+     */
+    @Test
+    public void rebindPlayers_cancelsMoveRequestOfActivePlayer() {
+        gameLogic.startGame(player2);
+
+        gameLogic.rebindPlayers(playerLogic1, playerLogic2);
+
+        verify(playerLogic2, times(1)).cancelMoveRequest();
+        verify(playerLogic1, never()).cancelMoveRequest();
+    }
+
+    /**
+     * Checks if a game, which is released by the game over handler, is rebound after the last
+     * move is completed.
+     */
+    @Test
+    public void rebindPlayers_fromGameOverHandler_waitsUntilMoveIsCompleted() throws InterruptedException {
+        Thread rebinder = new Thread(() -> gameLogic.rebindPlayers(playerLogic1, playerLogic2));
+        boolean[] blocked = new boolean[1];
+        gameLogic.setGameOverHandler(game -> {
+            rebinder.start();
+            try {
+                rebinder.join(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            blocked[0] = rebinder.isAlive() && game.isStarted();
+        });
+        moveAnalysis.state = PLAYER1_WON;
+        when(gameBoard.isFieldEmpty(0)).thenReturn(true);
+
+        gameLogic.startGame(player1);
+        verify(playerLogic1).requestMove(eq(gameBoard), callback.capture());
+        callback.getValue().makeMove(0, player1);
+
+        rebinder.join(5000);
+        assertTrue(blocked[0]);
+        assertFalse(rebinder.isAlive());
+        assertFalse(gameLogic.isStarted());
+    }
+
+    /**
+     * Checks if the game over handler is called after the listeners.
+     */
+    @Test
+    public void makeMove_ifGameIsOver_callsGameOverHandlerAfterListeners() {
+        List<GameLogic> handledGames = new ArrayList<>();
+        gameLogic.setGameOverHandler(game -> {
+            verify(listener).onGameOver(player1);
+            handledGames.add(game);
+        });
+        moveAnalysis.state = PLAYER1_WON;
+        when(gameBoard.isFieldEmpty(0)).thenReturn(true);
+
+        gameLogic.startGame(player1);
+        verify(playerLogic1).requestMove(eq(gameBoard), callback.capture());
+        callback.getValue().makeMove(0, player1);
+
+        assertEquals(singletonList(gameLogic), handledGames);
+    }
+
+    /**
+     * Checks if undoMove() returns false if no move was made.
+     */
+    @Test
+    public void undoMove_withoutMove_returnsFalse() {
+        gameLogic.startGame(player1);
+        assertFalse(gameLogic.undoMove());
+        verify(gameBoard, never()).removePiece(anyInt());
+    }
+
+    /**
+     * Checks if an exception is thrown if the game is not started.
+     */
+    @Test(expected = AssertionError.class)
+    public void undoMoves_ifGameIsNotStarted_throwsException() {
+        gameLogic.undoMoves(1);
+    }
+
+    /**
+     * Checks if the last move is undone and the move is requested again from its player.
+     */
+    @Test
+    public void undoMove_afterMove_removesPieceAndRequestsMoveAgain() {
+        Set<Square> removedSquares = singleton(mock(Square.class, "removedSquare"));
+        when(gameBoard.isFieldEmpty(7)).thenReturn(true);
+        when(gameBoard.getLastPlacedIndex()).thenReturn(7);
+        when(gameBoard.removePiece(7)).thenReturn(player1);
+        when(squareCollector.rollback()).thenReturn(removedSquares);
+
+        gameLogic.startGame(player1);
+        verify(playerLogic1).requestMove(eq(gameBoard), callback.capture());
+        callback.getValue().makeMove(7, player1);
+
+        assertTrue(gameLogic.undoMove());
+
+        verify(playerLogic2, times(1)).cancelMoveRequest();
+        verify(gameBoard, times(1)).removePiece(7);
+        verify(squareCollector, times(1)).rollback();
+        verify(listener, times(1)).onMoveUndone(7, player1, removedSquares);
+        verify(playerLogic1, times(2)).requestMove(eq(gameBoard), any(ILogicCallback.class));
+        assertEquals(player1, gameLogic.getActivePlayer());
+    }
+
+    /**
+     * Checks if a move of the pending request is ignored, while the moves are undone.
+     */
+    @Test
+    public void undoMove_whilePendingMoveIsMade_ignoresPendingMove() {
+        when(gameBoard.isFieldEmpty(anyInt())).thenReturn(true);
+        when(gameBoard.getLastPlacedIndex()).thenReturn(7);
+        when(gameBoard.removePiece(7)).thenReturn(player1);
+
+        gameLogic.startGame(player1);
+        verify(playerLogic1).requestMove(eq(gameBoard), callback.capture());
+        callback.getValue().makeMove(7, player1);
+        verify(playerLogic2).requestMove(eq(gameBoard), callback.capture());
+        boolean[] pendingMoveMade = {true};
+        doAnswer(invocation -> {
+            pendingMoveMade[0] = callback.getValue().makeMove(8, player2);
+            return null;
+        }).when(playerLogic2).cancelMoveRequest();
+
+        assertTrue(gameLogic.undoMove());
+
+        assertFalse(pendingMoveMade[0]);
+        verify(gameBoard, never()).placePiece(8, player2);
+        verify(gameBoard, times(1)).removePiece(7);
+        assertEquals(player1, gameLogic.getActivePlayer());
+    }
+
+    /**
+     * Checks if an exception is thrown if more moves are undone than made.
+     */
+    @Test(expected = AssertionError.class)
+    public void undoMoves_withMoreMovesThanMade_throwsException() {
+        gameLogic.startGame(player1);
+        gameLogic.undoMoves(1);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void setFallbackMove_withNull_throwsException() {
+        gameLogic.setFallbackMove(null);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void setDeadlineScheduler_withNull_throwsException() {
+        gameLogic.setDeadlineScheduler(null);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void setFallbackExecutor_withNull_throwsException() {
+        gameLogic.setFallbackExecutor(null);
+    }
+
+    /**
+     * Checks if the move is requested with a deadline, if a game clock is set.
+     */
+    @Test
+    public void startGame_withGameClock_requestsMoveWithDeadline() {
+        ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class, "scheduler");
+        gameLogic.setDeadlineScheduler(scheduler);
+        gameLogic.setGameClock(new GameClock(Duration.ofSeconds(10), Duration.ZERO));
+
+        gameLogic.startGame(player1);
+
+        verify(playerLogic1, times(1)).requestMove(eq(gameBoard), any(ILogicCallback.class), anyLong());
+        verify(playerLogic1, never()).requestMove(eq(gameBoard), any(ILogicCallback.class));
+        verify(scheduler, times(1)).schedule(any(Runnable.class), anyLong(), eq(NANOSECONDS));
+        assertEquals(player1, gameLogic.getGameClock().getRunningPlayer());
+    }
+
+    /**
+     * Checks if the player gets the deadline of the game clock, which uses its own time source.
+     */
+    @Test
+    public void startGame_withGameClock_requestsMoveWithDeadlineOfClock() {
+        ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class, "scheduler");
+        GameClock gameClock = new GameClock(Duration.ofSeconds(10), Duration.ZERO);
+        gameClock.setNanoTime(() -> 1000L);
+        gameLogic.setDeadlineScheduler(scheduler);
+        gameLogic.setGameClock(gameClock);
+
+        gameLogic.startGame(player1);
+
+        verify(playerLogic1, times(1)).requestMove(eq(gameBoard), any(ILogicCallback.class),
+                eq(1000L + Duration.ofSeconds(10).toNanos()));
+        verify(scheduler, times(1)).schedule(any(Runnable.class), eq(Duration.ofSeconds(10).toNanos()), eq(NANOSECONDS));
+    }
+
+    /**
+     * Checks if the move request is cancelled and the fallback move is made, if the deadline
+     * expires.
+     */
+    @Test
+    public void deadline_whenExpired_cancelsRequestAndMakesFallbackMove() {
+        ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class, "scheduler");
+        IMetricsRecorder metricsRecorder = mock(IMetricsRecorder.class, "metricsRecorder");
+        List<Runnable> fallbackTasks = new ArrayList<>();
+        gameLogic.setDeadlineScheduler(scheduler);
+        gameLogic.setFallbackExecutor(fallbackTasks::add);
+        gameLogic.setMetricsRecorder(metricsRecorder);
+        gameLogic.setGameClock(new GameClock(Duration.ofSeconds(10), Duration.ZERO));
+        gameLogic.setFallbackMove(FIRST_EMPTY_FIELD);
+        when(gameBoard.isFieldEmpty(anyInt())).thenReturn(true);
+        when(gameBoard.isFieldEmpty(0)).thenReturn(false);
+
+        gameLogic.startGame(player1);
+        verify(playerLogic1).requestMove(eq(gameBoard), callback.capture(), anyLong());
+        ArgumentCaptor<Runnable> deadline = forClass(Runnable.class);
+        verify(scheduler).schedule(deadline.capture(), anyLong(), eq(NANOSECONDS));
+
+        deadline.getValue().run();
+
+        // The move isn't made on the thread of the scheduler:
+        assertFalse(callback.getValue().makeMove(2, player1));
+        verify(gameBoard, never()).placePiece(anyInt(), any(Player.class));
+        assertEquals(1, fallbackTasks.size());
+
+        fallbackTasks.get(0).run();
+
+        verify(playerLogic1, times(1)).cancelMoveRequest();
+        verify(gameBoard, times(1)).placePiece(1, player1);
+        verify(metricsRecorder, times(1)).incrementCounter(MOVE_TIMEOUTS, 1);
+        verify(playerLogic2, times(1)).requestMove(eq(gameBoard), any(ILogicCallback.class), anyLong());
+        assertEquals(player2, gameLogic.getActivePlayer());
+    }
+
+    /**
+     * Checks if an expired deadline is ignored, if the move was made before.
+     */
+    @Test
+    public void deadline_afterMoveWasMade_isIgnored() {
+        ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class, "scheduler");
+        gameLogic.setDeadlineScheduler(scheduler);
+        gameLogic.setGameClock(new GameClock(Duration.ofSeconds(10), Duration.ZERO));
+        when(gameBoard.isFieldEmpty(anyInt())).thenReturn(true);
+
+        gameLogic.startGame(player1);
+        verify(playerLogic1).requestMove(eq(gameBoard), callback.capture(), anyLong());
+        ArgumentCaptor<Runnable> deadline = forClass(Runnable.class);
+        verify(scheduler).schedule(deadline.capture(), anyLong(), eq(NANOSECONDS));
+        callback.getValue().makeMove(5, player1);
+
+        deadline.getAllValues().get(0).run();
+
+        verify(playerLogic1, never()).cancelMoveRequest();
+        verify(gameBoard, times(1)).placePiece(anyInt(), any(Player.class));
+        assertEquals(player2, gameLogic.getActivePlayer());
+    }
+
+    /**
+     * Checks if the deadlines expire in time, while a bot computes its move. The bot computes the
+     * move without move lock, so neither its own deadline nor the deadline of another game waits
+     * for the bot.
+     */
+    @Test
+    public void deadline_whileBotComputesMove_expiresInTime() throws InterruptedException {
+        ScheduledExecutorService scheduler = newSingleThreadScheduledExecutor();
+        CountDownLatch botStarted = new CountDownLatch(1);
+        CountDownLatch releaseBot = new CountDownLatch(1);
+        CountDownLatch fallbackMoveMade = new CountDownLatch(1);
+        CountDownLatch otherFallbackMoveMade = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            botStarted.countDown();
+            releaseBot.await();
+            return null;
+        }).when(playerLogic2).requestMove(eq(gameBoard), any(ILogicCallback.class), anyLong());
+        doAnswer(invocation -> {
+            fallbackMoveMade.countDown();
+            return null;
+        }).when(gameBoard).placePiece(0, player2);
+        when(gameBoard.isFieldEmpty(anyInt())).thenReturn(true);
+        gameLogic.setDeadlineScheduler(scheduler);
+        gameLogic.setGameClock(new GameClock(Duration.ofMillis(50), Duration.ZERO));
+        gameLogic.setFallbackMove(FIRST_EMPTY_FIELD);
+
+        Player player3 = new Player("player3");
+        Player player4 = new Player("player4");
+        IPlayerLogic playerLogic3 = mock(IPlayerLogic.class, "playerLogic3");
+        IPlayerLogic playerLogic4 = mock(IPlayerLogic.class, "playerLogic4");
+        when(playerLogic3.getPlayer()).thenReturn(player3);
+        when(playerLogic4.getPlayer()).thenReturn(player4);
+        doAnswer(invocation -> {
+            otherFallbackMoveMade.countDown();
+            return null;
+        }).when(playerLogic4).requestMove(any(IReadOnlyGameBoard.class), any(ILogicCallback.class), anyLong());
+        GameBoard otherGameBoard = new GameBoard(player3, player4);
+        GameLogic otherGameLogic = new GameLogic(otherGameBoard, playerLogic3, playerLogic4);
+        otherGameLogic.setDeadlineScheduler(scheduler);
+        otherGameLogic.setGameClock(new GameClock(Duration.ofMillis(200), Duration.ZERO));
+        otherGameLogic.setFallbackMove(FIRST_EMPTY_FIELD);
+
+        gameLogic.startGame(player1);
+        verify(playerLogic1).requestMove(eq(gameBoard), callback.capture(), anyLong());
+        Thread human = new Thread(() -> callback.getValue().makeMove(5, player1));
+        try {
+            human.start();
+            assertTrue(botStarted.await(5, SECONDS));
+
+            otherGameLogic.startGame(player3);
+
+            assertTrue(fallbackMoveMade.await(5, SECONDS));
+            assertTrue(otherFallbackMoveMade.await(5, SECONDS));
+            assertEquals(player3, otherGameBoard.getPiece(0));
+            assertTrue(human.isAlive());
+        } finally {
+            releaseBot.countDown();
+            human.join(5000);
+            // Stops the fallback moves of both games:
+            gameLogic.rebindPlayers(playerLogic1, playerLogic2);
+            otherGameLogic.rebindPlayers(playerLogic3, playerLogic4);
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Checks if the clock is reset when the game is started.
+     */
+    @Test
+    public void startGame_withGameClock_resetsClock() {
+        GameClock gameClock = mock(GameClock.class, "gameClock");
+        gameLogic.setDeadlineScheduler(mock(ScheduledExecutorService.class, "scheduler"));
+        gameLogic.setGameClock(gameClock);
+
+        gameLogic.startGame(player1);
+
+        InOrder inOrder = inOrder(gameClock);
+        inOrder.verify(gameClock).reset();
+        inOrder.verify(gameClock).startMove(player1);
+    }
+
+    /**
+     * Checks if the moves of asynchronous player logics are made, when they are completed.
+     */
+    @Test
+    public void startGame_withAsyncPlayerLogics_makesMoveWhenCompleted() {
+        IAsyncPlayerLogic asyncPlayerLogic1 = mock(IAsyncPlayerLogic.class, "asyncPlayerLogic1");
+        IAsyncPlayerLogic asyncPlayerLogic2 = mock(IAsyncPlayerLogic.class, "asyncPlayerLogic2");
+        CompletableFuture<Integer> move = new CompletableFuture<>();
+        when(asyncPlayerLogic1.getPlayer()).thenReturn(player1);
+        when(asyncPlayerLogic2.getPlayer()).thenReturn(player2);
+        when(asyncPlayerLogic1.requestMove(gameBoard)).thenReturn(move);
+        when(asyncPlayerLogic2.requestMove(gameBoard)).thenReturn(new CompletableFuture<>());
+        when(gameBoard.isFieldEmpty(9)).thenReturn(true);
+
+        gameLogic = new GameLogic(gameBoard, asyncPlayerLogic1, asyncPlayerLogic2);
+        gameLogic.setSquareCollector(squareCollector);
+        gameLogic.setGameOverVerifier(gameOverVerifier);
+        gameLogic.setMoveAnalyzer(moveAnalyzer);
+        gameLogic.startGame(player1);
+
+        assertEquals(player1, gameLogic.getActivePlayer());
+        move.complete(9);
+
+        verify(gameBoard, times(1)).placePiece(9, player1);
+        verify(asyncPlayerLogic2, times(1)).requestMove(gameBoard);
+        assertEquals(player2, gameLogic.getActivePlayer());
+    }
+
+
+    /**
+     * Checks if the snapshot contains the pieces, the active player and the started flag.
+     */
+    @Test
+    public void snapshot_afterStartGame_returnsStateOfGame() {
+        when(gameBoard.getPieces(player1)).thenReturn(new long[]{1L << 3});
+        when(gameBoard.getPieces(player2)).thenReturn(new long[]{1L << 5});
+        gameLogic.startGame(player2);
+
+        GameSnapshot snapshot = gameLogic.snapshot();
+
+        assertTrue(snapshot.isStarted());
+        assertEquals(PLAYER2, snapshot.getPosition().getActivePlayer());
+        assertEquals(PLAYER1, snapshot.getPosition().getPiece(3));
+        assertEquals(PLAYER2, snapshot.getPosition().getPiece(5));
+    }
+
+    /**
+     * Checks if restore sets the state directly, notifies the listeners once and requests the
+     * move of the active player.
+     */
+    @Test
+    public void restore_withStartedGame_restoresStateAndRequestsMove() {
+        gameLogic.startGame(player1);
+        long gameId = gameLogic.getGameId();
+
+        gameLogic.restore(new GameSnapshot(new Position(8, new long[]{1L << 3}, new long[]{1L << 5}, PLAYER2), true));
+
+        verify(playerLogic1, times(1)).cancelMoveRequest();
+        verify(gameBoard, times(1)).restore(new long[]{1L << 3}, new long[]{1L << 5});
+        verify(squareCollector, times(1)).restore(gameBoard);
+        verify(listener, times(1)).onGameRestored(player2);
+        verify(listener, never()).onActivePlayerChanged(player2);
+        verify(playerLogic2, times(1)).requestMove(eq(gameBoard), any(ILogicCallback.class));
+        assertEquals(player2, gameLogic.getActivePlayer());
+        assertTrue(gameLogic.isStarted());
+        assertNotEquals(gameId, gameLogic.getGameId());
+        assertFalse(gameLogic.undoMove());
+    }
+
+    /**
+     * Checks if a move, which is made while the game is restored, waits for the restore and is
+     * ignored.
+     */
+    @Test
+    public void restore_whileMoveIsMade_ignoresMove() throws InterruptedException {
+        when(gameBoard.isFieldEmpty(anyInt())).thenReturn(true);
+        gameLogic.startGame(player1);
+        verify(playerLogic1).requestMove(eq(gameBoard), callback.capture());
+        boolean[] moveMade = {true};
+        Thread mover = new Thread(() -> moveMade[0] = callback.getValue().makeMove(7, player1));
+        boolean[] blocked = new boolean[1];
+        doAnswer(invocation -> {
+            mover.start();
+            mover.join(100);
+            blocked[0] = mover.isAlive();
+            return null;
+        }).when(gameBoard).restore(any(long[].class), any(long[].class));
+
+        gameLogic.restore(new GameSnapshot(new Position(8, new long[]{1L << 3}, new long[]{1L << 5}, PLAYER2), true));
+
+        mover.join(5000);
+        assertTrue(blocked[0]);
+        assertFalse(moveMade[0]);
+        verify(gameBoard, never()).placePiece(anyInt(), any(Player.class));
+        verify(playerLogic2, times(1)).requestMove(eq(gameBoard), any(ILogicCallback.class));
+        assertEquals(player2, gameLogic.getActivePlayer());
+    }
+
+    /**
+     * Checks if no move is requested, if the restored game is over.
+     */
+    @Test
+    public void restore_withGameOver_doesNotRequestMove() {
+        when(gameOverVerifier.isGameOver(gameBoard, squareCollector)).thenReturn(PLAYER1_WON);
+
+        gameLogic.restore(new GameSnapshot(new Position(8, new long[1], new long[1], PLAYER1), true));
+
+        verify(playerLogic1, never()).requestMove(eq(gameBoard), any(ILogicCallback.class));
+        verify(listener, never()).onGameOver(any(Player.class));
+        assertTrue(gameLogic.isStarted());
+    }
+
+    @Test
+    public void restore_withNotStartedGame_hasNoActivePlayer() {
+        gameLogic.startGame(player1);
+
+        gameLogic.restore(new GameSnapshot(new Position(8, new long[1], new long[1], PLAYER1), false));
+
+        verify(listener, times(1)).onGameRestored(null);
+        assertNull(gameLogic.getActivePlayer());
+        assertFalse(gameLogic.isStarted());
+        assertEquals(0, gameLogic.getGameId());
+    }
+
+    @Test(expected = AssertionError.class)
+    public void restore_withOtherSize_throwsException() {
+        gameLogic.restore(new GameSnapshot(new Position(6, new long[1], new long[1], PLAYER1), true));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void restore_withNull_throwsException() {
+        gameLogic.restore(null);
+    }
+
 }
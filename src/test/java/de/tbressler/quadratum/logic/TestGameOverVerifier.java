@@ -5,7 +5,10 @@ import de.tbressler.quadratum.model.Player;
 import org.junit.Before;
 import org.junit.Test;
 
+import static de.tbressler.quadratum.logic.GameOverVerifier.EarlyTermination.DISABLED;
+import static de.tbressler.quadratum.logic.GameOverVerifier.EarlyTermination.WHEN_DECIDED;
 import static de.tbressler.quadratum.logic.GameOverVerifier.GameOverState.*;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.mockito.Matchers.anyInt;
 import static org.mockito.Mockito.mock;
@@ -211,4 +214,69 @@ public class TestGameOverVerifier {
         assertEquals(NOT_OVER, gameOverVerifier.isGameOver(gameBoard, squareCollector));
     }
 
+
+    @Test(expected = NullPointerException.class)
+    public void new_withNullEarlyTermination_throwsException() {
+        new GameOverVerifier(150, 15, null);
+    }
+
+    @Test
+    public void getEarlyTermination_afterNew_returnsDISABLED() {
+        assertEquals(DISABLED, gameOverVerifier.getEarlyTermination());
+    }
+
+    @Test
+    public void getMaxRemainingScores_withEmptyGameBoard_returnsSumOfAllSquares() {
+        assertArrayEquals(new int[]{6888, 6888}, gameOverVerifier.getMaxRemainingScores(gameBoard));
+    }
+
+    @Test
+    public void getMaxRemainingScores_withOnlyOneOpenSquareForPlayer2_returnsScoreOfSquare() {
+        prepareGameBoardWithOneOpenSquareForPlayer2();
+        assertEquals(4, gameOverVerifier.getMaxRemainingScores(gameBoard)[1]);
+    }
+
+    @Test
+    public void isGameOver_withEarlyTerminationAndPlayer2CantCatchUp_returnsPLAYER1_WON() {
+        gameOverVerifier = new GameOverVerifier(150, 15, WHEN_DECIDED);
+        prepareGameBoardWithOneOpenSquareForPlayer2();
+        when(squareCollector.getScore(player1)).thenReturn(20);
+        when(squareCollector.getScore(player2)).thenReturn(15);
+        assertEquals(PLAYER1_WON, gameOverVerifier.isGameOver(gameBoard, squareCollector));
+    }
+
+    @Test
+    public void isGameOver_withEarlyTerminationAndPlayer2CanStillDraw_returnsNOT_OVER() {
+        gameOverVerifier = new GameOverVerifier(150, 15, WHEN_DECIDED);
+        prepareGameBoardWithOneOpenSquareForPlayer2();
+        when(squareCollector.getScore(player1)).thenReturn(20);
+        when(squareCollector.getScore(player2)).thenReturn(16);
+        assertEquals(NOT_OVER, gameOverVerifier.isGameOver(gameBoard, squareCollector));
+    }
+
+    @Test
+    public void isGameOver_withoutEarlyTerminationAndPlayer2CantCatchUp_returnsNOT_OVER() {
+        prepareGameBoardWithOneOpenSquareForPlayer2();
+        when(squareCollector.getScore(player1)).thenReturn(20);
+        when(squareCollector.getScore(player2)).thenReturn(15);
+        assertEquals(NOT_OVER, gameOverVerifier.isGameOver(gameBoard, squareCollector));
+    }
+
+    @Test
+    public void isGameOver_withEarlyTerminationAndEmptyGameBoard_returnsNOT_OVER() {
+        gameOverVerifier = new GameOverVerifier(150, 15, WHEN_DECIDED);
+        when(squareCollector.getScore(player1)).thenReturn(0);
+        when(squareCollector.getScore(player2)).thenReturn(0);
+        assertEquals(NOT_OVER, gameOverVerifier.isGameOver(gameBoard, squareCollector));
+    }
+
+    /* Fills the game board with pieces of player 1, except the square 0,1,8,9 of player 2. */
+    private void prepareGameBoardWithOneOpenSquareForPlayer2() {
+        when(gameBoard.getPiece(anyInt())).thenReturn(player1);
+        when(gameBoard.getPiece(0)).thenReturn(null);
+        when(gameBoard.getPiece(1)).thenReturn(null);
+        when(gameBoard.getPiece(8)).thenReturn(null);
+        when(gameBoard.getPiece(9)).thenReturn(player2);
+    }
+
 }
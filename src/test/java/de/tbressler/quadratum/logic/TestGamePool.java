@@ -0,0 +1,165 @@
+package de.tbressler.quadratum.logic;
+
+import de.tbressler.quadratum.logic.players.HumanPlayerLogic;
+import de.tbressler.quadratum.model.IGameBoardListener;
+import de.tbressler.quadratum.model.Player;
+import org.junit.Before;
+import org.junit.Test;
+
+import static de.tbressler.quadratum.logic.GameOverVerifier.EarlyTermination.DISABLED;
+import static de.tbressler.quadratum.logic.GamePool.ReleasePolicy.MANUAL;
+import static de.tbressler.quadratum.logic.GamePool.ReleasePolicy.ON_GAME_OVER;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for class GamePool.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public class TestGamePool {
+
+    // Class under test:
+    private GamePool gamePool;
+
+    // Players:
+    private Player player1 = new Player("player1");
+    private Player player2 = new Player("player2");
+    private Player player3 = new Player("player3");
+    private Player player4 = new Player("player4");
+
+    private HumanPlayerLogic playerLogic1 = new HumanPlayerLogic(player1);
+    private HumanPlayerLogic playerLogic2 = new HumanPlayerLogic(player2);
+    private HumanPlayerLogic playerLogic3 = new HumanPlayerLogic(player3);
+    private HumanPlayerLogic playerLogic4 = new HumanPlayerLogic(player4);
+
+
+    @Before
+    public void setUp() {
+        gamePool = new GamePool(2, MANUAL);
+    }
+
+
+    @Test(expected = AssertionError.class)
+    public void new_withMaxIdleGames0_throwsException() {
+        new GamePool(0, MANUAL);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void new_withNullReleasePolicy_throwsException() {
+        new GamePool(2, null);
+    }
+
+    @Test
+    public void new_withGameOverVerifierFactory_usesSizeOfGameOverVerifier() {
+        GamePool pool = new GamePool(2, MANUAL, () -> new GameOverVerifier(150, 15, DISABLED, 10));
+        assertEquals(10, pool.getSize());
+        assertEquals(10, pool.lease(playerLogic1, playerLogic2).getGameBoard().getSize());
+    }
+
+    @Test
+    public void lease_withEmptyPool_createsGame() {
+        GameLogic gameLogic = gamePool.lease(playerLogic1, playerLogic2);
+
+        assertEquals(player1, gameLogic.getGameBoard().getPlayer1());
+        assertEquals(player2, gameLogic.getGameBoard().getPlayer2());
+        assertEquals(1, gamePool.getCreatedCount());
+        assertEquals(1, gamePool.getLeasedCount());
+        assertEquals(0, gamePool.getIdleCount());
+    }
+
+    @Test
+    public void lease_afterRelease_reusesGameWithNewPlayers() {
+        GameLogic gameLogic = gamePool.lease(playerLogic1, playerLogic2);
+        gameLogic.startGame(player1);
+        playerLogic1.placePiece(5);
+        gamePool.release(gameLogic);
+
+        GameLogic reused = gamePool.lease(playerLogic3, playerLogic4);
+
+        assertSame(gameLogic, reused);
+        assertEquals(1, gamePool.getCreatedCount());
+        assertEquals(player3, reused.getGameBoard().getPlayer1());
+        assertEquals(player4, reused.getGameBoard().getPlayer2());
+        assertTrue(reused.getGameBoard().isFieldEmpty(5));
+        assertFalse(reused.isStarted());
+
+        reused.startGame(player4);
+        assertTrue(playerLogic4.placePiece(5));
+        assertEquals(player4, reused.getGameBoard().getPiece(5));
+    }
+
+    @Test
+    public void release_removesListeners() {
+        IGameLogicListener logicListener = mock(IGameLogicListener.class, "logicListener");
+        IGameBoardListener boardListener = mock(IGameBoardListener.class, "boardListener");
+
+        GameLogic gameLogic = gamePool.lease(playerLogic1, playerLogic2);
+        gameLogic.addGameLogicListener(logicListener);
+        gameLogic.getGameBoard().addGameBoardListener(boardListener);
+        gamePool.release(gameLogic);
+
+        gamePool.lease(playerLogic3, playerLogic4).startGame(player3);
+
+        verify(logicListener, never()).onGameStarted(any(Player.class));
+        verify(boardListener, never()).onGameBoardCleared();
+    }
+
+    @Test(expected = AssertionError.class)
+    public void release_twice_throwsException() {
+        GameLogic gameLogic = gamePool.lease(playerLogic1, playerLogic2);
+        gamePool.release(gameLogic);
+        gamePool.release(gameLogic);
+    }
+
+    @Test(expected = AssertionError.class)
+    public void release_withGameOfOtherPool_throwsException() {
+        GameLogic gameLogic = new GamePool(2, MANUAL).lease(playerLogic1, playerLogic2);
+        gamePool.release(gameLogic);
+    }
+
+    @Test
+    public void release_withFullPool_dropsGame() {
+        GameLogic gameLogic1 = gamePool.lease(playerLogic1, playerLogic2);
+        GameLogic gameLogic2 = gamePool.lease(playerLogic1, playerLogic2);
+        GameLogic gameLogic3 = gamePool.lease(playerLogic1, playerLogic2);
+        assertNotSame(gameLogic1, gameLogic2);
+
+        gamePool.release(gameLogic1);
+        gamePool.release(gameLogic2);
+        gamePool.release(gameLogic3);
+
+        assertEquals(2, gamePool.getIdleCount());
+        assertEquals(0, gamePool.getLeasedCount());
+    }
+
+    @Test
+    public void releasePolicyOnGameOver_returnsGameAfterGameOver() {
+        GamePool pool = new GamePool(2, ON_GAME_OVER, () -> new GameOverVerifier(4, 1, DISABLED, 8));
+        IGameLogicListener logicListener = mock(IGameLogicListener.class, "logicListener");
+
+        GameLogic gameLogic = pool.lease(playerLogic1, playerLogic2);
+        gameLogic.addGameLogicListener(logicListener);
+        gameLogic.startGame(player1);
+
+        int[] movesOfPlayer1 = {0, 1, 8, 9};
+        int[] movesOfPlayer2 = {60, 61, 62};
+        for (int i = 0; i < movesOfPlayer2.length; i++) {
+            playerLogic1.placePiece(movesOfPlayer1[i]);
+            playerLogic2.placePiece(movesOfPlayer2[i]);
+        }
+        assertEquals(1, pool.getLeasedCount());
+
+        playerLogic1.placePiece(movesOfPlayer1[3]);
+
+        verify(logicListener, times(1)).onGameOver(player1);
+        assertEquals(0, pool.getLeasedCount());
+        assertEquals(1, pool.getIdleCount());
+    }
+
+}
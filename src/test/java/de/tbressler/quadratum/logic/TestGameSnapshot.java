@@ -0,0 +1,107 @@
+package de.tbressler.quadratum.logic;
+
+import de.tbressler.quadratum.core.Position;
+import org.junit.Test;
+
+import static de.tbressler.quadratum.core.GameCore.PLAYER1;
+import static de.tbressler.quadratum.core.GameCore.PLAYER2;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for class GameSnapshot.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public class TestGameSnapshot {
+
+    // Class under test:
+    private GameSnapshot gameSnapshot = new GameSnapshot(
+            new Position(8, new long[]{(1L << 3) | (1L << 40)}, new long[]{1L << 63}, PLAYER2), true);
+
+
+    @Test(expected = NullPointerException.class)
+    public void new_withNullPosition_throwsException() {
+        new GameSnapshot(null, true);
+    }
+
+    @Test
+    public void getByteCount_returnsSizeOfBinaryForm() {
+        assertEquals(18, GameSnapshot.getByteCount(8));
+        assertEquals(34, GameSnapshot.getByteCount(9));
+        assertEquals(66, GameSnapshot.getByteCount(16));
+    }
+
+    @Test(expected = AssertionError.class)
+    public void getByteCount_withInvalidSize_throwsException() {
+        GameSnapshot.getByteCount(3);
+    }
+
+    @Test
+    public void toBytes_returnsFixedSize() {
+        assertEquals(18, gameSnapshot.toBytes().length);
+    }
+
+    /**
+     * Checks if the binary form can be restored.
+     */
+    @Test
+    public void fromBytes_withBytesOfSnapshot_returnsEqualSnapshot() {
+        GameSnapshot restored = GameSnapshot.fromBytes(gameSnapshot.toBytes());
+
+        assertEquals(gameSnapshot, restored);
+        assertEquals(gameSnapshot.hashCode(), restored.hashCode());
+        assertTrue(restored.isStarted());
+        assertEquals(PLAYER2, restored.getPosition().getActivePlayer());
+        assertEquals(PLAYER1, restored.getPosition().getPiece(40));
+    }
+
+    @Test
+    public void fromBytes_withNotStartedGameOn12x12GameBoard_returnsEqualSnapshot() {
+        long[] pieces = new long[3];
+        pieces[2] = 1L << 15;
+        GameSnapshot snapshot = new GameSnapshot(new Position(12, pieces, new long[3], PLAYER1), false);
+
+        byte[] bytes = snapshot.toBytes();
+
+        assertEquals(GameSnapshot.getByteCount(12), bytes.length);
+        assertEquals(snapshot, GameSnapshot.fromBytes(bytes));
+        assertFalse(GameSnapshot.fromBytes(bytes).isStarted());
+    }
+
+    @Test(expected = AssertionError.class)
+    public void fromBytes_withWrongLength_throwsException() {
+        byte[] bytes = gameSnapshot.toBytes();
+        GameSnapshot.fromBytes(java.util.Arrays.copyOf(bytes, bytes.length - 1));
+    }
+
+    @Test(expected = AssertionError.class)
+    public void fromBytes_withUnknownFlags_throwsException() {
+        byte[] bytes = gameSnapshot.toBytes();
+        bytes[1] |= 4;
+        GameSnapshot.fromBytes(bytes);
+    }
+
+    @Test(expected = AssertionError.class)
+    public void fromBytes_withOverlappingPieces_throwsException() {
+        byte[] bytes = gameSnapshot.toBytes();
+        bytes[17] |= 1;
+        bytes[9] |= 1;
+        GameSnapshot.fromBytes(bytes);
+    }
+
+    @Test
+    public void equals_withOtherStartedFlag_returnsFalse() {
+        assertNotEquals(gameSnapshot, new GameSnapshot(gameSnapshot.getPosition(), false));
+    }
+
+    @Test
+    public void toBytes_isStable() {
+        assertArrayEquals(gameSnapshot.toBytes(), GameSnapshot.fromBytes(gameSnapshot.toBytes()).toBytes());
+    }
+
+}
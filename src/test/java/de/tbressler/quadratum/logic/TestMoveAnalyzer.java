@@ -0,0 +1,222 @@
+package de.tbressler.quadratum.logic;
+
+import de.tbressler.quadratum.metrics.InMemoryMetricsRecorder;
+import de.tbressler.quadratum.model.GameBoard;
+import de.tbressler.quadratum.model.Player;
+import de.tbressler.quadratum.model.Square;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.Set;
+
+import static de.tbressler.quadratum.logic.GameOverVerifier.EarlyTermination.DISABLED;
+import static de.tbressler.quadratum.logic.GameOverVerifier.EarlyTermination.WHEN_DECIDED;
+import static de.tbressler.quadratum.logic.GameOverVerifier.GameOverState.NOT_OVER;
+import static de.tbressler.quadratum.logic.GameOverVerifier.GameOverState.PLAYER1_WON;
+import static de.tbressler.quadratum.metrics.IMetricsRecorder.Counter.SQUARES_FOUND;
+import static de.tbressler.quadratum.metrics.IMetricsRecorder.Latency.SQUARE_DETECTION;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for class MoveAnalyzer.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public class TestMoveAnalyzer {
+
+    // Class under test:
+    private MoveAnalyzer moveAnalyzer;
+
+    // Players:
+    private Player player1 = new Player("player1");
+    private Player player2 = new Player("player2");
+
+    private GameBoard gameBoard;
+    private SquareCollector squareCollector;
+
+
+    @Before
+    public void setUp() {
+        gameBoard = new GameBoard(player1, player2);
+        squareCollector = new SquareCollector();
+        moveAnalyzer = new MoveAnalyzer(squareCollector, new GameOverVerifier(150, 15));
+    }
+
+
+    @Test(expected = NullPointerException.class)
+    public void new_withNullSquareCollector_throwsException() {
+        new MoveAnalyzer(null, new GameOverVerifier(150, 15));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void new_withNullGameOverVerifier_throwsException() {
+        new MoveAnalyzer(squareCollector, null);
+    }
+
+    @Test(expected = AssertionError.class)
+    public void new_withDifferentSizes_throwsException() {
+        new MoveAnalyzer(new SquareCollector(6), new GameOverVerifier(150, 15));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void analyze_withNullGameBoard_throwsException() {
+        moveAnalyzer.analyze(null, player1);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void analyze_withNullPlayer_throwsException() {
+        moveAnalyzer.analyze(gameBoard, null);
+    }
+
+    @Test(expected = AssertionError.class)
+    public void analyze_withOtherSize_throwsException() {
+        moveAnalyzer.analyze(new GameBoard(player1, player2, 6), player1);
+    }
+
+    /**
+     * Checks if a completed square is found, added to the square collector and counted once.
+     */
+    @Test
+    public void analyze_afterSquareIsCompleted_returnsNewSquareAndScore() {
+        place(player1, 0, 1, 8);
+        assertEquals(0, moveAnalyzer.analyze(gameBoard, player1).getNewSquareCount());
+
+        place(player1, 9);
+        MoveAnalysis analysis = moveAnalyzer.analyze(gameBoard, player1);
+
+        assertEquals(player1, analysis.getPlayer());
+        assertEquals(1, analysis.getNewSquareCount());
+        assertEquals(4, analysis.getNewScore());
+        assertEquals(4, analysis.getScorePlayer1());
+        assertEquals(0, analysis.getScorePlayer2());
+        assertTrue(analysis.canPlayer1DoMoreSquares());
+        assertTrue(analysis.canPlayer2DoMoreSquares());
+        assertEquals(NOT_OVER, analysis.getState());
+        assertEquals(analysis.getNewSquares(), squareCollector.getDetectedSquares());
+        assertEquals(4, squareCollector.getScore(player1));
+
+        assertTrue(moveAnalyzer.analyze(gameBoard, player1).getNewSquares().isEmpty());
+        assertEquals(1, squareCollector.getSquareCount(player1));
+    }
+
+    /**
+     * Checks if the squares of an analysis can be rolled back like the squares of a detect call.
+     */
+    @Test
+    public void rollback_afterAnalyze_removesNewSquares() {
+        place(player1, 0, 1, 8, 9);
+        Set<Square> squares = moveAnalyzer.analyze(gameBoard, player1).getNewSquares();
+
+        assertEquals(squares, squareCollector.rollback());
+        assertEquals(0, squareCollector.getScore(player1));
+        assertTrue(squareCollector.getDetectedSquares().isEmpty());
+    }
+
+    /**
+     * Checks if the result object is reused and cleared by the next analysis.
+     */
+    @Test
+    public void analyze_twice_reusesResult() {
+        place(player1, 0, 1, 8, 9);
+        MoveAnalysis analysis = moveAnalyzer.analyze(gameBoard, player1);
+        place(player2, 63);
+
+        assertSame(analysis, moveAnalyzer.analyze(gameBoard, player2));
+        assertEquals(player2, analysis.getPlayer());
+        assertEquals(0, analysis.getNewSquareCount());
+        assertEquals(0, analysis.getNewScore());
+        assertEquals(4, analysis.getScorePlayer1());
+        assertNotNull(analysis.toString());
+    }
+
+    /**
+     * Checks if the metrics of the square detection are recorded.
+     */
+    @Test
+    public void analyze_withMetricsRecorder_recordsDetection() {
+        InMemoryMetricsRecorder metricsRecorder = new InMemoryMetricsRecorder();
+        moveAnalyzer.setMetricsRecorder(metricsRecorder);
+        place(player1, 0, 1, 8, 9);
+
+        moveAnalyzer.analyze(gameBoard, player1);
+
+        assertEquals(1, metricsRecorder.getCount(SQUARES_FOUND));
+        assertEquals(1, metricsRecorder.getLatency(SQUARE_DETECTION).getCount());
+    }
+
+    /**
+     * Checks if player 1 wins, if player 2 can't complete a square anymore and player 1 is
+     * leading. The open squares must not be found by a second scan.
+     */
+    @Test
+    public void analyze_ifOnlyPlayer1CanDoMoreSquaresAndIsLeading_returnsPLAYER1_WON() {
+        GameBoard board = new GameBoard(player1, player2, 4);
+        SquareCollector collector = new SquareCollector(4);
+        MoveAnalyzer analyzer = new MoveAnalyzer(collector, new GameOverVerifier(150, 15, DISABLED, 4));
+        // Only the field 8 is empty and all open squares of field 8 contain pieces of player 1:
+        for (int index : new int[]{2, 3, 6, 7, 10, 11, 14, 15})
+            board.placePiece(index, player2);
+        for (int index : new int[]{0, 1, 4, 5, 9, 12, 13})
+            board.placePiece(index, player1);
+
+        MoveAnalysis analysis = analyzer.analyze(board, player1);
+
+        assertTrue(analysis.canPlayer1DoMoreSquares());
+        assertFalse(analysis.canPlayer2DoMoreSquares());
+        assertEquals(4, analysis.getScorePlayer1());
+        assertEquals(PLAYER1_WON, analysis.getState());
+    }
+
+    /**
+     * Checks if the analyzer returns the same squares, scores and game over states as the square
+     * collector and the game over verifier in random games.
+     */
+    @Test
+    public void analyze_inRandomGames_matchesSquareCollectorAndGameOverVerifier() {
+        Random random = new Random(46);
+        for (GameOverVerifier verifier : new GameOverVerifier[]{
+                new GameOverVerifier(150, 15), new GameOverVerifier(40, 5, WHEN_DECIDED)}) {
+            for (int game = 0; game < 20; game++)
+                playRandomGame(random, verifier);
+        }
+    }
+
+
+    /* Plays a random game and compares the analyzer with the reference implementation. */
+    private void playRandomGame(Random random, GameOverVerifier verifier) {
+        GameBoard board = new GameBoard(player1, player2);
+        SquareCollector collector = new SquareCollector();
+        SquareCollector reference = new SquareCollector();
+        MoveAnalyzer analyzer = new MoveAnalyzer(collector, verifier);
+
+        Player player = player1;
+        for (int move = 0; move < 64; move++) {
+            int index;
+            do {
+                index = random.nextInt(64);
+            } while (!board.isFieldEmpty(index));
+            board.placePiece(index, player);
+
+            MoveAnalysis analysis = analyzer.analyze(board, player);
+            Set<Square> expectedSquares = reference.detect(board, player);
+
+            assertEquals(expectedSquares, analysis.getNewSquares());
+            assertEquals(reference.getScore(player1), analysis.getScorePlayer1());
+            assertEquals(reference.getScore(player2), analysis.getScorePlayer2());
+            assertEquals(verifier.isGameOver(board, reference), analysis.getState());
+
+            if (analysis.getState() != NOT_OVER)
+                return;
+            player = (player == player1) ? player2 : player1;
+        }
+    }
+
+    /* Places the pieces of the player. */
+    private void place(Player player, int... indexes) {
+        for (int index : indexes)
+            gameBoard.placePiece(index, player);
+    }
+
+}
@@ -1,5 +1,6 @@
 package de.tbressler.quadratum.logic;
 
+import de.tbressler.quadratum.metrics.InMemoryMetricsRecorder;
 import de.tbressler.quadratum.model.GameBoard;
 import de.tbressler.quadratum.model.Player;
 import de.tbressler.quadratum.model.Square;
@@ -8,6 +9,8 @@ import org.junit.Test;
 
 import java.util.Set;
 
+import static de.tbressler.quadratum.metrics.IMetricsRecorder.Counter.SQUARES_FOUND;
+import static de.tbressler.quadratum.metrics.IMetricsRecorder.Latency.SQUARE_DETECTION;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
@@ -314,4 +317,105 @@ public class TestSquareCollector {
 
         assertEquals(0, squareCollector.getSquareCount(player1));
     }
+
+    @Test(expected = NullPointerException.class)
+    public void setMetricsRecorder_withNull_throwsException() {
+        squareCollector.setMetricsRecorder(null);
+    }
+
+    @Test
+    public void detect_withMetricsRecorder_recordsLatencyAndFoundSquares() {
+        InMemoryMetricsRecorder metricsRecorder = new InMemoryMetricsRecorder();
+        squareCollector.setMetricsRecorder(metricsRecorder);
+        when(gameBoard.getPiece(0)).thenReturn(player1);
+        when(gameBoard.getPiece(1)).thenReturn(player1);
+        when(gameBoard.getPiece(8)).thenReturn(player1);
+        when(gameBoard.getPiece(9)).thenReturn(player1);
+
+        squareCollector.detect(gameBoard, player1);
+
+        assertEquals(1, metricsRecorder.getLatency(SQUARE_DETECTION).getCount());
+        assertEquals(1, metricsRecorder.getCount(SQUARES_FOUND));
+    }
+
+    @Test
+    public void rollback_removesSquaresOfLastDetectCall() {
+        GameBoard board = new GameBoard(player1, player2);
+        board.placePiece(0, player1);
+        board.placePiece(1, player1);
+        board.placePiece(8, player1);
+        board.placePiece(9, player1);
+        squareCollector.detect(board, player1);
+        board.placePiece(10, player1);
+        board.placePiece(2, player1);
+        Set<Square> squares = squareCollector.detect(board, player1);
+
+        assertEquals(squares, squareCollector.rollback());
+
+        assertEquals(1, squareCollector.getDetectedSquares().size());
+        assertEquals(1, squareCollector.getSquareCount(player1));
+        assertEquals(4, squareCollector.getScore(player1));
+        assertEquals(1, squareCollector.getRollbackDepth());
+    }
+
+    @Test
+    public void rollback_withoutNewSquares_returnsEmptySet() {
+        squareCollector.detect(gameBoard, player1);
+        assertTrue(squareCollector.rollback().isEmpty());
+        assertEquals(0, squareCollector.getRollbackDepth());
+    }
+
+    @Test(expected = AssertionError.class)
+    public void rollback_withoutDetect_throwsException() {
+        squareCollector.rollback();
+    }
+
+    @Test
+    public void detect_afterRollbackAndUndo_detectsSquareAgain() {
+        GameBoard board = new GameBoard(player1, player2);
+        board.placePiece(0, player1);
+        board.placePiece(1, player1);
+        board.placePiece(8, player1);
+        board.placePiece(9, player1);
+        squareCollector.detect(board, player1);
+
+        board.undo();
+        squareCollector.rollback();
+        assertEquals(0, squareCollector.getScore(player1));
+
+        board.placePiece(9, player1);
+        assertEquals(1, squareCollector.detect(board, player1).size());
+        assertEquals(4, squareCollector.getScore(player1));
+    }
+
+
+    /**
+     * Checks if restore finds the squares of both players without rollback.
+     */
+    @Test
+    public void restore_findsSquaresOfBothPlayers() {
+        GameBoard board = new GameBoard(player1, player2);
+        board.placePiece(0, player1);
+        board.placePiece(1, player1);
+        board.placePiece(8, player1);
+        board.placePiece(9, player1);
+        board.placePiece(54, player2);
+        board.placePiece(55, player2);
+        board.placePiece(62, player2);
+        board.placePiece(63, player2);
+        squareCollector.detect(board, player1);
+
+        squareCollector.restore(board);
+
+        assertEquals(2, squareCollector.getDetectedSquares().size());
+        assertEquals(4, squareCollector.getScore(player1));
+        assertEquals(1, squareCollector.getSquareCount(player2));
+        assertEquals(0, squareCollector.getRollbackDepth());
+    }
+
+    @Test(expected = AssertionError.class)
+    public void restore_withOtherSize_throwsException() {
+        squareCollector.restore(new GameBoard(player1, player2, 6));
+    }
+
 }
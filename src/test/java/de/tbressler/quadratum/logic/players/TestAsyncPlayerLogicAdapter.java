@@ -0,0 +1,181 @@
+package de.tbressler.quadratum.logic.players;
+
+import de.tbressler.quadratum.logic.IAsyncPlayerLogic;
+import de.tbressler.quadratum.logic.ILogicCallback;
+import de.tbressler.quadratum.model.IReadOnlyGameBoard;
+import de.tbressler.quadratum.model.Player;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for class AsyncPlayerLogicAdapter.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public class TestAsyncPlayerLogicAdapter {
+
+    // Class under test:
+    private AsyncPlayerLogicAdapter asyncPlayerLogicAdapter;
+
+
+    // Mocks:
+    private Player player = mock(Player.class, "player");
+
+    private IAsyncPlayerLogic asyncPlayerLogic = mock(IAsyncPlayerLogic.class, "asyncPlayerLogic");
+
+    private ILogicCallback logicCallback = mock(ILogicCallback.class, "logicCallback");
+
+    private IReadOnlyGameBoard gameBoard = mock(IReadOnlyGameBoard.class, "gameBoard");
+
+    // The move of the asynchronous player logic:
+    private CompletableFuture<Integer> move = new CompletableFuture<>();
+
+    // The failures, which are passed to the failure handler:
+    private List<Throwable> failures = new ArrayList<>();
+
+
+    @Before
+    public void setUp() {
+        when(asyncPlayerLogic.getPlayer()).thenReturn(player);
+        when(asyncPlayerLogic.requestMove(gameBoard)).thenReturn(move);
+        when(asyncPlayerLogic.requestMove(gameBoard, 42L)).thenReturn(move);
+        when(logicCallback.makeMove(anyInt(), eq(player))).thenReturn(true);
+        asyncPlayerLogicAdapter = new AsyncPlayerLogicAdapter(asyncPlayerLogic);
+        asyncPlayerLogicAdapter.setFailureHandler(failures::add);
+    }
+
+
+    @Test(expected = NullPointerException.class)
+    public void new_withNull_throwsException() {
+        new AsyncPlayerLogicAdapter(null);
+    }
+
+    @Test
+    public void getPlayer_returnsPlayerOfAsyncPlayerLogic() {
+        assertEquals(player, asyncPlayerLogicAdapter.getPlayer());
+    }
+
+    @Test
+    public void requestMove_whenMoveCompletes_makesMove() {
+        asyncPlayerLogicAdapter.requestMove(gameBoard, logicCallback);
+        verify(logicCallback, never()).makeMove(anyInt(), any(Player.class));
+
+        move.complete(12);
+
+        verify(logicCallback, times(1)).makeMove(12, player);
+    }
+
+    @Test
+    public void requestMove_withDeadline_passesDeadline() {
+        asyncPlayerLogicAdapter.requestMove(gameBoard, logicCallback, 42L);
+        move.complete(3);
+
+        verify(asyncPlayerLogic, times(1)).requestMove(gameBoard, 42L);
+        verify(logicCallback, times(1)).makeMove(3, player);
+    }
+
+    @Test
+    public void requestMove_whenMoveCompletesExceptionally_makesNoMoveAndCallsFailureHandler() {
+        IllegalStateException failure = new IllegalStateException();
+        asyncPlayerLogicAdapter.requestMove(gameBoard, logicCallback);
+
+        move.completeExceptionally(failure);
+
+        verify(logicCallback, never()).makeMove(anyInt(), any(Player.class));
+        assertEquals(singletonList(failure), failures);
+    }
+
+    @Test
+    public void requestMove_whenMoveCompletesWithNull_makesNoMoveAndCallsFailureHandler() {
+        asyncPlayerLogicAdapter.requestMove(gameBoard, logicCallback);
+
+        move.complete(null);
+
+        verify(logicCallback, never()).makeMove(anyInt(), any(Player.class));
+        assertEquals(1, failures.size());
+        assertTrue(failures.get(0) instanceof IllegalStateException);
+    }
+
+    @Test
+    public void requestMove_whenMoveIsRejected_callsFailureHandler() {
+        when(logicCallback.makeMove(5, player)).thenReturn(false);
+        asyncPlayerLogicAdapter.requestMove(gameBoard, logicCallback);
+
+        move.complete(5);
+
+        assertEquals(1, failures.size());
+        assertTrue(failures.get(0) instanceof IllegalStateException);
+    }
+
+    @Test
+    public void requestMove_whenCallbackThrowsAssertionError_callsFailureHandler() {
+        AssertionError failure = new AssertionError("Index must be between 0 and 63!");
+        when(logicCallback.makeMove(64, player)).thenThrow(failure);
+        asyncPlayerLogicAdapter.requestMove(gameBoard, logicCallback);
+
+        move.complete(64);
+
+        assertEquals(singletonList(failure), failures);
+    }
+
+    @Test
+    public void requestMove_whenMoveIsMade_claimsRequestBeforeMove() {
+        when(logicCallback.makeMove(7, player)).thenAnswer(invocation -> {
+            // The request was claimed, so the completed move can't be cancelled anymore:
+            asyncPlayerLogicAdapter.cancelMoveRequest();
+            return true;
+        });
+        asyncPlayerLogicAdapter.requestMove(gameBoard, logicCallback);
+
+        move.complete(7);
+
+        assertFalse(move.isCancelled());
+        verify(logicCallback, times(1)).makeMove(7, player);
+        assertTrue(failures.isEmpty());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void setFailureHandler_withNull_throwsException() {
+        asyncPlayerLogicAdapter.setFailureHandler(null);
+    }
+
+    @Test
+    public void cancelMoveRequest_cancelsMoveAndIgnoresCompletion() {
+        CompletableFuture<Integer> lateMove = new CompletableFuture<>();
+        when(asyncPlayerLogic.requestMove(gameBoard)).thenReturn(lateMove);
+        asyncPlayerLogicAdapter.requestMove(gameBoard, logicCallback);
+
+        asyncPlayerLogicAdapter.cancelMoveRequest();
+
+        assertTrue(lateMove.isCancelled());
+        verify(asyncPlayerLogic, times(1)).cancelMoveRequest();
+        verify(logicCallback, never()).makeMove(anyInt(), any(Player.class));
+        assertTrue(failures.isEmpty());
+    }
+
+    @Test
+    public void requestMove_whenPreviousMoveCompletesLate_ignoresPreviousMove() {
+        CompletableFuture<Integer> secondMove = new CompletableFuture<>();
+        asyncPlayerLogicAdapter.requestMove(gameBoard, logicCallback);
+        when(asyncPlayerLogic.requestMove(gameBoard)).thenReturn(secondMove);
+        asyncPlayerLogicAdapter.requestMove(gameBoard, logicCallback);
+
+        move.complete(1);
+        secondMove.complete(2);
+
+        verify(logicCallback, never()).makeMove(1, player);
+        verify(logicCallback, times(1)).makeMove(2, player);
+    }
+
+}
@@ -1,14 +1,22 @@
 package de.tbressler.quadratum.logic.players;
 
+import de.tbressler.quadratum.evaluation.WeightedEvaluator;
 import de.tbressler.quadratum.logic.ILogicCallback;
+import de.tbressler.quadratum.metrics.InMemoryMetricsRecorder;
 import de.tbressler.quadratum.model.IReadOnlyGameBoard;
 import de.tbressler.quadratum.model.Player;
+import de.tbressler.quadratum.utils.SquareTable;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 
 import java.util.Random;
+import java.util.SplittableRandom;
 
 import static de.tbressler.quadratum.logic.players.BotPlayerLogic.Strategy.LONG_TERM;
+import static de.tbressler.quadratum.metrics.IMetricsRecorder.Latency.BOT_MOVE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.anyInt;
 import static org.mockito.Mockito.*;
 
@@ -38,6 +46,8 @@ public class TestBotPlayerLogic {
 
     @Before
     public void setUp() {
+        when(gameBoard.getPlayer1()).thenReturn(player);
+        when(gameBoard.getPlayer2()).thenReturn(opponent);
         botPlayerLogic = new BotPlayerLogic(player, LONG_TERM);
         botPlayerLogic.setRandomizeMoves(false);
         botPlayerLogic.setRandom(random);
@@ -133,10 +143,180 @@ public class TestBotPlayerLogic {
         when(gameBoard.getPiece(7)).thenReturn(opponent);
         when(gameBoard.isFieldEmpty(63)).thenReturn(false);
         when(gameBoard.getPiece(63)).thenReturn(opponent);
+        botPlayerLogic.setForcedMoves(false);
 
         botPlayerLogic.requestMove(gameBoard, logicCallback);
 
         verify(logicCallback, times(1)).makeMove(11, player);
     }
 
+    /**
+     * Checks if the bot blocks the corner square, if the opponent has three corners of the game
+     * board.
+     */
+    @Test
+    public void requestMove_withThreatOfOpponent_blocksThreat() {
+        when(gameBoard.isFieldEmpty(anyInt())).thenReturn(true);
+        placePieces(opponent, 0, 7, 63);
+
+        botPlayerLogic.requestMove(gameBoard, logicCallback);
+
+        verify(logicCallback, times(1)).makeMove(56, player);
+    }
+
+    /**
+     * Checks if the bot completes its own square, if the threat is at least as big as the threat
+     * of the opponent.
+     */
+    @Test
+    public void requestMove_withOwnAndOpponentThreat_takesOwnThreat() {
+        when(gameBoard.isFieldEmpty(anyInt())).thenReturn(true);
+        placePieces(opponent, 20, 21, 28);
+        placePieces(player, 0, 1, 8);
+
+        botPlayerLogic.requestMove(gameBoard, logicCallback);
+
+        verify(logicCallback, times(1)).makeMove(9, player);
+    }
+
+    /**
+     * Checks if the threats are synchronized with the game board between two move requests.
+     */
+    @Test
+    public void requestMove_afterThreatWasBlocked_usesCurrentGameBoard() {
+        when(gameBoard.isFieldEmpty(anyInt())).thenReturn(true);
+        placePieces(opponent, 20, 21, 28);
+        botPlayerLogic.requestMove(gameBoard, logicCallback);
+        verify(logicCallback, times(1)).makeMove(29, player);
+
+        placePieces(player, 29);
+        placePieces(opponent, 0, 1, 8);
+        when(gameBoard.getPiece(20)).thenReturn(null);
+        when(gameBoard.isFieldEmpty(20)).thenReturn(true);
+        botPlayerLogic.requestMove(gameBoard, logicCallback);
+
+        verify(logicCallback, times(1)).makeMove(9, player);
+    }
+
+    /**
+     * Checks if the bot builds the heat maps, if forced moves are disabled.
+     */
+    @Test
+    public void requestMove_withoutForcedMoves_ignoresThreats() {
+        when(gameBoard.isFieldEmpty(anyInt())).thenReturn(true);
+        placePieces(player, 0, 1, 8);
+        botPlayerLogic.setForcedMoves(false);
+
+        botPlayerLogic.requestMove(gameBoard, logicCallback);
+
+        verify(logicCallback, never()).makeMove(9, player);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void setEvaluator_withNull_throwsException() {
+        botPlayerLogic.setEvaluator(null);
+    }
+
+    /**
+     * Checks if the bot uses the values of the evaluator. If only squares with pieces of the
+     * opponent have a value, the bot blocks a square of the opponent.
+     */
+    @Test
+    public void requestMove_withEvaluator_usesValuesOfEvaluator() {
+        when(gameBoard.isFieldEmpty(anyInt())).thenReturn(true);
+        when(gameBoard.isFieldEmpty(0)).thenReturn(false);
+        when(gameBoard.getPiece(0)).thenReturn(opponent);
+        botPlayerLogic.setEvaluator(new WeightedEvaluator(0.0, 0.0, 1.0, 1.0));
+
+        botPlayerLogic.requestMove(gameBoard, logicCallback);
+
+        ArgumentCaptor<Integer> move = ArgumentCaptor.forClass(Integer.class);
+        verify(logicCallback, times(1)).makeMove(move.capture(), eq(player));
+        assertTrue(isInSquareWithField0(move.getValue()));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void setRandom_withNullSplittableRandom_throwsException() {
+        botPlayerLogic.setRandom((SplittableRandom) null);
+    }
+
+    /**
+     * Checks if bots with random number generators of the same seed make the same moves.
+     */
+    @Test
+    public void requestMove_withSameSeed_makesSameMoves() {
+        when(gameBoard.isFieldEmpty(anyInt())).thenReturn(true);
+        botPlayerLogic.setRandomizeMoves(true);
+        BotPlayerLogic otherBotPlayerLogic = new BotPlayerLogic(player, LONG_TERM);
+        botPlayerLogic.setRandom(new SplittableRandom(42));
+        otherBotPlayerLogic.setRandom(new SplittableRandom(42));
+
+        ArgumentCaptor<Integer> moves = ArgumentCaptor.forClass(Integer.class);
+        for (int i = 0; i < 10; i++) {
+            botPlayerLogic.requestMove(gameBoard, logicCallback);
+            otherBotPlayerLogic.requestMove(gameBoard, logicCallback);
+        }
+
+        verify(logicCallback, times(20)).makeMove(moves.capture(), eq(player));
+        for (int i = 0; i < 20; i += 2)
+            assertEquals(moves.getAllValues().get(i), moves.getAllValues().get(i + 1));
+    }
+
+    @Test
+    public void requestMove_withMetricsRecorder_recordsBotMoveLatency() {
+        InMemoryMetricsRecorder metricsRecorder = new InMemoryMetricsRecorder();
+        botPlayerLogic.setMetricsRecorder(metricsRecorder);
+        when(gameBoard.isFieldEmpty(anyInt())).thenReturn(true);
+
+        botPlayerLogic.requestMove(gameBoard, logicCallback);
+
+        assertEquals(1, metricsRecorder.getLatency(BOT_MOVE).getCount());
+    }
+
+    /**
+     * Checks if the bot makes the move of the complete heat maps, if the deadline is not reached.
+     */
+    @Test
+    public void requestMove_withFutureDeadline_makesSameMoveAsWithoutDeadline() {
+        when(gameBoard.isFieldEmpty(anyInt())).thenReturn(true);
+
+        botPlayerLogic.requestMove(gameBoard, logicCallback, System.nanoTime() + 60_000_000_000L);
+
+        verify(logicCallback, times(1)).makeMove(11, player);
+    }
+
+    /**
+     * Checks if the bot makes the best move found so far, if the deadline has passed. Without
+     * heat maps all fields have the same value, so the first empty field is chosen.
+     */
+    @Test
+    public void requestMove_withExpiredDeadline_makesBestMoveFoundSoFar() {
+        when(gameBoard.isFieldEmpty(anyInt())).thenReturn(true);
+        when(gameBoard.isFieldEmpty(0)).thenReturn(false);
+
+        botPlayerLogic.requestMove(gameBoard, logicCallback, System.nanoTime() - 1);
+
+        verify(logicCallback, times(1)).makeMove(1, player);
+    }
+
+
+    /* Returns true if the field is in a square with the field 0. */
+    private static boolean isInSquareWithField0(int index) {
+        SquareTable squareTable = SquareTable.of(8);
+        for (int square : squareTable.getSquaresOfField(0))
+            for (int m = 0; m < 4; m++)
+                if (squareTable.getPiece(square, m) == index)
+                    return true;
+        return false;
+    }
+
+
+    /* Places the pieces of the player on the mocked game board. */
+    private void placePieces(Player owner, int... indexes) {
+        for (int index : indexes) {
+            when(gameBoard.isFieldEmpty(index)).thenReturn(false);
+            when(gameBoard.getPiece(index)).thenReturn(owner);
+        }
+    }
+
 }
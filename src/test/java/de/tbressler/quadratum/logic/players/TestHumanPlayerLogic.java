@@ -1,12 +1,27 @@
 package de.tbressler.quadratum.logic.players;
 
+import de.tbressler.quadratum.analysis.PositionEvaluator;
+import de.tbressler.quadratum.core.Position;
 import de.tbressler.quadratum.logic.ILogicCallback;
+import de.tbressler.quadratum.model.GameBoard;
 import de.tbressler.quadratum.model.IReadOnlyGameBoard;
 import de.tbressler.quadratum.model.Player;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static de.tbressler.quadratum.logic.players.BotPlayerLogic.Strategy.LONG_TERM;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.*;
 
@@ -25,6 +40,8 @@ public class TestHumanPlayerLogic {
     // Mocks:
     private Player player = mock(Player.class, "player");
 
+    private Player opponent = new Player("opponent");
+
     private ILogicCallback logicCallback = mock(ILogicCallback.class, "logicCallback");
 
     private IReadOnlyGameBoard gameBoard = mock(IReadOnlyGameBoard.class, "gameBoard");
@@ -114,4 +131,183 @@ public class TestHumanPlayerLogic {
         humanPlayerLogic.requestMove(gameBoard, null);
     }
 
+    /**
+     * Checks if the player is inactive and can't place a piece after the move request was
+     * cancelled.
+     */
+    @Test
+    public void placePiece_afterCancelMoveRequest_returnsFalse() {
+        humanPlayerLogic.requestMove(gameBoard, logicCallback);
+        humanPlayerLogic.cancelMoveRequest();
+
+        assertFalse(humanPlayerLogic.isPlayerActive());
+        assertFalse(humanPlayerLogic.placePiece(5));
+        verify(logicCallback, never()).makeMove(anyInt(), any(Player.class));
+    }
+
+
+    /**
+     * Checks if the player stays active, if the callback requests the next move before it returns,
+     * e.g. because the move was invalid.
+     */
+    @Test
+    public void placePiece_whenCallbackRequestsNextMove_keepsPlayerActive() {
+        when(logicCallback.makeMove(6, player)).thenReturn(true);
+        humanPlayerLogic.requestMove(gameBoard, (index, player) -> {
+            humanPlayerLogic.requestMove(gameBoard, logicCallback);
+            return false;
+        });
+
+        assertFalse(humanPlayerLogic.placePiece(5));
+        assertTrue(humanPlayerLogic.isPlayerActive());
+        assertTrue(humanPlayerLogic.placePiece(6));
+        verify(logicCallback, times(1)).makeMove(6, player);
+    }
+
+    /**
+     * Checks if concurrent calls of placePiece submit exactly one move per move request and only
+     * one call per move request returns true.
+     */
+    @Test
+    public void placePiece_concurrently_submitsExactlyOneMovePerRequest() throws Exception {
+        int threads = 4;
+        int requests = 2000;
+        AtomicIntegerArray moves = new AtomicIntegerArray(requests);
+        AtomicIntegerArray successes = new AtomicIntegerArray(requests);
+        CyclicBarrier barrier = new CyclicBarrier(threads + 1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int r = 0; r < requests; r++) {
+                        barrier.await();
+                        if (humanPlayerLogic.placePiece(r % 64))
+                            successes.incrementAndGet(r);
+                        barrier.await();
+                    }
+                    return null;
+                }));
+            }
+
+            for (int r = 0; r < requests; r++) {
+                int request = r;
+                humanPlayerLogic.requestMove(gameBoard, (index, player) -> {
+                    moves.incrementAndGet(request);
+                    return true;
+                });
+                barrier.await();
+                barrier.await();
+            }
+            for (Future<?> future : futures)
+                future.get();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        for (int r = 0; r < requests; r++) {
+            assertEquals(1, moves.get(r));
+            assertEquals(1, successes.get(r));
+        }
+        assertFalse(humanPlayerLogic.isPlayerActive());
+    }
+
+
+    @Test
+    public void getHint_withoutHintEvaluator_returnsNull() {
+        humanPlayerLogic.requestMove(gameBoard, logicCallback);
+        assertNull(humanPlayerLogic.getHint());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void setHintExecutor_withNull_throwsException() {
+        humanPlayerLogic.setHintExecutor(null);
+    }
+
+    /**
+     * Checks if the hint returns the move of the bot for the position.
+     */
+    @Test
+    public void getHint_afterRequestMove_returnsMoveOfBot() throws Exception {
+        GameBoard realGameBoard = createGameBoard();
+        realGameBoard.placePiece(27, opponent);
+        humanPlayerLogic.setHintEvaluator(new PositionEvaluator(LONG_TERM));
+        humanPlayerLogic.setHintExecutor(Runnable::run);
+
+        humanPlayerLogic.requestMove(realGameBoard, logicCallback);
+
+        int expected = new PositionEvaluator(LONG_TERM).evaluate(Position.of(realGameBoard, player)).getBestMove();
+        assertEquals(expected, (int) humanPlayerLogic.getHint().get());
+    }
+
+    /**
+     * Checks if a hint, which is not yet computed, is cancelled and not evaluated after the
+     * player placed a piece.
+     */
+    @Test
+    public void placePiece_cancelsHint() {
+        PositionEvaluator hintEvaluator = mock(PositionEvaluator.class);
+        List<Runnable> tasks = new ArrayList<>();
+        humanPlayerLogic.setHintEvaluator(hintEvaluator);
+        humanPlayerLogic.setHintExecutor(tasks::add);
+        humanPlayerLogic.requestMove(createGameBoard(), logicCallback);
+        CompletableFuture<Integer> hint = humanPlayerLogic.getHint();
+
+        humanPlayerLogic.placePiece(1);
+        tasks.forEach(Runnable::run);
+
+        assertTrue(hint.isCancelled());
+        assertNull(humanPlayerLogic.getHint());
+        verify(hintEvaluator, never()).evaluate(any(Position.class));
+    }
+
+    @Test
+    public void cancelMoveRequest_cancelsHint() {
+        humanPlayerLogic.setHintEvaluator(mock(PositionEvaluator.class));
+        humanPlayerLogic.setHintExecutor(task -> {});
+        humanPlayerLogic.requestMove(createGameBoard(), logicCallback);
+        CompletableFuture<Integer> hint = humanPlayerLogic.getHint();
+
+        humanPlayerLogic.cancelMoveRequest();
+
+        assertTrue(hint.isCancelled());
+    }
+
+    /**
+     * Checks if the hint is cancelled if the game is restarted and the game board is cleared.
+     */
+    @Test
+    public void clearOfGameBoard_cancelsHint() {
+        GameBoard realGameBoard = createGameBoard();
+        humanPlayerLogic.setHintEvaluator(mock(PositionEvaluator.class));
+        humanPlayerLogic.setHintExecutor(task -> {});
+        humanPlayerLogic.requestMove(realGameBoard, logicCallback);
+        CompletableFuture<Integer> hint = humanPlayerLogic.getHint();
+
+        realGameBoard.clear();
+
+        assertTrue(hint.isCancelled());
+        assertNull(humanPlayerLogic.getHint());
+    }
+
+    @Test
+    public void requestMove_cancelsPreviousHint() {
+        GameBoard realGameBoard = createGameBoard();
+        humanPlayerLogic.setHintEvaluator(mock(PositionEvaluator.class));
+        humanPlayerLogic.setHintExecutor(task -> {});
+        humanPlayerLogic.requestMove(realGameBoard, logicCallback);
+        CompletableFuture<Integer> hint = humanPlayerLogic.getHint();
+
+        humanPlayerLogic.requestMove(realGameBoard, logicCallback);
+
+        assertTrue(hint.isCancelled());
+        assertFalse(humanPlayerLogic.getHint().isDone());
+    }
+
+    /* Returns a game board of the player and an opponent. */
+    private GameBoard createGameBoard() {
+        return new GameBoard(player, opponent);
+    }
+
 }
@@ -0,0 +1,94 @@
+package de.tbressler.quadratum.logic.players;
+
+import de.tbressler.quadratum.evaluation.PositionModel;
+import de.tbressler.quadratum.logic.ILogicCallback;
+import de.tbressler.quadratum.model.GameBoard;
+import de.tbressler.quadratum.model.Player;
+import org.junit.Before;
+import org.junit.Test;
+
+import static de.tbressler.quadratum.evaluation.FeatureExtractor.FEATURE_COUNT;
+import static org.junit.Assert.assertNotNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for class ModelBotPlayerLogic.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public class TestModelBotPlayerLogic {
+
+    // Class under test:
+    private ModelBotPlayerLogic modelBotPlayerLogic;
+
+
+    // Mocks:
+    private ILogicCallback logicCallback = mock(ILogicCallback.class, "logicCallback");
+
+    private Player player = new Player("player");
+    private Player opponent = new Player("opponent");
+
+    private GameBoard gameBoard = new GameBoard(player, opponent);
+
+
+    @Before
+    public void setUp() {
+        modelBotPlayerLogic = new ModelBotPlayerLogic(player, new PositionModel(0, new float[FEATURE_COUNT]));
+    }
+
+
+    @Test(expected = NullPointerException.class)
+    public void new_withNullModel_throwsException() {
+        new ModelBotPlayerLogic(player, null);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void requestMove_withNullGameBoard_throwsException() {
+        modelBotPlayerLogic.requestMove(null, logicCallback);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void requestMove_withNullCallback_throwsException() {
+        modelBotPlayerLogic.requestMove(gameBoard, null);
+    }
+
+    @Test(expected = AssertionError.class)
+    public void requestMove_withOtherSize_throwsException() {
+        modelBotPlayerLogic.requestMove(new GameBoard(player, opponent, 6), logicCallback);
+    }
+
+    /**
+     * Checks if the bot makes the first move, if all predictions are equal.
+     */
+    @Test
+    public void requestMove_withEqualPredictions_makesFirstMove() {
+        gameBoard.placePiece(0, opponent);
+
+        modelBotPlayerLogic.requestMove(gameBoard, logicCallback);
+
+        verify(logicCallback, times(1)).makeMove(1, player);
+    }
+
+    /**
+     * Checks if the bot blocks the square of the opponent, if the model prefers few open squares
+     * of the opponent.
+     */
+    @Test
+    public void requestMove_withModel_makesMoveWithBestPrediction() {
+        gameBoard.placePiece(0, opponent);
+        gameBoard.placePiece(1, opponent);
+        gameBoard.placePiece(8, opponent);
+        float[] parameters = new float[FEATURE_COUNT];
+        parameters[7] = -1;  // Open squares with 3 pieces of the opponent
+        modelBotPlayerLogic = new ModelBotPlayerLogic(player, new PositionModel(0, parameters));
+
+        modelBotPlayerLogic.requestMove(gameBoard, logicCallback);
+
+        verify(logicCallback, times(1)).makeMove(9, player);
+        assertNotNull(modelBotPlayerLogic.toString());
+    }
+
+}
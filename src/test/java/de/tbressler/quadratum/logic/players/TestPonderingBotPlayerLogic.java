@@ -0,0 +1,252 @@
+package de.tbressler.quadratum.logic.players;
+
+import de.tbressler.quadratum.analysis.PositionEvaluator;
+import de.tbressler.quadratum.core.Position;
+import de.tbressler.quadratum.logic.GameLogic;
+import de.tbressler.quadratum.logic.GameOverVerifier;
+import de.tbressler.quadratum.model.GameBoard;
+import de.tbressler.quadratum.model.Player;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static de.tbressler.quadratum.logic.GameOverVerifier.EarlyTermination.DISABLED;
+import static de.tbressler.quadratum.logic.players.BotPlayerLogic.Strategy.LONG_TERM;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for class PonderingBotPlayerLogic.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public class TestPonderingBotPlayerLogic {
+
+    // Class under test:
+    private PonderingBotPlayerLogic ponderingBotPlayerLogic;
+
+
+    // Players:
+    private Player human = new Player("human");
+    private Player bot = new Player("bot");
+
+    private HumanPlayerLogic humanPlayerLogic;
+
+    private GameBoard gameBoard;
+    private GameLogic gameLogic;
+
+    // The pondering tasks:
+    private List<Runnable> tasks = new ArrayList<>();
+
+
+    @Before
+    public void setUp() {
+        ponderingBotPlayerLogic = new PonderingBotPlayerLogic(bot, LONG_TERM);
+        ponderingBotPlayerLogic.setPonderExecutor(tasks::add);
+        humanPlayerLogic = new HumanPlayerLogic(human);
+        gameBoard = new GameBoard(human, bot);
+        gameLogic = new GameLogic(gameBoard, humanPlayerLogic, ponderingBotPlayerLogic);
+        ponderingBotPlayerLogic.attachTo(gameLogic);
+    }
+
+
+    @Test(expected = NullPointerException.class)
+    public void new_withNullStrategy_throwsException() {
+        new PonderingBotPlayerLogic(bot, null);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void attachTo_withNull_throwsException() {
+        ponderingBotPlayerLogic.attachTo(null);
+    }
+
+    @Test(expected = AssertionError.class)
+    public void attachTo_withOtherSize_throwsException() {
+        GameBoard otherGameBoard = new GameBoard(human, bot, 6);
+        ponderingBotPlayerLogic.attachTo(new GameLogic(otherGameBoard, humanPlayerLogic, ponderingBotPlayerLogic,
+                new GameOverVerifier(150, 15, DISABLED, 6)));
+    }
+
+    @Test(expected = AssertionError.class)
+    public void setPonderMoves_withNegativeValue_throwsException() {
+        ponderingBotPlayerLogic.setPonderMoves(-1);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void setPonderExecutor_withNull_throwsException() {
+        ponderingBotPlayerLogic.setPonderExecutor(null);
+    }
+
+    /**
+     * Checks if the bot starts pondering when the opponent becomes active.
+     */
+    @Test
+    public void startGame_withHumanAsActivePlayer_startsPondering() {
+        gameLogic.startGame(human);
+        assertEquals(1, tasks.size());
+    }
+
+    /**
+     * Checks if the reply is taken from the pondering, if the human plays the most likely move.
+     */
+    @Test
+    public void requestMove_afterLikelyMove_isPonderHit() {
+        gameLogic.startGame(human);
+        runTasks();
+        int likelyMove = new PositionEvaluator(LONG_TERM).evaluate(Position.of(gameBoard, human)).getBestMove();
+
+        humanPlayerLogic.placePiece(likelyMove);
+
+        assertEquals(1, ponderingBotPlayerLogic.getPonderHits());
+        assertEquals(0, ponderingBotPlayerLogic.getPonderMisses());
+        assertEquals(2, gameBoard.getPieceCount());
+    }
+
+    /**
+     * Checks if the reply is computed, if the human plays a move, which was not predicted. The
+     * reply must be the same as the move of the bot.
+     */
+    @Test
+    public void requestMove_afterUnlikelyMove_isPonderMissWithMoveOfBot() {
+        gameLogic.startGame(human);
+        runTasks();
+        int expected = botMoveAfter(0);
+
+        humanPlayerLogic.placePiece(0);
+
+        assertEquals(0, ponderingBotPlayerLogic.getPonderHits());
+        assertEquals(1, ponderingBotPlayerLogic.getPonderMisses());
+        assertEquals(expected, gameBoard.getLastPlacedIndex());
+    }
+
+    /**
+     * Checks if a pondering task, which is not yet started, is cancelled by the move request.
+     */
+    @Test
+    public void requestMove_beforePonderingTaskRuns_cancelsTask() {
+        gameLogic.startGame(human);
+        Runnable task = tasks.remove(0);
+
+        humanPlayerLogic.placePiece(27);
+        task.run();
+
+        assertEquals(0, ponderingBotPlayerLogic.getPonderHits());
+        assertEquals(1, ponderingBotPlayerLogic.getPonderMisses());
+        assertEquals(1, tasks.size());
+    }
+
+    /**
+     * Checks if a new pondering task is submitted after the cancelled task has finished, so that
+     * the bot never runs two pondering tasks at the same time.
+     */
+    @Test
+    public void startPondering_whileCancelledTaskIsRunning_waitsForCancelledTask() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(3);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        ExecutorService executor = Executors.newCachedThreadPool();
+        ponderingBotPlayerLogic.setPonderExecutor(task -> executor.execute(() -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            started.countDown();
+            try {
+                release.await();
+                task.run();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                running.decrementAndGet();
+                finished.countDown();
+            }
+        }));
+
+        try {
+            gameLogic.startGame(human);
+            assertTrue(started.await(5, SECONDS));
+            humanPlayerLogic.placePiece(firstEmptyField());
+            humanPlayerLogic.placePiece(firstEmptyField());
+
+            release.countDown();
+            assertTrue(finished.await(30, SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, maxRunning.get());
+        assertEquals(4, gameBoard.getPieceCount());
+    }
+
+    @Test
+    public void requestMove_withPonderMoves0_doesNotStartPondering() {
+        ponderingBotPlayerLogic.setPonderMoves(0);
+        gameLogic.startGame(human);
+        assertEquals(0, tasks.size());
+    }
+
+    @Test
+    public void detach_stopsPondering() {
+        ponderingBotPlayerLogic.detach();
+        gameLogic.startGame(human);
+        assertEquals(0, tasks.size());
+    }
+
+    /**
+     * Checks if the bot plays like a bot without randomization in a complete game.
+     */
+    @Test
+    public void completeGame_withPonderingBot_playsMovesOfBot() {
+        gameLogic.startGame(human);
+        int move = 0;
+        int botMoves = 0;
+        while (humanPlayerLogic.isPlayerActive()) {
+            runTasks();
+            while (!gameBoard.isFieldEmpty(move))
+                move = (move + 7) % 64;
+            int expected = botMoveAfter(move);
+            humanPlayerLogic.placePiece(move);
+            if (bot.equals(gameBoard.getPiece(gameBoard.getLastPlacedIndex()))) {
+                assertEquals(expected, gameBoard.getLastPlacedIndex());
+                botMoves++;
+            }
+        }
+        assertNotNull(ponderingBotPlayerLogic.toString());
+        assertEquals(botMoves, ponderingBotPlayerLogic.getPonderHits() + ponderingBotPlayerLogic.getPonderMisses());
+    }
+
+
+    /* Runs all pondering tasks. */
+    private void runTasks() {
+        List<Runnable> pending = new ArrayList<>(tasks);
+        tasks.clear();
+        pending.forEach(Runnable::run);
+    }
+
+    /* Returns the first empty field of the game board. */
+    private int firstEmptyField() {
+        int index = 0;
+        while (!gameBoard.isFieldEmpty(index))
+            index++;
+        return index;
+    }
+
+    /* Returns the move of the bot after the human placed a piece on the field. */
+    private int botMoveAfter(int index) {
+        GameBoard copy = new GameBoard(human, bot);
+        for (int i = 0; i < 64; i++)
+            if (!gameBoard.isFieldEmpty(i))
+                copy.placePiece(i, gameBoard.getPiece(i));
+        copy.placePiece(index, human);
+        return new PositionEvaluator(LONG_TERM).evaluate(Position.of(copy, bot)).getBestMove();
+    }
+
+}
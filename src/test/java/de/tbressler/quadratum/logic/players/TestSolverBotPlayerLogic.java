@@ -0,0 +1,108 @@
+package de.tbressler.quadratum.logic.players;
+
+import de.tbressler.quadratum.core.Position;
+import de.tbressler.quadratum.logic.ILogicCallback;
+import de.tbressler.quadratum.model.GameBoard;
+import de.tbressler.quadratum.model.Player;
+import de.tbressler.quadratum.solver.Solution;
+import de.tbressler.quadratum.solver.SolutionBook;
+import de.tbressler.quadratum.solver.Solver;
+import org.junit.Before;
+import org.junit.Test;
+
+import static de.tbressler.quadratum.logic.GameOverVerifier.GameOverState.GAME_DRAW;
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertNotNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for class SolverBotPlayerLogic.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public class TestSolverBotPlayerLogic {
+
+    // Class under test:
+    private SolverBotPlayerLogic solverBotPlayerLogic;
+
+
+    // Mocks:
+    private ILogicCallback logicCallback = mock(ILogicCallback.class, "logicCallback");
+
+    private Player player = new Player("player");
+    private Player opponent = new Player("opponent");
+
+    private GameBoard gameBoard = new GameBoard(player, opponent, 4);
+
+
+    @Before
+    public void setUp() {
+        solverBotPlayerLogic = new SolverBotPlayerLogic(player, new Solver(4, 4, 4));
+    }
+
+
+    @Test(expected = NullPointerException.class)
+    public void new_withNullSolver_throwsException() {
+        new SolverBotPlayerLogic(player, null);
+    }
+
+    @Test(expected = AssertionError.class)
+    public void setSolutionBook_withOtherSize_throwsException() {
+        solverBotPlayerLogic.setSolutionBook(new SolutionBook(5, singletonList(new Solution(
+                Position.of(new GameBoard(player, opponent, 5), player), GAME_DRAW, new int[0], 0))));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void requestMove_withNullGameBoard_throwsException() {
+        solverBotPlayerLogic.requestMove(null, logicCallback);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void requestMove_withNullCallback_throwsException() {
+        solverBotPlayerLogic.requestMove(gameBoard, null);
+    }
+
+    @Test(expected = AssertionError.class)
+    public void requestMove_withOtherSize_throwsException() {
+        solverBotPlayerLogic.requestMove(new GameBoard(player, opponent, 6), logicCallback);
+    }
+
+    /**
+     * Checks if the bot completes the square, which wins the game.
+     */
+    @Test
+    public void requestMove_withWinningSquare_completesSquare() {
+        place(player, 0, 1, 4);
+        place(opponent, 10, 15, 13);
+
+        solverBotPlayerLogic.requestMove(gameBoard, logicCallback);
+
+        verify(logicCallback, times(1)).makeMove(5, player);
+    }
+
+    /**
+     * Checks if the bot makes the first optimal move of the book.
+     */
+    @Test
+    public void requestMove_withBook_makesMoveOfBook() {
+        Position position = Position.of(gameBoard, player);
+        solverBotPlayerLogic.setSolutionBook(new SolutionBook(4, singletonList(
+                new Solution(position, GAME_DRAW, new int[]{9, 6}, 0))));
+
+        solverBotPlayerLogic.requestMove(gameBoard, logicCallback);
+
+        verify(logicCallback, times(1)).makeMove(6, player);
+        assertNotNull(solverBotPlayerLogic.toString());
+    }
+
+
+    /* Places the pieces of the player. */
+    private void place(Player player, int... indexes) {
+        for (int index : indexes)
+            gameBoard.placePiece(index, player);
+    }
+
+}
@@ -0,0 +1,114 @@
+package de.tbressler.quadratum.logic.players;
+
+import de.tbressler.quadratum.logic.ILogicCallback;
+import de.tbressler.quadratum.logic.IPlayerLogic;
+import de.tbressler.quadratum.model.IReadOnlyGameBoard;
+import de.tbressler.quadratum.model.Player;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentCaptor.forClass;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for class SyncPlayerLogicAdapter.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public class TestSyncPlayerLogicAdapter {
+
+    // Class under test:
+    private SyncPlayerLogicAdapter syncPlayerLogicAdapter;
+
+
+    // Mocks:
+    private Player player = mock(Player.class, "player");
+
+    private IPlayerLogic playerLogic = mock(IPlayerLogic.class, "playerLogic");
+
+    private IReadOnlyGameBoard gameBoard = mock(IReadOnlyGameBoard.class, "gameBoard");
+
+    // The tasks of the executor:
+    private List<Runnable> tasks = new ArrayList<>();
+
+    // Capture:
+    private ArgumentCaptor<ILogicCallback> callback = forClass(ILogicCallback.class);
+
+
+    @Before
+    public void setUp() {
+        when(playerLogic.getPlayer()).thenReturn(player);
+        syncPlayerLogicAdapter = new SyncPlayerLogicAdapter(playerLogic, tasks::add);
+    }
+
+
+    @Test(expected = NullPointerException.class)
+    public void new_withNullPlayerLogic_throwsException() {
+        new SyncPlayerLogicAdapter(null, tasks::add);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void new_withNullExecutor_throwsException() {
+        new SyncPlayerLogicAdapter(playerLogic, null);
+    }
+
+    @Test
+    public void requestMove_requestsMoveOnExecutor() {
+        CompletableFuture<Integer> move = syncPlayerLogicAdapter.requestMove(gameBoard).toCompletableFuture();
+        verify(playerLogic, never()).requestMove(eq(gameBoard), any(ILogicCallback.class));
+
+        tasks.get(0).run();
+        verify(playerLogic).requestMove(eq(gameBoard), callback.capture());
+        assertTrue(callback.getValue().makeMove(17, player));
+
+        assertEquals(17, (int) move.join());
+    }
+
+    @Test
+    public void requestMove_withDeadline_passesDeadline() {
+        CompletableFuture<Integer> move = syncPlayerLogicAdapter.requestMove(gameBoard, 42L).toCompletableFuture();
+
+        tasks.get(0).run();
+        verify(playerLogic).requestMove(eq(gameBoard), callback.capture(), eq(42L));
+        callback.getValue().makeMove(5, player);
+
+        assertEquals(5, (int) move.join());
+    }
+
+    @Test
+    public void requestMove_withSecondMoveOfPlayerLogic_returnsFirstMove() {
+        CompletableFuture<Integer> move = syncPlayerLogicAdapter.requestMove(gameBoard).toCompletableFuture();
+
+        tasks.get(0).run();
+        verify(playerLogic).requestMove(eq(gameBoard), callback.capture());
+        callback.getValue().makeMove(1, player);
+
+        assertFalse(callback.getValue().makeMove(2, player));
+        assertEquals(1, (int) move.join());
+    }
+
+    /**
+     * Checks if a cancelled request, which is not yet started, is not requested at the player logic.
+     */
+    @Test
+    public void cancelMoveRequest_beforeExecution_cancelsMove() {
+        CompletableFuture<Integer> move = syncPlayerLogicAdapter.requestMove(gameBoard).toCompletableFuture();
+
+        syncPlayerLogicAdapter.cancelMoveRequest();
+        tasks.get(0).run();
+
+        assertTrue(move.isCancelled());
+        verify(playerLogic, times(1)).cancelMoveRequest();
+        verify(playerLogic, never()).requestMove(eq(gameBoard), any(ILogicCallback.class));
+    }
+
+}
@@ -0,0 +1,91 @@
+package de.tbressler.quadratum.metrics;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static de.tbressler.quadratum.metrics.IMetricsRecorder.Counter.MOVES;
+import static de.tbressler.quadratum.metrics.IMetricsRecorder.Counter.SQUARES_FOUND;
+import static de.tbressler.quadratum.metrics.IMetricsRecorder.Latency.BOT_MOVE;
+import static de.tbressler.quadratum.metrics.IMetricsRecorder.Latency.SQUARE_DETECTION;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for class InMemoryMetricsRecorder.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public class TestInMemoryMetricsRecorder {
+
+    // Class under test:
+    private InMemoryMetricsRecorder metricsRecorder;
+
+
+    @Before
+    public void setUp() {
+        metricsRecorder = new InMemoryMetricsRecorder();
+    }
+
+
+    @Test
+    public void isEnabled_returnsTrue() {
+        assertTrue(metricsRecorder.isEnabled());
+    }
+
+    @Test
+    public void recordLatency_recordsValueInHistogramOfLatency() {
+        metricsRecorder.recordLatency(BOT_MOVE, 100);
+        assertEquals(1, metricsRecorder.getLatency(BOT_MOVE).getCount());
+        assertEquals(100, metricsRecorder.getLatency(BOT_MOVE).getMax());
+        assertEquals(0, metricsRecorder.getLatency(SQUARE_DETECTION).getCount());
+    }
+
+    @Test
+    public void recordLatencySince_recordsLatency() {
+        long startTime = metricsRecorder.startTime();
+        metricsRecorder.recordLatencySince(SQUARE_DETECTION, startTime);
+        assertEquals(1, metricsRecorder.getLatency(SQUARE_DETECTION).getCount());
+    }
+
+    @Test
+    public void incrementCounter_addsDeltaToCounter() {
+        metricsRecorder.incrementCounter(MOVES, 1);
+        metricsRecorder.incrementCounter(MOVES, 2);
+        assertEquals(3, metricsRecorder.getCount(MOVES));
+        assertEquals(0, metricsRecorder.getCount(SQUARES_FOUND));
+    }
+
+    @Test
+    public void reset_clearsAllMetrics() {
+        metricsRecorder.recordLatency(BOT_MOVE, 100);
+        metricsRecorder.incrementCounter(MOVES, 1);
+        metricsRecorder.reset();
+        assertEquals(0, metricsRecorder.getLatency(BOT_MOVE).getCount());
+        assertEquals(0, metricsRecorder.getCount(MOVES));
+    }
+
+    @Test
+    public void incrementCounter_fromMultipleThreads_countsAllIncrements() throws InterruptedException {
+        Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < 10_000; j++) {
+                    metricsRecorder.incrementCounter(MOVES, 1);
+                    metricsRecorder.recordLatency(BOT_MOVE, j);
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads)
+            thread.join();
+        assertEquals(40_000, metricsRecorder.getCount(MOVES));
+        assertEquals(40_000, metricsRecorder.getLatency(BOT_MOVE).getCount());
+    }
+
+    @Test
+    public void noOpMetricsRecorder_isDisabled() {
+        assertFalse(NoOpMetricsRecorder.INSTANCE.isEnabled());
+        assertEquals(0L, NoOpMetricsRecorder.INSTANCE.startTime());
+    }
+
+}
@@ -0,0 +1,105 @@
+package de.tbressler.quadratum.metrics;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static de.tbressler.quadratum.metrics.LatencyHistogram.bucketIndex;
+import static de.tbressler.quadratum.metrics.LatencyHistogram.highestValueOfBucket;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for class LatencyHistogram.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public class TestLatencyHistogram {
+
+    // Class under test:
+    private LatencyHistogram histogram;
+
+
+    @Before
+    public void setUp() {
+        histogram = new LatencyHistogram();
+    }
+
+
+    @Test(expected = AssertionError.class)
+    public void record_withNegativeValue_throwsException() {
+        histogram.record(-1);
+    }
+
+    @Test
+    public void snapshot_afterNew_returnsEmptySnapshot() {
+        HistogramSnapshot snapshot = histogram.snapshot();
+        assertEquals(0, snapshot.getCount());
+        assertEquals(0, snapshot.getMin());
+        assertEquals(0, snapshot.getMax());
+        assertEquals(0.0, snapshot.getMean(), 0.0);
+        assertEquals(0, snapshot.getValueAtPercentile(99));
+    }
+
+    @Test
+    public void snapshot_afterRecord_returnsCountMinMaxAndMean() {
+        histogram.record(10);
+        histogram.record(20);
+        histogram.record(30);
+        HistogramSnapshot snapshot = histogram.snapshot();
+        assertEquals(3, snapshot.getCount());
+        assertEquals(10, snapshot.getMin());
+        assertEquals(30, snapshot.getMax());
+        assertEquals(20.0, snapshot.getMean(), 0.0);
+    }
+
+    @Test
+    public void getValueAtPercentile_withSmallValues_returnsExactValues() {
+        for (int i = 1; i <= 20; i++)
+            histogram.record(i);
+        HistogramSnapshot snapshot = histogram.snapshot();
+        assertEquals(10, snapshot.getValueAtPercentile(50));
+        assertEquals(20, snapshot.getValueAtPercentile(100));
+        assertEquals(1, snapshot.getValueAtPercentile(0));
+    }
+
+    @Test
+    public void getValueAtPercentile_withLargeValues_returnsValueWithinPrecision() {
+        for (int i = 1; i <= 1000; i++)
+            histogram.record(i * 1000L);
+        long p99 = histogram.snapshot().getValueAtPercentile(99);
+        assertTrue(p99 >= 990_000);
+        assertTrue(p99 <= 990_000 * 1.0625);
+    }
+
+    @Test(expected = AssertionError.class)
+    public void getValueAtPercentile_withPercentileGreaterThan100_throwsException() {
+        histogram.snapshot().getValueAtPercentile(100.1);
+    }
+
+    @Test
+    public void reset_clearsHistogram() {
+        histogram.record(10);
+        histogram.reset();
+        assertEquals(0, histogram.snapshot().getCount());
+        assertEquals(0, histogram.snapshot().getMax());
+    }
+
+    @Test
+    public void bucketIndex_isContinuousAndMonotonic() {
+        int lastIndex = 0;
+        for (long value = 1; value < 100_000; value++) {
+            int index = bucketIndex(value);
+            assertTrue(index == lastIndex || index == lastIndex + 1);
+            assertTrue(value <= highestValueOfBucket(index));
+            lastIndex = index;
+        }
+    }
+
+    @Test
+    public void bucketIndex_withMaxValue_isInRange() {
+        assertEquals(LatencyHistogram.BUCKET_COUNT - 1, bucketIndex(Long.MAX_VALUE));
+        assertEquals(Long.MAX_VALUE, highestValueOfBucket(LatencyHistogram.BUCKET_COUNT - 1));
+    }
+
+}
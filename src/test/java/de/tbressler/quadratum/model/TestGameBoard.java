@@ -4,6 +4,7 @@ import org.junit.Before;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.*;
 
 /**
@@ -253,4 +254,243 @@ public class TestGameBoard {
         gameBoard.removeGameBoardListener(null);
     }
 
+    /**
+     * Checks if an exception is thrown if the size is lower than 4.
+     */
+    @Test(expected = AssertionError.class)
+    public void new_withSizeLowerThan4_throwsException() {
+        new GameBoard(player1, player2, 3);
+    }
+
+    /**
+     * Checks if an exception is thrown if the size is greater than 16.
+     */
+    @Test(expected = AssertionError.class)
+    public void new_withSizeGreaterThan16_throwsException() {
+        new GameBoard(player1, player2, 17);
+    }
+
+    /**
+     * Checks if the default size is 8.
+     */
+    @Test
+    public void getSize_withDefaultSize_returns8() {
+        assertEquals(8, gameBoard.getSize());
+    }
+
+    /**
+     * Checks if the last field of a 12x12 game board can be used.
+     */
+    @Test
+    public void placePiece_withSize12AndIndex143_placesPiece() {
+        GameBoard board = new GameBoard(player1, player2, 12);
+        board.placePiece(143, player2);
+        board.placePiece(64, player1);
+        assertEquals(12, board.getSize());
+        assertEquals(player2, board.getPiece(143));
+        assertEquals(player1, board.getPiece(64));
+        assertEquals(null, board.getPiece(63));
+    }
+
+    /**
+     * Checks if an exception is thrown if the index is greater than 99 on a 10x10 game board.
+     */
+    @Test(expected = AssertionError.class)
+    public void placePiece_withSize10AndIndex100_throwsException() {
+        new GameBoard(player1, player2, 10).placePiece(100, player1);
+    }
+
+    /**
+     * Checks if all fields of a 10x10 game board are empty after clear.
+     */
+    @Test
+    public void clear_withSize10_removesAllPieces() {
+        GameBoard board = new GameBoard(player1, player2, 10);
+        board.placePiece(99, player1);
+        board.placePiece(70, player2);
+        board.clear();
+        for (int i = 0; i < 100; i++)
+            assertEquals(true, board.isFieldEmpty(i));
+    }
+
+    /**
+     * Checks if the game board is cleared and bound to the new players.
+     */
+    @Test
+    public void rebindPlayers_clearsGameBoardAndBindsPlayers() {
+        Player player3 = mock(Player.class, "player3");
+        Player player4 = mock(Player.class, "player4");
+        gameBoard.placePiece(5, player1);
+
+        gameBoard.rebindPlayers(player3, player4);
+
+        assertEquals(player3, gameBoard.getPlayer1());
+        assertEquals(player4, gameBoard.getPlayer2());
+        assertEquals(null, gameBoard.getPiece(5));
+        verify(listener, times(1)).onGameBoardCleared();
+
+        gameBoard.placePiece(5, player4);
+        assertEquals(player4, gameBoard.getPiece(5));
+    }
+
+    /**
+     * Checks if an exception is thrown if the new players are equal.
+     */
+    @Test(expected = AssertionError.class)
+    public void rebindPlayers_withEqualPlayers_throwsException() {
+        gameBoard.rebindPlayers(player1, player1);
+    }
+
+    /**
+     * Checks if an exception is thrown if a new player is null.
+     */
+    @Test(expected = NullPointerException.class)
+    public void rebindPlayers_withNullPlayer_throwsException() {
+        gameBoard.rebindPlayers(player1, null);
+    }
+
+    /**
+     * Checks if all listeners are removed.
+     */
+    @Test
+    public void removeAllGameBoardListeners_removesListeners() {
+        gameBoard.removeAllGameBoardListeners();
+        gameBoard.placePiece(5, player1);
+        verify(listener, never()).onPiecePlaced(5, player1);
+    }
+
+    /**
+     * Checks if the piece is removed and the listeners are notified.
+     */
+    @Test
+    public void removePiece_removesPieceAndNotifiesListeners() {
+        gameBoard.placePiece(5, player1);
+        gameBoard.placePiece(6, player2);
+
+        assertEquals(player1, gameBoard.removePiece(5));
+
+        assertEquals(null, gameBoard.getPiece(5));
+        assertEquals(player2, gameBoard.getPiece(6));
+        assertEquals(1, gameBoard.getPieceCount());
+        verify(listener, times(1)).onPieceRemoved(5, player1);
+    }
+
+    /**
+     * Checks if an exception is thrown if the field is empty.
+     */
+    @Test(expected = AssertionError.class)
+    public void removePiece_withEmptyField_throwsException() {
+        gameBoard.removePiece(5);
+    }
+
+    /**
+     * Checks if an exception is thrown if the index is greater than 63.
+     */
+    @Test(expected = AssertionError.class)
+    public void removePiece_withGreaterThan63_throwsException() {
+        gameBoard.removePiece(64);
+    }
+
+    /**
+     * Checks if undo removes the pieces in the reverse order.
+     */
+    @Test
+    public void undo_removesLastPlacedPieces() {
+        gameBoard.placePiece(5, player1);
+        gameBoard.placePiece(63, player2);
+        gameBoard.placePiece(0, player1);
+
+        assertEquals(0, gameBoard.undo());
+        assertEquals(63, gameBoard.getLastPlacedIndex());
+        assertEquals(63, gameBoard.undo());
+        assertEquals(5, gameBoard.undo());
+        assertEquals(-1, gameBoard.getLastPlacedIndex());
+        verify(listener, times(1)).onPieceRemoved(63, player2);
+    }
+
+    /**
+     * Checks if undo skips pieces, which were removed before.
+     */
+    @Test
+    public void undo_afterRemovePiece_removesPreviousPiece() {
+        gameBoard.placePiece(5, player1);
+        gameBoard.placePiece(6, player2);
+        gameBoard.placePiece(7, player1);
+        gameBoard.removePiece(6);
+
+        assertEquals(7, gameBoard.undo());
+        assertEquals(5, gameBoard.undo());
+    }
+
+    /**
+     * Checks if an exception is thrown if the game board is empty.
+     */
+    @Test(expected = AssertionError.class)
+    public void undo_withEmptyGameBoard_throwsException() {
+        gameBoard.placePiece(5, player1);
+        gameBoard.clear();
+        gameBoard.undo();
+    }
+
+
+    /**
+     * Checks if getPieces returns the bitboard of the player.
+     */
+    @Test
+    public void getPieces_returnsBitboardOfPlayer() {
+        gameBoard.placePiece(3, player1);
+        gameBoard.placePiece(63, player2);
+
+        assertEquals(1L << 3, gameBoard.getPieces(player1)[0]);
+        assertEquals(1L << 63, gameBoard.getPieces(player2)[0]);
+    }
+
+    @Test(expected = AssertionError.class)
+    public void getPieces_withUnknownPlayer_throwsException() {
+        gameBoard.getPieces(mock(Player.class));
+    }
+
+    /**
+     * Checks if restore sets the pieces and notifies the listeners once.
+     */
+    @Test
+    public void restore_setsPiecesAndNotifiesListenersOnce() {
+        gameBoard.placePiece(20, player1);
+
+        gameBoard.restore(new long[]{(1L << 5) | (1L << 9)}, new long[]{1L << 7});
+
+        assertEquals(player1, gameBoard.getPiece(5));
+        assertEquals(player2, gameBoard.getPiece(7));
+        assertEquals(player1, gameBoard.getPiece(9));
+        assertTrue(gameBoard.isFieldEmpty(20));
+        assertEquals(3, gameBoard.getPieceCount());
+        assertEquals(9, gameBoard.getLastPlacedIndex());
+        verify(listener, times(1)).onGameBoardRestored();
+        verify(listener, never()).onPiecePlaced(5, player1);
+    }
+
+    /**
+     * Checks if an exception is thrown if a field is occupied by both players.
+     */
+    @Test(expected = AssertionError.class)
+    public void restore_withOverlappingPieces_throwsException() {
+        gameBoard.restore(new long[]{1L}, new long[]{1L});
+    }
+
+    /**
+     * Checks if an exception is thrown if a piece is outside of the game board.
+     */
+    @Test(expected = AssertionError.class)
+    public void restore_withPieceOutsideOfGameBoard_throwsException() {
+        new GameBoard(player1, player2, 6).restore(new long[]{1L << 36}, new long[]{0L});
+    }
+
+    /**
+     * Checks if an exception is thrown if the bitboards have the wrong length.
+     */
+    @Test(expected = AssertionError.class)
+    public void restore_withWrongLength_throwsException() {
+        gameBoard.restore(new long[2], new long[2]);
+    }
+
 }
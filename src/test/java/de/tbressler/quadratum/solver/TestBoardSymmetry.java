@@ -0,0 +1,100 @@
+package de.tbressler.quadratum.solver;
+
+import de.tbressler.quadratum.core.Position;
+import de.tbressler.quadratum.utils.SquareTable;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import static de.tbressler.quadratum.core.GameCore.PLAYER1;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for class BoardSymmetry.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public class TestBoardSymmetry {
+
+    @Test(expected = AssertionError.class)
+    public void new_withInvalidSize_throwsException() {
+        new BoardSymmetry(17);
+    }
+
+    /**
+     * Checks if the symmetries are distinct permutations of the fields and unmap reverses map.
+     */
+    @Test
+    public void map_returnsDistinctPermutations() {
+        BoardSymmetry symmetry = new BoardSymmetry(5);
+        Set<String> permutations = new HashSet<>();
+        for (int s = 0; s < BoardSymmetry.COUNT; s++) {
+            StringBuilder permutation = new StringBuilder();
+            Set<Integer> fields = new HashSet<>();
+            for (int i = 0; i < 25; i++) {
+                fields.add(symmetry.map(s, i));
+                assertEquals(i, symmetry.unmap(s, symmetry.map(s, i)));
+                permutation.append(symmetry.map(s, i)).append(',');
+            }
+            assertEquals(25, fields.size());
+            permutations.add(permutation.toString());
+        }
+        assertEquals(BoardSymmetry.COUNT, permutations.size());
+        assertEquals(0, symmetry.map(0, 0));
+        assertEquals(4, symmetry.map(1, 0));
+    }
+
+    /**
+     * Checks if the symmetries map every square to a square with the same score.
+     */
+    @Test
+    public void map_mapsSquaresToSquaresWithSameScore() {
+        for (int size = 4; size <= 7; size++) {
+            BoardSymmetry symmetry = new BoardSymmetry(size);
+            SquareTable table = SquareTable.of(size);
+            int[] pieces = table.getPieces();
+            for (int s = 0; s < BoardSymmetry.COUNT; s++) {
+                for (int q = 0; q < table.getSquareCount(); q++) {
+                    int[] mapped = new int[4];
+                    for (int m = 0; m < 4; m++)
+                        mapped[m] = symmetry.map(s, pieces[4 * q + m]);
+                    assertEquals(table.getScore(q), table.getScore(findSquare(table, mapped)));
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks if all symmetric positions have the same canonical form.
+     */
+    @Test
+    public void getCanonicalSymmetry_withSymmetricPositions_returnsSameCanonicalForm() {
+        BoardSymmetry symmetry = new BoardSymmetry(4);
+        Position position = Position.ofGame(4, PLAYER1, new int[]{1, 6, 11, 4})[4];
+        Position canonical = symmetry.transform(symmetry.getCanonicalSymmetry(position), position);
+
+        for (int s = 0; s < BoardSymmetry.COUNT; s++) {
+            Position transformed = symmetry.transform(s, position);
+            assertEquals(canonical, symmetry.transform(symmetry.getCanonicalSymmetry(transformed), transformed));
+            assertEquals(position.getActivePlayer(), transformed.getActivePlayer());
+            assertEquals(position.getPieceCount(), transformed.getPieceCount());
+        }
+    }
+
+
+    /* Returns the ID of the square with the pieces. */
+    private static int findSquare(SquareTable table, int[] square) {
+        Arrays.sort(square);
+        int[] pieces = table.getPieces();
+        for (int q = 0; q < table.getSquareCount(); q++) {
+            if ((pieces[4 * q] == square[0]) && (pieces[4 * q + 1] == square[1]) &&
+                    (pieces[4 * q + 2] == square[2]) && (pieces[4 * q + 3] == square[3]))
+                return q;
+        }
+        throw new AssertionError("Square not found!");
+    }
+
+}
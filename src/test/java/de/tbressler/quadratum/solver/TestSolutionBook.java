@@ -0,0 +1,128 @@
+package de.tbressler.quadratum.solver;
+
+import de.tbressler.quadratum.core.Position;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static de.tbressler.quadratum.core.GameCore.PLAYER1;
+import static de.tbressler.quadratum.logic.GameOverVerifier.GameOverState.GAME_DRAW;
+import static de.tbressler.quadratum.logic.GameOverVerifier.GameOverState.PLAYER2_WON;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Tests for class SolutionBook.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public class TestSolutionBook {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    // Class under test:
+    private SolutionBook solutionBook;
+
+    // A position with player 1 in the top left corner:
+    private Position position = Position.ofGame(4, PLAYER1, new int[]{0})[1];
+
+    // The solution of the position, it is symmetric to the diagonal like the position:
+    private Solution solution = new Solution(position, PLAYER2_WON, new int[]{1, 4, 5}, 42);
+
+
+    @Before
+    public void setUp() {
+        solutionBook = new SolutionBook(4, singletonList(solution));
+    }
+
+
+    @Test(expected = NullPointerException.class)
+    public void new_withNullSolutions_throwsException() {
+        new SolutionBook(4, null);
+    }
+
+    @Test(expected = AssertionError.class)
+    public void new_withOtherSize_throwsException() {
+        new SolutionBook(5, singletonList(solution));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void getSolution_withNullPosition_throwsException() {
+        solutionBook.getSolution(null);
+    }
+
+    @Test(expected = AssertionError.class)
+    public void getSolution_withOtherSize_throwsException() {
+        solutionBook.getSolution(Position.ofGame(5, PLAYER1, new int[0])[0]);
+    }
+
+    /**
+     * Checks if the solution is returned for the position.
+     */
+    @Test
+    public void getSolution_withSolvedPosition_returnsSolution() {
+        assertEquals(solution, solutionBook.getSolution(position));
+        assertEquals(1, solutionBook.getSolutionCount());
+        assertNull(solutionBook.getSolution(Position.ofGame(4, PLAYER1, new int[]{5})[1]));
+        assertNotNull(solutionBook.toString());
+    }
+
+    /**
+     * Checks if the solution of a symmetric position is returned with symmetric moves.
+     */
+    @Test
+    public void getSolution_withSymmetricPosition_returnsSymmetricMoves() {
+        // Player 1 in the top right corner:
+        Solution symmetric = solutionBook.getSolution(Position.ofGame(4, PLAYER1, new int[]{3})[1]);
+
+        assertEquals(PLAYER2_WON, symmetric.getValue());
+        assertArrayEquals(new int[]{2, 6, 7}, symmetric.getOptimalMoves());
+    }
+
+    /**
+     * Checks if symmetric solutions are stored once.
+     */
+    @Test
+    public void new_withSymmetricSolutions_storesOneSolution() {
+        Solution symmetric = new Solution(Position.ofGame(4, PLAYER1, new int[]{15})[1], PLAYER2_WON,
+                new int[]{14, 11, 10}, 0);
+
+        assertEquals(1, new SolutionBook(4, asList(solution, symmetric)).getSolutionCount());
+    }
+
+    @Test
+    public void save_andLoad_returnsEqualSolutions() throws IOException {
+        Position empty = Position.ofGame(4, PLAYER1, new int[0])[0];
+        SolutionBook book = new SolutionBook(4, asList(solution,
+                new Solution(empty, GAME_DRAW, new int[]{0, 1, 2, 3}, 0)));
+        Path path = temporaryFolder.newFile("book.bin").toPath();
+
+        book.save(path);
+        SolutionBook loaded = SolutionBook.load(path);
+
+        assertEquals(4, loaded.getSize());
+        assertEquals(2, loaded.getSolutionCount());
+        assertEquals(book.getSolution(position), loaded.getSolution(position));
+        assertEquals(book.getSolution(empty), loaded.getSolution(empty));
+        assertEquals(0, loaded.getSolution(position).getNodes());
+    }
+
+    @Test(expected = IOException.class)
+    public void load_withOtherFile_throwsException() throws IOException {
+        Path path = temporaryFolder.newFile("book.bin").toPath();
+        Files.write(path, new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+        SolutionBook.load(path);
+    }
+
+}
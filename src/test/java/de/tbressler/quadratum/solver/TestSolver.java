@@ -0,0 +1,258 @@
+package de.tbressler.quadratum.solver;
+
+import de.tbressler.quadratum.core.GameCore;
+import de.tbressler.quadratum.core.Position;
+import de.tbressler.quadratum.logic.GameOverVerifier.GameOverState;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static de.tbressler.quadratum.core.GameCore.PLAYER1;
+import static de.tbressler.quadratum.core.GameCore.PLAYER2;
+import static de.tbressler.quadratum.logic.GameOverVerifier.GameOverState.GAME_DRAW;
+import static de.tbressler.quadratum.logic.GameOverVerifier.GameOverState.NOT_OVER;
+import static de.tbressler.quadratum.logic.GameOverVerifier.GameOverState.PLAYER1_WON;
+import static de.tbressler.quadratum.logic.GameOverVerifier.GameOverState.PLAYER2_WON;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for class Solver.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public class TestSolver {
+
+    // Class under test:
+    private Solver solver;
+
+
+    @Before
+    public void setUp() {
+        solver = new Solver(4, 150, 15);
+    }
+
+
+    @Test(expected = AssertionError.class)
+    public void new_withInvalidSize_throwsException() {
+        new Solver(3, 150, 15);
+    }
+
+    @Test(expected = AssertionError.class)
+    public void new_withMinScore0_throwsException() {
+        new Solver(4, 0, 15);
+    }
+
+    @Test(expected = AssertionError.class)
+    public void new_withMinDifference0_throwsException() {
+        new Solver(4, 150, 0);
+    }
+
+    @Test(expected = AssertionError.class)
+    public void setTableBits_with9_throwsException() {
+        solver.setTableBits(9);
+    }
+
+    @Test(expected = AssertionError.class)
+    public void setSplitDepth_withNegativeDepth_throwsException() {
+        solver.setSplitDepth(-1);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void setForkJoinPool_withNull_throwsException() {
+        solver.setForkJoinPool(null);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void solve_withNullPosition_throwsException() {
+        solver.solve(null);
+    }
+
+    @Test(expected = AssertionError.class)
+    public void solve_withOtherSize_throwsException() {
+        solver.solve(Position.ofGame(5, PLAYER1, new int[0])[0]);
+    }
+
+    @Test(expected = AssertionError.class)
+    public void solveBook_withNegativeDepth_throwsException() {
+        solver.solveBook(Position.ofGame(4, PLAYER1, new int[0])[0], -1);
+    }
+
+    /**
+     * Checks if a finished game is returned without optimal moves.
+     */
+    @Test
+    public void solve_withGameOverPosition_returnsOutcome() {
+        Position position = Position.ofGame(4, PLAYER1,
+                new int[]{0, 3, 5, 6, 10, 9, 15, 12, 1, 2, 4, 7, 8, 11, 13, 14})[16];
+
+        Solution solution = solver.solve(position);
+
+        assertEquals(expectedState(position), solution.getValue());
+        assertEquals(0, solution.getOptimalMoves().length);
+        assertEquals(0, solution.getNodes());
+    }
+
+    /**
+     * Checks if the active player completes the square, which wins the game.
+     */
+    @Test
+    public void solve_withWinningSquare_returnsWinAndCompletingMove() {
+        Solver fastWin = new Solver(4, 4, 4);
+        // Player 1 has the fields 0, 1 and 4, player 2 has no open square:
+        Position position = Position.ofGame(4, PLAYER1, new int[]{0, 10, 1, 15, 4, 13})[6];
+
+        Solution solution = fastWin.solve(position);
+
+        assertEquals(PLAYER1_WON, solution.getValue());
+        assertTrue(solution.isOptimalMove(5));
+        assertTrue(solution.getNodes() > 0);
+        assertNotNull(solution.toString());
+    }
+
+    /**
+     * Checks if the solver returns the same values and optimal moves as a minimax search without
+     * pruning and transposition table.
+     */
+    @Test
+    public void solve_withRandomPositions_matchesMinimax() {
+        Random random = new Random(49);
+        for (int[] rules : new int[][]{{150, 15}, {8, 4}, {20, 12}}) {
+            Solver rulesSolver = new Solver(4, rules[0], rules[1]);
+            GameCore core = new GameCore(4, rules[0], rules[1]);
+            for (int p = 0; p < 12; p++) {
+                Position position = createRandomPosition(random, 8);
+                core.setPosition(position);
+                int[] values = new int[16];
+                int value = minimax(core, values);
+
+                Solution solution = rulesSolver.solve(position);
+
+                assertEquals(position.toString(), toState(value, position.getActivePlayer()), solution.getValue());
+                for (int i = 0; i < 16; i++)
+                    assertEquals(position + " move " + i, (position.getPiece(i) < 0) && (values[i] == value),
+                            solution.isOptimalMove(i));
+            }
+        }
+    }
+
+    /**
+     * Checks if symmetric positions have the same value and symmetric optimal moves.
+     */
+    @Test
+    public void solve_withSymmetricPositions_returnsSymmetricSolutions() {
+        BoardSymmetry symmetry = new BoardSymmetry(4);
+        Position position = Position.ofGame(4, PLAYER1, new int[]{0, 5, 2, 9, 14})[5];
+        Solution solution = solver.solve(position);
+
+        for (int s = 0; s < BoardSymmetry.COUNT; s++) {
+            Solution transformed = solver.solve(symmetry.transform(s, position));
+            int[] expected = solution.getOptimalMoves();
+            for (int m = 0; m < expected.length; m++)
+                expected[m] = symmetry.map(s, expected[m]);
+            Arrays.sort(expected);
+
+            assertEquals(solution.getValue(), transformed.getValue());
+            assertArrayEquals(expected, transformed.getOptimalMoves());
+        }
+    }
+
+    /**
+     * Checks if the parallel search returns the same solution as the search in one task.
+     */
+    @Test
+    public void solve_inParallel_returnsSameSolutionAsSequential() {
+        Position empty = Position.ofGame(4, PLAYER1, new int[0])[0];
+        solver.setSplitDepth(0);
+        Solution sequential = solver.solve(empty);
+
+        Solver parallel = new Solver(4, 150, 15);
+        parallel.setForkJoinPool(new ForkJoinPool(4));
+        parallel.setSplitDepth(4);
+        parallel.setTableBits(16);
+
+        assertEquals(sequential, parallel.solve(empty));
+        assertEquals(GAME_DRAW, sequential.getValue());
+        assertEquals(16, sequential.getOptimalMoves().length);
+    }
+
+    /**
+     * Checks if the book contains the canonical positions of the first plies.
+     */
+    @Test
+    public void solveBook_withDepth1_containsRootAndReplies() {
+        Position empty = Position.ofGame(4, PLAYER1, new int[0])[0];
+
+        SolutionBook book = solver.solveBook(empty, 1);
+
+        // The empty board and the corner, edge and center fields:
+        assertEquals(4, book.getSolutionCount());
+        assertEquals(solver.solve(empty), book.getSolution(empty));
+        Position reply = Position.ofGame(4, PLAYER1, new int[]{6})[1];
+        assertEquals(solver.solve(reply), book.getSolution(reply));
+        assertNull(book.getSolution(Position.ofGame(4, PLAYER1, new int[]{6, 9})[2]));
+    }
+
+
+    /* Returns the position after random moves, which don't end the game. */
+    private static Position createRandomPosition(Random random, int moves) {
+        GameCore core = new GameCore(4, 8, 4);
+        int[] fields = new int[16];
+        for (int m = 0; m < moves; m++) {
+            int count = core.getEmptyFields(fields);
+            int move = fields[random.nextInt(count)];
+            core.makeMoveUnchecked(move);
+            if (core.getState() != NOT_OVER)
+                core.unmakeMoveUnchecked(move);
+        }
+        return core.toPosition();
+    }
+
+    /* Returns the value of the position for the active player without pruning and writes the
+       values of all moves to the array. */
+    private static int minimax(GameCore core, int[] values) {
+        int player = core.getActivePlayer();
+        int best = -2;
+        for (int i = 0; i < core.getFieldCount(); i++) {
+            if (!core.isFieldEmptyUnchecked(i))
+                continue;
+            core.makeMoveUnchecked(i);
+            GameOverState state = core.getState();
+            int value = (state == NOT_OVER) ? -minimax(core, null) : valueOf(state, player);
+            core.unmakeMoveUnchecked(i);
+            if (values != null)
+                values[i] = value;
+            best = Math.max(best, value);
+        }
+        return best;
+    }
+
+    /* Returns the value of a finished game for the player. */
+    private static int valueOf(GameOverState state, int player) {
+        if (state == GAME_DRAW)
+            return 0;
+        return ((state == PLAYER1_WON) == (player == PLAYER1)) ? 1 : -1;
+    }
+
+    /* Returns the outcome for the value of the active player. */
+    private static GameOverState toState(int value, int activePlayer) {
+        if (value == 0)
+            return GAME_DRAW;
+        return ((value == 1) == (activePlayer == PLAYER1)) ? PLAYER1_WON : PLAYER2_WON;
+    }
+
+    /* Returns the state of a position under the rules of the solver. */
+    private GameOverState expectedState(Position position) {
+        GameCore core = new GameCore(4, 150, 15);
+        core.setPosition(position);
+        return core.getState();
+    }
+
+}
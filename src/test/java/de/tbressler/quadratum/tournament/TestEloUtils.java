@@ -0,0 +1,65 @@
+package de.tbressler.quadratum.tournament;
+
+import org.junit.Test;
+
+import static de.tbressler.quadratum.tournament.EloUtils.eloDifference;
+import static de.tbressler.quadratum.tournament.EloUtils.errorMargin;
+import static de.tbressler.quadratum.tournament.EloUtils.expectedScore;
+import static de.tbressler.quadratum.tournament.EloUtils.score;
+import static de.tbressler.quadratum.tournament.EloUtils.variance;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for class EloUtils.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public class TestEloUtils {
+
+    @Test
+    public void expectedScore_returnsLogisticScore() {
+        assertEquals(0.5, expectedScore(0), 1e-9);
+        assertEquals(1 / 1.1, expectedScore(400), 1e-9);
+        assertEquals(1 - 1 / 1.1, expectedScore(-400), 1e-9);
+    }
+
+    @Test
+    public void eloDifference_isInverseOfExpectedScore() {
+        assertEquals(0, eloDifference(0.5), 1e-9);
+        assertEquals(400, eloDifference(1 / 1.1), 1e-6);
+        assertEquals(-123, eloDifference(expectedScore(-123)), 1e-6);
+    }
+
+    @Test
+    public void eloDifference_withScore1_returnsFiniteValue() {
+        assertTrue(Double.isFinite(eloDifference(1)));
+        assertTrue(Double.isFinite(eloDifference(0)));
+    }
+
+    @Test
+    public void score_returnsPointsPerGame() {
+        assertEquals(0.5, score(0, 0, 0), 1e-9);
+        assertEquals(0.75, score(1, 1, 0), 1e-9);
+        assertEquals(0.25, score(1, 0, 3), 1e-9);
+    }
+
+    @Test
+    public void variance_returnsVarianceOfScorePerGame() {
+        assertEquals(0, variance(0, 4, 0), 1e-9);
+        assertEquals(0.25, variance(2, 0, 2), 1e-9);
+    }
+
+    @Test
+    public void errorMargin_withoutGames_returnsInfinity() {
+        assertEquals(Double.POSITIVE_INFINITY, errorMargin(0, 0, 0), 0);
+    }
+
+    @Test
+    public void errorMargin_withMoreGames_isSmaller() {
+        assertTrue(errorMargin(40, 20, 40) < errorMargin(4, 2, 4));
+        assertTrue(errorMargin(4, 2, 4) > 0);
+    }
+
+}
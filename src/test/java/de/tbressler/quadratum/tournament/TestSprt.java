@@ -0,0 +1,75 @@
+package de.tbressler.quadratum.tournament;
+
+import org.junit.Test;
+
+import static de.tbressler.quadratum.tournament.Sprt.Decision.ACCEPT_H0;
+import static de.tbressler.quadratum.tournament.Sprt.Decision.ACCEPT_H1;
+import static de.tbressler.quadratum.tournament.Sprt.Decision.CONTINUE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for class Sprt.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public class TestSprt {
+
+    // Class under test:
+    private Sprt sprt = new Sprt(0, 10, 0.05, 0.05);
+
+
+    @Test(expected = AssertionError.class)
+    public void new_withElo1NotGreaterThanElo0_throwsException() {
+        new Sprt(10, 10, 0.05, 0.05);
+    }
+
+    @Test(expected = AssertionError.class)
+    public void new_withAlpha0_throwsException() {
+        new Sprt(0, 10, 0, 0.05);
+    }
+
+    @Test(expected = AssertionError.class)
+    public void new_withBeta1_throwsException() {
+        new Sprt(0, 10, 0.05, 1);
+    }
+
+    @Test
+    public void bounds_areLogarithmsOfErrorRatios() {
+        assertEquals(Math.log(0.05 / 0.95), sprt.getLowerBound(), 1e-9);
+        assertEquals(Math.log(0.95 / 0.05), sprt.getUpperBound(), 1e-9);
+    }
+
+    @Test
+    public void test_withoutGames_returnsContinue() {
+        assertEquals(CONTINUE, sprt.test(0, 0, 0));
+    }
+
+    @Test
+    public void test_withFewGames_returnsContinue() {
+        assertEquals(CONTINUE, sprt.test(3, 2, 1));
+    }
+
+    @Test
+    public void test_withManyWins_returnsAcceptH1() {
+        assertEquals(ACCEPT_H1, sprt.test(300, 100, 100));
+    }
+
+    @Test
+    public void test_withEqualResults_returnsAcceptH0() {
+        assertEquals(ACCEPT_H0, sprt.test(4000, 2000, 4000));
+    }
+
+    @Test
+    public void getLogLikelihoodRatio_growsWithWins() {
+        assertTrue(sprt.getLogLikelihoodRatio(60, 20, 20) > sprt.getLogLikelihoodRatio(50, 20, 30));
+    }
+
+    @Test
+    public void toString_returnsString() {
+        assertNotNull(sprt.toString());
+    }
+
+}
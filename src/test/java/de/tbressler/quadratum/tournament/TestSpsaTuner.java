@@ -0,0 +1,93 @@
+package de.tbressler.quadratum.tournament;
+
+import de.tbressler.quadratum.evaluation.WeightedEvaluator;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static de.tbressler.quadratum.logic.players.BotPlayerLogic.Strategy.LONG_TERM;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for class SpsaTuner.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public class TestSpsaTuner {
+
+    // Class under test:
+    private SpsaTuner spsaTuner;
+
+
+    @Before
+    public void setUp() {
+        spsaTuner = new SpsaTuner(LONG_TERM, WeightedEvaluator.DEFAULT);
+        spsaTuner.setIterations(2);
+        spsaTuner.setGamePairs(2);
+        spsaTuner.setSeed(42);
+    }
+
+
+    @Test(expected = NullPointerException.class)
+    public void new_withNullStrategy_throwsException() {
+        new SpsaTuner(null, WeightedEvaluator.DEFAULT);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void new_withNullEvaluator_throwsException() {
+        new SpsaTuner(LONG_TERM, null);
+    }
+
+    @Test(expected = AssertionError.class)
+    public void setIterations_with0_throwsException() {
+        spsaTuner.setIterations(0);
+    }
+
+    @Test(expected = AssertionError.class)
+    public void setGamePairs_with0_throwsException() {
+        spsaTuner.setGamePairs(0);
+    }
+
+    @Test(expected = AssertionError.class)
+    public void setGains_withNegativeStepSize_throwsException() {
+        spsaTuner.setGains(-1, 0.1);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void setExecutor_withNull_throwsException() {
+        spsaTuner.setExecutor(null);
+    }
+
+    @Test
+    public void tune_returnsNonNegativeWeights() {
+        for (double weight : spsaTuner.tune().getWeights())
+            assertTrue(weight >= 0);
+    }
+
+    /**
+     * Checks if the tuner returns the same weights with the same seed, regardless of the number of
+     * threads.
+     */
+    @Test
+    public void tune_withSameSeed_returnsSameWeightsForAnyNumberOfThreads() {
+        WeightedEvaluator evaluator1 = tuneWith(Executors.newSingleThreadExecutor());
+        WeightedEvaluator evaluator3 = tuneWith(Executors.newFixedThreadPool(3));
+        assertEquals(evaluator1, evaluator3);
+    }
+
+
+    /* Tunes the weights with the executor. */
+    private WeightedEvaluator tuneWith(ExecutorService executor) {
+        try {
+            spsaTuner.setExecutor(executor);
+            return spsaTuner.tune();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+}
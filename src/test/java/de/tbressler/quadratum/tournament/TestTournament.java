@@ -0,0 +1,306 @@
+package de.tbressler.quadratum.tournament;
+
+import de.tbressler.quadratum.logic.ILogicCallback;
+import de.tbressler.quadratum.logic.players.AbstractPlayerLogic;
+import de.tbressler.quadratum.logic.players.BotPlayerLogic;
+import de.tbressler.quadratum.model.IReadOnlyGameBoard;
+import de.tbressler.quadratum.model.Player;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static de.tbressler.quadratum.logic.players.BotPlayerLogic.Strategy.LONG_TERM;
+import static de.tbressler.quadratum.logic.players.BotPlayerLogic.Strategy.SHORT_TERM;
+import static de.tbressler.quadratum.tournament.Sprt.Decision.ACCEPT_H0;
+import static de.tbressler.quadratum.tournament.Sprt.Decision.ACCEPT_H1;
+import static de.tbressler.quadratum.tournament.Tournament.Pairing.SWISS;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for class Tournament.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public class TestTournament {
+
+    // Class under test:
+    private Tournament tournament;
+
+
+    // Entrants:
+    private Entrant bot = new Entrant("bot", player -> new BotPlayerLogic(player, LONG_TERM));
+    private Entrant otherBot = new Entrant("otherBot", player -> new BotPlayerLogic(player, LONG_TERM));
+    private Entrant weak = new Entrant("weak", FirstFieldPlayerLogic::new);
+
+    private ExecutorService executor;
+
+
+    @Before
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(2);
+        tournament = new Tournament(asList(bot, weak));
+        tournament.setExecutor(executor);
+        tournament.setGamePairsPerRound(2);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+
+    @Test(expected = NullPointerException.class)
+    public void new_withNullEntrants_throwsException() {
+        new Tournament(null);
+    }
+
+    @Test(expected = AssertionError.class)
+    public void new_withOneEntrant_throwsException() {
+        new Tournament(singletonList(bot));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void new_withNullGameOverVerifierFactory_throwsException() {
+        new Tournament(asList(bot, weak), null);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void setPairing_withNull_throwsException() {
+        tournament.setPairing(null);
+    }
+
+    @Test(expected = AssertionError.class)
+    public void setMaxRounds_with0_throwsException() {
+        tournament.setMaxRounds(0);
+    }
+
+    @Test(expected = AssertionError.class)
+    public void setGamePairsPerRound_with0_throwsException() {
+        tournament.setGamePairsPerRound(0);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void setExecutor_withNull_throwsException() {
+        tournament.setExecutor(null);
+    }
+
+    /**
+     * Checks if both entrants start the same number of games.
+     */
+    @Test
+    public void run_withoutSprt_playsBalancedGames() {
+        AtomicInteger startsOfBot = new AtomicInteger();
+        AtomicInteger startsOfWeak = new AtomicInteger();
+        Entrant countingBot = new Entrant("bot", player -> new StartCountingPlayerLogic(
+                new BotPlayerLogic(player, LONG_TERM), startsOfBot));
+        Entrant countingWeak = new Entrant("weak", player -> new StartCountingPlayerLogic(
+                new FirstFieldPlayerLogic(player), startsOfWeak));
+        tournament = new Tournament(asList(countingBot, countingWeak));
+        tournament.setExecutor(executor);
+        tournament.setGamePairsPerRound(2);
+        tournament.setMaxRounds(3);
+
+        TournamentResult result = tournament.run();
+
+        assertEquals(3, result.getRoundCount());
+        assertEquals(12, result.getGameCount());
+        assertEquals(6, startsOfBot.get());
+        assertEquals(6, startsOfWeak.get());
+        assertFalse(result.isStoppedEarly());
+        assertNull(result.getDecision(countingBot, countingWeak));
+        assertEquals(12, result.getStats(countingBot, countingWeak).getGameCount());
+    }
+
+    /**
+     * Checks if the strong bot gets the higher rating and wins all games against the weak logic.
+     */
+    @Test
+    public void run_withStrongAndWeakEntrant_ratesStrongEntrantHigher() {
+        tournament.setMaxRounds(2);
+
+        TournamentResult result = tournament.run();
+
+        assertEquals(8, result.getStats(bot, weak).getWins());
+        assertEquals(8, result.getStats(weak, bot).getLosses());
+        assertTrue(result.getRating(bot) > 0);
+        assertEquals(0, result.getRating(bot) + result.getRating(weak), 1e-6);
+        assertEquals(0, result.getErrorMargin(bot), 1e-9);
+        assertNotNull(result.toString());
+    }
+
+    /**
+     * Checks if the tournament stops early, if the SPRT decides the pairing.
+     */
+    @Test
+    public void run_withSprt_stopsEarly() {
+        tournament.setSprt(new Sprt(0, 50, 0.05, 0.05));
+
+        TournamentResult result = tournament.run();
+
+        assertTrue(result.isStoppedEarly());
+        assertTrue(result.getRoundCount() < Tournament.DEFAULT_MAX_ROUNDS);
+        assertEquals(ACCEPT_H1, result.getDecision(bot, weak));
+        assertEquals(ACCEPT_H0, result.getDecision(weak, bot));
+    }
+
+    /**
+     * Checks if equal entrants get equal ratings. The bots play with forced moves and without
+     * randomization, so the colour-swapped games of a pair are mirrored and the pair is even.
+     */
+    @Test
+    public void run_withEqualEntrants_returnsEqualRatings() {
+        Entrant deterministicBot = new Entrant("deterministicBot", TestTournament::createDeterministicBot);
+        Entrant otherDeterministicBot = new Entrant("otherDeterministicBot", TestTournament::createDeterministicBot);
+        tournament = new Tournament(asList(deterministicBot, otherDeterministicBot));
+        tournament.setExecutor(executor);
+        tournament.setGamePairsPerRound(1);
+        tournament.setMaxRounds(2);
+
+        TournamentResult result = tournament.run();
+
+        assertEquals(4, result.getGameCount());
+        assertEquals(result.getRating(deterministicBot), result.getRating(otherDeterministicBot), 1e-6);
+        assertEquals(0.5, result.getStats(deterministicBot, otherDeterministicBot).getScore(), 1e-9);
+    }
+
+    /**
+     * Checks if the swiss pairing pairs every entrant once per round and sorts out the entrant
+     * without opponent.
+     */
+    @Test
+    public void run_withSwissPairing_pairsEveryEntrantOncePerRound() {
+        List<Entrant> entrants = asList(bot, otherBot, weak);
+        tournament = new Tournament(entrants);
+        tournament.setExecutor(executor);
+        tournament.setPairing(SWISS);
+        tournament.setGamePairsPerRound(1);
+        tournament.setMaxRounds(3);
+
+        TournamentResult result = tournament.run();
+
+        // One pairing with two games per round:
+        assertEquals(6, result.getGameCount());
+        for (Entrant entrant : entrants)
+            assertTrue(result.getTotalStats(entrant).getGameCount() <= 6);
+        assertTrue(result.getRating(weak) < result.getRating(bot));
+    }
+
+
+    /**
+     * Checks if tournaments with the same seed have the same results, regardless of the number of
+     * threads.
+     */
+    @Test
+    public void run_withSameSeed_returnsSameResultsForAnyNumberOfThreads() {
+        Entrant randomizedBot = new Entrant("randomizedBot", (player, random) -> {
+            BotPlayerLogic botPlayerLogic = new BotPlayerLogic(player, LONG_TERM);
+            botPlayerLogic.setRandom(random);
+            return botPlayerLogic;
+        });
+        Entrant otherRandomizedBot = new Entrant("otherRandomizedBot", (player, random) -> {
+            BotPlayerLogic botPlayerLogic = new BotPlayerLogic(player, SHORT_TERM);
+            botPlayerLogic.setRandom(random);
+            return botPlayerLogic;
+        });
+        List<Entrant> entrants = asList(randomizedBot, otherRandomizedBot);
+
+        MatchStats stats1 = runWithSeed(entrants, 42, Executors.newSingleThreadExecutor());
+        MatchStats stats3 = runWithSeed(entrants, 42, Executors.newFixedThreadPool(3));
+
+        assertEquals(stats1.getWins(), stats3.getWins());
+        assertEquals(stats1.getDraws(), stats3.getDraws());
+        assertEquals(stats1.getLosses(), stats3.getLosses());
+    }
+
+
+    /* Plays a tournament with the seed and returns the results of the first entrant. */
+    private static MatchStats runWithSeed(List<Entrant> entrants, long seed, ExecutorService executor) {
+        try {
+            Tournament tournament = new Tournament(entrants);
+            tournament.setExecutor(executor);
+            tournament.setSeed(seed);
+            tournament.setGamePairsPerRound(4);
+            tournament.setMaxRounds(2);
+            TournamentResult result = tournament.run();
+            return result.getStats(entrants.get(0), entrants.get(1));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /* A weak player logic, which places its pieces on the first empty field. */
+    private static class FirstFieldPlayerLogic extends AbstractPlayerLogic {
+
+        FirstFieldPlayerLogic(Player player) {
+            super(player);
+        }
+
+        @Override
+        public void requestMove(IReadOnlyGameBoard gameBoard, ILogicCallback callback) {
+            int index = 0;
+            while (!gameBoard.isFieldEmpty(index))
+                index++;
+            callback.makeMove(index, getPlayer());
+        }
+
+        @Override
+        public void cancelMoveRequest() {
+            // Nothing to do.
+        }
+
+    }
+
+
+    /* Counts the games, in which the player logic makes the first move. */
+    private static class StartCountingPlayerLogic extends AbstractPlayerLogic {
+
+        private final AbstractPlayerLogic playerLogic;
+        private final AtomicInteger starts;
+
+        StartCountingPlayerLogic(AbstractPlayerLogic playerLogic, AtomicInteger starts) {
+            super(playerLogic.getPlayer());
+            this.playerLogic = playerLogic;
+            this.starts = starts;
+        }
+
+        @Override
+        public void requestMove(IReadOnlyGameBoard gameBoard, ILogicCallback callback) {
+            if (isEmpty(gameBoard))
+                starts.incrementAndGet();
+            playerLogic.requestMove(gameBoard, callback);
+        }
+
+        @Override
+        public void cancelMoveRequest() {
+            playerLogic.cancelMoveRequest();
+        }
+
+        private static boolean isEmpty(IReadOnlyGameBoard gameBoard) {
+            for (int i = 0; i < gameBoard.getSize() * gameBoard.getSize(); i++)
+                if (!gameBoard.isFieldEmpty(i))
+                    return false;
+            return true;
+        }
+
+    }
+
+    /* Creates a bot with forced moves and without randomization. */
+    private static BotPlayerLogic createDeterministicBot(Player player) {
+        BotPlayerLogic botPlayerLogic = new BotPlayerLogic(player, LONG_TERM);
+        botPlayerLogic.setRandomizeMoves(false);
+        return botPlayerLogic;
+    }
+
+}
@@ -121,4 +121,48 @@ public class TestGameBoardUtils {
         assertEquals(3, difY(9, 36));
     }
 
+    @Test
+    public void toIndex_withSize10_returnsIndex() {
+        assertEquals(99, toIndex(10, 9, 9));
+        assertEquals(34, toIndex(10, 4, 3));
+    }
+
+    @Test(expected = AssertionError.class)
+    public void toIndex_withSize10AndXGreaterThan9_throwsException() {
+        toIndex(10, 10, 0);
+    }
+
+    @Test
+    public void toCoords_withSize12_returnsCoords() {
+        assertTrue(Arrays.equals(new int[]{11, 11}, toCoords(12, 143)));
+        assertTrue(Arrays.equals(new int[]{1, 2}, toCoords(12, 25)));
+    }
+
+    @Test(expected = AssertionError.class)
+    public void toCoords_withSize12AndIndex144_throwsException() {
+        toCoords(12, 144);
+    }
+
+    @Test
+    public void difX_withSize10_returnsDifference() {
+        assertEquals(-9, difX(10, 9, 10));
+        assertEquals(2, difY(10, 9, 29));
+    }
+
+    @Test(expected = AssertionError.class)
+    public void assertSize_with3_throwsException() {
+        assertSize(3);
+    }
+
+    @Test(expected = AssertionError.class)
+    public void assertSize_with17_throwsException() {
+        assertSize(17);
+    }
+
+    @Test
+    public void assertSize_with4And16_doesNotThrowException() {
+        assertSize(4);
+        assertSize(16);
+    }
+
 }
@@ -0,0 +1,69 @@
+package de.tbressler.quadratum.utils;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+
+/**
+ * Tests for class SeedSequence.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public class TestSeedSequence {
+
+    // Class under test:
+    private SeedSequence seedSequence = new SeedSequence(42);
+
+
+    @Test(expected = AssertionError.class)
+    public void getSeed_withNegativeIndex_throwsException() {
+        seedSequence.getSeed(-1);
+    }
+
+    @Test
+    public void getMasterSeed_returnsMasterSeed() {
+        assertEquals(42, seedSequence.getMasterSeed());
+    }
+
+    /**
+     * Checks if the seed of a game doesn't depend on the order of the requests.
+     */
+    @Test
+    public void getSeed_inDifferentOrder_returnsSameSeeds() {
+        long seed5 = seedSequence.getSeed(5);
+        long seed0 = seedSequence.getSeed(0);
+        SeedSequence other = new SeedSequence(42);
+        assertEquals(seed0, other.getSeed(0));
+        assertEquals(seed5, other.getSeed(5));
+    }
+
+    @Test
+    public void getSeed_returnsDifferentSeedsForGames() {
+        Set<Long> seeds = new HashSet<>();
+        for (int i = 0; i < 1000; i++)
+            seeds.add(seedSequence.getSeed(i));
+        assertEquals(1000, seeds.size());
+    }
+
+    @Test
+    public void getSeed_withOtherMasterSeed_returnsOtherSeed() {
+        assertNotEquals(seedSequence.getSeed(0), new SeedSequence(43).getSeed(0));
+    }
+
+    @Test
+    public void getRandom_returnsGeneratorWithSeedOfGame() {
+        assertEquals(seedSequence.getRandom(7).nextLong(), new SeedSequence(42).getRandom(7).nextLong());
+    }
+
+    @Test
+    public void toString_returnsString() {
+        assertNotNull(seedSequence.toString());
+    }
+
+}
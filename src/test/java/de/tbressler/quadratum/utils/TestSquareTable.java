@@ -0,0 +1,98 @@
+package de.tbressler.quadratum.utils;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for class SquareTable.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public class TestSquareTable {
+
+    @Test(expected = AssertionError.class)
+    public void of_withSizeLowerThan4_throwsException() {
+        SquareTable.of(3);
+    }
+
+    @Test(expected = AssertionError.class)
+    public void of_withSizeGreaterThan16_throwsException() {
+        SquareTable.of(17);
+    }
+
+    @Test
+    public void of_withSameSize_returnsSameTable() {
+        assertSame(SquareTable.of(8), SquareTable.of(8));
+    }
+
+    @Test
+    public void getSquareCount_withSize8_returns336() {
+        assertEquals(336, SquareTable.of(8).getSquareCount());
+    }
+
+    @Test
+    public void getSquareCount_withDifferentSizes_returnsNumberOfAllSquares() {
+        // Sum of k * (n - k)^2 for k = 1..n-1:
+        for (int size = 4; size <= 16; size++) {
+            int expected = 0;
+            for (int k = 1; k < size; k++)
+                expected += k * (size - k) * (size - k);
+            assertEquals(expected, SquareTable.of(size).getSquareCount());
+        }
+    }
+
+    @Test
+    public void getFieldCount_withSize10_returns100() {
+        assertEquals(100, SquareTable.of(10).getFieldCount());
+    }
+
+    @Test
+    public void getPiece_returnsSortedPiecesOfValidSquares() {
+        SquareTable table = SquareTable.of(12);
+        for (int s = 0; s < table.getSquareCount(); s++) {
+            int[] pieces = {table.getPiece(s, 0), table.getPiece(s, 1), table.getPiece(s, 2), table.getPiece(s, 3)};
+            assertTrue(pieces[0] < pieces[1] && pieces[1] < pieces[2] && pieces[2] < pieces[3]);
+            assertTrue(SquareUtils.isSquare(12, pieces.clone()));
+            assertEquals(SquareUtils.score(12, pieces), table.getScore(s));
+        }
+    }
+
+    @Test
+    public void getSquaresOfField_returnsAllSquaresContainingTheField() {
+        SquareTable table = SquareTable.of(8);
+        int total = 0;
+        for (int f = 0; f < 64; f++) {
+            for (int s : table.getSquaresOfField(f)) {
+                boolean contains = false;
+                for (int p = 0; p < 4; p++)
+                    contains |= (table.getPiece(s, p) == f);
+                assertTrue(contains);
+            }
+            total += table.getSquaresOfField(f).length;
+        }
+        assertEquals(4 * table.getSquareCount(), total);
+    }
+
+    @Test(expected = AssertionError.class)
+    public void getSquaresOfField_withIndexOutOfRange_throwsException() {
+        SquareTable.of(8).getSquaresOfField(64);
+    }
+
+    @Test
+    public void findSquare_withSquare_returnsSquareId() {
+        SquareTable table = SquareTable.of(8);
+        int square = table.findSquare(new int[]{0, 1, 8, 9});
+        assertEquals(4, table.getScore(square));
+        assertEquals(9, table.getPiece(square, 3));
+    }
+
+    @Test
+    public void findSquare_withoutSquare_returnsMinus1() {
+        assertEquals(-1, SquareTable.of(8).findSquare(new int[]{0, 1, 2, 3}));
+    }
+
+}
@@ -122,4 +122,26 @@ public class TestSquareUtils {
         assertEquals(64, score(new int[] {6, 8, 55, 57}));
     }
 
+    @Test
+    public void isSquare_withSize10AndSquareAtTheBorder_returnsTrue() {
+        assertTrue(isSquare(10, new int[]{8, 9, 18, 19}));
+    }
+
+    @Test
+    public void isSquare_withSize10AndPiecesAcrossTheBorder_returnsFalse() {
+        assertFalse(isSquare(10, new int[]{9, 10, 19, 20}));
+    }
+
+    @Test
+    public void getPossiblePieces_withSize12_returnsPieces() {
+        int[] pieces = getPossiblePieces(12, 0, 11);
+        assertEquals(2, pieces.length);
+        assertTrue((pieces[0] == 132 && pieces[1] == 143) || (pieces[0] == 143 && pieces[1] == 132));
+    }
+
+    @Test
+    public void score_withSize12AndBiggestSquare_returns144() {
+        assertEquals(144, score(12, new int[]{0, 11, 132, 143}));
+    }
+
 }
@@ -0,0 +1,141 @@
+package de.tbressler.quadratum.wire;
+
+import org.junit.Test;
+import org.mockito.InOrder;
+
+import java.nio.ByteBuffer;
+
+import static de.tbressler.quadratum.core.GameCore.PLAYER1;
+import static de.tbressler.quadratum.core.GameCore.PLAYER2;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for class WireDecoder.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public class TestWireDecoder {
+
+    // Class under test:
+    private WireDecoder wireDecoder = new WireDecoder(8);
+
+    // Mocks:
+    private IWireHandler handler = mock(IWireHandler.class, "handler");
+
+    private WireEncoder wireEncoder = new WireEncoder(8);
+
+    private ByteBuffer buffer = ByteBuffer.allocate(256);
+
+
+    @Test(expected = AssertionError.class)
+    public void new_withInvalidSize_throwsException() {
+        new WireDecoder(17);
+    }
+
+    @Test
+    public void decode_withEmptyBuffer_returnsFalse() {
+        buffer.flip();
+        assertFalse(wireDecoder.decode(buffer, handler));
+    }
+
+    /**
+     * Checks if the encoded messages are decoded with reconstructed sequence numbers.
+     */
+    @Test
+    public void decodeAll_withEncodedMessages_callsHandler() {
+        wireEncoder.encodeState(buffer, 255L, PLAYER1, new long[]{1L}, new long[]{2L});
+        wireEncoder.encodeMove(buffer, 256L, 10, PLAYER1);
+        wireEncoder.encodeSquares(buffer, 257L, PLAYER1, new int[]{3, 300}, 2);
+        wireEncoder.encodeUndo(buffer, 258L, 10, PLAYER1);
+        buffer.flip();
+
+        assertEquals(4, wireDecoder.decodeAll(buffer, handler));
+
+        InOrder inOrder = inOrder(handler);
+        inOrder.verify(handler).onState(eq(255L), eq(PLAYER1), eq(new long[]{1L}), eq(new long[]{2L}));
+        inOrder.verify(handler).onMove(256L, 10, PLAYER1);
+        inOrder.verify(handler).onSquares(eq(257L), eq(PLAYER1), any(int[].class), eq(2));
+        inOrder.verify(handler).onUndo(258L, 10, PLAYER1);
+        assertEquals(258L, wireDecoder.getSequenceNumber());
+        assertTrue(wireDecoder.isSynced());
+        assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    public void decode_withIndexAbove127_returnsUnsignedIndex() {
+        WireEncoder encoder = new WireEncoder(16);
+        WireDecoder decoder = new WireDecoder(16);
+        encoder.encodeState(buffer, 0L, PLAYER2, new long[4], new long[4]);
+        encoder.encodeMove(buffer, 1L, 255, PLAYER2);
+        buffer.flip();
+
+        decoder.decodeAll(buffer, handler);
+
+        verify(handler).onMove(1L, 255, PLAYER2);
+    }
+
+    /**
+     * Checks if a lost delta is reported and the following deltas are skipped until the next
+     * full state.
+     */
+    @Test
+    public void decode_withLostDelta_reportsGapAndSkipsDeltas() {
+        wireEncoder.encodeState(buffer, 10L, PLAYER1, new long[1], new long[1]);
+        wireEncoder.encodeMove(buffer, 12L, 1, PLAYER1);
+        wireEncoder.encodeMove(buffer, 13L, 2, PLAYER2);
+        wireEncoder.encodeState(buffer, 13L, PLAYER1, new long[1], new long[1]);
+        wireEncoder.encodeMove(buffer, 14L, 3, PLAYER1);
+        buffer.flip();
+
+        wireDecoder.decodeAll(buffer, handler);
+
+        verify(handler).onGap(11L, 12L);
+        verify(handler, never()).onMove(anyLong(), eq(1), anyInt());
+        verify(handler, never()).onMove(anyLong(), eq(2), anyInt());
+        verify(handler).onMove(14L, 3, PLAYER1);
+    }
+
+    @Test
+    public void decode_withDeltaBeforeState_skipsDelta() {
+        wireEncoder.encodeMove(buffer, 1L, 1, PLAYER1);
+        buffer.flip();
+
+        assertTrue(wireDecoder.decode(buffer, handler));
+
+        verifyZeroInteractions(handler);
+        assertFalse(wireDecoder.isSynced());
+    }
+
+    /**
+     * Checks if an incomplete message is not consumed.
+     */
+    @Test
+    public void decode_withIncompleteMessage_returnsFalseAndKeepsPosition() {
+        wireEncoder.encodeState(buffer, 1L, PLAYER1, new long[1], new long[1]);
+        wireEncoder.encodeSquares(buffer, 2L, PLAYER2, new int[]{1, 2}, 2);
+        buffer.flip();
+        buffer.limit(buffer.limit() - 1);
+
+        assertEquals(1, wireDecoder.decodeAll(buffer, handler));
+        assertEquals(25, buffer.position());
+
+        buffer.limit(buffer.limit() + 1);
+        assertTrue(wireDecoder.decode(buffer, handler));
+        verify(handler).onSquares(eq(2L), eq(PLAYER2), any(int[].class), eq(2));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void decode_withUnknownType_throwsException() {
+        buffer.put((byte) 0x70).flip();
+        wireDecoder.decode(buffer, handler);
+    }
+
+}
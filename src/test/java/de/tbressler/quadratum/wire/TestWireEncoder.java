@@ -0,0 +1,132 @@
+package de.tbressler.quadratum.wire;
+
+import de.tbressler.quadratum.core.Position;
+import de.tbressler.quadratum.model.Player;
+import de.tbressler.quadratum.model.Square;
+import org.junit.Test;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+import static com.google.common.collect.ImmutableSet.of;
+import static de.tbressler.quadratum.core.GameCore.PLAYER1;
+import static de.tbressler.quadratum.core.GameCore.PLAYER2;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for class WireEncoder.
+ *
+ * @author Tobias Bressler
+ * @version 1.0
+ */
+public class TestWireEncoder {
+
+    // Class under test:
+    private WireEncoder wireEncoder = new WireEncoder(8);
+
+    private ByteBuffer buffer = ByteBuffer.allocate(64);
+
+
+    @Test(expected = AssertionError.class)
+    public void new_withInvalidSize_throwsException() {
+        new WireEncoder(3);
+    }
+
+    @Test
+    public void getStateLength_returnsLengthOfTwoMasks() {
+        assertEquals(25, wireEncoder.getStateLength());
+        assertEquals(41, new WireEncoder(9).getStateLength());
+    }
+
+    @Test
+    public void getDeltaLength_returns3() {
+        assertEquals(3, wireEncoder.getDeltaLength());
+    }
+
+    /**
+     * Checks if the full state consists of the header, the sequence number and two masks.
+     */
+    @Test
+    public void encodeState_writesHeaderAndMasks() {
+        wireEncoder.encodeState(buffer, 300L, PLAYER2, new long[]{5L}, new long[]{1L << 63});
+
+        assertEquals(wireEncoder.getStateLength(), buffer.position());
+        assertEquals(0x11, buffer.get(0));
+        assertEquals(300L, buffer.getLong(1));
+        assertEquals(5L, buffer.getLong(9));
+        assertEquals(1L << 63, buffer.getLong(17));
+    }
+
+    @Test
+    public void encodeState_withPosition_writesMasksOfPosition() {
+        wireEncoder.encodeState(buffer, 1L, new Position(8, new long[]{6L}, new long[]{1L}, PLAYER1));
+
+        assertEquals(0x10, buffer.get(0));
+        assertEquals(6L, buffer.getLong(9));
+        assertEquals(1L, buffer.getLong(17));
+    }
+
+    @Test(expected = AssertionError.class)
+    public void encodeState_withPositionOfOtherSize_throwsException() {
+        wireEncoder.encodeState(buffer, 1L, new Position(6, new long[1], new long[1], PLAYER1));
+    }
+
+    @Test(expected = AssertionError.class)
+    public void encodeState_withWrongNumberOfWords_throwsException() {
+        wireEncoder.encodeState(buffer, 1L, PLAYER1, new long[2], new long[2]);
+    }
+
+    /**
+     * Checks if a move is encoded as header, lowest byte of the sequence number and index.
+     */
+    @Test
+    public void encodeMove_writesThreeBytes() {
+        wireEncoder.encodeMove(buffer, 0x1FFL, 63, PLAYER2);
+
+        assertEquals(3, buffer.position());
+        assertEquals(0x21, buffer.get(0));
+        assertEquals((byte) 0xFF, buffer.get(1));
+        assertEquals(63, buffer.get(2));
+    }
+
+    @Test
+    public void encodeUndo_writesThreeBytes() {
+        wireEncoder.encodeUndo(buffer, 2L, 7, PLAYER1);
+
+        assertEquals(3, buffer.position());
+        assertEquals(0x30, buffer.get(0));
+    }
+
+    @Test(expected = AssertionError.class)
+    public void encodeMove_withInvalidIndex_throwsException() {
+        wireEncoder.encodeMove(buffer, 1L, 64, PLAYER1);
+    }
+
+    @Test(expected = AssertionError.class)
+    public void encodeMove_withInvalidPlayer_throwsException() {
+        wireEncoder.encodeMove(buffer, 1L, 0, 2);
+    }
+
+    @Test(expected = BufferOverflowException.class)
+    public void encodeState_withFullBuffer_throwsException() {
+        wireEncoder.encodeState(ByteBuffer.allocate(24), 1L, PLAYER1, new long[1], new long[1]);
+    }
+
+    @Test
+    public void encodeSquares_withSquares_writesSquareIds() {
+        Square square = new Square(new int[]{0, 1, 8, 9}, new Player("player"));
+
+        wireEncoder.encodeSquares(buffer, 5L, PLAYER1, of(square));
+
+        assertEquals(wireEncoder.getSquaresLength(1), buffer.position());
+        assertEquals(0x40, buffer.get(0));
+        assertEquals(1, buffer.get(2));
+        assertEquals(0, buffer.getShort(3));
+    }
+
+    @Test(expected = AssertionError.class)
+    public void encodeSquares_withTooManySquares_throwsException() {
+        wireEncoder.encodeSquares(buffer, 5L, PLAYER1, new int[300], 256);
+    }
+
+}